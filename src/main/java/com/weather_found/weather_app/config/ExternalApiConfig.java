@@ -1,12 +1,17 @@
 package com.weather_found.weather_app.config;
 
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.ClientHttpRequestFactory;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.http.HttpClient;
 import java.time.Duration;
+import java.util.concurrent.Executor;
 
 /**
  * Configuration for external API integration
@@ -14,24 +19,74 @@ import java.time.Duration;
 @Configuration
 public class ExternalApiConfig {
 
+    @Value("${weather.http.connect-timeout-ms:5000}")
+    private long connectTimeoutMs;
+
+    @Value("${weather.http.read-timeout-ms:10000}")
+    private long readTimeoutMs;
+
+    @Value("${weather.http.executor.core-pool-size:8}")
+    private int executorCorePoolSize;
+
+    @Value("${weather.http.executor.max-pool-size:32}")
+    private int executorMaxPoolSize;
+
+    @Value("${weather.http.executor.queue-capacity:1000}")
+    private int executorQueueCapacity;
+
+    /**
+     * Dedicated executor for upstream HTTP I/O and response completion, so slow
+     * providers never run on the common ForkJoinPool
+     */
+    @Bean(name = "upstreamHttpExecutor")
+    public Executor upstreamHttpExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(executorCorePoolSize);
+        executor.setMaxPoolSize(executorMaxPoolSize);
+        executor.setQueueCapacity(executorQueueCapacity);
+        executor.setThreadNamePrefix("UpstreamHttp-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Shared JDK HTTP client for weather providers. It keeps a pool of persistent
+     * connections per host and negotiates HTTP/2 through ALPN, falling back to
+     * HTTP/1.1 when the provider does not support it. How long idle connections are
+     * kept is the JVM-wide {@code jdk.httpclient.keepalive.timeout} property, so it is
+     * set on the command line rather than here.
+     */
+    @Bean
+    public HttpClient upstreamHttpClient(@Qualifier("upstreamHttpExecutor") Executor upstreamHttpExecutor) {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .executor(upstreamHttpExecutor)
+                .build();
+    }
+
     /**
      * RestTemplate for external weather API calls
      */
     @Bean
-    public RestTemplate restTemplate() {
+    public RestTemplate restTemplate(ClientHttpRequestFactory clientHttpRequestFactory) {
         RestTemplate restTemplate = new RestTemplate();
-        restTemplate.setRequestFactory(clientHttpRequestFactory());
+        restTemplate.setRequestFactory(clientHttpRequestFactory);
         return restTemplate;
     }
 
     /**
-     * HTTP request factory with timeout configuration
+     * HTTP request factory backed by the pooled upstream client
      */
     @Bean
-    public ClientHttpRequestFactory clientHttpRequestFactory() {
-        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-        factory.setConnectTimeout(Duration.ofSeconds(5));
-        factory.setReadTimeout(Duration.ofSeconds(10));
+    public ClientHttpRequestFactory clientHttpRequestFactory(HttpClient upstreamHttpClient,
+            @Qualifier("upstreamHttpExecutor") Executor upstreamHttpExecutor) {
+        JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(upstreamHttpClient,
+                upstreamHttpExecutor);
+        factory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
         return factory;
     }
 }
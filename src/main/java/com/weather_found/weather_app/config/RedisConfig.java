@@ -1,6 +1,13 @@
 package com.weather_found.weather_app.config;
 
-import org.springframework.cache.CacheManager;
+import com.weather_found.weather_app.modules.weather.cache.CacheMetrics;
+import com.weather_found.weather_app.modules.weather.cache.CacheTtlPolicy;
+import com.weather_found.weather_app.modules.weather.cache.CacheValueSerializer;
+import com.weather_found.weather_app.modules.weather.cache.MeasuringSerializer;
+import com.weather_found.weather_app.modules.weather.cache.RedisHealthMonitor;
+import com.weather_found.weather_app.modules.weather.cache.StampedeGuard;
+import com.weather_found.weather_app.modules.weather.cache.TwoTierCacheManager;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -8,6 +15,8 @@ import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
@@ -26,7 +35,9 @@ public class RedisConfig {
      * Configure RedisTemplate for custom operations
      */
     @Bean
-    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory) {
+    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory,
+            @Value("${weather.cache-codec.format:binary}") String codecFormat,
+            @Value("${weather.cache-codec.compress-threshold-bytes:512}") int compressThreshold) {
         RedisTemplate<String, Object> template = new RedisTemplate<>();
         template.setConnectionFactory(connectionFactory);
 
@@ -34,48 +45,73 @@ public class RedisConfig {
         template.setKeySerializer(new StringRedisSerializer());
         template.setHashKeySerializer(new StringRedisSerializer());
 
-        // Use JSON serializer for values
-        template.setValueSerializer(new GenericJackson2JsonRedisSerializer());
-        template.setHashValueSerializer(new GenericJackson2JsonRedisSerializer());
+        // Compact binary values; legacy JSON values stay readable
+        CacheValueSerializer valueSerializer = new CacheValueSerializer(new GenericJackson2JsonRedisSerializer(),
+                CacheValueSerializer.parseFormat(codecFormat), compressThreshold);
+        template.setValueSerializer(valueSerializer);
+        template.setHashValueSerializer(valueSerializer);
 
         template.afterPropertiesSet();
         return template;
     }
 
     /**
-     * Configure cache manager with different TTL for different cache types
+     * Configure cache manager with different TTL for different cache types, fronted
+     * by an in-process near cache
      */
     @Bean
-    public CacheManager cacheManager(RedisConnectionFactory connectionFactory) {
+    public TwoTierCacheManager cacheManager(RedisConnectionFactory connectionFactory,
+            RedisHealthMonitor redisHealthMonitor,
+            StampedeGuard stampedeGuard,
+            CacheMetrics cacheMetrics,
+            CacheTtlPolicy ttlPolicy,
+            @Value("${weather.near-cache.enabled:true}") boolean nearCacheEnabled,
+            @Value("${weather.near-cache.max-entries:1000}") int nearCacheMaxEntries,
+            @Value("${weather.near-cache.ttl-seconds:60}") long nearCacheTtlSeconds,
+            @Value("${weather.cache-codec.format:binary}") String codecFormat,
+            @Value("${weather.cache-codec.compress-threshold-bytes:512}") int compressThreshold) {
+        CacheValueSerializer valueSerializer = new CacheValueSerializer(new GenericJackson2JsonRedisSerializer(),
+                CacheValueSerializer.parseFormat(codecFormat), compressThreshold);
         RedisCacheConfiguration defaultCacheConfig = RedisCacheConfiguration.defaultCacheConfig()
                 .serializeKeysWith(org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair
                         .fromSerializer(new StringRedisSerializer()))
                 .serializeValuesWith(
                         org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair
-                                .fromSerializer(new GenericJackson2JsonRedisSerializer()))
-                .entryTtl(Duration.ofMinutes(15)); // Default 15 minutes
+                                .fromSerializer(valueSerializer))
+                .entryTtl(ttlPolicy.getDefaultTtl());
 
-        // Configure different TTL for different cache types
+        // TTLs come from the cache policy table
         Map<String, RedisCacheConfiguration> cacheConfigurations = new HashMap<>();
+        ttlPolicy.getTtls().keySet().forEach(
+                name -> cacheConfigurations.put(name, defaultCacheConfig.entryTtl(ttlPolicy.ttlFunction(name))));
 
-        // Current weather - 5 minutes (weather changes frequently)
-        cacheConfigurations.put("currentWeather", defaultCacheConfig.entryTtl(Duration.ofMinutes(5)));
+        // Record stored value sizes per cache
+        cacheConfigurations.replaceAll((name, config) -> config.serializeValuesWith(
+                org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair
+                        .fromSerializer(new MeasuringSerializer(valueSerializer, cacheMetrics.cache(name)))));
 
-        // Weather forecast - 30 minutes (forecasts are more stable)
-        cacheConfigurations.put("weatherForecast", defaultCacheConfig.entryTtl(Duration.ofMinutes(30)));
-
-        // Historical weather - 2 hours (historical data doesn't change)
-        cacheConfigurations.put("historicalWeather", defaultCacheConfig.entryTtl(Duration.ofHours(2)));
-
-        // Weather alerts - 1 minute (critical information should be fresh)
-        cacheConfigurations.put("weatherAlerts", defaultCacheConfig.entryTtl(Duration.ofMinutes(1)));
-
-        // User preferences - 1 hour
-        cacheConfigurations.put("userPreferences", defaultCacheConfig.entryTtl(Duration.ofHours(1)));
-
-        return RedisCacheManager.builder(connectionFactory)
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
                 .cacheDefaults(defaultCacheConfig)
                 .withInitialCacheConfigurations(cacheConfigurations)
                 .build();
+        redisCacheManager.afterPropertiesSet();
+
+        TwoTierCacheManager cacheManager = new TwoTierCacheManager(redisCacheManager, connectionFactory,
+                redisHealthMonitor, nearCacheEnabled, nearCacheMaxEntries, Duration.ofSeconds(nearCacheTtlSeconds));
+        cacheManager.setStampedeGuard(stampedeGuard);
+        cacheManager.setCacheMetrics(cacheMetrics);
+        return cacheManager;
+    }
+
+    /**
+     * Deliver near cache invalidations from other nodes
+     */
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory connectionFactory,
+            TwoTierCacheManager cacheManager) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(cacheManager, new ChannelTopic(TwoTierCacheManager.INVALIDATION_CHANNEL));
+        return container;
     }
 }
@@ -3,6 +3,7 @@ package com.weather_found.weather_app.modules.analytics.service;
 import com.weather_found.weather_app.modules.analytics.dto.response.SystemMetricsResponseDto;
 import com.weather_found.weather_app.modules.analytics.model.SystemMetrics;
 import com.weather_found.weather_app.modules.analytics.repository.SystemMetricsRepository;
+import com.weather_found.weather_app.modules.weather.cache.CacheMetrics;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -26,6 +27,7 @@ import java.util.stream.Collectors;
 public class SystemMetricsService {
 
     private final SystemMetricsRepository systemMetricsRepository;
+    private final CacheMetrics cacheMetrics;
 
     /**
      * Record system metric
@@ -229,8 +231,7 @@ public class SystemMetricsService {
     }
 
     private BigDecimal getCacheHitRate() {
-        // This would typically integrate with cache metrics
-        return BigDecimal.valueOf(94.3); // Placeholder
+        return BigDecimal.valueOf(cacheMetrics.getOverallHitRatio() * 100).setScale(1, RoundingMode.HALF_UP);
     }
 
     private Long getApiCallsToday() {
@@ -0,0 +1,134 @@
+package com.weather_found.weather_app.modules.weather.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.ExpirationOptions;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-time index of cache keys, so invalidation and statistics never scan the
+ * keyspace.
+ * <p>
+ * Every write adds the key to a tag set (e.g. one per location) and to its
+ * namespace's sorted set, scored by expiry time. Invalidating a tag deletes exactly
+ * its members; the live key count of a namespace is a ZCOUNT from now on.
+ * <p>
+ * Tag set expiry uses EXPIRE NX/GT, which needs Redis 7.0 or later.
+ */
+@Component
+public class CacheKeyIndex {
+
+    private static final String TAG_PREFIX = "weather:index:tag:";
+    private static final String NAMESPACE_PREFIX = "weather:index:ns:";
+
+    private static final ExpirationOptions IF_NONE = ExpirationOptions.builder().nx().build();
+    private static final ExpirationOptions IF_LONGER = ExpirationOptions.builder().gt().build();
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisHealthMonitor health;
+    private final Duration tagTtl;
+
+    public CacheKeyIndex(RedisTemplate<String, Object> redisTemplate, RedisHealthMonitor health,
+            @Value("${weather.cache-index.tag-ttl-minutes:120}") long tagTtlMinutes) {
+        this.redisTemplate = redisTemplate;
+        this.health = health;
+        this.tagTtl = Duration.ofMinutes(tagTtlMinutes);
+    }
+
+    /**
+     * Record a key written under a namespace and tag, in one round trip. The tag set
+     * lives at least {@code tag-ttl-minutes} and never expires before a member does:
+     * its expiry is set when missing and only ever extended.
+     */
+    public void recordWrite(String namespace, String tag, String key, long timeout, TimeUnit unit) {
+        long ttlMillis = unit.toMillis(timeout);
+        long expiresAt = System.currentTimeMillis() + ttlMillis;
+        Expiration tagExpiration = Expiration.milliseconds(Math.max(tagTtl.toMillis(), ttlMillis));
+        health.execute(() -> redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> redisOperations) throws DataAccessException {
+                RedisOperations<String, Object> operations = (RedisOperations<String, Object>) redisOperations;
+                operations.opsForSet().add(TAG_PREFIX + tag, key);
+                // GT treats a key without expiry as infinite, so a new set needs NX first
+                operations.expire(TAG_PREFIX + tag, tagExpiration, IF_NONE);
+                operations.expire(TAG_PREFIX + tag, tagExpiration, IF_LONGER);
+                operations.opsForZSet().add(NAMESPACE_PREFIX + namespace, key, expiresAt);
+                return null;
+            }
+        }), null);
+    }
+
+    /**
+     * Keys currently recorded under the tag; some may have expired already
+     */
+    public Set<String> members(String tag) {
+        Set<Object> members = health.execute(() -> redisTemplate.opsForSet().members(TAG_PREFIX + tag), null);
+        Set<String> keys = new LinkedHashSet<>();
+        if (members != null) {
+            members.forEach(member -> keys.add(member.toString()));
+        }
+        return keys;
+    }
+
+    /**
+     * Delete every key recorded under the tag and drop it from the given namespaces
+     *
+     * @return number of keys that were recorded under the tag
+     */
+    public int invalidate(String tag, Collection<String> namespaces) {
+        Set<Object> members = health.execute(() -> redisTemplate.opsForSet().members(TAG_PREFIX + tag), null);
+        if (members == null || members.isEmpty()) {
+            return 0;
+        }
+
+        List<String> keys = new ArrayList<>(members.size() + 1);
+        members.forEach(member -> keys.add(member.toString()));
+        health.execute(() -> redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> redisOperations) throws DataAccessException {
+                RedisOperations<String, Object> operations = (RedisOperations<String, Object>) redisOperations;
+                for (String namespace : namespaces) {
+                    operations.opsForZSet().remove(NAMESPACE_PREFIX + namespace, members.toArray());
+                }
+                List<String> deletions = new ArrayList<>(keys);
+                deletions.add(TAG_PREFIX + tag);
+                operations.delete(deletions);
+                return null;
+            }
+        }), null);
+        return keys.size();
+    }
+
+    /**
+     * Live keys of a namespace; expired entries are trimmed from the index on the way
+     */
+    public long liveCount(String namespace) {
+        long now = System.currentTimeMillis();
+        String index = NAMESPACE_PREFIX + namespace;
+        List<Object> results = health.execute(() -> redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> redisOperations) throws DataAccessException {
+                RedisOperations<String, Object> operations = (RedisOperations<String, Object>) redisOperations;
+                operations.opsForZSet().removeRangeByScore(index, 0, now);
+                operations.opsForZSet().zCard(index);
+                return null;
+            }
+        }), List.of());
+        return results.size() == 2 && results.get(1) instanceof Number count ? count.longValue() : 0;
+    }
+}
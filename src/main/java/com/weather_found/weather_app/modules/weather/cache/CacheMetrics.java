@@ -0,0 +1,187 @@
+package com.weather_found.weather_app.modules.weather.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hit, miss, load time, value size and eviction counters for every cache access path.
+ * Spring caches are tracked by cache name, manually cached Redis keys by key prefix
+ * (the first {@code prefix-segments} colon-separated parts, e.g. {@code dashboard:weather}).
+ */
+@Component
+public class CacheMetrics {
+
+    private static final String OVERFLOW_PREFIX = "other";
+
+    private final int prefixSegments;
+    private final int maxPrefixes;
+    private final Map<String, CacheCounters> caches = new ConcurrentHashMap<>();
+    private final Map<String, CacheCounters> prefixes = new ConcurrentHashMap<>();
+
+    public CacheMetrics(@Value("${weather.cache-metrics.prefix-segments:2}") int prefixSegments,
+            @Value("${weather.cache-metrics.max-prefixes:200}") int maxPrefixes) {
+        this.prefixSegments = prefixSegments;
+        this.maxPrefixes = maxPrefixes;
+    }
+
+    /**
+     * Counters of a Spring cache
+     */
+    public CacheCounters cache(String name) {
+        return caches.computeIfAbsent(name, n -> new CacheCounters());
+    }
+
+    /**
+     * Counters of the key prefix the given Redis key belongs to
+     */
+    public CacheCounters keyspace(String key) {
+        String prefix = prefixOf(key);
+        CacheCounters counters = prefixes.get(prefix);
+        if (counters != null) {
+            return counters;
+        }
+        if (prefixes.size() >= maxPrefixes) {
+            prefix = OVERFLOW_PREFIX;
+        }
+        return prefixes.computeIfAbsent(prefix, p -> new CacheCounters());
+    }
+
+    /**
+     * Hits over lookups across all caches and prefixes, 0 before the first lookup
+     */
+    public double getOverallHitRatio() {
+        long hits = 0;
+        long lookups = 0;
+        for (CacheCounters counters : caches.values()) {
+            hits += counters.hits.sum();
+            lookups += counters.hits.sum() + counters.misses.sum();
+        }
+        for (CacheCounters counters : prefixes.values()) {
+            hits += counters.hits.sum();
+            lookups += counters.hits.sum() + counters.misses.sum();
+        }
+        return lookups > 0 ? (double) hits / lookups : 0.0;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> cacheStats = new HashMap<>();
+        caches.forEach((name, counters) -> cacheStats.put(name, counters.snapshot()));
+        Map<String, Object> prefixStats = new HashMap<>();
+        prefixes.forEach((prefix, counters) -> prefixStats.put(prefix, counters.snapshot()));
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("caches", cacheStats);
+        stats.put("keyPrefixes", prefixStats);
+        stats.put("overallHitRatio", getOverallHitRatio());
+        stats.put("timestamp", LocalDateTime.now());
+        return stats;
+    }
+
+    String prefixOf(String key) {
+        int end = -1;
+        for (int i = 0; i < prefixSegments; i++) {
+            int next = key.indexOf(':', end + 1);
+            if (next < 0) {
+                return end < 0 ? key : key.substring(0, end);
+            }
+            end = next;
+        }
+        return key.substring(0, end);
+    }
+
+    /**
+     * Counters of one cache or key prefix
+     */
+    public static final class CacheCounters {
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder loads = new LongAdder();
+        private final LongAdder loadNanos = new LongAdder();
+        private final LongAccumulator maxLoadNanos = new LongAccumulator(Math::max, 0);
+        private final LongAdder reads = new LongAdder();
+        private final LongAdder bytesRead = new LongAdder();
+        private final LongAdder writes = new LongAdder();
+        private final LongAdder bytesWritten = new LongAdder();
+        private final LongAccumulator maxValueBytes = new LongAccumulator(Math::max, 0);
+        private final LongAdder evictions = new LongAdder();
+        private final LongAdder clears = new LongAdder();
+
+        public void hit() {
+            hits.increment();
+        }
+
+        public void miss() {
+            misses.increment();
+        }
+
+        /**
+         * A value was computed after a miss (or ahead of expiry)
+         */
+        public void load(long nanos) {
+            loads.increment();
+            loadNanos.add(nanos);
+            maxLoadNanos.accumulate(nanos);
+        }
+
+        /**
+         * A stored value of this size was read
+         */
+        public void read(int bytes) {
+            reads.increment();
+            bytesRead.add(bytes);
+        }
+
+        /**
+         * A value of this size was stored
+         */
+        public void write(int bytes) {
+            writes.increment();
+            bytesWritten.add(bytes);
+            maxValueBytes.accumulate(bytes);
+        }
+
+        /**
+         * Entries removed explicitly or to make room
+         */
+        public void evict(long count) {
+            evictions.add(count);
+        }
+
+        /**
+         * The whole cache was cleared, however many entries it held
+         */
+        public void clear() {
+            clears.increment();
+        }
+
+        Map<String, Object> snapshot() {
+            long hitCount = hits.sum();
+            long missCount = misses.sum();
+            long loadCount = loads.sum();
+            long readCount = reads.sum();
+            long writeCount = writes.sum();
+
+            Map<String, Object> stats = new HashMap<>();
+            stats.put("hits", hitCount);
+            stats.put("misses", missCount);
+            stats.put("hitRatio", hitCount + missCount > 0 ? (double) hitCount / (hitCount + missCount) : 0.0);
+            stats.put("loads", loadCount);
+            stats.put("averageLoadMs", loadCount > 0 ? loadNanos.sum() / 1_000_000.0 / loadCount : 0.0);
+            stats.put("maxLoadMs", maxLoadNanos.get() / 1_000_000.0);
+            stats.put("averageReadBytes", readCount > 0 ? bytesRead.sum() / readCount : 0);
+            stats.put("averageWriteBytes", writeCount > 0 ? bytesWritten.sum() / writeCount : 0);
+            stats.put("maxValueBytes", maxValueBytes.get());
+            stats.put("writes", writeCount);
+            stats.put("evictions", evictions.sum());
+            stats.put("clears", clears.sum());
+            return stats;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.weather_found.weather_app.modules.weather.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * The one table of cache TTLs, per cache type. Spring caches and manually cached
+ * Redis values both read their TTL from here; a single write can override it with
+ * {@link #withTtl}.
+ */
+@Component
+public class CacheTtlPolicy {
+
+    public static final String CURRENT_WEATHER = "currentWeather";
+    public static final String WEATHER_FORECAST = "weatherForecast";
+    public static final String HISTORICAL_WEATHER = "historicalWeather";
+    public static final String WEATHER_ALERTS = "weatherAlerts";
+    public static final String USER_PREFERENCES = "userPreferences";
+    public static final String ACTIVE_ALERTS = "activeAlerts";
+    public static final String DASHBOARD_SUMMARY = "dashboardSummary";
+    public static final String DASHBOARD_ALERTS = "dashboardAlerts";
+    public static final String DASHBOARD_RECENT_DATA = "dashboardRecentData";
+    public static final String DASHBOARD_TRENDS = "dashboardTrends";
+    public static final String LOCATION_SUMMARY = "locationSummary";
+    public static final String DASHBOARD_ANALYTICS = "dashboardAnalytics";
+    public static final String FORECAST_DASHBOARD = "forecastDashboard";
+
+    /** Caches whose keys start with a location, so they can be listed and cleared per location */
+    public static final Set<String> LOCATION_SCOPED = Set.of(CURRENT_WEATHER, WEATHER_FORECAST, HISTORICAL_WEATHER);
+
+    private final Map<String, Duration> ttls;
+    private final Duration defaultTtl;
+    private final ThreadLocal<Duration> override = new ThreadLocal<>();
+
+    public CacheTtlPolicy(
+            @Value("${weather.cache.ttl.default-seconds:900}") long defaultSeconds,
+            @Value("${weather.cache.ttl.current-weather-seconds:300}") long currentWeatherSeconds,
+            @Value("${weather.cache.ttl.forecast-seconds:1800}") long forecastSeconds,
+            @Value("${weather.cache.ttl.historical-seconds:7200}") long historicalSeconds,
+            @Value("${weather.cache.ttl.alerts-seconds:60}") long alertsSeconds,
+            @Value("${weather.cache.ttl.user-preferences-seconds:3600}") long userPreferencesSeconds,
+            @Value("${weather.cache.ttl.active-alerts-seconds:300}") long activeAlertsSeconds,
+            @Value("${weather.cache.ttl.dashboard-summary-seconds:300}") long dashboardSummarySeconds,
+            @Value("${weather.cache.ttl.dashboard-alerts-seconds:120}") long dashboardAlertsSeconds,
+            @Value("${weather.cache.ttl.dashboard-recent-data-seconds:120}") long dashboardRecentDataSeconds,
+            @Value("${weather.cache.ttl.dashboard-trends-seconds:1800}") long dashboardTrendsSeconds,
+            @Value("${weather.cache.ttl.location-summary-seconds:300}") long locationSummarySeconds,
+            @Value("${weather.cache.ttl.dashboard-analytics-seconds:900}") long dashboardAnalyticsSeconds,
+            @Value("${weather.cache.ttl.forecast-dashboard-seconds:1800}") long forecastDashboardSeconds) {
+        Map<String, Duration> table = new LinkedHashMap<>();
+        table.put(CURRENT_WEATHER, Duration.ofSeconds(currentWeatherSeconds));
+        table.put(WEATHER_FORECAST, Duration.ofSeconds(forecastSeconds));
+        table.put(HISTORICAL_WEATHER, Duration.ofSeconds(historicalSeconds));
+        table.put(WEATHER_ALERTS, Duration.ofSeconds(alertsSeconds));
+        table.put(USER_PREFERENCES, Duration.ofSeconds(userPreferencesSeconds));
+        table.put(ACTIVE_ALERTS, Duration.ofSeconds(activeAlertsSeconds));
+        table.put(DASHBOARD_SUMMARY, Duration.ofSeconds(dashboardSummarySeconds));
+        table.put(DASHBOARD_ALERTS, Duration.ofSeconds(dashboardAlertsSeconds));
+        table.put(DASHBOARD_RECENT_DATA, Duration.ofSeconds(dashboardRecentDataSeconds));
+        table.put(DASHBOARD_TRENDS, Duration.ofSeconds(dashboardTrendsSeconds));
+        table.put(LOCATION_SUMMARY, Duration.ofSeconds(locationSummarySeconds));
+        table.put(DASHBOARD_ANALYTICS, Duration.ofSeconds(dashboardAnalyticsSeconds));
+        table.put(FORECAST_DASHBOARD, Duration.ofSeconds(forecastDashboardSeconds));
+        this.ttls = Collections.unmodifiableMap(table);
+        this.defaultTtl = Duration.ofSeconds(defaultSeconds);
+    }
+
+    /**
+     * TTL of a cache type, or the default for types not in the table
+     */
+    public Duration ttlFor(String type) {
+        return ttls.getOrDefault(type, defaultTtl);
+    }
+
+    public Map<String, Duration> getTtls() {
+        return ttls;
+    }
+
+    public Duration getDefaultTtl() {
+        return defaultTtl;
+    }
+
+    /**
+     * TTL function for a Spring cache: the table entry, unless the current write overrides it
+     */
+    public RedisCacheWriter.TtlFunction ttlFunction(String cacheName) {
+        return (key, value) -> {
+            Duration ttl = override.get();
+            return ttl != null ? ttl : ttlFor(cacheName);
+        };
+    }
+
+    /**
+     * Run a cache write with a TTL other than the table's. Only writes made on this
+     * thread inside {@code write} are affected.
+     */
+    public <T> T withTtl(Duration ttl, Supplier<T> write) {
+        Duration previous = override.get();
+        override.set(ttl);
+        try {
+            return write.get();
+        } finally {
+            if (previous != null) {
+                override.set(previous);
+            } else {
+                override.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.weather_found.weather_app.modules.weather.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Redis value serializer with a versioned header, a compact binary encoding and
+ * optional compression, that still reads plain JSON entries.
+ * <p>
+ * Layout: {@code 0xCB | version | format | flags | [varint raw length] | payload}.
+ * Containers and objects use {@link CompactBinaryCodec} in the {@code binary} format;
+ * scalars stay JSON so set members, counters and short strings keep their existing
+ * encoding. Payloads from {@code compress-threshold-bytes} up are deflated. Values
+ * without the header are legacy JSON and go to the wrapped JSON serializer, so the
+ * {@code json} format is a safe rollback.
+ */
+@Slf4j
+public class CacheValueSerializer implements RedisSerializer<Object> {
+
+    public enum Format {
+        JSON, BINARY
+    }
+
+    static final byte MAGIC = (byte) 0xCB;
+    static final byte VERSION = 1;
+
+    private static final byte PAYLOAD_JSON = 1;
+    private static final byte PAYLOAD_BINARY = 2;
+    private static final byte FLAG_DEFLATE = 1;
+
+    /** Deflaters hold native buffers that are costly to set up per value */
+    private static final ThreadLocal<Deflater> DEFLATER = ThreadLocal.withInitial(
+            () -> new Deflater(Deflater.BEST_SPEED));
+    private static final ThreadLocal<Inflater> INFLATER = ThreadLocal.withInitial(Inflater::new);
+
+    private final GenericJackson2JsonRedisSerializer json;
+    private final ObjectMapper mapper;
+    private final Format format;
+    private final int compressThreshold;
+
+    /**
+     * @param json serializer for legacy entries; its object mapper also drives the
+     *            binary encoding, so both formats resolve types the same way
+     */
+    public CacheValueSerializer(GenericJackson2JsonRedisSerializer json, Format format, int compressThreshold) {
+        AtomicReference<ObjectMapper> configured = new AtomicReference<>();
+        json.configure(configured::set);
+        this.json = json;
+        this.mapper = configured.get();
+        this.format = format;
+        this.compressThreshold = compressThreshold;
+    }
+
+    public static Format parseFormat(String format) {
+        return Format.valueOf(format.trim().toUpperCase(Locale.ROOT));
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (format == Format.JSON || value == null) {
+            return json.serialize(value);
+        }
+
+        if (!isScalar(value)) {
+            try {
+                return frame(PAYLOAD_BINARY, CompactBinaryCodec.encode(mapper, value));
+            } catch (IOException | RuntimeException e) {
+                log.debug("Falling back to JSON for {}: {}", value.getClass().getSimpleName(), e.getMessage());
+            }
+        }
+        byte[] plain = json.serialize(value);
+        return plain.length >= compressThreshold ? frame(PAYLOAD_JSON, plain) : plain;
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != MAGIC) {
+            return json.deserialize(bytes);
+        }
+        if (bytes.length < 4 || bytes[1] > VERSION) {
+            throw new SerializationException("Unsupported cache value version " + (bytes.length > 1 ? bytes[1] : -1));
+        }
+
+        try {
+            byte payloadType = bytes[2];
+            byte[] payload = bytes;
+            int offset = 4;
+            int length = bytes.length - offset;
+            if ((bytes[3] & FLAG_DEFLATE) != 0) {
+                int[] position = { offset };
+                int rawLength = readVarInt(bytes, position);
+                payload = inflate(bytes, position[0], bytes.length - position[0], rawLength);
+                offset = 0;
+                length = rawLength;
+            }
+
+            if (payloadType == PAYLOAD_BINARY) {
+                return CompactBinaryCodec.decode(mapper, payload, offset, length);
+            }
+            byte[] plain = offset == 0 && length == payload.length ? payload
+                    : Arrays.copyOfRange(payload, offset, offset + length);
+            return json.deserialize(plain);
+        } catch (IOException e) {
+            throw new SerializationException("Cannot read cache value: " + e.getMessage(), e);
+        }
+    }
+
+    private byte[] frame(byte payloadType, byte[] payload) {
+        boolean compress = payload.length >= compressThreshold;
+        byte[] body = compress ? deflate(payload) : payload;
+        if (compress && body.length >= payload.length) {
+            compress = false;
+            body = payload;
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length + 9);
+        out.write(MAGIC);
+        out.write(VERSION);
+        out.write(payloadType);
+        out.write(compress ? FLAG_DEFLATE : 0);
+        if (compress) {
+            int value = payload.length;
+            while ((value & ~0x7F) != 0) {
+                out.write((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            out.write(value);
+        }
+        out.writeBytes(body);
+        return out.toByteArray();
+    }
+
+    private static boolean isScalar(Object value) {
+        return value instanceof CharSequence || value instanceof Number || value instanceof Boolean
+                || value instanceof Character || value instanceof Enum<?>;
+    }
+
+    private static int readVarInt(byte[] bytes, int[] position) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            if (position[0] >= bytes.length) {
+                throw new IOException("Truncated header");
+            }
+            int b = bytes[position[0]++] & 0xFF;
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed header length");
+    }
+
+    private static byte[] deflate(byte[] payload) {
+        Deflater deflater = DEFLATER.get();
+        try {
+            deflater.setInput(payload);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(payload.length / 2 + 16);
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.reset();
+        }
+    }
+
+    private static byte[] inflate(byte[] data, int offset, int length, int rawLength) throws IOException {
+        Inflater inflater = INFLATER.get();
+        try {
+            inflater.setInput(data, offset, length);
+            byte[] raw = new byte[rawLength];
+            int read = 0;
+            while (read < rawLength && !inflater.finished()) {
+                int n = inflater.inflate(raw, read, rawLength - read);
+                if (n == 0 && inflater.needsInput()) {
+                    throw new IOException("Truncated compressed cache value");
+                }
+                read += n;
+            }
+            return raw;
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt compressed cache value", e);
+        } finally {
+            inflater.reset();
+        }
+    }
+}
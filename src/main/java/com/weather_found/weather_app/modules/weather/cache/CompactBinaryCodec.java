@@ -0,0 +1,322 @@
+package com.weather_found.weather_app.modules.weather.cache;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary form of the Jackson token stream an {@link ObjectMapper} produces for
+ * a value, so type handling stays exactly that of the mapper. Field names and short
+ * strings (type hints included) are written once and referenced by index afterwards;
+ * integers are zig-zag varints and floating point values take 4 bytes when exact.
+ */
+final class CompactBinaryCodec {
+
+    private static final int START_OBJECT = 1;
+    private static final int END_OBJECT = 2;
+    private static final int START_ARRAY = 3;
+    private static final int END_ARRAY = 4;
+    private static final int NAME = 5;
+    private static final int STRING = 6;
+    private static final int REFERENCE = 7;
+    private static final int LONG_STRING = 8;
+    private static final int INT = 9;
+    private static final int LONG = 10;
+    private static final int FLOAT = 11;
+    private static final int DOUBLE = 12;
+    private static final int BIG_INTEGER = 13;
+    private static final int BIG_DECIMAL = 14;
+    private static final int TRUE = 15;
+    private static final int FALSE = 16;
+    private static final int NULL = 17;
+    private static final int BINARY = 18;
+    /** Reference to an interned string used as a field name */
+    private static final int NAME_REFERENCE = 19;
+
+    /** Longer strings are not interned; they rarely repeat */
+    private static final int MAX_INTERNED_BYTES = 64;
+
+    private CompactBinaryCodec() {
+    }
+
+    static byte[] encode(ObjectMapper mapper, Object value) throws IOException {
+        TokenBuffer tokens = new TokenBuffer(mapper, false);
+        mapper.writeValue(tokens, value);
+
+        Output out = new Output();
+        Map<String, Integer> dictionary = new HashMap<>();
+        try (JsonParser parser = tokens.asParser(mapper)) {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                switch (token) {
+                    case START_OBJECT -> out.write(START_OBJECT);
+                    case END_OBJECT -> out.write(END_OBJECT);
+                    case START_ARRAY -> out.write(START_ARRAY);
+                    case END_ARRAY -> out.write(END_ARRAY);
+                    case FIELD_NAME -> writeString(out, dictionary, parser.currentName(), NAME, NAME_REFERENCE);
+                    case VALUE_STRING -> writeString(out, dictionary, parser.getText(), STRING, REFERENCE);
+                    case VALUE_NUMBER_INT -> writeInteger(out, parser);
+                    case VALUE_NUMBER_FLOAT -> writeDecimal(out, parser);
+                    case VALUE_TRUE -> out.write(TRUE);
+                    case VALUE_FALSE -> out.write(FALSE);
+                    case VALUE_NULL -> out.write(NULL);
+                    case VALUE_EMBEDDED_OBJECT -> {
+                        if (!(parser.getEmbeddedObject() instanceof byte[] bytes)) {
+                            throw new IOException("Cannot encode embedded " + parser.getEmbeddedObject());
+                        }
+                        out.write(BINARY);
+                        out.writeBytes(bytes);
+                    }
+                    default -> throw new IOException("Cannot encode token " + token);
+                }
+            }
+        }
+        return out.toByteArray();
+    }
+
+    static Object decode(ObjectMapper mapper, byte[] data, int offset, int length) throws IOException {
+        Input in = new Input(data, offset, offset + length);
+        List<String> dictionary = new ArrayList<>();
+        TokenBuffer tokens = new TokenBuffer(mapper, false);
+
+        while (in.hasMore()) {
+            int op = in.read();
+            switch (op) {
+                case START_OBJECT -> tokens.writeStartObject();
+                case END_OBJECT -> tokens.writeEndObject();
+                case START_ARRAY -> tokens.writeStartArray();
+                case END_ARRAY -> tokens.writeEndArray();
+                case NAME -> tokens.writeFieldName(intern(dictionary, in.readString()));
+                case NAME_REFERENCE -> tokens.writeFieldName(dictionary.get(in.readVarInt()));
+                case STRING -> tokens.writeString(intern(dictionary, in.readString()));
+                case REFERENCE -> tokens.writeString(dictionary.get(in.readVarInt()));
+                case LONG_STRING -> tokens.writeString(in.readString());
+                case INT -> tokens.writeNumber((int) zigZagDecode(in.readVarLong()));
+                case LONG -> tokens.writeNumber(zigZagDecode(in.readVarLong()));
+                case FLOAT -> tokens.writeNumber((double) Float.intBitsToFloat(in.readInt()));
+                case DOUBLE -> tokens.writeNumber(Double.longBitsToDouble(in.readLong()));
+                case BIG_INTEGER -> tokens.writeNumber(new BigInteger(in.readString()));
+                case BIG_DECIMAL -> tokens.writeNumber(new BigDecimal(in.readString()));
+                case TRUE -> tokens.writeBoolean(true);
+                case FALSE -> tokens.writeBoolean(false);
+                case NULL -> tokens.writeNull();
+                case BINARY -> tokens.writeBinary(in.readBytes());
+                default -> throw new IOException("Unknown opcode " + op + " in compact cache value");
+            }
+        }
+
+        try (JsonParser parser = tokens.asParser(mapper)) {
+            return mapper.readValue(parser, Object.class);
+        }
+    }
+
+    private static void writeString(Output out, Map<String, Integer> dictionary, String value, int op,
+            int referenceOp) {
+        Integer index = dictionary.get(value);
+        if (index != null) {
+            out.write(referenceOp);
+            out.writeVarLong(index);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length <= MAX_INTERNED_BYTES) {
+            dictionary.put(value, dictionary.size());
+            out.write(op);
+        } else {
+            // Long field names are interned regardless; long values are not
+            if (op == NAME) {
+                dictionary.put(value, dictionary.size());
+            }
+            out.write(op == NAME ? NAME : LONG_STRING);
+        }
+        out.writeBytes(bytes);
+    }
+
+    private static void writeInteger(Output out, JsonParser parser) throws IOException {
+        switch (parser.getNumberType()) {
+            case INT -> {
+                out.write(INT);
+                out.writeVarLong(zigZagEncode(parser.getIntValue()));
+            }
+            case LONG -> {
+                out.write(LONG);
+                out.writeVarLong(zigZagEncode(parser.getLongValue()));
+            }
+            default -> {
+                out.write(BIG_INTEGER);
+                out.writeBytes(parser.getBigIntegerValue().toString().getBytes(StandardCharsets.US_ASCII));
+            }
+        }
+    }
+
+    private static void writeDecimal(Output out, JsonParser parser) throws IOException {
+        if (parser.getNumberType() == JsonParser.NumberType.BIG_DECIMAL) {
+            out.write(BIG_DECIMAL);
+            out.writeBytes(parser.getDecimalValue().toString().getBytes(StandardCharsets.US_ASCII));
+            return;
+        }
+        double value = parser.getDoubleValue();
+        if ((float) value == value) {
+            out.write(FLOAT);
+            out.writeInt(Float.floatToIntBits((float) value));
+        } else {
+            out.write(DOUBLE);
+            out.writeLong(Double.doubleToLongBits(value));
+        }
+    }
+
+    private static String intern(List<String> dictionary, String value) {
+        dictionary.add(value);
+        return value;
+    }
+
+    private static long zigZagEncode(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long zigZagDecode(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Growable output buffer
+     */
+    private static final class Output {
+        private byte[] buffer = new byte[256];
+        private int size;
+
+        void write(int b) {
+            ensure(1);
+            buffer[size++] = (byte) b;
+        }
+
+        void writeVarLong(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[size++] = (byte) value;
+        }
+
+        void writeInt(int value) {
+            ensure(4);
+            for (int shift = 24; shift >= 0; shift -= 8) {
+                buffer[size++] = (byte) (value >>> shift);
+            }
+        }
+
+        void writeLong(long value) {
+            ensure(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buffer[size++] = (byte) (value >>> shift);
+            }
+        }
+
+        void writeBytes(byte[] bytes) {
+            writeVarLong(bytes.length);
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buffer, size, bytes.length);
+            size += bytes.length;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+            }
+        }
+    }
+
+    /**
+     * Bounds-checked reader over the encoded bytes
+     */
+    private static final class Input {
+        private final byte[] data;
+        private final int end;
+        private int position;
+
+        Input(byte[] data, int offset, int end) {
+            this.data = data;
+            this.position = offset;
+            this.end = end;
+        }
+
+        boolean hasMore() {
+            return position < end;
+        }
+
+        int read() throws IOException {
+            if (position >= end) {
+                throw new IOException("Truncated compact cache value");
+            }
+            return data[position++] & 0xFF;
+        }
+
+        long readVarLong() throws IOException {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = read();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IOException("Malformed varint in compact cache value");
+        }
+
+        int readVarInt() throws IOException {
+            return (int) readVarLong();
+        }
+
+        int readInt() throws IOException {
+            int value = 0;
+            for (int i = 0; i < 4; i++) {
+                value = (value << 8) | read();
+            }
+            return value;
+        }
+
+        long readLong() throws IOException {
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | read();
+            }
+            return value;
+        }
+
+        byte[] readBytes() throws IOException {
+            int length = readVarInt();
+            if (length < 0 || position + length > end) {
+                throw new IOException("Truncated compact cache value");
+            }
+            byte[] bytes = Arrays.copyOfRange(data, position, position + length);
+            position += length;
+            return bytes;
+        }
+
+        String readString() throws IOException {
+            int length = readVarInt();
+            if (length < 0 || position + length > end) {
+                throw new IOException("Truncated compact cache value");
+            }
+            String value = new String(data, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.weather_found.weather_app.modules.weather.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache for coordinate lookups keyed by geohash cell instead of raw coordinates, so
+ * nearby requests (e.g. GPS positions a few metres apart) share one cached answer.
+ * Entries go through {@link RedisValueStore}, so they are counted in
+ * {@link CacheMetrics} and served from its local fallback while Redis is down.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class GeoCellCache {
+
+    private static final String KEY_PREFIX = "weather:geo:";
+    private static final int TOP_CELLS = 10;
+
+    private final RedisValueStore valueStore;
+
+    private final Map<String, LongAdder> cellRequests = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> hits = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> misses = new ConcurrentHashMap<>();
+
+    @Value("${weather.geo-cache.precision:5}")
+    private int precision;
+
+    @Value("${weather.geo-cache.max-tracked-cells:10000}")
+    private int maxTrackedCells;
+
+    /**
+     * A geohash cell and its centre, which is used for the upstream lookup
+     */
+    public record Cell(String geohash, BigDecimal latitude, BigDecimal longitude) {
+    }
+
+    public Cell cellOf(BigDecimal latitude, BigDecimal longitude) {
+        String geohash = Geohash.encode(latitude.doubleValue(), longitude.doubleValue(), precision);
+        double[] center = Geohash.decodeCenter(geohash);
+        return new Cell(geohash,
+                BigDecimal.valueOf(center[0]).setScale(4, RoundingMode.HALF_UP),
+                BigDecimal.valueOf(center[1]).setScale(4, RoundingMode.HALF_UP));
+    }
+
+    /**
+     * Cached value for the cell, or null on a miss
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> get(String kind, Cell cell, String suffix) {
+        track(cell);
+        Object cached = null;
+        try {
+            cached = valueStore.get(key(kind, cell, suffix));
+        } catch (Exception e) {
+            log.debug("Geo cache read failed for {}: {}", cell.geohash(), e.getMessage());
+        }
+        if (cached instanceof Map<?, ?> map) {
+            hits.computeIfAbsent(kind, k -> new LongAdder()).increment();
+            return new HashMap<>((Map<String, Object>) map);
+        }
+        misses.computeIfAbsent(kind, k -> new LongAdder()).increment();
+        return null;
+    }
+
+    public void put(String kind, Cell cell, String suffix, Map<String, Object> value, long ttlSeconds) {
+        try {
+            valueStore.set(key(kind, cell, suffix), value, ttlSeconds, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            log.debug("Geo cache write failed for {}: {}", cell.geohash(), e.getMessage());
+        }
+    }
+
+    /**
+     * Hit ratio per kind and how requests spread over cells
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> kinds = new HashMap<>();
+        Set<String> kindNames = new HashSet<>(hits.keySet());
+        kindNames.addAll(misses.keySet());
+        for (String kind : kindNames) {
+            long kindHits = sum(hits, kind);
+            long kindMisses = sum(misses, kind);
+            Map<String, Object> kindStats = new HashMap<>();
+            kindStats.put("hits", kindHits);
+            kindStats.put("misses", kindMisses);
+            kindStats.put("hitRatio", kindHits + kindMisses > 0 ? (double) kindHits / (kindHits + kindMisses) : 0.0);
+            kinds.put(kind, kindStats);
+        }
+
+        Map<String, Long> topCells = new LinkedHashMap<>();
+        cellRequests.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, LongAdder> e) -> e.getValue().sum()).reversed())
+                .limit(TOP_CELLS)
+                .forEach(e -> topCells.put(e.getKey(), e.getValue().sum()));
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("precision", precision);
+        stats.put("kinds", kinds);
+        stats.put("distinctCells", cellRequests.size());
+        stats.put("topCells", topCells);
+        stats.put("timestamp", LocalDateTime.now());
+        return stats;
+    }
+
+    private void track(Cell cell) {
+        LongAdder requests = cellRequests.get(cell.geohash());
+        if (requests == null && cellRequests.size() < maxTrackedCells) {
+            requests = cellRequests.computeIfAbsent(cell.geohash(), g -> new LongAdder());
+        }
+        if (requests != null) {
+            requests.increment();
+        }
+    }
+
+    private static long sum(Map<String, LongAdder> counters, String kind) {
+        LongAdder counter = counters.get(kind);
+        return counter == null ? 0 : counter.sum();
+    }
+
+    private static String key(String kind, Cell cell, String suffix) {
+        return KEY_PREFIX + kind + ":" + cell.geohash() + (suffix == null ? "" : ":" + suffix);
+    }
+}
@@ -0,0 +1,124 @@
+package com.weather_found.weather_app.modules.weather.cache;
+
+import org.springframework.cache.Cache;
+
+import java.util.Objects;
+import java.util.concurrent.Callable;
+
+/**
+ * Records hits, misses, load times, evictions and clears of any {@link Cache} into
+ * {@link CacheMetrics}. Value sizes are recorded by the serializer, which is the only
+ * place that sees them. An eviction is only counted when the cache reports that the
+ * key was present; clearing a whole cache is counted separately.
+ * <p>
+ * {@code @Cacheable} loads happen between a miss and the following {@code put} on the
+ * same thread, so the miss is remembered per thread and timed on that put.
+ */
+public class InstrumentedCache implements Cache {
+
+    private record PendingLoad(Object key, long startedAtNanos) {
+    }
+
+    private final Cache delegate;
+    private final CacheMetrics.CacheCounters counters;
+    private final ThreadLocal<PendingLoad> pendingLoad = new ThreadLocal<>();
+
+    public InstrumentedCache(Cache delegate, CacheMetrics.CacheCounters counters) {
+        this.delegate = delegate;
+        this.counters = counters;
+    }
+
+    public Cache getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return record(key, delegate.get(key));
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        T value = delegate.get(key, type);
+        record(key, value);
+        return value;
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        boolean[] loaded = { false };
+        long startedAt = System.nanoTime();
+        T value = delegate.get(key, () -> {
+            loaded[0] = true;
+            return valueLoader.call();
+        });
+        if (loaded[0]) {
+            counters.miss();
+            counters.load(System.nanoTime() - startedAt);
+        } else {
+            counters.hit();
+        }
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        PendingLoad pending = pendingLoad.get();
+        if (pending != null && Objects.equals(pending.key(), key)) {
+            pendingLoad.remove();
+            counters.load(System.nanoTime() - pending.startedAtNanos());
+        }
+        delegate.put(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return delegate.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        evictIfPresent(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean present = delegate.evictIfPresent(key);
+        if (present) {
+            counters.evict(1);
+        }
+        return present;
+    }
+
+    @Override
+    public void clear() {
+        counters.clear();
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        counters.clear();
+        return delegate.invalidate();
+    }
+
+    private <T> T record(Object key, T result) {
+        if (result != null) {
+            counters.hit();
+        } else {
+            counters.miss();
+            pendingLoad.set(new PendingLoad(key, System.nanoTime()));
+        }
+        return result;
+    }
+}
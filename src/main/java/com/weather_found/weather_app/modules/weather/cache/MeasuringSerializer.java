@@ -0,0 +1,35 @@
+package com.weather_found.weather_app.modules.weather.cache;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * Value serializer that reports the stored size of every value it writes or reads
+ */
+public class MeasuringSerializer implements RedisSerializer<Object> {
+
+    private final RedisSerializer<Object> delegate;
+    private final CacheMetrics.CacheCounters counters;
+
+    public MeasuringSerializer(RedisSerializer<Object> delegate, CacheMetrics.CacheCounters counters) {
+        this.delegate = delegate;
+        this.counters = counters;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        byte[] bytes = delegate.serialize(value);
+        if (bytes != null) {
+            counters.write(bytes.length);
+        }
+        return bytes;
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes != null) {
+            counters.read(bytes.length);
+        }
+        return delegate.deserialize(bytes);
+    }
+}
@@ -0,0 +1,97 @@
+package com.weather_found.weather_app.modules.weather.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded in-process LRU with a per-entry expiry, the first tier of a
+ * {@link TwoTierCache}.
+ */
+public class NearCache {
+
+    private record Entry(Object value, long expiresAtNanos) {
+    }
+
+    private final Map<Object, Entry> entries;
+    private final LongSupplier nanoClock;
+    private long evictions;
+
+    public NearCache(int maxEntries) {
+        this(maxEntries, System::nanoTime);
+    }
+
+    NearCache(int maxEntries, LongSupplier nanoClock) {
+        this.entries = new LinkedHashMap<>(Math.min(maxEntries, 1024), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Entry> eldest) {
+                if (size() > maxEntries) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * The live entry for the key, or null if absent or expired
+     */
+    public synchronized Object get(Object key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAtNanos() - nanoClock.getAsLong() <= 0) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.value();
+    }
+
+    public synchronized void put(Object key, Object value, long ttlMillis) {
+        if (ttlMillis <= 0) {
+            entries.remove(key);
+            return;
+        }
+        entries.put(key, new Entry(value, nanoClock.getAsLong() + ttlMillis * 1_000_000));
+    }
+
+    /**
+     * Drop the entry for the key; true if a live entry was removed
+     */
+    public synchronized boolean remove(Object key) {
+        Entry entry = entries.remove(key);
+        return entry != null && entry.expiresAtNanos() - nanoClock.getAsLong() > 0;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Copy of the live keys and values, most recently used last
+     */
+    public synchronized Map<Object, Object> liveEntries() {
+        long now = nanoClock.getAsLong();
+        Map<Object, Object> live = new LinkedHashMap<>();
+        entries.forEach((key, entry) -> {
+            if (entry.expiresAtNanos() - now > 0) {
+                live.put(key, entry.value());
+            }
+        });
+        return live;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Entries dropped to stay within the size bound
+     */
+    public synchronized long evictions() {
+        return evictions;
+    }
+}
@@ -0,0 +1,170 @@
+package com.weather_found.weather_app.modules.weather.cache;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Saves the near tier of every cache to a local file on shutdown, so the next start on
+ * this host can serve its hottest keys before the first request reaches Redis.
+ * <p>
+ * Entries keep the second-tier expiry they were read with and are dropped once it has
+ * passed. Invalidations broadcast while the node was down are not seen, so a snapshot
+ * older than {@code max-age-seconds} is ignored altogether.
+ */
+@Component
+@Slf4j
+public class NearCacheSnapshot {
+
+    private static final int MAGIC = 0x4e435331; // "NCS1"
+
+    private final TwoTierCacheManager cacheManager;
+    private final RedisSerializer<Object> valueSerializer;
+    private final boolean enabled;
+    private final Path path;
+    private final long maxAgeMillis;
+
+    private volatile int lastSaved = -1;
+    private volatile int lastRestored = -1;
+
+    @SuppressWarnings("unchecked")
+    public NearCacheSnapshot(TwoTierCacheManager cacheManager, RedisTemplate<String, Object> redisTemplate,
+            @Value("${weather.warmup.snapshot.enabled:false}") boolean enabled,
+            @Value("${weather.warmup.snapshot.path:${java.io.tmpdir}/weather-near-cache.snapshot}") String path,
+            @Value("${weather.warmup.snapshot.max-age-seconds:120}") long maxAgeSeconds) {
+        this.cacheManager = cacheManager;
+        this.valueSerializer = (RedisSerializer<Object>) redisTemplate.getValueSerializer();
+        this.enabled = enabled;
+        this.path = Path.of(path);
+        this.maxAgeMillis = maxAgeSeconds * 1000;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Write the live near entries to the snapshot file
+     *
+     * @return number of entries written
+     */
+    @PreDestroy
+    public int save() {
+        if (!enabled) {
+            return 0;
+        }
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        int written = 0;
+        try {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeLong(System.currentTimeMillis());
+                for (Map.Entry<String, List<TwoTierCache.NearEntry>> cache : cacheManager.nearEntries().entrySet()) {
+                    for (TwoTierCache.NearEntry entry : cache.getValue()) {
+                        if (!(entry.key() instanceof String key)) {
+                            continue;
+                        }
+                        byte[] value = valueSerializer.serialize(entry.value());
+                        if (value == null) {
+                            continue;
+                        }
+                        out.writeBoolean(true);
+                        out.writeUTF(cache.getKey());
+                        out.writeUTF(key);
+                        out.writeLong(entry.expiresAtMillis());
+                        out.writeInt(value.length);
+                        out.write(value);
+                        written++;
+                    }
+                }
+                out.writeBoolean(false);
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            lastSaved = written;
+            log.info("Saved {} near cache entries to {}", written, path);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Cannot save near cache snapshot to {}: {}", path, e.getMessage());
+        }
+        return written;
+    }
+
+    /**
+     * Refill the near tiers from the snapshot file, if it is recent enough. The file is
+     * deleted afterwards so a later crash cannot restore it a second time.
+     *
+     * @return number of entries restored
+     */
+    public int restore() {
+        if (!enabled) {
+            return 0;
+        }
+        Map<String, List<TwoTierCache.NearEntry>> snapshot = new HashMap<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC) {
+                log.warn("Ignoring near cache snapshot {}: unknown format", path);
+                return 0;
+            }
+            long age = System.currentTimeMillis() - in.readLong();
+            if (age > maxAgeMillis) {
+                log.info("Ignoring near cache snapshot {}: {} s old", path, age / 1000);
+                return 0;
+            }
+            while (in.readBoolean()) {
+                String cacheName = in.readUTF();
+                String key = in.readUTF();
+                long expiresAt = in.readLong();
+                byte[] value = new byte[in.readInt()];
+                in.readFully(value);
+                snapshot.computeIfAbsent(cacheName, name -> new ArrayList<>())
+                        .add(new TwoTierCache.NearEntry(key, valueSerializer.deserialize(value), expiresAt));
+            }
+        } catch (NoSuchFileException e) {
+            return 0;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Cannot read near cache snapshot {}: {}", path, e.getMessage());
+            return 0;
+        } finally {
+            deleteQuietly();
+        }
+
+        int restored = cacheManager.restoreNear(snapshot);
+        lastRestored = restored;
+        log.info("Restored {} near cache entries from {}", restored, path);
+        return restored;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("path", path.toString());
+        stats.put("lastSaved", lastSaved);
+        stats.put("lastRestored", lastRestored);
+        return stats;
+    }
+
+    private void deleteQuietly() {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.debug("Cannot delete near cache snapshot {}: {}", path, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.weather_found.weather_app.modules.weather.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Shared view of Redis connectivity, so callers check a field instead of probing
+ * Redis before every command.
+ * <p>
+ * UP becomes DEGRADED on the first failed command and DOWN after
+ * {@code failure-threshold} consecutive failures. While DOWN no commands are sent;
+ * background PINGs bring it back UP after {@code recovery-threshold} consecutive
+ * successes. Any success in DEGRADED returns to UP. A PING slower than
+ * {@code slow-ping-ms} counts as a failure.
+ */
+@Component
+@Slf4j
+public class RedisHealthMonitor {
+
+    public enum State {
+        UP, DEGRADED, DOWN
+    }
+
+    private final RedisConnectionFactory connectionFactory;
+    private final int failureThreshold;
+    private final int recoveryThreshold;
+    private final long slowPingMillis;
+
+    private volatile State state = State.UP;
+    private int consecutiveFailures;
+    private int consecutiveRecoveries;
+    private volatile LocalDateTime stateSince = LocalDateTime.now();
+    private volatile long lastPingMillis = -1;
+    private volatile String lastError;
+
+    private final List<Runnable> recoveryListeners = new CopyOnWriteArrayList<>();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder transitionsDown = new LongAdder();
+
+    public RedisHealthMonitor(RedisConnectionFactory connectionFactory,
+            @Value("${weather.redis-health.failure-threshold:3}") int failureThreshold,
+            @Value("${weather.redis-health.recovery-threshold:2}") int recoveryThreshold,
+            @Value("${weather.redis-health.slow-ping-ms:500}") long slowPingMillis) {
+        this.connectionFactory = connectionFactory;
+        this.failureThreshold = failureThreshold;
+        this.recoveryThreshold = recoveryThreshold;
+        this.slowPingMillis = slowPingMillis;
+    }
+
+    /**
+     * Whether commands should be sent to Redis at all
+     */
+    public boolean isAvailable() {
+        return state != State.DOWN;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * Record a successful Redis command
+     */
+    public void recordSuccess() {
+        if (state == State.DEGRADED) {
+            synchronized (this) {
+                if (state == State.DEGRADED) {
+                    consecutiveFailures = 0;
+                    transition(State.UP);
+                }
+            }
+        }
+    }
+
+    /**
+     * Record a failed or timed out Redis command
+     */
+    public void recordFailure(Throwable error) {
+        failures.increment();
+        lastError = error.getMessage();
+        synchronized (this) {
+            consecutiveRecoveries = 0;
+            if (state == State.DOWN) {
+                return;
+            }
+            consecutiveFailures++;
+            if (consecutiveFailures >= failureThreshold) {
+                transitionsDown.increment();
+                log.warn("Redis marked DOWN after {} consecutive failures: {}", consecutiveFailures, lastError);
+                transition(State.DOWN);
+            } else if (state == State.UP) {
+                transition(State.DEGRADED);
+            }
+        }
+    }
+
+    /**
+     * Run a Redis command unless Redis is down, recording its outcome; the fallback
+     * value if the command was skipped or failed
+     */
+    public <T> T execute(Supplier<T> command, T fallback) {
+        if (!isAvailable()) {
+            return fallback;
+        }
+        try {
+            T result = command.get();
+            recordSuccess();
+            return result;
+        } catch (RuntimeException e) {
+            recordFailure(e);
+            log.debug("Redis command failed: {}", e.getMessage());
+            return fallback;
+        }
+    }
+
+    /**
+     * Run when Redis comes back from DOWN, e.g. to drop fallback entries
+     */
+    public void addRecoveryListener(Runnable listener) {
+        recoveryListeners.add(listener);
+    }
+
+    /**
+     * Background PING; the only traffic sent while Redis is DOWN
+     */
+    @Scheduled(fixedDelayString = "${weather.redis-health.ping-interval-ms:1000}")
+    public void ping() {
+        long started = System.nanoTime();
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.ping();
+            lastPingMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        } catch (RuntimeException e) {
+            recordFailure(e);
+            return;
+        }
+
+        if (lastPingMillis > slowPingMillis) {
+            recordFailure(new IllegalStateException("PING took " + lastPingMillis + " ms"));
+        } else if (state == State.DOWN) {
+            onRecoveryPing();
+        } else {
+            recordSuccess();
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("state", state.name());
+        stats.put("stateSince", stateSince);
+        stats.put("lastPingMillis", lastPingMillis);
+        stats.put("lastError", lastError);
+        stats.put("failures", failures.sum());
+        stats.put("transitionsDown", transitionsDown.sum());
+        return stats;
+    }
+
+    private void onRecoveryPing() {
+        boolean recovered = false;
+        synchronized (this) {
+            if (state == State.DOWN && ++consecutiveRecoveries >= recoveryThreshold) {
+                consecutiveFailures = 0;
+                consecutiveRecoveries = 0;
+                transition(State.UP);
+                recovered = true;
+            }
+        }
+        if (recovered) {
+            log.info("Redis is back UP");
+            recoveryListeners.forEach(Runnable::run);
+        }
+    }
+
+    private void transition(State next) {
+        if (state != next) {
+            log.debug("Redis health {} -> {}", state, next);
+            state = next;
+            stateSince = LocalDateTime.now();
+        }
+    }
+}
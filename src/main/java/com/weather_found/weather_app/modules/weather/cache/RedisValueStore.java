@@ -0,0 +1,139 @@
+package com.weather_found.weather_app.modules.weather.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Key/value caching on Redis that keeps working while Redis does not: commands are
+ * skipped while the {@link RedisHealthMonitor} reports DOWN, and failed or skipped
+ * operations go to a bounded in-memory LRU instead. The LRU is dropped once Redis
+ * recovers, so it never shadows newer Redis values.
+ * <p>
+ * Values are (de)serialized here rather than inside the template so that hits, misses
+ * and stored sizes can be recorded per key prefix in {@link CacheMetrics}.
+ */
+@Component
+@Slf4j
+public class RedisValueStore {
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisHealthMonitor health;
+    private final CacheMetrics metrics;
+    private final RedisSerializer<String> keySerializer;
+    private final RedisSerializer<Object> valueSerializer;
+    private final NearCache fallback;
+    private final int fallbackMaxEntries;
+
+    private final LongAdder fallbackReads = new LongAdder();
+    private final LongAdder fallbackWrites = new LongAdder();
+
+    @SuppressWarnings("unchecked")
+    public RedisValueStore(RedisTemplate<String, Object> redisTemplate, RedisHealthMonitor health,
+            CacheMetrics metrics,
+            @Value("${weather.redis-health.fallback-max-entries:2000}") int fallbackMaxEntries) {
+        this.redisTemplate = redisTemplate;
+        this.health = health;
+        this.metrics = metrics;
+        this.keySerializer = (RedisSerializer<String>) redisTemplate.getKeySerializer();
+        this.valueSerializer = (RedisSerializer<Object>) redisTemplate.getValueSerializer();
+        this.fallbackMaxEntries = fallbackMaxEntries;
+        this.fallback = new NearCache(fallbackMaxEntries);
+        health.addRecoveryListener(fallback::clear);
+    }
+
+    public Object get(String key) {
+        CacheMetrics.CacheCounters counters = metrics.keyspace(key);
+        Object value = null;
+        boolean served = false;
+        if (health.isAvailable()) {
+            try {
+                byte[] raw = redisTemplate.execute(
+                        (RedisCallback<byte[]>) connection -> connection.stringCommands().get(rawKey(key)));
+                health.recordSuccess();
+                if (raw != null) {
+                    counters.read(raw.length);
+                    value = valueSerializer.deserialize(raw);
+                }
+                served = true;
+            } catch (RuntimeException e) {
+                health.recordFailure(e);
+                log.debug("Redis read of {} failed, using fallback: {}", key, e.getMessage());
+            }
+        }
+        if (!served) {
+            fallbackReads.increment();
+            value = fallback.get(key);
+        }
+        if (value != null) {
+            counters.hit();
+        } else {
+            counters.miss();
+        }
+        return value;
+    }
+
+    public void set(String key, Object value, long timeout, TimeUnit unit) {
+        if (health.isAvailable()) {
+            try {
+                byte[] raw = valueSerializer.serialize(value);
+                long ttlMillis = unit.toMillis(timeout);
+                redisTemplate.execute((RedisCallback<Boolean>) connection -> connection.stringCommands()
+                        .pSetEx(rawKey(key), ttlMillis, raw));
+                health.recordSuccess();
+                metrics.keyspace(key).write(raw.length);
+                return;
+            } catch (RuntimeException e) {
+                health.recordFailure(e);
+                log.debug("Redis write of {} failed, using fallback: {}", key, e.getMessage());
+            }
+        }
+        fallbackWrites.increment();
+        fallback.put(key, value, unit.toMillis(timeout));
+    }
+
+    public void set(String key, Object value, Duration ttl) {
+        set(key, value, ttl.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Remove the key; an eviction is counted only if Redis or the fallback held it
+     */
+    public void delete(String key) {
+        boolean removed = fallback.remove(key);
+        if (health.isAvailable()) {
+            try {
+                removed |= Boolean.TRUE.equals(redisTemplate.delete(key));
+                health.recordSuccess();
+            } catch (RuntimeException e) {
+                health.recordFailure(e);
+            }
+        }
+        if (removed) {
+            metrics.keyspace(key).evict(1);
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>(health.getStats());
+        stats.put("fallbackEntries", fallback.size());
+        stats.put("fallbackMaxEntries", fallbackMaxEntries);
+        stats.put("fallbackReads", fallbackReads.sum());
+        stats.put("fallbackWrites", fallbackWrites.sum());
+        stats.put("fallbackEvictions", fallback.evictions());
+        return stats;
+    }
+
+    private byte[] rawKey(String key) {
+        return keySerializer.serialize(key);
+    }
+}
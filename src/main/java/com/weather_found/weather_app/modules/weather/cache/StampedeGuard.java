@@ -0,0 +1,197 @@
+package com.weather_found.weather_app.modules.weather.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Protection against expiry stampedes on hot keys.
+ * <p>
+ * Readers recompute a value early with a probability that grows as its expiry nears
+ * and with how long the value took to compute (XFetch: recompute once
+ * {@code now - delta * beta * ln(rand) >= expiry}). The reader that draws an early
+ * recompute also has to win a short Redis lock per key; everyone else keeps serving
+ * the current value, so one node reloads a key while the others stay on the old copy.
+ * <p>
+ * {@link TwoTierCache} applies this to the Spring caches. Manually cached values go
+ * through {@link #read} and {@link #write}, which keep the recompute time and expiry
+ * next to the value.
+ */
+@Component
+@Slf4j
+public class StampedeGuard {
+
+    private static final String LOCK_PREFIX = "weather:recompute:lock:";
+    private static final String ENVELOPE_MARKER = "_xfetch";
+
+    private static final DefaultRedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisValueStore valueStore;
+    private final RedisHealthMonitor health;
+    private final CacheMetrics metrics;
+    private final boolean enabled;
+    private final double beta;
+    private final Duration lockTtl;
+    private final long defaultRecomputeMillis;
+    private final LongSupplier clock;
+    private final DoubleSupplier random;
+
+    /** Lock value identifying this node, so a slow node cannot release another's lock */
+    private final String token = UUID.randomUUID().toString();
+
+    private final LongAdder earlyDraws = new LongAdder();
+    private final LongAdder earlyRecomputes = new LongAdder();
+    private final LongAdder staleServed = new LongAdder();
+    private final LongAdder hardMisses = new LongAdder();
+
+    public StampedeGuard(RedisTemplate<String, Object> redisTemplate, RedisValueStore valueStore,
+            RedisHealthMonitor health, CacheMetrics metrics,
+            @Value("${weather.stampede.enabled:true}") boolean enabled,
+            @Value("${weather.stampede.beta:1.0}") double beta,
+            @Value("${weather.stampede.lock-ttl-ms:5000}") long lockTtlMillis,
+            @Value("${weather.stampede.default-recompute-ms:200}") long defaultRecomputeMillis) {
+        this(redisTemplate, valueStore, health, metrics, enabled, beta, lockTtlMillis, defaultRecomputeMillis,
+                System::currentTimeMillis, () -> ThreadLocalRandom.current().nextDouble());
+    }
+
+    StampedeGuard(RedisTemplate<String, Object> redisTemplate, RedisValueStore valueStore,
+            RedisHealthMonitor health, CacheMetrics metrics, boolean enabled, double beta, long lockTtlMillis,
+            long defaultRecomputeMillis, LongSupplier clock, DoubleSupplier random) {
+        this.redisTemplate = redisTemplate;
+        this.valueStore = valueStore;
+        this.health = health;
+        this.metrics = metrics;
+        this.enabled = enabled;
+        this.beta = beta;
+        this.lockTtl = Duration.ofMillis(lockTtlMillis);
+        this.defaultRecomputeMillis = defaultRecomputeMillis;
+        this.clock = clock;
+        this.random = random;
+    }
+
+    /**
+     * Whether this reader should recompute a still valid value now. Only true when the
+     * XFetch draw fires and this node obtained the recompute lock for the key.
+     *
+     * @param recomputeMillis how long the value took to compute, or a negative number if unknown
+     * @param expiresAtMillis epoch millis at which the value expires
+     */
+    public boolean shouldRecompute(String key, long recomputeMillis, long expiresAtMillis) {
+        if (!enabled) {
+            return false;
+        }
+        long delta = recomputeMillis >= 0 ? recomputeMillis : defaultRecomputeMillis;
+        double draw = -delta * beta * Math.log(1.0 - random.getAsDouble());
+        if (clock.getAsLong() + draw < expiresAtMillis) {
+            return false;
+        }
+        earlyDraws.increment();
+        if (!tryLock(key)) {
+            staleServed.increment();
+            return false;
+        }
+        earlyRecomputes.increment();
+        return true;
+    }
+
+    /**
+     * Drop the recompute lock after the new value was written
+     */
+    public void release(String key) {
+        if (!enabled) {
+            return;
+        }
+        health.execute(() -> redisTemplate.execute(RELEASE_SCRIPT, List.of(LOCK_PREFIX + key), token), 0L);
+    }
+
+    /**
+     * Read a manually cached value. The result tells the caller whether to use the
+     * value as is or to rebuild it and {@link #write} it back.
+     */
+    public Lookup read(String key) {
+        long startedAt = clock.getAsLong();
+        Object stored = valueStore.get(key);
+        if (stored == null) {
+            hardMisses.increment();
+            return new Lookup(key, null, true, startedAt);
+        }
+        if (!(stored instanceof Map<?, ?> envelope) || !envelope.containsKey(ENVELOPE_MARKER)) {
+            // written before stampede protection, or by other code
+            return new Lookup(key, stored, false, startedAt);
+        }
+
+        Object value = envelope.get("value");
+        boolean recompute = shouldRecompute(key, asLong(envelope.get("recomputeMillis")),
+                asLong(envelope.get("expiresAt")));
+        return new Lookup(key, value, recompute, startedAt);
+    }
+
+    /**
+     * Store a rebuilt value together with how long the rebuild took and when it expires
+     */
+    public void write(Lookup lookup, Object value, Duration ttl) {
+        long now = clock.getAsLong();
+        long recomputeMillis = now - lookup.startedAt();
+        metrics.keyspace(lookup.key()).load(recomputeMillis * 1_000_000);
+        Map<String, Object> envelope = new HashMap<>();
+        envelope.put(ENVELOPE_MARKER, 1);
+        envelope.put("value", value);
+        envelope.put("recomputeMillis", recomputeMillis);
+        envelope.put("expiresAt", now + ttl.toMillis());
+        valueStore.set(lookup.key(), envelope, ttl);
+        if (lookup.value() != null) {
+            release(lookup.key());
+        }
+    }
+
+    long currentTimeMillis() {
+        return clock.getAsLong();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("beta", beta);
+        stats.put("earlyDraws", earlyDraws.sum());
+        stats.put("earlyRecomputes", earlyRecomputes.sum());
+        stats.put("staleServed", staleServed.sum());
+        stats.put("hardMisses", hardMisses.sum());
+        return stats;
+    }
+
+    private boolean tryLock(String key) {
+        return health.execute(
+                () -> Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(LOCK_PREFIX + key, token, lockTtl)),
+                false);
+    }
+
+    private static long asLong(Object value) {
+        return value instanceof Number number ? number.longValue() : -1;
+    }
+
+    /**
+     * Outcome of {@link #read}: the cached value, if any, and whether to rebuild it.
+     * A stale {@code value} is still worth returning when the rebuild fails.
+     */
+    public record Lookup(String key, Object value, boolean recompute, long startedAt) {
+
+        public boolean isFresh() {
+            return value != null && !recompute;
+        }
+    }
+}
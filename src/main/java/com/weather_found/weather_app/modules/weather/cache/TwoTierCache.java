@@ -0,0 +1,433 @@
+package com.weather_found.weather_app.modules.weather.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * A {@link Cache} that answers from an in-process {@link NearCache} before its shared
+ * second tier. Near entries never outlive the second-tier entry they copy: writes use
+ * the second tier's configured TTL, reads its remaining TTL (fetched with the value in
+ * one round trip), both capped by the near TTL. Every local write or eviction is announced so other nodes drop their copy.
+ * While the {@link RedisHealthMonitor} reports Redis down, or a second-tier call
+ * fails, the near tier alone serves as a bounded fallback.
+ * <p>
+ * With a {@link StampedeGuard} set, a hit may instead be reported as a miss shortly
+ * before the entry expires, so that one caller reloads it early while everyone else
+ * keeps getting the current value. The time each reload took is remembered per key.
+ * <p>
+ * Near entries are keyed by the string form of the key, the same form the second tier
+ * stores and invalidations carry, so a key arriving from another node matches the
+ * local copy whatever type the caller used.
+ */
+public class TwoTierCache implements Cache {
+
+    private final Cache delegate;
+    private final NearCache near;
+    private final long nearTtlMillis;
+    private final ToLongFunction<Object> writeTtlMillis;
+    private final Function<Object, RemoteEntry> remoteReader;
+    private final Consumer<Object> invalidationPublisher;
+    private final RedisHealthMonitor health;
+    private volatile Consumer<Object> hitListener = key -> {
+    };
+    private volatile Function<Object, String> keyNormalizer = String::valueOf;
+    private volatile StampedeGuard stampedeGuard;
+
+    /** Bookkeeping for reload timing, only used with a stampede guard */
+    private final NearCache pendingLoads = new NearCache(PENDING_LOADS_MAX);
+    private final NearCache recomputeMillis = new NearCache(RECOMPUTE_TIMES_MAX);
+
+    private static final int PENDING_LOADS_MAX = 1024;
+    private static final int RECOMPUTE_TIMES_MAX = 4096;
+    private static final long PENDING_LOAD_TTL_MILLIS = 60_000;
+    private static final long RECOMPUTE_TIME_TTL_MILLIS = 86_400_000;
+
+    /** Near tier payload: the value plus the second-tier expiry it was copied with */
+    private record Held(ValueWrapper value, long expiresAtMillis) {
+    }
+
+    /** A second-tier hit with the entry's remaining TTL */
+    public record RemoteEntry(ValueWrapper value, long remainingTtlMillis) {
+    }
+
+    /** A near entry as saved to and restored from a snapshot */
+    public record NearEntry(Object key, Object value, long expiresAtMillis) {
+    }
+
+    /** A reload in progress; locked when it is an early recompute holding the guard's lock */
+    private record PendingLoad(long startedAtMillis, boolean locked) {
+    }
+
+    private final LongAdder nearHits = new LongAdder();
+    private final LongAdder remoteHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidationsReceived = new LongAdder();
+    private final LongAdder earlyRecomputes = new LongAdder();
+
+    /**
+     * @param writeTtlMillis second-tier TTL a freshly written key gets
+     * @param remoteReader second-tier value and remaining TTL of a key, null on a miss
+     * @param invalidationPublisher announces a changed key, or null for a cleared cache
+     */
+    public TwoTierCache(Cache delegate, NearCache near, long nearTtlMillis, ToLongFunction<Object> writeTtlMillis,
+            Function<Object, RemoteEntry> remoteReader, Consumer<Object> invalidationPublisher,
+            RedisHealthMonitor health) {
+        this.delegate = delegate;
+        this.near = near;
+        this.nearTtlMillis = nearTtlMillis;
+        this.writeTtlMillis = writeTtlMillis;
+        this.remoteReader = remoteReader;
+        this.invalidationPublisher = invalidationPublisher;
+        this.health = health;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        Held local = (Held) near.get(nearKey(key));
+        if (local != null) {
+            nearHits.increment();
+            hitListener.accept(key);
+            return recomputeEarly(key, local.expiresAtMillis()) ? null : local.value();
+        }
+
+        RemoteEntry remote = null;
+        if (health.isAvailable()) {
+            try {
+                remote = remoteReader.apply(key);
+                health.recordSuccess();
+            } catch (RuntimeException e) {
+                health.recordFailure(e);
+            }
+        }
+        if (remote == null) {
+            misses.increment();
+            startLoad(key, false);
+            return null;
+        }
+        remoteHits.increment();
+        hitListener.accept(key);
+        long remaining = remote.remainingTtlMillis();
+        long expiresAt = expiresAt(remaining);
+        near.put(nearKey(key), new Held(remote.value(), expiresAt), Math.min(nearTtlMillis, remaining));
+        return recomputeEarly(key, expiresAt) ? null : remote.value();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                    "Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+        PendingLoad pending = (PendingLoad) pendingLoads.get(nearKey(key));
+        if (pending != null && pending.locked()) {
+            // The second tier still holds the old value, so load directly instead of through it
+            T value;
+            try {
+                value = valueLoader.call();
+            } catch (Exception e) {
+                throw new ValueRetrievalException(key, valueLoader, e);
+            }
+            put(key, value);
+            return value;
+        }
+        T value = null;
+        boolean loaded = false;
+        if (health.isAvailable()) {
+            try {
+                value = delegate.get(key, valueLoader);
+                health.recordSuccess();
+                loaded = true;
+            } catch (ValueRetrievalException e) {
+                throw e;
+            } catch (RuntimeException e) {
+                health.recordFailure(e);
+            }
+        }
+        if (!loaded) {
+            try {
+                value = valueLoader.call();
+            } catch (Exception e) {
+                throw new ValueRetrievalException(key, valueLoader, e);
+            }
+        }
+        finishLoad(key);
+        keepNear(key, value);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        PendingLoad pending = finishLoad(key);
+        keepNear(key, value);
+        if (remote(() -> delegate.put(key, value))) {
+            invalidationPublisher.accept(key);
+        }
+        StampedeGuard guard = stampedeGuard;
+        if (guard != null && pending != null && pending.locked()) {
+            guard.release(lockKey(key));
+        }
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        Held held = (Held) near.get(nearKey(key));
+        ValueWrapper local = held != null ? held.value() : null;
+        if (!health.isAvailable()) {
+            if (local == null) {
+                keepNear(key, value);
+            }
+            return local;
+        }
+        try {
+            ValueWrapper existing = delegate.putIfAbsent(key, value);
+            health.recordSuccess();
+            if (existing == null) {
+                keepNear(key, value);
+                invalidationPublisher.accept(key);
+            }
+            return existing;
+        } catch (RuntimeException e) {
+            health.recordFailure(e);
+            if (local == null) {
+                keepNear(key, value);
+            }
+            return local;
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        near.remove(nearKey(key));
+        if (remote(() -> delegate.evict(key))) {
+            invalidationPublisher.accept(key);
+        }
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean[] present = { near.get(nearKey(key)) != null };
+        near.remove(nearKey(key));
+        if (remote(() -> present[0] |= delegate.evictIfPresent(key))) {
+            invalidationPublisher.accept(key);
+        }
+        return present[0];
+    }
+
+    @Override
+    public void clear() {
+        near.clear();
+        if (remote(delegate::clear)) {
+            invalidationPublisher.accept(null);
+        }
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean[] present = { near.size() > 0 };
+        near.clear();
+        if (remote(() -> present[0] |= delegate.invalidate())) {
+            invalidationPublisher.accept(null);
+        }
+        return present[0];
+    }
+
+    /**
+     * Observe keys served from either tier
+     */
+    public void setHitListener(Consumer<Object> hitListener) {
+        this.hitListener = hitListener;
+    }
+
+    /**
+     * How keys are turned into the string form the second tier stores them under;
+     * defaults to {@link String#valueOf(Object)}
+     */
+    public void setKeyNormalizer(Function<Object, String> keyNormalizer) {
+        this.keyNormalizer = keyNormalizer;
+    }
+
+    /**
+     * Enable probabilistic early recomputation of entries close to expiry
+     */
+    public void setStampedeGuard(StampedeGuard stampedeGuard) {
+        this.stampedeGuard = stampedeGuard;
+    }
+
+    /**
+     * Drop the near copy after another node changed the key; null drops everything
+     */
+    public void onRemoteInvalidation(Object key) {
+        invalidationsReceived.increment();
+        if (key == null) {
+            near.clear();
+        } else {
+            near.remove(nearKey(key));
+        }
+    }
+
+    /**
+     * The live near entries with a non-null value, for a snapshot
+     */
+    public List<NearEntry> nearEntries() {
+        List<NearEntry> entries = new ArrayList<>();
+        near.liveEntries().forEach((key, held) -> {
+            Object value = ((Held) held).value().get();
+            if (value != null) {
+                entries.add(new NearEntry(key, value, ((Held) held).expiresAtMillis()));
+            }
+        });
+        return entries;
+    }
+
+    /**
+     * Put a snapshot entry back into the near tier, for at most the near TTL and never
+     * past the second-tier expiry it was saved with; false if that has passed
+     */
+    public boolean restoreNear(NearEntry entry) {
+        long remaining = entry.expiresAtMillis() - now();
+        if (remaining <= 0) {
+            return false;
+        }
+        near.put(nearKey(entry.key()), new Held(new SimpleValueWrapper(entry.value()), entry.expiresAtMillis()),
+                Math.min(nearTtlMillis, remaining));
+        return true;
+    }
+
+    /**
+     * Hit ratios per tier: the near ratio over all lookups, the remote ratio over the
+     * lookups the near tier missed
+     */
+    public Map<String, Object> getStats() {
+        long nearHitCount = nearHits.sum();
+        long remoteHitCount = remoteHits.sum();
+        long missCount = misses.sum();
+        long requests = nearHitCount + remoteHitCount + missCount;
+        long remoteRequests = remoteHitCount + missCount;
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("requests", requests);
+        stats.put("nearHits", nearHitCount);
+        stats.put("remoteHits", remoteHitCount);
+        stats.put("misses", missCount);
+        stats.put("nearHitRatio", requests > 0 ? (double) nearHitCount / requests : 0.0);
+        stats.put("remoteHitRatio", remoteRequests > 0 ? (double) remoteHitCount / remoteRequests : 0.0);
+        stats.put("overallHitRatio", requests > 0 ? (double) (nearHitCount + remoteHitCount) / requests : 0.0);
+        stats.put("nearEntries", near.size());
+        stats.put("nearEvictions", near.evictions());
+        stats.put("invalidationsReceived", invalidationsReceived.sum());
+        stats.put("earlyRecomputes", earlyRecomputes.sum());
+        return stats;
+    }
+
+    /**
+     * Run a second-tier command unless Redis is down; false if it was skipped or failed
+     */
+    private boolean remote(Runnable command) {
+        if (!health.isAvailable()) {
+            return false;
+        }
+        try {
+            command.run();
+            health.recordSuccess();
+            return true;
+        } catch (RuntimeException e) {
+            health.recordFailure(e);
+            return false;
+        }
+    }
+
+    private void keepNear(Object key, Object value) {
+        long ttl = writeTtlMillis.applyAsLong(key);
+        near.put(nearKey(key), new Held(new SimpleValueWrapper(value), expiresAt(ttl)), Math.min(nearTtlMillis, ttl));
+    }
+
+    /**
+     * Expiry of an entry with {@code ttlMillis} left, saturated so an unbounded TTL
+     * (Long.MAX_VALUE) does not overflow into the past
+     */
+    private long expiresAt(long ttlMillis) {
+        long now = now();
+        return ttlMillis > Long.MAX_VALUE - now ? Long.MAX_VALUE : now + ttlMillis;
+    }
+
+    private String nearKey(Object key) {
+        return key instanceof String string ? string : keyNormalizer.apply(key);
+    }
+
+    /**
+     * Whether the caller should reload a still valid entry; if so the reload is timed
+     */
+    private boolean recomputeEarly(Object key, long expiresAtMillis) {
+        StampedeGuard guard = stampedeGuard;
+        if (guard == null) {
+            return false;
+        }
+        Long lastRecompute = (Long) recomputeMillis.get(nearKey(key));
+        if (!guard.shouldRecompute(lockKey(key), lastRecompute != null ? lastRecompute : -1, expiresAtMillis)) {
+            return false;
+        }
+        earlyRecomputes.increment();
+        startLoad(key, true);
+        return true;
+    }
+
+    private void startLoad(Object key, boolean locked) {
+        if (stampedeGuard != null) {
+            pendingLoads.put(nearKey(key), new PendingLoad(now(), locked), PENDING_LOAD_TTL_MILLIS);
+        }
+    }
+
+    private PendingLoad finishLoad(Object key) {
+        if (stampedeGuard == null) {
+            return null;
+        }
+        PendingLoad pending = (PendingLoad) pendingLoads.get(nearKey(key));
+        if (pending != null) {
+            pendingLoads.remove(nearKey(key));
+            recomputeMillis.put(nearKey(key), now() - pending.startedAtMillis(), RECOMPUTE_TIME_TTL_MILLIS);
+        }
+        return pending;
+    }
+
+    private String lockKey(Object key) {
+        return getName() + "::" + key;
+    }
+
+    private long now() {
+        StampedeGuard guard = stampedeGuard;
+        return guard != null ? guard.currentTimeMillis() : System.currentTimeMillis();
+    }
+}
@@ -0,0 +1,269 @@
+package com.weather_found.weather_app.modules.weather.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.NullValue;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+
+/**
+ * Puts a bounded in-process {@link NearCache} in front of every cache of a
+ * {@link RedisCacheManager}. Writes and evictions are broadcast on
+ * {@link #INVALIDATION_CHANNEL} so other nodes drop their near copies; this manager
+ * is also the listener for that channel. Keys travel in the string form
+ * {@link RedisCache} stores them under, which is also how the near tiers key them.
+ */
+@Slf4j
+public class TwoTierCacheManager implements CacheManager, MessageListener {
+
+    public static final String INVALIDATION_CHANNEL = "weather:cache:invalidation";
+
+    /** Separates node id, cache name and key in an invalidation message */
+    private static final char SEPARATOR = '\n';
+
+    /** How {@link RedisCache} stores a cached null */
+    private static final byte[] BINARY_NULL_VALUE = RedisSerializer.java().serialize(NullValue.INSTANCE);
+
+    private final RedisCacheManager redisCacheManager;
+    private final RedisConnectionFactory connectionFactory;
+    private final RedisHealthMonitor health;
+    private final StringRedisTemplate publisher;
+    private final boolean enabled;
+    private final int maxEntries;
+    private final long nearTtlMillis;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, TwoTierCache> caches = new ConcurrentHashMap<>();
+    private final LongAdder invalidationsPublished = new LongAdder();
+    private final LongAdder publishFailures = new LongAdder();
+    private final List<BiConsumer<String, Object>> hitListeners = new CopyOnWriteArrayList<>();
+    private volatile StampedeGuard stampedeGuard;
+    private volatile CacheMetrics cacheMetrics;
+    private final Map<String, Cache> instrumented = new ConcurrentHashMap<>();
+
+    public TwoTierCacheManager(RedisCacheManager redisCacheManager, RedisConnectionFactory connectionFactory,
+            RedisHealthMonitor health, boolean enabled, int maxEntries, Duration nearTtl) {
+        this.redisCacheManager = redisCacheManager;
+        this.connectionFactory = connectionFactory;
+        this.health = health;
+        this.publisher = new StringRedisTemplate(connectionFactory);
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.nearTtlMillis = nearTtl.toMillis();
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        CacheMetrics metrics = cacheMetrics;
+        if (metrics == null) {
+            return tieredCache(name);
+        }
+        Cache existing = instrumented.get(name);
+        if (existing != null) {
+            return existing;
+        }
+        Cache cache = tieredCache(name);
+        return cache == null ? null
+                : instrumented.computeIfAbsent(name, n -> new InstrumentedCache(cache, metrics.cache(n)));
+    }
+
+    private Cache tieredCache(String name) {
+        if (!enabled) {
+            return redisCacheManager.getCache(name);
+        }
+        return caches.computeIfAbsent(name, cacheName -> {
+            Cache remote = redisCacheManager.getCache(cacheName);
+            if (!(remote instanceof RedisCache redisCache)) {
+                return null;
+            }
+            TwoTierCache cache = new TwoTierCache(redisCache, new NearCache(maxEntries), nearTtlMillis,
+                    key -> writeTtlMillis(redisCache, key),
+                    key -> readRemote(redisCache, key),
+                    key -> publishInvalidation(cacheName, key != null ? cacheKey(redisCache, key) : null), health);
+            cache.setKeyNormalizer(key -> cacheKey(redisCache, key));
+            cache.setHitListener(key -> hitListeners.forEach(listener -> listener.accept(cacheName, key)));
+            cache.setStampedeGuard(stampedeGuard);
+            return cache;
+        });
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return redisCacheManager.getCacheNames();
+    }
+
+    /**
+     * Observe cache hits as (cache name, key); only reported while the near tier is enabled
+     */
+    public void addHitListener(BiConsumer<String, Object> listener) {
+        hitListeners.add(listener);
+    }
+
+    /**
+     * Recompute hot entries early instead of letting them expire under load; like the
+     * hit listeners this needs the near tier enabled
+     */
+    public void setStampedeGuard(StampedeGuard stampedeGuard) {
+        this.stampedeGuard = stampedeGuard;
+        caches.values().forEach(cache -> cache.setStampedeGuard(stampedeGuard));
+    }
+
+    /**
+     * Record hits, misses, load times and evictions of every cache handed out from now on
+     */
+    public void setCacheMetrics(CacheMetrics cacheMetrics) {
+        this.cacheMetrics = cacheMetrics;
+    }
+
+    /**
+     * Live near entries per cache; empty while the near tier is disabled
+     */
+    public Map<String, List<TwoTierCache.NearEntry>> nearEntries() {
+        Map<String, List<TwoTierCache.NearEntry>> entries = new HashMap<>();
+        caches.forEach((name, cache) -> entries.put(name, cache.nearEntries()));
+        return entries;
+    }
+
+    /**
+     * Refill near tiers from a snapshot
+     *
+     * @return number of entries restored
+     */
+    public int restoreNear(Map<String, List<TwoTierCache.NearEntry>> snapshot) {
+        if (!enabled) {
+            return 0;
+        }
+        int restored = 0;
+        for (Map.Entry<String, List<TwoTierCache.NearEntry>> entry : snapshot.entrySet()) {
+            if (tieredCache(entry.getKey()) instanceof TwoTierCache cache) {
+                for (TwoTierCache.NearEntry nearEntry : entry.getValue()) {
+                    if (cache.restoreNear(nearEntry)) {
+                        restored++;
+                    }
+                }
+            }
+        }
+        return restored;
+    }
+
+    /**
+     * Apply an invalidation broadcast by another node
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int first = body.indexOf(SEPARATOR);
+        int second = first < 0 ? -1 : body.indexOf(SEPARATOR, first + 1);
+        if (second < 0 || body.startsWith(nodeId + SEPARATOR)) {
+            return;
+        }
+
+        TwoTierCache cache = caches.get(body.substring(first + 1, second));
+        if (cache != null) {
+            String key = body.substring(second + 1);
+            cache.onRemoteInvalidation(key.isEmpty() ? null : key);
+        }
+    }
+
+    /**
+     * Per-cache tier statistics
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        Map<String, Object> perCache = new HashMap<>();
+        caches.forEach((name, cache) -> perCache.put(name, cache.getStats()));
+        stats.put("enabled", enabled);
+        stats.put("caches", perCache);
+        stats.put("maxEntriesPerCache", maxEntries);
+        stats.put("nearTtlMillis", nearTtlMillis);
+        stats.put("invalidationsPublished", invalidationsPublished.sum());
+        stats.put("publishFailures", publishFailures.sum());
+        stats.put("timestamp", LocalDateTime.now());
+        return stats;
+    }
+
+    private void publishInvalidation(String cacheName, String key) {
+        String message = nodeId + SEPARATOR + cacheName + SEPARATOR + (key != null ? key : "");
+        try {
+            publisher.convertAndSend(INVALIDATION_CHANNEL, message);
+            invalidationsPublished.increment();
+        } catch (RuntimeException e) {
+            publishFailures.increment();
+            log.debug("Cannot publish cache invalidation for {}: {}", cacheName, e.getMessage());
+        }
+    }
+
+    /**
+     * The key as {@link RedisCache} writes it into the Redis key: through the cache's
+     * conversion service when it can, otherwise its toString
+     */
+    static String cacheKey(RedisCache cache, Object key) {
+        if (key instanceof String string) {
+            return string;
+        }
+        ConversionService conversionService = cache.getCacheConfiguration().getConversionService();
+        if (conversionService.canConvert(key.getClass(), String.class)) {
+            String converted = conversionService.convert(key, String.class);
+            if (converted != null) {
+                return converted;
+            }
+        }
+        return key.toString();
+    }
+
+    private static long writeTtlMillis(RedisCache cache, Object key) {
+        Duration ttl = cache.getCacheConfiguration().getTtlFunction().getTimeToLive(key, null);
+        return ttl.isZero() || ttl.isNegative() ? Long.MAX_VALUE : ttl.toMillis();
+    }
+
+    /**
+     * Value and remaining TTL of the Redis entry, read as GET and PTTL in one pipeline.
+     * Failures propagate to the caller, which reports them to the health monitor.
+     */
+    private TwoTierCache.RemoteEntry readRemote(RedisCache cache, Object key) {
+        byte[] redisKey = (cache.getCacheConfiguration().getKeyPrefixFor(cache.getName()) + cacheKey(cache, key))
+                .getBytes(StandardCharsets.UTF_8);
+        List<Object> results;
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.openPipeline();
+            connection.stringCommands().get(redisKey);
+            connection.keyCommands().pTtl(redisKey);
+            results = connection.closePipeline();
+        }
+        if (results.size() != 2 || !(results.get(0) instanceof byte[] bytes)) {
+            return null;
+        }
+        Object value = cache.isAllowNullValues() && Arrays.equals(bytes, BINARY_NULL_VALUE) ? null
+                : cache.getCacheConfiguration().getValueSerializationPair().read(ByteBuffer.wrap(bytes));
+        // -2 means the key expired right after the GET, so nothing is kept near
+        long remaining = 0;
+        if (results.get(1) instanceof Long ttl) {
+            remaining = ttl == -1 ? writeTtlMillis(cache, key) : Math.max(ttl, 0);
+        }
+        return new TwoTierCache.RemoteEntry(new SimpleValueWrapper(value), remaining);
+    }
+}
@@ -0,0 +1,151 @@
+package com.weather_found.weather_app.modules.weather.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Write-through access to the location-scoped weather caches. Each value is written
+ * once, into its Spring cache (near tier, Redis, metrics and stampede protection
+ * included), with the TTL from {@link CacheTtlPolicy} unless the write overrides it.
+ * Every write is also indexed under its location, so what is cached for a location
+ * can be listed and cleared without scanning the keyspace.
+ */
+@Component
+@Slf4j
+public class WeatherCacheStore {
+
+    private static final String KEY_SEPARATOR = "::";
+
+    private final CacheManager cacheManager;
+    private final CacheTtlPolicy ttlPolicy;
+    private final CacheKeyIndex keyIndex;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisHealthMonitor health;
+
+    public WeatherCacheStore(CacheManager cacheManager, CacheTtlPolicy ttlPolicy, CacheKeyIndex keyIndex,
+            RedisTemplate<String, Object> redisTemplate, RedisHealthMonitor health) {
+        this.cacheManager = cacheManager;
+        this.ttlPolicy = ttlPolicy;
+        this.keyIndex = keyIndex;
+        this.redisTemplate = redisTemplate;
+        this.health = health;
+    }
+
+    /**
+     * The cached value for a location, loading and storing it on a miss
+     *
+     * @param suffix rest of the key after the location, e.g. {@code ":7"} for a 7 day forecast
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getOrLoad(String cacheName, String location, String suffix, Supplier<T> loader) {
+        Cache cache = cache(cacheName);
+        Cache.ValueWrapper cached = cache.get(keyOf(location, suffix));
+        if (cached != null) {
+            return (T) cached.get();
+        }
+        T value = loader.get();
+        put(cacheName, location, suffix, value);
+        return value;
+    }
+
+    /**
+     * Store a value with the policy TTL of its cache
+     */
+    public void put(String cacheName, String location, String suffix, Object value) {
+        put(cacheName, location, suffix, value, ttlPolicy.ttlFor(cacheName));
+    }
+
+    /**
+     * Store a value with its own TTL instead of the policy's
+     */
+    public void put(String cacheName, String location, String suffix, Object value, Duration ttl) {
+        String key = keyOf(location, suffix);
+        Cache cache = cache(cacheName);
+        ttlPolicy.withTtl(ttl, () -> {
+            cache.put(key, value);
+            return null;
+        });
+        keyIndex.recordWrite(cacheName, tagOf(location), cacheName + KEY_SEPARATOR + key,
+                ttl.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * What is cached for a location: cache name, key and remaining TTL of each live entry
+     */
+    public List<Map<String, Object>> entriesFor(String location) {
+        List<String> keys = new ArrayList<>(keyIndex.members(tagOf(location)));
+        if (keys.isEmpty()) {
+            return List.of();
+        }
+        List<Object> ttls = health.execute(() -> redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            keys.forEach(key -> pTtl(connection, key));
+            return null;
+        }), List.of());
+
+        List<Map<String, Object>> entries = new ArrayList<>();
+        for (int i = 0; i < keys.size() && i < ttls.size(); i++) {
+            long ttlMillis = ttls.get(i) instanceof Number number ? number.longValue() : -2;
+            if (ttlMillis < 0 && ttlMillis != -1) {
+                continue; // expired since it was indexed
+            }
+            String redisKey = keys.get(i);
+            int separator = redisKey.indexOf(KEY_SEPARATOR);
+            Map<String, Object> entry = new HashMap<>();
+            entry.put("cache", separator > 0 ? redisKey.substring(0, separator) : "");
+            entry.put("key", separator > 0 ? redisKey.substring(separator + KEY_SEPARATOR.length()) : redisKey);
+            entry.put("ttlSeconds", ttlMillis < 0 ? -1 : ttlMillis / 1000);
+            entries.add(entry);
+        }
+        return entries;
+    }
+
+    /**
+     * Evict everything cached for a location, on every node's near tier as well
+     *
+     * @return number of entries that were indexed for the location
+     */
+    public int evictLocation(String location) {
+        String tag = tagOf(location);
+        for (String redisKey : keyIndex.members(tag)) {
+            int separator = redisKey.indexOf(KEY_SEPARATOR);
+            if (separator > 0) {
+                cache(redisKey.substring(0, separator)).evict(redisKey.substring(separator + KEY_SEPARATOR.length()));
+            }
+        }
+        return keyIndex.invalidate(tag, CacheTtlPolicy.LOCATION_SCOPED);
+    }
+
+    private Cache cache(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            throw new IllegalArgumentException("Unknown cache: " + cacheName);
+        }
+        return cache;
+    }
+
+    private static String keyOf(String location, String suffix) {
+        return tagOf(location) + suffix;
+    }
+
+    private static String tagOf(String location) {
+        return location.toLowerCase();
+    }
+
+    private static void pTtl(RedisConnection connection, String key) {
+        connection.keyCommands().pTtl(key.getBytes(StandardCharsets.UTF_8));
+    }
+}
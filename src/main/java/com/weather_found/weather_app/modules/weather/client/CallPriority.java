@@ -0,0 +1,17 @@
+package com.weather_found.weather_app.modules.weather.client;
+
+/**
+ * Priority of an outbound provider call, used to share quota between
+ * user-facing requests and background work
+ */
+public enum CallPriority {
+
+    /** A user is waiting for the answer */
+    INTERACTIVE,
+
+    /** Scheduled sweeps such as the alert scan */
+    BACKGROUND,
+
+    /** Speculative refreshes of data nobody asked for yet */
+    PREFETCH
+}
@@ -0,0 +1,162 @@
+package com.weather_found.weather_app.modules.weather.client;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Count-based circuit breaker for one upstream provider.
+ * <p>
+ * CLOSED tracks the outcome of the last {@code windowSize} calls and opens once the
+ * failure rate crosses the threshold. OPEN rejects every call until the open duration
+ * has elapsed, then HALF_OPEN lets a few probe calls through: all of them succeeding
+ * closes the breaker again, any failure re-opens it.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openDurationNanos;
+    private final int halfOpenProbes;
+    private final LongSupplier nanoClock;
+
+    private final boolean[] window;
+    private int windowIndex;
+    private int recordedCalls;
+    private int failedCalls;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int probesIssued;
+    private int probesSucceeded;
+
+    private long rejectedCalls;
+    private long timesOpened;
+
+    public CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold,
+            long openDurationMs, int halfOpenProbes) {
+        this(windowSize, minimumCalls, failureRateThreshold, openDurationMs, halfOpenProbes, System::nanoTime);
+    }
+
+    CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold,
+            long openDurationMs, int halfOpenProbes, LongSupplier nanoClock) {
+        this.windowSize = windowSize;
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDurationNanos = openDurationMs * 1_000_000L;
+        this.halfOpenProbes = Math.max(1, halfOpenProbes);
+        this.nanoClock = nanoClock;
+        this.window = new boolean[windowSize];
+    }
+
+    /**
+     * Ask for permission to call the provider. Every granted permit must be followed
+     * by exactly one {@link #onSuccess()} or {@link #onFailure()}.
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (nanoClock.getAsLong() - openedAt < openDurationNanos) {
+                rejectedCalls++;
+                return false;
+            }
+            state = State.HALF_OPEN;
+            probesIssued = 0;
+            probesSucceeded = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesIssued >= halfOpenProbes) {
+                rejectedCalls++;
+                return false;
+            }
+            probesIssued++;
+        }
+        return true;
+    }
+
+    public synchronized void onSuccess() {
+        switch (state) {
+            case CLOSED -> record(false);
+            case HALF_OPEN -> {
+                if (++probesSucceeded >= halfOpenProbes) {
+                    close();
+                }
+            }
+            case OPEN -> {
+                // A call granted before the breaker opened; the window is already decided
+            }
+        }
+    }
+
+    public synchronized void onFailure() {
+        switch (state) {
+            case CLOSED -> {
+                record(true);
+                if (recordedCalls >= minimumCalls && getFailureRate() >= failureRateThreshold) {
+                    open();
+                }
+            }
+            case HALF_OPEN -> open();
+            case OPEN -> {
+                // Already open
+            }
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Failure rate in percent over the current window
+     */
+    public synchronized double getFailureRate() {
+        return recordedCalls == 0 ? 0.0 : failedCalls * 100.0 / recordedCalls;
+    }
+
+    public synchronized Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("state", state.name());
+        stats.put("failureRate", getFailureRate());
+        stats.put("bufferedCalls", recordedCalls);
+        stats.put("rejectedCalls", rejectedCalls);
+        stats.put("timesOpened", timesOpened);
+        if (state == State.OPEN) {
+            long remaining = openDurationNanos - (nanoClock.getAsLong() - openedAt);
+            stats.put("retryInMs", Math.max(0, remaining / 1_000_000L));
+        }
+        return stats;
+    }
+
+    private void record(boolean failed) {
+        if (recordedCalls == windowSize) {
+            if (window[windowIndex]) {
+                failedCalls--;
+            }
+        } else {
+            recordedCalls++;
+        }
+        window[windowIndex] = failed;
+        if (failed) {
+            failedCalls++;
+        }
+        windowIndex = (windowIndex + 1) % windowSize;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = nanoClock.getAsLong();
+        timesOpened++;
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        windowIndex = 0;
+        recordedCalls = 0;
+        failedCalls = 0;
+    }
+}
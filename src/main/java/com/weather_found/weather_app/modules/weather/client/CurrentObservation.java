@@ -0,0 +1,27 @@
+package com.weather_found.weather_app.modules.weather.client;
+
+/**
+ * Current conditions decoded from a provider payload.
+ * Missing numeric values are {@link Double#NaN} or {@link #MISSING} for integer fields.
+ */
+public record CurrentObservation(
+        long cityId,
+        String cityName,
+        double latitude,
+        double longitude,
+        double temperature,
+        double humidity,
+        double pressure,
+        double windSpeed,
+        int windDirection,
+        int cloudCover,
+        double visibilityKm,
+        String condition,
+        String description) {
+
+    public static final int MISSING = -1;
+
+    public boolean hasCoordinates() {
+        return !Double.isNaN(latitude) && !Double.isNaN(longitude);
+    }
+}
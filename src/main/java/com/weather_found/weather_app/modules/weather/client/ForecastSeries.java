@@ -0,0 +1,18 @@
+package com.weather_found.weather_app.modules.weather.client;
+
+/**
+ * Forecast time series stored column-wise in primitive arrays.
+ * All arrays have {@link #size()} elements; missing readings are {@link Double#NaN}.
+ */
+public record ForecastSeries(
+        long[] epochSeconds,
+        String[] dateTimes,
+        double[] temperature,
+        double[] humidity,
+        double[] pressure,
+        String[] conditions) {
+
+    public int size() {
+        return epochSeconds.length;
+    }
+}
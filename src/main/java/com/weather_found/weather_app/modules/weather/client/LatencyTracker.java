@@ -0,0 +1,74 @@
+package com.weather_found.weather_app.modules.weather.client;
+
+import java.util.Arrays;
+
+/**
+ * Sliding window of recent response times for one provider, used to derive
+ * adaptive timeouts and hedging delays from observed percentiles.
+ * <p>
+ * Percentiles are read from a sorted copy of the window that is rebuilt once every
+ * {@code windowSize / 20} new samples, so the per-request lookups never sort.
+ */
+public class LatencyTracker {
+
+    private static final int REFRESH_FRACTION = 20;
+
+    private final long[] samples;
+    private final int refreshEvery;
+    private int index;
+    private int count;
+    private int sinceSorted;
+    private volatile long[] sorted;
+
+    public LatencyTracker(int windowSize) {
+        this.samples = new long[windowSize];
+        this.refreshEvery = Math.max(1, windowSize / REFRESH_FRACTION);
+    }
+
+    public synchronized void record(long latencyMs) {
+        samples[index] = latencyMs;
+        index = (index + 1) % samples.length;
+        if (count < samples.length) {
+            count++;
+        }
+        sinceSorted++;
+    }
+
+    public synchronized int getSampleCount() {
+        return count;
+    }
+
+    /**
+     * Nearest-rank percentile of the window as of the last refresh, or -1 when
+     * nothing was recorded yet
+     */
+    public long percentile(double percentile) {
+        long[] window = sortedWindow();
+        if (window == null) {
+            return -1;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * window.length);
+        return window[Math.max(0, Math.min(window.length - 1, rank - 1))];
+    }
+
+    /**
+     * The sorted copy, rebuilt outside the lock when enough samples arrived since
+     */
+    private long[] sortedWindow() {
+        long[] copy;
+        synchronized (this) {
+            if (count == 0) {
+                return null;
+            }
+            long[] current = sorted;
+            if (current != null && sinceSorted < refreshEvery) {
+                return current;
+            }
+            copy = Arrays.copyOf(samples, count);
+            sinceSorted = 0;
+        }
+        Arrays.sort(copy);
+        sorted = copy;
+        return copy;
+    }
+}
@@ -0,0 +1,17 @@
+package com.weather_found.weather_app.modules.weather.client;
+
+/**
+ * NASA POWER daily parameters stored column-wise in primitive arrays.
+ * Dates are {@code yyyyMMdd} strings in ascending order; NASA fill values are {@link Double#NaN}.
+ */
+public record NasaDailySeries(
+        String[] dates,
+        double[] temperature,
+        double[] precipitation,
+        double[] windSpeed,
+        double[] humidity) {
+
+    public int size() {
+        return dates.length;
+    }
+}
@@ -0,0 +1,145 @@
+package com.weather_found.weather_app.modules.weather.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Streaming decoder for NASA POWER daily point responses. The
+ * {@code properties.parameter} section is read straight into primitive arrays.
+ */
+@Component
+public class NasaPowerDecoder {
+
+    /** Value NASA POWER uses for missing observations */
+    private static final double FILL_VALUE = -999.0;
+
+    private static final String[] PARAMETERS = { "T2M", "PRECTOT", "WS2M", "RH2M" };
+
+    private final JsonFactory jsonFactory;
+
+    public NasaPowerDecoder(ObjectMapper objectMapper) {
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    /**
+     * Decode a daily point response for the T2M, PRECTOT, WS2M and RH2M parameters
+     */
+    public NasaDailySeries decodeDaily(byte[] body) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Expected NASA POWER response object");
+            }
+
+            String[] dates = new String[0];
+            double[][] values = new double[PARAMETERS.length][];
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("properties".equals(field) && value == JsonToken.START_OBJECT) {
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String section = parser.currentName();
+                        JsonToken sectionValue = parser.nextToken();
+                        if ("parameter".equals(section) && sectionValue == JsonToken.START_OBJECT) {
+                            dates = readParameters(parser, values);
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] == null) {
+                    values[i] = new double[dates.length];
+                    Arrays.fill(values[i], Double.NaN);
+                }
+            }
+            return new NasaDailySeries(dates, values[0], values[1], values[2], values[3]);
+        }
+    }
+
+    /**
+     * Read every requested parameter object. The first parameter fixes the date axis;
+     * later ones are aligned to it, normally by position and by binary search otherwise.
+     */
+    private String[] readParameters(JsonParser parser, double[][] values) throws IOException {
+        String[] dates = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            int index = indexOf(parser.currentName());
+            JsonToken value = parser.nextToken();
+            if (index < 0 || value != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
+            }
+
+            if (dates == null) {
+                int size = 0;
+                String[] axis = new String[366];
+                double[] series = new double[366];
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    if (size == axis.length) {
+                        axis = Arrays.copyOf(axis, size * 2);
+                        series = Arrays.copyOf(series, size * 2);
+                    }
+                    axis[size] = parser.currentName();
+                    parser.nextToken();
+                    series[size++] = readValue(parser);
+                }
+                dates = Arrays.copyOf(axis, size);
+                values[index] = Arrays.copyOf(series, size);
+            } else {
+                double[] series = new double[dates.length];
+                Arrays.fill(series, Double.NaN);
+                int position = 0;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String date = parser.currentName();
+                    parser.nextToken();
+                    int slot = position < dates.length && date.equals(dates[position])
+                            ? position
+                            : Arrays.binarySearch(dates, date);
+                    if (slot >= 0) {
+                        series[slot] = readValue(parser);
+                    } else {
+                        parser.skipChildren();
+                    }
+                    position++;
+                }
+                values[index] = series;
+            }
+        }
+
+        return dates != null ? dates : new String[0];
+    }
+
+    private static double readValue(JsonParser parser) throws IOException {
+        if (!parser.currentToken().isNumeric()) {
+            parser.skipChildren();
+            return Double.NaN;
+        }
+        double value = parser.getDoubleValue();
+        return value == FILL_VALUE ? Double.NaN : value;
+    }
+
+    private static int indexOf(String parameter) {
+        if ("PRECTOTCORR".equals(parameter)) {
+            return 1; // bias-corrected successor of PRECTOT
+        }
+        for (int i = 0; i < PARAMETERS.length; i++) {
+            if (PARAMETERS[i].equals(parameter)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,245 @@
+package com.weather_found.weather_app.modules.weather.client;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Persistent store of NASA POWER daily parameters, one file per grid cell.
+ * <p>
+ * Each file holds fixed-width slots, one per year since {@link #FIRST_YEAR}, so a
+ * year's tile lives at a computable offset. A slot is a 16 byte header followed by
+ * T2M, PRECTOT, WS2M and RH2M as 366 floats each (NaN for missing days). Tiles are
+ * only written for complete past years, which never change upstream, and are read
+ * back through memory-mapped slices.
+ */
+@Component
+@Slf4j
+public class NasaTileStore {
+
+    /** First year covered by the NASA POWER daily meteorology archive */
+    public static final int FIRST_YEAR = 1981;
+
+    /** MERRA-2 grid used by NASA POWER meteorology, points at -90 + k*0.5 and -180 + k*0.625 */
+    private static final double LAT_STEP = 0.5;
+    private static final double LON_STEP = 0.625;
+    private static final int LON_POINTS = 576;
+
+    /** "NPT2": tiles keyed by grid point; "NPT1" tiles were keyed by cells between points */
+    private static final int MAGIC = 0x4E505432;
+    private static final int PARAMETERS = 4;
+    private static final int DAYS = 366;
+    private static final int HEADER_BYTES = 16;
+    private static final int SLOT_BYTES = HEADER_BYTES + PARAMETERS * DAYS * Float.BYTES;
+
+    private static final DateTimeFormatter NASA_DATE = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private final Path directory;
+    private final LongAdder tilesRead = new LongAdder();
+    private final LongAdder tilesWritten = new LongAdder();
+    private final LongAdder missingTiles = new LongAdder();
+    private final LongAdder incompleteTiles = new LongAdder();
+
+    public NasaTileStore(@Value("${weather.nasa.tile-dir:data/nasa-tiles}") String directory) {
+        this.directory = Path.of(directory);
+    }
+
+    /**
+     * A NASA POWER grid cell around one MERRA-2 grid point; every point inside it
+     * shares the same daily series
+     */
+    public record GridCell(int latIndex, int lonIndex) {
+
+        public double centerLatitude() {
+            return -90 + latIndex * LAT_STEP;
+        }
+
+        public double centerLongitude() {
+            return -180 + lonIndex * LON_STEP;
+        }
+
+        @Override
+        public String toString() {
+            return latIndex + "_" + lonIndex;
+        }
+    }
+
+    /**
+     * The cell of the nearest grid point, so tiles are fetched for a native grid point
+     * rather than between points
+     */
+    public GridCell cellOf(double latitude, double longitude) {
+        int latIndex = (int) Math.round((Math.max(-90, Math.min(latitude, 90)) + 90) / LAT_STEP);
+        // 180 and -180 are the same meridian
+        int lonIndex = Math.floorMod(Math.round((longitude + 180) / LON_STEP), LON_POINTS);
+        return new GridCell(latIndex, lonIndex);
+    }
+
+    /**
+     * Whether the year's tile is stored for the cell
+     */
+    public boolean hasTile(GridCell cell, int year) {
+        Path file = fileOf(cell);
+        if (year < FIRST_YEAR || !Files.exists(file)) {
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long offset = offsetOf(year);
+            if (channel.size() < offset + SLOT_BYTES) {
+                return false;
+            }
+            ByteBuffer header = ByteBuffer.allocate(Integer.BYTES);
+            channel.read(header, offset);
+            return header.flip().getInt() == MAGIC;
+        } catch (IOException e) {
+            log.warn("Cannot inspect NASA tile {} {}: {}", cell, year, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Split a decoded series by year and store one tile per year. Days outside the
+     * series stay NaN, so callers must only pass complete years; a year whose last day
+     * has no values yet is not published upstream completely and is not stored.
+     */
+    public void writeTiles(GridCell cell, NasaDailySeries series) throws IOException {
+        Map<Integer, float[][]> tiles = new HashMap<>();
+        for (int i = 0; i < series.size(); i++) {
+            LocalDate date = LocalDate.parse(series.dates()[i], NASA_DATE);
+            float[][] tile = tiles.computeIfAbsent(date.getYear(), y -> emptyTile());
+            int day = date.getDayOfYear() - 1;
+            tile[0][day] = (float) series.temperature()[i];
+            tile[1][day] = (float) series.precipitation()[i];
+            tile[2][day] = (float) series.windSpeed()[i];
+            tile[3][day] = (float) series.humidity()[i];
+        }
+
+        Files.createDirectories(directory);
+        try (FileChannel channel = FileChannel.open(fileOf(cell),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            for (Map.Entry<Integer, float[][]> entry : tiles.entrySet()) {
+                int year = entry.getKey();
+                if (year < FIRST_YEAR) {
+                    continue;
+                }
+                if (!complete(entry.getValue(), year)) {
+                    incompleteTiles.increment();
+                    log.debug("Not storing NASA tile {} {}: year not complete upstream", cell, year);
+                    continue;
+                }
+                ByteBuffer body = ByteBuffer.allocate(SLOT_BYTES - HEADER_BYTES);
+                for (float[] parameter : entry.getValue()) {
+                    for (float value : parameter) {
+                        body.putFloat(value);
+                    }
+                }
+                long offset = offsetOf(year);
+                writeFully(channel, body.flip(), offset + HEADER_BYTES);
+
+                // Header last: a slot only counts as present once its data is on disk
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+                        .putInt(MAGIC).putInt(year).putInt(LocalDate.of(year, 1, 1).lengthOfYear()).putInt(0);
+                channel.force(false);
+                writeFully(channel, header.flip(), offset);
+                tilesWritten.increment();
+            }
+            channel.force(false);
+        }
+        log.debug("Stored {} NASA tiles for cell {}", tiles.size(), cell);
+    }
+
+    /**
+     * Slice an inclusive date range out of the stored tiles, or null when any year of
+     * the range is not stored yet
+     */
+    public NasaDailySeries read(GridCell cell, LocalDate start, LocalDate end) throws IOException {
+        for (int year = start.getYear(); year <= end.getYear(); year++) {
+            if (!hasTile(cell, year)) {
+                missingTiles.increment();
+                return null;
+            }
+        }
+
+        int size = (int) (end.toEpochDay() - start.toEpochDay() + 1);
+        String[] dates = new String[size];
+        double[][] values = new double[PARAMETERS][size];
+
+        try (FileChannel channel = FileChannel.open(fileOf(cell), StandardOpenOption.READ)) {
+            long firstOffset = offsetOf(start.getYear());
+            long length = offsetOf(end.getYear()) + SLOT_BYTES - firstOffset;
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, firstOffset, length);
+
+            LocalDate date = start;
+            for (int i = 0; i < size; i++, date = date.plusDays(1)) {
+                dates[i] = date.format(NASA_DATE);
+                int slot = (int) (offsetOf(date.getYear()) - firstOffset) + HEADER_BYTES;
+                int day = date.getDayOfYear() - 1;
+                for (int p = 0; p < PARAMETERS; p++) {
+                    values[p][i] = mapped.getFloat(slot + (p * DAYS + day) * Float.BYTES);
+                }
+            }
+        }
+
+        tilesRead.add(end.getYear() - start.getYear() + 1L);
+        return new NasaDailySeries(dates, values[0], values[1], values[2], values[3]);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("directory", directory.toAbsolutePath().toString());
+        stats.put("tilesRead", tilesRead.sum());
+        stats.put("tilesWritten", tilesWritten.sum());
+        stats.put("rangeMisses", missingTiles.sum());
+        stats.put("incompleteTilesSkipped", incompleteTiles.sum());
+        stats.put("timestamp", LocalDateTime.now());
+        return stats;
+    }
+
+    private Path fileOf(GridCell cell) {
+        return directory.resolve("cell_" + cell + ".tiles");
+    }
+
+    private static long offsetOf(int year) {
+        return (long) (year - FIRST_YEAR) * SLOT_BYTES;
+    }
+
+    /** Whether any parameter has a value for the last day of the year */
+    private static boolean complete(float[][] tile, int year) {
+        int lastDay = LocalDate.of(year, 12, 31).getDayOfYear() - 1;
+        for (float[] parameter : tile) {
+            if (!Float.isNaN(parameter[lastDay])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static float[][] emptyTile() {
+        float[][] tile = new float[PARAMETERS][DAYS];
+        for (float[] parameter : tile) {
+            Arrays.fill(parameter, Float.NaN);
+        }
+        return tile;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+}
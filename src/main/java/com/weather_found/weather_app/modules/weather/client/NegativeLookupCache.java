@@ -0,0 +1,66 @@
+package com.weather_found.weather_app.modules.weather.client;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Remembers lookups a provider answered with "not found" (for example an unknown city
+ * name), so repeated requests for the same bad input are answered locally for a while.
+ */
+@Component
+public class NegativeLookupCache {
+
+    private final Map<String, Long> expiries = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder recorded = new LongAdder();
+
+    @Value("${weather.resilience.negative-cache.ttl-seconds:3600}")
+    private long ttlSeconds;
+
+    @Value("${weather.resilience.negative-cache.max-entries:10000}")
+    private int maxEntries;
+
+    /**
+     * Whether the provider recently reported this key as not found
+     */
+    public boolean isKnownMissing(String provider, String key) {
+        String cacheKey = provider + "|" + key;
+        Long expiresAt = expiries.get(cacheKey);
+        if (expiresAt == null) {
+            return false;
+        }
+        if (expiresAt - System.nanoTime() <= 0) {
+            expiries.remove(cacheKey, expiresAt);
+            return false;
+        }
+        hits.increment();
+        return true;
+    }
+
+    public void recordMissing(String provider, String key) {
+        if (expiries.size() >= maxEntries) {
+            long now = System.nanoTime();
+            expiries.values().removeIf(expiresAt -> expiresAt - now <= 0);
+            if (expiries.size() >= maxEntries) {
+                return;
+            }
+        }
+        expiries.put(provider + "|" + key, System.nanoTime() + TimeUnit.SECONDS.toNanos(ttlSeconds));
+        recorded.increment();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("entries", expiries.size());
+        stats.put("hits", hits.sum());
+        stats.put("recorded", recorded.sum());
+        stats.put("ttlSeconds", ttlSeconds);
+        return stats;
+    }
+}
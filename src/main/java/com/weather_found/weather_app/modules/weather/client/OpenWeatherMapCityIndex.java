@@ -0,0 +1,35 @@
+package com.weather_found.weather_app.modules.weather.client;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps our location ids to OpenWeatherMap city ids. The ids are learned from
+ * coordinate lookups and let later sweeps use the multi-city group endpoint.
+ */
+@Component
+public class OpenWeatherMapCityIndex {
+
+    private final Map<Long, Long> cityIds = new ConcurrentHashMap<>();
+
+    public Long find(Long locationId) {
+        return locationId == null ? null : cityIds.get(locationId);
+    }
+
+    public void remember(Long locationId, long cityId) {
+        if (locationId != null && cityId > 0) {
+            cityIds.put(locationId, cityId);
+        }
+    }
+
+    public void forget(Collection<Long> locationIds) {
+        locationIds.forEach(cityIds::remove);
+    }
+
+    public int size() {
+        return cityIds.size();
+    }
+}
@@ -0,0 +1,253 @@
+package com.weather_found.weather_app.modules.weather.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Streaming decoder for OpenWeatherMap payloads. Reads the response bytes token by
+ * token straight into primitive fields, without building a tree or boxed maps.
+ */
+@Component
+public class OpenWeatherMapDecoder {
+
+    private final JsonFactory jsonFactory;
+
+    public OpenWeatherMapDecoder(ObjectMapper objectMapper) {
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    /**
+     * Decode a current weather response ({@code /data/2.5/weather})
+     */
+    public CurrentObservation decodeCurrent(byte[] body) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            expect(parser, parser.nextToken(), JsonToken.START_OBJECT);
+            return readCurrent(parser);
+        }
+    }
+
+    /**
+     * Decode a multi-city response ({@code /data/2.5/group}), one observation per city
+     */
+    public List<CurrentObservation> decodeGroup(byte[] body) throws IOException {
+        List<CurrentObservation> observations = new ArrayList<>();
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            expect(parser, parser.nextToken(), JsonToken.START_OBJECT);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("list".equals(field) && value == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        observations.add(readCurrent(parser));
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return observations;
+    }
+
+    /**
+     * Decode a 5 day / 3 hour forecast response ({@code /data/2.5/forecast})
+     */
+    public ForecastSeries decodeForecast(byte[] body) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            expect(parser, parser.nextToken(), JsonToken.START_OBJECT);
+            SeriesBuilder series = new SeriesBuilder(40);
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("cnt".equals(field) && value == JsonToken.VALUE_NUMBER_INT) {
+                    series.ensureCapacity(parser.getIntValue());
+                } else if ("list".equals(field) && value == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        readForecastEntry(parser, series);
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return series.build();
+        }
+    }
+
+    private CurrentObservation readCurrent(JsonParser parser) throws IOException {
+        long cityId = CurrentObservation.MISSING;
+        String cityName = null;
+        double[] coord = { Double.NaN, Double.NaN };
+        double[] main = { Double.NaN, Double.NaN, Double.NaN };
+        double[] wind = { Double.NaN, Double.NaN };
+        int cloudCover = CurrentObservation.MISSING;
+        double visibilityKm = Double.NaN;
+        String[] weather = new String[2];
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "id" -> cityId = parser.getValueAsLong(CurrentObservation.MISSING);
+                case "name" -> cityName = parser.getValueAsString();
+                case "coord" -> readNumbers(parser, value, coord, "lat", "lon");
+                case "main" -> readNumbers(parser, value, main, "temp", "humidity", "pressure");
+                case "wind" -> readNumbers(parser, value, wind, "speed", "deg");
+                case "weather" -> readFirstWeather(parser, value, weather);
+                case "visibility" -> visibilityKm = value.isNumeric() ? parser.getDoubleValue() / 1000 : Double.NaN;
+                case "clouds" -> {
+                    double[] clouds = { Double.NaN };
+                    readNumbers(parser, value, clouds, "all");
+                    cloudCover = Double.isNaN(clouds[0]) ? CurrentObservation.MISSING : (int) clouds[0];
+                }
+                default -> parser.skipChildren();
+            }
+        }
+
+        return new CurrentObservation(cityId, cityName, coord[0], coord[1], main[0], main[1], main[2],
+                wind[0], Double.isNaN(wind[1]) ? CurrentObservation.MISSING : (int) wind[1],
+                cloudCover, visibilityKm, weather[0], weather[1]);
+    }
+
+    private void readForecastEntry(JsonParser parser, SeriesBuilder series) throws IOException {
+        long epochSeconds = 0;
+        String dateTime = null;
+        double[] main = { Double.NaN, Double.NaN, Double.NaN };
+        String[] weather = new String[2];
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "dt" -> epochSeconds = parser.getValueAsLong();
+                case "dt_txt" -> dateTime = parser.getValueAsString();
+                case "main" -> readNumbers(parser, value, main, "temp", "humidity", "pressure");
+                case "weather" -> readFirstWeather(parser, value, weather);
+                default -> parser.skipChildren();
+            }
+        }
+
+        series.add(epochSeconds, dateTime, main[0], main[1], main[2], weather[0]);
+    }
+
+    /**
+     * Read the named numeric fields of a flat object into {@code target}, in argument order
+     */
+    private void readNumbers(JsonParser parser, JsonToken value, double[] target, String... names)
+            throws IOException {
+        if (value != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken token = parser.nextToken();
+            int index = indexOf(names, field);
+            if (index >= 0 && token.isNumeric()) {
+                target[index] = parser.getDoubleValue();
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    /**
+     * Read {@code main} and {@code description} of the first entry of a {@code weather} array
+     */
+    private void readFirstWeather(JsonParser parser, JsonToken value, String[] target) throws IOException {
+        if (value != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return;
+        }
+        boolean first = true;
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                if (first && "main".equals(field)) {
+                    target[0] = parser.getValueAsString();
+                } else if (first && "description".equals(field)) {
+                    target[1] = parser.getValueAsString();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            first = false;
+        }
+    }
+
+    private static int indexOf(String[] names, String field) {
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(field)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static void expect(JsonParser parser, JsonToken actual, JsonToken expected) throws IOException {
+        if (actual != expected) {
+            throw new JsonParseException(parser, "Expected " + expected + " but found " + actual);
+        }
+    }
+
+    /**
+     * Growable column storage for forecast entries
+     */
+    private static final class SeriesBuilder {
+        private long[] epochSeconds;
+        private String[] dateTimes;
+        private double[] temperature;
+        private double[] humidity;
+        private double[] pressure;
+        private String[] conditions;
+        private int size;
+
+        private SeriesBuilder(int capacity) {
+            epochSeconds = new long[capacity];
+            dateTimes = new String[capacity];
+            temperature = new double[capacity];
+            humidity = new double[capacity];
+            pressure = new double[capacity];
+            conditions = new String[capacity];
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity > epochSeconds.length) {
+                epochSeconds = Arrays.copyOf(epochSeconds, capacity);
+                dateTimes = Arrays.copyOf(dateTimes, capacity);
+                temperature = Arrays.copyOf(temperature, capacity);
+                humidity = Arrays.copyOf(humidity, capacity);
+                pressure = Arrays.copyOf(pressure, capacity);
+                conditions = Arrays.copyOf(conditions, capacity);
+            }
+        }
+
+        private void add(long epoch, String dateTime, double temp, double hum, double press, String condition) {
+            if (size == epochSeconds.length) {
+                ensureCapacity(Math.max(8, size * 2));
+            }
+            epochSeconds[size] = epoch;
+            dateTimes[size] = dateTime;
+            temperature[size] = temp;
+            humidity[size] = hum;
+            pressure[size] = press;
+            conditions[size] = condition;
+            size++;
+        }
+
+        private ForecastSeries build() {
+            return new ForecastSeries(Arrays.copyOf(epochSeconds, size), Arrays.copyOf(dateTimes, size),
+                    Arrays.copyOf(temperature, size), Arrays.copyOf(humidity, size),
+                    Arrays.copyOf(pressure, size), Arrays.copyOf(conditions, size));
+        }
+    }
+}
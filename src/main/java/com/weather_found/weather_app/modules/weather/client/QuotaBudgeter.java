@@ -0,0 +1,206 @@
+package com.weather_found.weather_app.modules.weather.client;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-provider call budget over a per-minute and a per-day window.
+ * <p>
+ * Interactive calls may use the whole budget of a window. Background and prefetch
+ * calls only get a share of it, so a sweep can never starve user-facing requests;
+ * what they leave unused is still available to interactive calls. A limit of 0
+ * means unlimited.
+ */
+@Component
+public class QuotaBudgeter {
+
+    private static final long MINUTE_MS = TimeUnit.MINUTES.toMillis(1);
+    private static final long DAY_MS = TimeUnit.DAYS.toMillis(1);
+
+    private final Map<String, Budget> budgets = new ConcurrentHashMap<>();
+    private final Map<String, long[]> limits = new HashMap<>();
+    private final Map<CallPriority, Double> shares = new EnumMap<>(CallPriority.class);
+
+    public QuotaBudgeter(
+            @Value("${weather.quota.openweathermap.per-minute:60}") long openWeatherMapPerMinute,
+            @Value("${weather.quota.openweathermap.per-day:30000}") long openWeatherMapPerDay,
+            @Value("${weather.quota.nasa-power.per-minute:0}") long nasaPowerPerMinute,
+            @Value("${weather.quota.nasa-power.per-day:0}") long nasaPowerPerDay,
+            @Value("${weather.quota.background-share:0.7}") double backgroundShare,
+            @Value("${weather.quota.prefetch-share:0.5}") double prefetchShare) {
+        limits.put("openweathermap", new long[] { openWeatherMapPerMinute, openWeatherMapPerDay });
+        limits.put("nasa-power", new long[] { nasaPowerPerMinute, nasaPowerPerDay });
+        shares.put(CallPriority.INTERACTIVE, 1.0);
+        shares.put(CallPriority.BACKGROUND, backgroundShare);
+        shares.put(CallPriority.PREFETCH, prefetchShare);
+    }
+
+    /**
+     * Take one call from the provider's budget, or return false when the priority's
+     * share of the current window is used up
+     */
+    public boolean tryAcquire(String provider, CallPriority priority) {
+        return budget(provider).tryAcquire(priority, System.currentTimeMillis());
+    }
+
+    /**
+     * Give back a call that was granted but never dispatched
+     */
+    public void refund(String provider) {
+        budget(provider).refund(System.currentTimeMillis());
+    }
+
+    /**
+     * Whether the priority could be granted a call right now, without taking it
+     */
+    public boolean hasCapacity(String provider, CallPriority priority) {
+        long now = System.currentTimeMillis();
+        return budget(provider).nextCapacityAt(priority, now) <= now;
+    }
+
+    /**
+     * Wait until the priority could be granted a call, without taking it. Returns false
+     * if that does not happen before {@code maxWaitMs}, e.g. because the day is used up.
+     */
+    public boolean awaitCapacity(String provider, CallPriority priority, long maxWaitMs) throws InterruptedException {
+        Budget budget = budget(provider);
+        long deadline = System.currentTimeMillis() + maxWaitMs;
+        while (true) {
+            long now = System.currentTimeMillis();
+            long retryAt = budget.nextCapacityAt(priority, now);
+            if (retryAt <= now) {
+                return true;
+            }
+            if (retryAt > deadline) {
+                return false;
+            }
+            Thread.sleep(retryAt - now);
+        }
+    }
+
+    /**
+     * Usage, limits and burn rate per provider. A day burn rate of 1.0 means the
+     * provider is on pace to use exactly its daily quota.
+     */
+    public Map<String, Object> getStats() {
+        long now = System.currentTimeMillis();
+        Map<String, Object> providers = new HashMap<>();
+        budgets.forEach((provider, budget) -> providers.put(provider, budget.getStats(now)));
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("providers", providers);
+        stats.put("shares", new HashMap<>(shares));
+        stats.put("timestamp", LocalDateTime.now());
+        return stats;
+    }
+
+    private Budget budget(String provider) {
+        return budgets.computeIfAbsent(provider, p -> {
+            long[] providerLimits = limits.getOrDefault(p, new long[] { 0, 0 });
+            return new Budget(providerLimits[0], providerLimits[1]);
+        });
+    }
+
+    private final class Budget {
+        private final long perMinute;
+        private final long perDay;
+        private long minuteStart;
+        private long minuteUsed;
+        private long dayStart;
+        private long dayUsed;
+        private final Map<CallPriority, LongAdder> granted = new EnumMap<>(CallPriority.class);
+        private final Map<CallPriority, LongAdder> denied = new EnumMap<>(CallPriority.class);
+
+        private Budget(long perMinute, long perDay) {
+            this.perMinute = perMinute;
+            this.perDay = perDay;
+            for (CallPriority priority : CallPriority.values()) {
+                granted.put(priority, new LongAdder());
+                denied.put(priority, new LongAdder());
+            }
+        }
+
+        private synchronized boolean tryAcquire(CallPriority priority, long now) {
+            roll(now);
+            if (!fits(priority)) {
+                denied.get(priority).increment();
+                return false;
+            }
+            minuteUsed++;
+            dayUsed++;
+            granted.get(priority).increment();
+            return true;
+        }
+
+        private synchronized void refund(long now) {
+            roll(now);
+            minuteUsed = Math.max(0, minuteUsed - 1);
+            dayUsed = Math.max(0, dayUsed - 1);
+        }
+
+        private synchronized long nextCapacityAt(CallPriority priority, long now) {
+            roll(now);
+            if (fits(priority)) {
+                return now;
+            }
+            if (perDay > 0 && dayUsed >= allowance(perDay, priority)) {
+                return dayStart + DAY_MS;
+            }
+            return minuteStart + MINUTE_MS;
+        }
+
+        private boolean fits(CallPriority priority) {
+            return (perMinute <= 0 || minuteUsed < allowance(perMinute, priority))
+                    && (perDay <= 0 || dayUsed < allowance(perDay, priority));
+        }
+
+        private long allowance(long limit, CallPriority priority) {
+            return (long) Math.floor(limit * shares.get(priority));
+        }
+
+        private void roll(long now) {
+            if (now - minuteStart >= MINUTE_MS) {
+                minuteStart = now - now % MINUTE_MS;
+                minuteUsed = 0;
+            }
+            if (now - dayStart >= DAY_MS) {
+                dayStart = now - now % DAY_MS;
+                dayUsed = 0;
+            }
+        }
+
+        private synchronized Map<String, Object> getStats(long now) {
+            roll(now);
+            Map<String, Object> stats = new HashMap<>();
+            stats.put("perMinuteLimit", perMinute);
+            stats.put("perDayLimit", perDay);
+            stats.put("minuteUsed", minuteUsed);
+            stats.put("dayUsed", dayUsed);
+            if (perMinute > 0) {
+                stats.put("minuteUtilization", (double) minuteUsed / perMinute);
+            }
+            if (perDay > 0) {
+                double dayElapsed = Math.max(now - dayStart, MINUTE_MS) / (double) DAY_MS;
+                stats.put("dayUtilization", (double) dayUsed / perDay);
+                stats.put("dayBurnRate", dayUsed / (perDay * dayElapsed));
+            }
+            Map<String, Object> grantedStats = new HashMap<>();
+            Map<String, Object> deniedStats = new HashMap<>();
+            for (CallPriority priority : CallPriority.values()) {
+                grantedStats.put(priority.name(), granted.get(priority).sum());
+                deniedStats.put(priority.name(), denied.get(priority).sum());
+            }
+            stats.put("granted", grantedStats);
+            stats.put("denied", deniedStats);
+            return stats;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.weather_found.weather_app.modules.weather.client;
+
+/**
+ * Exception thrown when a provider call is not dispatched because the
+ * provider's quota for the current window is used up
+ */
+public class QuotaExhaustedException extends RuntimeException {
+
+    public QuotaExhaustedException(String provider, CallPriority priority) {
+        super("Quota exhausted for " + provider + " (" + priority + " call)");
+    }
+}
@@ -0,0 +1,54 @@
+package com.weather_found.weather_app.modules.weather.client;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Spaces out bulk upstream requests per provider so a sweep stays under the
+ * provider's request rate instead of bursting and getting throttled.
+ */
+@Component
+public class RatePacer {
+
+    private final Map<String, AtomicLong> nextSlots = new ConcurrentHashMap<>();
+    private final Map<String, Double> rates = new HashMap<>();
+    private final double defaultRate;
+
+    public RatePacer(@Value("${weather.bulk.rate.openweathermap:10}") double openWeatherMapRate,
+            @Value("${weather.bulk.rate.nasa-power:2}") double nasaPowerRate,
+            @Value("${weather.bulk.rate.default:5}") double defaultRate) {
+        rates.put("openweathermap", openWeatherMapRate);
+        rates.put("nasa-power", nasaPowerRate);
+        this.defaultRate = defaultRate;
+    }
+
+    /**
+     * Block the calling thread until the provider's next request slot
+     */
+    public void pace(String provider) throws InterruptedException {
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / getRate(provider));
+        AtomicLong nextSlot = nextSlots.computeIfAbsent(provider, p -> new AtomicLong(System.nanoTime()));
+
+        long now = System.nanoTime();
+        long slot = nextSlot.getAndUpdate(next -> Math.max(next, now) + interval);
+        long wait = slot - now;
+        while (wait > 0) {
+            LockSupport.parkNanos(this, wait);
+            if (Thread.interrupted()) {
+                throw new InterruptedException("Interrupted while pacing " + provider);
+            }
+            wait = slot - System.nanoTime();
+        }
+    }
+
+    public double getRate(String provider) {
+        return rates.getOrDefault(provider, defaultRate);
+    }
+}
@@ -0,0 +1,108 @@
+package com.weather_found.weather_app.modules.weather.client;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight layer for upstream calls. Concurrent callers asking for the same
+ * normalized request share one in-flight future instead of each calling the provider.
+ */
+@Component
+@Slf4j
+public class RequestCoalescer {
+
+    private final Map<String, CompletableFuture<?>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, ProviderCounters> counters = new ConcurrentHashMap<>();
+
+    /**
+     * Run the loader unless an identical request is already in flight, in which case
+     * the caller joins it. Every caller gets its own dependent future, so cancelling
+     * one never affects the others.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> execute(String provider, String key,
+            Supplier<CompletableFuture<T>> loader) {
+        ProviderCounters providerCounters = counters.computeIfAbsent(provider, p -> new ProviderCounters());
+        providerCounters.requests.increment();
+
+        String flightKey = provider + "|" + key;
+        CompletableFuture<T> promise = new CompletableFuture<>();
+        CompletableFuture<?> existing = inFlight.putIfAbsent(flightKey, promise);
+
+        if (existing != null) {
+            providerCounters.collapsed.increment();
+            log.debug("Coalesced upstream request {}", flightKey);
+            return ((CompletableFuture<T>) existing).copy();
+        }
+
+        providerCounters.dispatched.increment();
+        try {
+            loader.get().whenComplete((value, error) -> {
+                // Leave the map before completing so late arrivals start a fresh call
+                inFlight.remove(flightKey, promise);
+                if (error != null) {
+                    promise.completeExceptionally(error);
+                } else {
+                    promise.complete(value);
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.remove(flightKey, promise);
+            promise.completeExceptionally(e);
+        }
+
+        return promise.copy();
+    }
+
+    /**
+     * Number of distinct requests currently in flight
+     */
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    /**
+     * Coalescing statistics per provider
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        Map<String, Object> providers = new HashMap<>();
+        long totalRequests = 0;
+        long totalCollapsed = 0;
+
+        for (Map.Entry<String, ProviderCounters> entry : counters.entrySet()) {
+            long requests = entry.getValue().requests.sum();
+            long collapsed = entry.getValue().collapsed.sum();
+            totalRequests += requests;
+            totalCollapsed += collapsed;
+
+            Map<String, Object> providerStats = new HashMap<>();
+            providerStats.put("requests", requests);
+            providerStats.put("dispatched", entry.getValue().dispatched.sum());
+            providerStats.put("collapsed", collapsed);
+            providerStats.put("collapseRatio", requests > 0 ? (double) collapsed / requests : 0.0);
+            providers.put(entry.getKey(), providerStats);
+        }
+
+        stats.put("providers", providers);
+        stats.put("totalRequests", totalRequests);
+        stats.put("totalCollapsed", totalCollapsed);
+        stats.put("inFlight", inFlight.size());
+        stats.put("timestamp", LocalDateTime.now());
+        return stats;
+    }
+
+    private static final class ProviderCounters {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder dispatched = new LongAdder();
+        private final LongAdder collapsed = new LongAdder();
+    }
+}
@@ -0,0 +1,267 @@
+package com.weather_found.weather_app.modules.weather.client;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-provider resilience layer on top of {@link UpstreamHttpClient}.
+ * <p>
+ * Every call goes through the provider's {@link CircuitBreaker}, so a dead provider is
+ * rejected immediately instead of holding request threads for the full timeout. The
+ * timeout itself adapts to the provider's observed p99 latency, and when hedging is
+ * enabled a second identical request is sent once the first is slower than the p95.
+ * A timed-out call counts as a sample at its timeout, so a provider that slows down
+ * pushes its timeout back up instead of timing out forever, and half-open probes get
+ * the full read timeout.
+ * Calls are admitted against the provider's {@link QuotaBudgeter} first; hedges only
+ * use spare quota.
+ */
+@Component
+@Slf4j
+public class ResilientUpstreamClient {
+
+    private final UpstreamHttpClient upstreamHttpClient;
+    private final Executor upstreamHttpExecutor;
+    private final QuotaBudgeter quotaBudgeter;
+    private final Map<String, ProviderGuard> guards = new ConcurrentHashMap<>();
+
+    @Value("${weather.resilience.breaker.window-size:20}")
+    private int breakerWindowSize;
+
+    @Value("${weather.resilience.breaker.minimum-calls:10}")
+    private int breakerMinimumCalls;
+
+    @Value("${weather.resilience.breaker.failure-rate-threshold:50}")
+    private double breakerFailureRateThreshold;
+
+    @Value("${weather.resilience.breaker.open-duration-ms:30000}")
+    private long breakerOpenDurationMs;
+
+    @Value("${weather.resilience.breaker.half-open-probes:3}")
+    private int breakerHalfOpenProbes;
+
+    @Value("${weather.resilience.timeout.min-ms:1000}")
+    private long minTimeoutMs;
+
+    @Value("${weather.http.read-timeout-ms:10000}")
+    private long maxTimeoutMs;
+
+    @Value("${weather.resilience.timeout.p99-multiplier:2.0}")
+    private double timeoutMultiplier;
+
+    @Value("${weather.resilience.latency.window-size:200}")
+    private int latencyWindowSize;
+
+    @Value("${weather.resilience.latency.min-samples:20}")
+    private int minLatencySamples;
+
+    @Value("${weather.resilience.hedging.enabled:false}")
+    private boolean hedgingEnabled;
+
+    @Value("${weather.resilience.hedging.max-ratio:0.1}")
+    private double maxHedgeRatio;
+
+    public ResilientUpstreamClient(UpstreamHttpClient upstreamHttpClient,
+            @Qualifier("upstreamHttpExecutor") Executor upstreamHttpExecutor, QuotaBudgeter quotaBudgeter) {
+        this.upstreamHttpClient = upstreamHttpClient;
+        this.upstreamHttpExecutor = upstreamHttpExecutor;
+        this.quotaBudgeter = quotaBudgeter;
+    }
+
+    /**
+     * Issue a guarded interactive GET
+     */
+    public CompletableFuture<UpstreamResponse> get(String provider, URI uri) {
+        return get(provider, uri, CallPriority.INTERACTIVE);
+    }
+
+    /**
+     * Issue a guarded GET. Fails fast with {@link QuotaExhaustedException} when the
+     * priority's share of the provider quota is used up, and with
+     * {@link UpstreamUnavailableException} while the provider's breaker is open.
+     */
+    public CompletableFuture<UpstreamResponse> get(String provider, URI uri, CallPriority priority) {
+        ProviderGuard guard = guards.computeIfAbsent(provider, p -> new ProviderGuard());
+        if (!quotaBudgeter.tryAcquire(provider, priority)) {
+            return CompletableFuture.failedFuture(new QuotaExhaustedException(provider, priority));
+        }
+        if (!guard.breaker.tryAcquire()) {
+            quotaBudgeter.refund(provider);
+            guard.rejected.increment();
+            return CompletableFuture.failedFuture(new UpstreamUnavailableException(provider));
+        }
+        guard.calls.increment();
+
+        Duration timeout = Duration.ofMillis(guard.timeoutMs());
+        long hedgeDelayMs = hedgeDelayMs(guard, timeout);
+        CompletableFuture<UpstreamResponse> call = hedgeDelayMs > 0
+                ? hedgedAttempt(provider, guard, uri, timeout, hedgeDelayMs)
+                : attempt(guard, uri, timeout);
+
+        return call.whenComplete((response, error) -> {
+            if (error == null && !isProviderFault(response)) {
+                guard.breaker.onSuccess();
+            } else {
+                guard.breaker.onFailure();
+            }
+        });
+    }
+
+    /**
+     * Current breaker state of a provider, CLOSED for providers never called
+     */
+    public CircuitBreaker.State getState(String provider) {
+        ProviderGuard guard = guards.get(provider);
+        return guard == null ? CircuitBreaker.State.CLOSED : guard.breaker.getState();
+    }
+
+    /**
+     * Breaker state, adaptive timeout and latency percentiles per provider
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> providers = new HashMap<>();
+        guards.forEach((provider, guard) -> {
+            Map<String, Object> providerStats = new HashMap<>();
+            providerStats.put("breaker", guard.breaker.getStats());
+            providerStats.put("timeoutMs", guard.timeoutMs());
+            providerStats.put("latencyP50Ms", guard.latency.percentile(50));
+            providerStats.put("latencyP95Ms", guard.latency.percentile(95));
+            providerStats.put("latencyP99Ms", guard.latency.percentile(99));
+            providerStats.put("latencySamples", guard.latency.getSampleCount());
+            providerStats.put("calls", guard.calls.sum());
+            providerStats.put("rejected", guard.rejected.sum());
+            providerStats.put("timeouts", guard.timeouts.sum());
+            providerStats.put("hedged", guard.hedged.sum());
+            providerStats.put("hedgeWins", guard.hedgeWins.sum());
+            providers.put(provider, providerStats);
+        });
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("providers", providers);
+        stats.put("hedgingEnabled", hedgingEnabled);
+        stats.put("timestamp", LocalDateTime.now());
+        return stats;
+    }
+
+    private CompletableFuture<UpstreamResponse> attempt(ProviderGuard guard, URI uri, Duration timeout) {
+        long start = System.nanoTime();
+        return upstreamHttpClient.get(uri, timeout).whenComplete((response, error) -> {
+            if (error == null && !isProviderFault(response)) {
+                guard.latency.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            } else if (unwrap(error) instanceof HttpTimeoutException) {
+                guard.timeouts.increment();
+                // The real latency is at least the timeout; without this sample the p99
+                // never sees the slowdown and the timeout never grows back
+                guard.latency.record(timeout.toMillis());
+            }
+        });
+    }
+
+    /**
+     * Send the request and, if it has not answered after {@code hedgeDelayMs}, a second
+     * copy. The first healthy response wins; a failure only surfaces once both failed.
+     */
+    private CompletableFuture<UpstreamResponse> hedgedAttempt(String provider, ProviderGuard guard, URI uri,
+            Duration timeout, long hedgeDelayMs) {
+        CompletableFuture<UpstreamResponse> result = new CompletableFuture<>();
+        AtomicInteger pending = new AtomicInteger(1);
+
+        attempt(guard, uri, timeout).whenComplete((response, error) -> settle(result, pending, response, error));
+
+        CompletableFuture.runAsync(() -> {
+            // Only hedge while the primary is still outstanding
+            if (result.isDone() || !quotaBudgeter.tryAcquire(provider, CallPriority.PREFETCH)) {
+                return;
+            }
+            if (pending.getAndUpdate(p -> p == 0 ? 0 : p + 1) == 0) {
+                quotaBudgeter.refund(provider);
+                return;
+            }
+            guard.hedged.increment();
+            attempt(guard, uri, timeout).whenComplete((response, error) -> {
+                if (settle(result, pending, response, error)) {
+                    guard.hedgeWins.increment();
+                }
+            });
+        }, CompletableFuture.delayedExecutor(hedgeDelayMs, TimeUnit.MILLISECONDS, upstreamHttpExecutor));
+
+        return result;
+    }
+
+    /**
+     * Complete the hedged result with a healthy response, or with the last outcome once
+     * no attempt is outstanding. Returns true when this attempt decided the result.
+     */
+    private boolean settle(CompletableFuture<UpstreamResponse> result, AtomicInteger pending,
+            UpstreamResponse response, Throwable error) {
+        if (error == null && !isProviderFault(response)) {
+            return result.complete(response);
+        }
+        if (pending.decrementAndGet() == 0) {
+            return error != null ? result.completeExceptionally(error) : result.complete(response);
+        }
+        return false;
+    }
+
+    private long hedgeDelayMs(ProviderGuard guard, Duration timeout) {
+        if (!hedgingEnabled
+                || guard.breaker.getState() != CircuitBreaker.State.CLOSED
+                || guard.latency.getSampleCount() < minLatencySamples
+                || guard.hedged.sum() >= guard.calls.sum() * maxHedgeRatio) {
+            return -1;
+        }
+        long p95 = guard.latency.percentile(95);
+        return p95 > 0 && p95 < timeout.toMillis() ? p95 : -1;
+    }
+
+    /**
+     * Server errors, throttling and transport failures count against the provider;
+     * other client errors such as 404 mean the provider is answering normally.
+     */
+    private static boolean isProviderFault(UpstreamResponse response) {
+        return response.statusCode() >= 500 || response.statusCode() == 429;
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    private final class ProviderGuard {
+        private final CircuitBreaker breaker = new CircuitBreaker(breakerWindowSize, breakerMinimumCalls,
+                breakerFailureRateThreshold, breakerOpenDurationMs, breakerHalfOpenProbes);
+        private final LatencyTracker latency = new LatencyTracker(latencyWindowSize);
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder timeouts = new LongAdder();
+        private final LongAdder hedged = new LongAdder();
+        private final LongAdder hedgeWins = new LongAdder();
+
+        /**
+         * p99 times the multiplier, clamped to [min, read-timeout]; the full read timeout
+         * until enough samples exist and for probes while the breaker is not closed
+         */
+        private long timeoutMs() {
+            if (latency.getSampleCount() < minLatencySamples || breaker.getState() != CircuitBreaker.State.CLOSED) {
+                return maxTimeoutMs;
+            }
+            long adaptive = (long) (latency.percentile(99) * timeoutMultiplier);
+            return Math.max(minTimeoutMs, Math.min(maxTimeoutMs, adaptive));
+        }
+    }
+}
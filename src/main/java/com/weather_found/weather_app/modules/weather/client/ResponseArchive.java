@@ -0,0 +1,413 @@
+package com.weather_found.weather_app.modules.weather.client;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Record/replay archive of raw upstream responses.
+ * <p>
+ * In RECORD mode every response is appended, deflate-compressed, to append-only
+ * segment files. In REPLAY mode responses are served from those segments instead of
+ * the network, each after its originally recorded latency, completed on the upstream
+ * HTTP executor like a live response. Requests are keyed by
+ * their URI with credentials removed; a replayed key without recordings falls back to
+ * recordings of the same endpoint.
+ * <p>
+ * Record layout: {@code int length | long epochMillis | int latencyMs | int status |
+ * short keyLength | key | int rawLength | compressed body | long crc32}, where length
+ * counts everything after itself.
+ */
+@Component
+@Slf4j
+public class ResponseArchive {
+
+    public enum Mode {
+        OFF, RECORD, REPLAY
+    }
+
+    /**
+     * One archived response
+     */
+    public record ArchivedResponse(String key, Instant recordedAt, int latencyMs, int statusCode, byte[] body) {
+    }
+
+    private static final Set<String> SECRET_PARAMETERS = Set.of("appid", "api_key", "apikey", "key");
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+
+    private final Mode mode;
+    private final Path directory;
+    private final long maxSegmentBytes;
+    private final Executor upstreamHttpExecutor;
+
+    private final LongAdder recorded = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder replayed = new LongAdder();
+    private final LongAdder replayMisses = new LongAdder();
+
+    private ThreadPoolExecutor writer;
+    private FileChannel segment;
+    private Path segmentPath;
+
+    private final Map<String, List<IndexEntry>> byKey = new ConcurrentHashMap<>();
+    private final Map<String, List<IndexEntry>> byEndpoint = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> cursors = new ConcurrentHashMap<>();
+
+    private record IndexEntry(Path segment, long offset, long epochMillis) {
+    }
+
+    public ResponseArchive(@Value("${weather.archive.mode:off}") String mode,
+            @Value("${weather.archive.dir:data/upstream-archive}") String directory,
+            @Value("${weather.archive.max-segment-mb:64}") long maxSegmentMb,
+            @Qualifier("upstreamHttpExecutor") Executor upstreamHttpExecutor) {
+        this.mode = Mode.valueOf(mode.trim().toUpperCase(Locale.ROOT));
+        this.directory = Path.of(directory);
+        this.maxSegmentBytes = maxSegmentMb * 1024 * 1024;
+        this.upstreamHttpExecutor = upstreamHttpExecutor;
+
+        if (this.mode == Mode.RECORD) {
+            writer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(10_000),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "UpstreamArchive");
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    (runnable, executor) -> dropped.increment());
+        } else if (this.mode == Mode.REPLAY) {
+            buildIndex();
+        }
+        if (this.mode != Mode.OFF) {
+            log.info("Upstream response archive in {} mode at {}", this.mode, this.directory.toAbsolutePath());
+        }
+    }
+
+    public boolean isRecording() {
+        return mode == Mode.RECORD;
+    }
+
+    public boolean isReplaying() {
+        return mode == Mode.REPLAY;
+    }
+
+    /**
+     * Queue a response for appending; never blocks the caller
+     */
+    public void record(URI uri, UpstreamResponse response, long latencyMs) {
+        long now = System.currentTimeMillis();
+        writer.execute(() -> append(keyOf(uri), now, (int) latencyMs, response));
+    }
+
+    /**
+     * Serve the next recorded response for the request after its recorded latency
+     */
+    public CompletableFuture<UpstreamResponse> replay(URI uri) {
+        String key = keyOf(uri);
+        List<IndexEntry> entries = byKey.get(key);
+        if (entries == null) {
+            entries = byEndpoint.get(endpointOf(key));
+        }
+        if (entries == null || entries.isEmpty()) {
+            replayMisses.increment();
+            return CompletableFuture.failedFuture(new IOException("No recorded response for " + key));
+        }
+
+        int next = cursors.computeIfAbsent(key, k -> new AtomicInteger()).getAndIncrement();
+        IndexEntry entry = entries.get(Math.floorMod(next, entries.size()));
+        try {
+            ArchivedResponse archived = read(entry.segment(), entry.offset());
+            replayed.increment();
+            CompletableFuture<UpstreamResponse> result = new CompletableFuture<>();
+            CompletableFuture.delayedExecutor(archived.latencyMs(), TimeUnit.MILLISECONDS, upstreamHttpExecutor)
+                    .execute(() -> result.complete(new UpstreamResponse(archived.statusCode(), archived.body())));
+            return result;
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Visit every archived response recorded in {@code [from, to)} in segment order,
+     * e.g. to reprocess history after a parser change. Like indexing, a torn record at
+     * the end of a segment ends that segment.
+     */
+    public void scan(Instant from, Instant to, Consumer<ArchivedResponse> consumer) throws IOException {
+        for (Path file : segments()) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                long offset = 0;
+                while (offset + Integer.BYTES <= channel.size()) {
+                    int length = readInt(channel, offset);
+                    if (length <= 0 || offset + Integer.BYTES + length > channel.size()) {
+                        log.warn("Truncated record at {} in {}", offset, file);
+                        break;
+                    }
+                    long epochMillis = readLong(channel, offset + Integer.BYTES);
+                    if (epochMillis >= from.toEpochMilli() && epochMillis < to.toEpochMilli()) {
+                        consumer.accept(read(file, offset));
+                    }
+                    offset += Integer.BYTES + length;
+                }
+            }
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("mode", mode.name());
+        stats.put("directory", directory.toAbsolutePath().toString());
+        stats.put("recorded", recorded.sum());
+        stats.put("dropped", dropped.sum());
+        stats.put("replayed", replayed.sum());
+        stats.put("replayMisses", replayMisses.sum());
+        stats.put("indexedKeys", byKey.size());
+        stats.put("timestamp", LocalDateTime.now());
+        return stats;
+    }
+
+    /**
+     * Wait for queued records to be written and close the open segment
+     */
+    @PreDestroy
+    public void close() {
+        if (writer == null) {
+            return;
+        }
+        writer.shutdown();
+        try {
+            writer.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            closeSegment();
+        }
+    }
+
+    private synchronized void append(String key, long epochMillis, int latencyMs, UpstreamResponse response) {
+        byte[] body = response.body() == null ? new byte[0] : response.body();
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        byte[] compressed = deflate(body);
+
+        int length = Long.BYTES + Integer.BYTES * 3 + Short.BYTES + keyBytes.length + compressed.length + Long.BYTES;
+        ByteBuffer record = ByteBuffer.allocate(Integer.BYTES + length)
+                .putInt(length)
+                .putLong(epochMillis)
+                .putInt(latencyMs)
+                .putInt(response.statusCode())
+                .putShort((short) keyBytes.length)
+                .put(keyBytes)
+                .putInt(body.length)
+                .put(compressed);
+        CRC32 crc = new CRC32();
+        crc.update(record.array(), Integer.BYTES, record.position() - Integer.BYTES);
+        record.putLong(crc.getValue()).flip();
+
+        try {
+            if (segment == null || segment.size() + record.remaining() > maxSegmentBytes) {
+                rollSegment();
+            }
+            while (record.hasRemaining()) {
+                segment.write(record);
+            }
+            recorded.increment();
+        } catch (IOException e) {
+            dropped.increment();
+            log.warn("Cannot archive upstream response for {}: {}", key, e.getMessage());
+        }
+    }
+
+    private void rollSegment() throws IOException {
+        closeSegment();
+        Files.createDirectories(directory);
+        segmentPath = directory.resolve(SEGMENT_PREFIX + System.currentTimeMillis() + SEGMENT_SUFFIX);
+        segment = FileChannel.open(segmentPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        log.debug("Opened archive segment {}", segmentPath);
+    }
+
+    private void closeSegment() {
+        if (segment != null) {
+            try {
+                segment.force(false);
+                segment.close();
+            } catch (IOException e) {
+                log.warn("Cannot close archive segment {}: {}", segmentPath, e.getMessage());
+            }
+            segment = null;
+        }
+    }
+
+    /**
+     * Index record headers of all segments by key and endpoint, oldest first. A torn
+     * record at the end of a segment ends that segment.
+     */
+    private void buildIndex() {
+        try {
+            for (Path file : segments()) {
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                    long offset = 0;
+                    while (offset + Integer.BYTES <= channel.size()) {
+                        int length = readInt(channel, offset);
+                        if (length <= 0 || offset + Integer.BYTES + length > channel.size()) {
+                            log.warn("Truncated record at {} in {}", offset, file);
+                            break;
+                        }
+                        long epochMillis = readLong(channel, offset + Integer.BYTES);
+                        ByteBuffer keyLength = ByteBuffer.allocate(Short.BYTES);
+                        channel.read(keyLength, offset + Integer.BYTES + Long.BYTES + Integer.BYTES * 2);
+                        ByteBuffer keyBytes = ByteBuffer.allocate(keyLength.flip().getShort());
+                        channel.read(keyBytes, offset + Integer.BYTES + Long.BYTES + Integer.BYTES * 2 + Short.BYTES);
+                        String key = new String(keyBytes.array(), StandardCharsets.UTF_8);
+
+                        IndexEntry entry = new IndexEntry(file, offset, epochMillis);
+                        byKey.computeIfAbsent(key, k -> new ArrayList<>()).add(entry);
+                        byEndpoint.computeIfAbsent(endpointOf(key), k -> new ArrayList<>()).add(entry);
+                        offset += Integer.BYTES + length;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            log.error("Cannot index upstream archive at {}", directory, e);
+        }
+        log.info("Indexed {} archived request keys", byKey.size());
+    }
+
+    private ArchivedResponse read(Path file, long offset) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            int length = readInt(channel, offset);
+            ByteBuffer record = ByteBuffer.allocate(length);
+            channel.read(record, offset + Integer.BYTES);
+            record.flip();
+
+            CRC32 crc = new CRC32();
+            crc.update(record.array(), 0, length - Long.BYTES);
+            long epochMillis = record.getLong();
+            int latencyMs = record.getInt();
+            int status = record.getInt();
+            byte[] keyBytes = new byte[record.getShort()];
+            record.get(keyBytes);
+            int rawLength = record.getInt();
+            byte[] compressed = new byte[record.remaining() - Long.BYTES];
+            record.get(compressed);
+            if (record.getLong() != crc.getValue()) {
+                throw new IOException("Corrupt archive record at " + offset + " in " + file);
+            }
+            return new ArchivedResponse(new String(keyBytes, StandardCharsets.UTF_8),
+                    Instant.ofEpochMilli(epochMillis), latencyMs, status, inflate(compressed, rawLength));
+        }
+    }
+
+    private List<Path> segments() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith(SEGMENT_PREFIX))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    /**
+     * Request key: the URI without credential parameters, so archives can be shared
+     */
+    static String keyOf(URI uri) {
+        StringBuilder key = new StringBuilder(uri.getHost()).append(uri.getPath());
+        String query = uri.getRawQuery();
+        if (query != null) {
+            char separator = '?';
+            for (String parameter : query.split("&")) {
+                String name = parameter.split("=", 2)[0];
+                if (!SECRET_PARAMETERS.contains(name.toLowerCase(Locale.ROOT))) {
+                    key.append(separator).append(parameter);
+                    separator = '&';
+                }
+            }
+        }
+        return key.toString();
+    }
+
+    private static String endpointOf(String key) {
+        int query = key.indexOf('?');
+        return query < 0 ? key : key.substring(0, query);
+    }
+
+    private static byte[] deflate(byte[] body) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(body);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, body.length / 4));
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] compressed, int rawLength) throws IOException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            byte[] body = new byte[rawLength];
+            int read = 0;
+            while (read < rawLength && !inflater.finished()) {
+                read += inflater.inflate(body, read, rawLength - read);
+            }
+            return body;
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt archived body", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static int readInt(FileChannel channel, long position) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES);
+        channel.read(buffer, position);
+        return buffer.flip().getInt();
+    }
+
+    private static long readLong(FileChannel channel, long position) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES);
+        channel.read(buffer, position);
+        return buffer.flip().getLong();
+    }
+}
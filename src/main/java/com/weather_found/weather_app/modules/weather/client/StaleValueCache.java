@@ -0,0 +1,76 @@
+package com.weather_found.weather_app.modules.weather.client;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Last good decoded value per provider request, served when a call is not dispatched
+ * (quota used up, breaker open) or fails. Bounded LRU; entries older than the max age
+ * are not served.
+ */
+@Component
+public class StaleValueCache {
+
+    /**
+     * A remembered value and when it was fetched
+     */
+    public record Entry<T>(T value, LocalDateTime fetchedAt) {
+    }
+
+    private final Map<String, Entry<?>> entries;
+    private final Duration maxAge;
+    private final LongAdder served = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public StaleValueCache(@Value("${weather.stale.max-entries:5000}") int maxEntries,
+            @Value("${weather.stale.max-age-minutes:360}") long maxAgeMinutes) {
+        this.entries = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry<?>> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        this.maxAge = Duration.ofMinutes(maxAgeMinutes);
+    }
+
+    public synchronized void put(String provider, String key, Object value) {
+        if (value != null) {
+            entries.put(provider + "|" + key, new Entry<>(value, LocalDateTime.now()));
+        }
+    }
+
+    /**
+     * The remembered value, or null if there is none young enough
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Entry<T> get(String provider, String key) {
+        Entry<?> entry;
+        synchronized (this) {
+            entry = entries.get(provider + "|" + key);
+        }
+        if (entry == null || entry.fetchedAt().plus(maxAge).isBefore(LocalDateTime.now())) {
+            misses.increment();
+            return null;
+        }
+        served.increment();
+        return (Entry<T>) entry;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        synchronized (this) {
+            stats.put("entries", entries.size());
+        }
+        stats.put("served", served.sum());
+        stats.put("misses", misses.sum());
+        stats.put("maxAgeMinutes", maxAge.toMinutes());
+        return stats;
+    }
+}
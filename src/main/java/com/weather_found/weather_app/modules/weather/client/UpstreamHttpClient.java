@@ -0,0 +1,68 @@
+package com.weather_found.weather_app.modules.weather.client;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Non-blocking HTTP engine for upstream weather providers.
+ * Requests share the pooled {@link HttpClient} and complete on its dedicated executor.
+ * Responses are captured to, or served from, the {@link ResponseArchive} when enabled.
+ */
+@Component
+@Slf4j
+public class UpstreamHttpClient {
+
+    private final HttpClient httpClient;
+    private final Duration requestTimeout;
+    private final ResponseArchive responseArchive;
+
+    public UpstreamHttpClient(HttpClient upstreamHttpClient, ResponseArchive responseArchive,
+            @Value("${weather.http.read-timeout-ms:10000}") long readTimeoutMs) {
+        this.httpClient = upstreamHttpClient;
+        this.responseArchive = responseArchive;
+        this.requestTimeout = Duration.ofMillis(readTimeoutMs);
+    }
+
+    /**
+     * Issue a GET request with the default timeout
+     */
+    public CompletableFuture<UpstreamResponse> get(URI uri) {
+        return get(uri, requestTimeout);
+    }
+
+    /**
+     * Issue a GET request; the future completes without blocking any caller thread
+     */
+    public CompletableFuture<UpstreamResponse> get(URI uri, Duration timeout) {
+        if (responseArchive.isReplaying()) {
+            return responseArchive.replay(uri);
+        }
+
+        long started = System.nanoTime();
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(timeout)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(response -> {
+                    log.debug("Upstream {} {} via {}", response.statusCode(), uri.getHost(), response.version());
+                    UpstreamResponse upstreamResponse = new UpstreamResponse(response.statusCode(), response.body());
+                    if (responseArchive.isRecording()) {
+                        responseArchive.record(uri, upstreamResponse,
+                                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+                    }
+                    return upstreamResponse;
+                });
+    }
+}
@@ -0,0 +1,15 @@
+package com.weather_found.weather_app.modules.weather.client;
+
+/**
+ * Raw response from an upstream weather provider
+ */
+public record UpstreamResponse(int statusCode, byte[] body) {
+
+    public boolean isSuccessful() {
+        return statusCode >= 200 && statusCode < 300 && body != null && body.length > 0;
+    }
+
+    public boolean isNotFound() {
+        return statusCode == 404;
+    }
+}
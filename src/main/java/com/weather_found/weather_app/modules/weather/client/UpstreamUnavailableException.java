@@ -0,0 +1,12 @@
+package com.weather_found.weather_app.modules.weather.client;
+
+/**
+ * Exception thrown when a provider call is rejected without being attempted,
+ * because its circuit breaker is open
+ */
+public class UpstreamUnavailableException extends RuntimeException {
+
+    public UpstreamUnavailableException(String provider) {
+        super("Upstream provider unavailable (circuit open): " + provider);
+    }
+}
@@ -2,6 +2,8 @@ package com.weather_found.weather_app.modules.weather.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.weather_found.weather_app.modules.weather.cache.CacheValueSerializer;
+import jakarta.annotation.PreDestroy;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -12,7 +14,10 @@ import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSeriali
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
 import org.springframework.web.client.RestTemplate;
 
 import java.util.concurrent.Executor;
@@ -23,7 +28,7 @@ import java.util.concurrent.Executor;
 @Configuration
 @EnableAsync
 @EnableScheduling
-public class WeatherModuleConfig {
+public class WeatherModuleConfig implements SchedulingConfigurer {
 
     @Value("${weather.async.core-pool-size:10}")
     private int asyncCorePoolSize;
@@ -34,15 +39,19 @@ public class WeatherModuleConfig {
     @Value("${weather.async.queue-capacity:500}")
     private int asyncQueueCapacity;
 
-    @Value("${weather.redis.cache-ttl:300}")
-    private int redisCacheTtl;
+    @Value("${weather.scheduling.pool-size:4}")
+    private int schedulingPoolSize;
+
+    private final ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
 
     /**
      * Redis template configuration for weather data
      */
     @Bean
     @Primary
-    public RedisTemplate<String, Object> weatherRedisTemplate(RedisConnectionFactory connectionFactory) {
+    public RedisTemplate<String, Object> weatherRedisTemplate(RedisConnectionFactory connectionFactory,
+            @Value("${weather.cache-codec.format:binary}") String codecFormat,
+            @Value("${weather.cache-codec.compress-threshold-bytes:512}") int compressThreshold) {
         RedisTemplate<String, Object> template = new RedisTemplate<>();
         template.setConnectionFactory(connectionFactory);
 
@@ -55,10 +64,12 @@ public class WeatherModuleConfig {
         template.setKeySerializer(new StringRedisSerializer());
         template.setHashKeySerializer(new StringRedisSerializer());
 
-        // Use JSON serializer for values
-        GenericJackson2JsonRedisSerializer jsonSerializer = new GenericJackson2JsonRedisSerializer(objectMapper);
-        template.setValueSerializer(jsonSerializer);
-        template.setHashValueSerializer(jsonSerializer);
+        // Compact binary values; legacy JSON values stay readable
+        CacheValueSerializer valueSerializer = new CacheValueSerializer(
+                new GenericJackson2JsonRedisSerializer(objectMapper),
+                CacheValueSerializer.parseFormat(codecFormat), compressThreshold);
+        template.setValueSerializer(valueSerializer);
+        template.setHashValueSerializer(valueSerializer);
 
         template.afterPropertiesSet();
         return template;
@@ -100,6 +111,27 @@ public class WeatherModuleConfig {
         return executor;
     }
 
+    /**
+     * Scheduler for the @Scheduled jobs. Spring's default one has a single thread,
+     * so a long rollup compaction or partition run would hold up the Redis health
+     * ping and the usage counter flush. Kept out of the context so @Async still
+     * resolves the one task executor bean.
+     */
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        scheduler.setPoolSize(schedulingPoolSize);
+        scheduler.setThreadNamePrefix("WeatherScheduler-");
+        scheduler.setWaitForTasksToCompleteOnShutdown(true);
+        scheduler.setAwaitTerminationSeconds(30);
+        scheduler.initialize();
+        registrar.setTaskScheduler(scheduler);
+    }
+
+    @PreDestroy
+    public void shutdownScheduler() {
+        scheduler.shutdown();
+    }
+
     /**
      * Weather module properties
      */
@@ -113,12 +145,7 @@ public class WeatherModuleConfig {
      */
     public static class WeatherModuleProperties {
 
-        // Cache configuration
-        private int currentWeatherCacheTtl = 300; // 5 minutes
-        private int forecastCacheTtl = 1800; // 30 minutes
-        private int historicalCacheTtl = 7200; // 2 hours
-        private int locationCacheTtl = 3600; // 1 hour
-        private int alertCacheTtl = 300; // 5 minutes
+        // Cache TTLs live in CacheTtlPolicy (weather.cache.ttl.*)
 
         // Rate limiting
         private int defaultRateLimit = 60; // requests per minute
@@ -149,46 +176,6 @@ public class WeatherModuleConfig {
         private int logRetentionDays = 7;
 
         // Getters and setters
-        public int getCurrentWeatherCacheTtl() {
-            return currentWeatherCacheTtl;
-        }
-
-        public void setCurrentWeatherCacheTtl(int currentWeatherCacheTtl) {
-            this.currentWeatherCacheTtl = currentWeatherCacheTtl;
-        }
-
-        public int getForecastCacheTtl() {
-            return forecastCacheTtl;
-        }
-
-        public void setForecastCacheTtl(int forecastCacheTtl) {
-            this.forecastCacheTtl = forecastCacheTtl;
-        }
-
-        public int getHistoricalCacheTtl() {
-            return historicalCacheTtl;
-        }
-
-        public void setHistoricalCacheTtl(int historicalCacheTtl) {
-            this.historicalCacheTtl = historicalCacheTtl;
-        }
-
-        public int getLocationCacheTtl() {
-            return locationCacheTtl;
-        }
-
-        public void setLocationCacheTtl(int locationCacheTtl) {
-            this.locationCacheTtl = locationCacheTtl;
-        }
-
-        public int getAlertCacheTtl() {
-            return alertCacheTtl;
-        }
-
-        public void setAlertCacheTtl(int alertCacheTtl) {
-            this.alertCacheTtl = alertCacheTtl;
-        }
-
         public int getDefaultRateLimit() {
             return defaultRateLimit;
         }
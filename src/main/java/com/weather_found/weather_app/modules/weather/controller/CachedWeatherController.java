@@ -2,6 +2,8 @@ package com.weather_found.weather_app.modules.weather.controller;
 
 import com.weather_found.weather_app.modules.weather.service.WeatherCacheService;
 import com.weather_found.weather_app.modules.weather.service.RedisMonitoringService;
+import com.weather_found.weather_app.modules.weather.service.CacheWarmupService;
+import com.weather_found.weather_app.modules.weather.service.RefreshAheadService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -30,6 +32,8 @@ public class CachedWeatherController {
 
     private final WeatherCacheService weatherCacheService;
     private final RedisMonitoringService redisMonitoringService;
+    private final RefreshAheadService refreshAheadService;
+    private final CacheWarmupService cacheWarmupService;
 
     /**
      * Get current weather for a location (with caching)
@@ -211,6 +215,24 @@ public class CachedWeatherController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * List what is cached for a location
+     */
+    @GetMapping("/cache/{location}")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get location cache entries", description = "List cached entries and remaining TTLs for a specific location (Admin only)")
+    public ResponseEntity<Map<String, Object>> getLocationCacheEntries(
+            @PathVariable String location,
+            Authentication authentication) {
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("location", location);
+        response.put("entries", weatherCacheService.getLocationCacheEntries(location));
+        response.put("timestamp", java.time.LocalDateTime.now());
+
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Get cache statistics
      */
@@ -222,6 +244,26 @@ public class CachedWeatherController {
         return ResponseEntity.ok(stats.toString());
     }
 
+    /**
+     * Get refresh-ahead statistics
+     */
+    @GetMapping("/cache/refresh-ahead")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get refresh-ahead statistics", description = "Entries reloaded ahead of expiry and misses avoided on this node (Admin only)")
+    public ResponseEntity<Map<String, Object>> getRefreshAheadStats(Authentication authentication) {
+        return ResponseEntity.ok(refreshAheadService.getStats());
+    }
+
+    /**
+     * Get the result of the startup cache warm-up
+     */
+    @GetMapping("/cache/warmup")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get cache warm-up result", description = "Entries pre-loaded and restored from the near cache snapshot at startup (Admin only)")
+    public ResponseEntity<Map<String, Object>> getWarmupStats(Authentication authentication) {
+        return ResponseEntity.ok(cacheWarmupService.getStats());
+    }
+
     /**
      * Health check endpoint for Redis connectivity
      */
@@ -1,6 +1,11 @@
 package com.weather_found.weather_app.modules.weather.controller;
 
+import com.weather_found.weather_app.modules.weather.cache.CacheMetrics;
+import com.weather_found.weather_app.modules.weather.service.ExternalWeatherApiService;
+import com.weather_found.weather_app.modules.weather.service.WeatherAggregateService;
 import com.weather_found.weather_app.modules.weather.service.WeatherAnalyticsService;
+import com.weather_found.weather_app.modules.weather.service.WeatherPartitionManager;
+import com.weather_found.weather_app.modules.weather.service.WeatherRollupService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -28,6 +33,11 @@ import java.util.Map;
 public class WeatherAnalyticsController {
 
     private final WeatherAnalyticsService analyticsService;
+    private final ExternalWeatherApiService externalWeatherApiService;
+    private final CacheMetrics cacheMetrics;
+    private final WeatherAggregateService aggregateService;
+    private final WeatherPartitionManager partitionManager;
+    private final WeatherRollupService rollupService;
 
     /**
      * Get analytics dashboard
@@ -145,6 +155,61 @@ public class WeatherAnalyticsController {
         return ResponseEntity.ok(stats);
     }
 
+    /**
+     * Get upstream provider call statistics
+     */
+    @GetMapping("/upstream")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get upstream statistics", description = "Get call statistics for external weather providers (Admin only)")
+    public ResponseEntity<Map<String, Object>> getUpstreamStats(Authentication authentication) {
+        Map<String, Object> stats = externalWeatherApiService.getUpstreamStats();
+        return ResponseEntity.ok(stats);
+    }
+
+    /**
+     * Get cache hit, miss, load time and size statistics
+     */
+    @GetMapping("/cache")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get cache statistics", description = "Get hit/miss, load time, value size and eviction counts per cache and key prefix (Admin only)")
+    public ResponseEntity<Map<String, Object>> getCacheMetrics(Authentication authentication) {
+        return ResponseEntity.ok(cacheMetrics.getStats());
+    }
+
+    /**
+     * Recompute the daily weather aggregates from the stored observations
+     */
+    @PostMapping("/aggregates/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Rebuild weather aggregates", description = "Recompute daily weather aggregates from stored observations (Admin only)")
+    public ResponseEntity<Map<String, Object>> rebuildAggregates(
+            @Parameter(description = "First day to rebuild in YYYY-MM-DD format (defaults to 30 days ago)") @RequestParam(required = false) String since,
+            Authentication authentication) {
+
+        LocalDate from = since == null || since.isEmpty() ? LocalDate.now().minusDays(30) : LocalDate.parse(since);
+        int rows = aggregateService.rebuild(from);
+
+        Map<String, Object> response = Map.of(
+                "status", "success",
+                "since", from,
+                "rowsAffected", rows,
+                "aggregates", aggregateService.getStats());
+
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Get weather_data partition and rollup compaction status
+     */
+    @GetMapping("/storage")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get storage statistics", description = "Get weather data partitions, retention and rollup compaction status (Admin only)")
+    public ResponseEntity<Map<String, Object>> getStorageStats(Authentication authentication) {
+        return ResponseEntity.ok(Map.of(
+                "partitions", partitionManager.getStats(),
+                "rollups", rollupService.getStats()));
+    }
+
     /**
      * Track a custom event
      */
@@ -12,6 +12,10 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import com.weather_found.weather_app.modules.weather.service.ExternalWeatherApiService;
+import com.weather_found.weather_app.modules.weather.service.WeatherHistoryService;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
@@ -30,6 +34,7 @@ import java.util.concurrent.CompletableFuture;
 public class WeatherController {
 
     private final ExternalWeatherApiService externalWeatherApiService;
+    private final WeatherHistoryService weatherHistoryService;
 
     // List of random cities for the random weather endpoint
     private static final List<String> RANDOM_CITIES = List.of(
@@ -411,6 +416,23 @@ public class WeatherController {
         return ResponseEntity.ok(historicalData);
     }
 
+    /**
+     * Get stored observations of a location, downsampled for long ranges
+     */
+    @GetMapping("/observations")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    @Operation(summary = "Get stored observations", description = "Get stored observations of a location; long ranges are served from hourly rollups or daily aggregates")
+    public ResponseEntity<Map<String, Object>> getObservations(
+            @RequestParam Long locationId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            Authentication authentication) {
+        if (!from.isBefore(to)) {
+            return ResponseEntity.badRequest().body(Map.of("error", "'from' must be before 'to'"));
+        }
+        return ResponseEntity.ok(weatherHistoryService.getObservations(locationId, from, to));
+    }
+
     /**
      * Update weather data - Admin only
      */
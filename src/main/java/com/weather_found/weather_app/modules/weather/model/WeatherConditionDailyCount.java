@@ -0,0 +1,35 @@
+package com.weather_found.weather_app.modules.weather.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Observations per weather condition for one location and day
+ */
+@Entity
+@Table(name = "weather_condition_daily_counts", uniqueConstraints = @UniqueConstraint(
+        name = "uk_weather_condition_location_day", columnNames = { "location_id", "observed_on", "weather_condition" }),
+        indexes = @Index(name = "idx_weather_condition_day", columnList = "observed_on"))
+@Data
+@NoArgsConstructor
+public class WeatherConditionDailyCount {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "location_id", nullable = false)
+    private Long locationId;
+
+    @Column(name = "observed_on", nullable = false)
+    private LocalDate observedOn;
+
+    @Column(name = "weather_condition", nullable = false, length = 50)
+    private String weatherCondition;
+
+    @Column(name = "observation_count", nullable = false)
+    private long observationCount;
+}
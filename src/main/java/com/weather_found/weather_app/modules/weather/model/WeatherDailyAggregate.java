@@ -0,0 +1,96 @@
+package com.weather_found.weather_app.modules.weather.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Running totals of one location's observations on one day, kept up to date as
+ * observations are stored so dashboards never aggregate {@code weather_data} itself.
+ * This is also the daily resolution of the observation history, and is kept after
+ * the raw rows are dropped.
+ */
+@Entity
+@Table(name = "weather_daily_aggregates", uniqueConstraints = @UniqueConstraint(
+        name = "uk_weather_daily_location_day", columnNames = { "location_id", "observed_on" }),
+        indexes = @Index(name = "idx_weather_daily_day", columnList = "observed_on"))
+@Data
+@NoArgsConstructor
+public class WeatherDailyAggregate {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "location_id", nullable = false)
+    private Long locationId;
+
+    @Column(name = "observed_on", nullable = false)
+    private LocalDate observedOn;
+
+    @Column(name = "observation_count", nullable = false)
+    private long observationCount;
+
+    @Column(name = "temperature_sum", nullable = false)
+    private double temperatureSum;
+
+    /** Observations that had a temperature */
+    @Column(name = "temperature_count", nullable = false)
+    private long temperatureCount;
+
+    @Column(name = "temperature_min")
+    private Double temperatureMin;
+
+    @Column(name = "temperature_max")
+    private Double temperatureMax;
+
+    @Column(name = "humidity_sum", nullable = false)
+    private double humiditySum;
+
+    @Column(name = "humidity_count", nullable = false)
+    private long humidityCount;
+
+    @Column(name = "humidity_min")
+    private Double humidityMin;
+
+    @Column(name = "humidity_max")
+    private Double humidityMax;
+
+    @Column(name = "pressure_sum", nullable = false)
+    private double pressureSum;
+
+    @Column(name = "pressure_count", nullable = false)
+    private long pressureCount;
+
+    @Column(name = "pressure_min")
+    private Double pressureMin;
+
+    @Column(name = "pressure_max")
+    private Double pressureMax;
+
+    @Column(name = "wind_speed_sum", nullable = false)
+    private double windSpeedSum;
+
+    @Column(name = "wind_speed_count", nullable = false)
+    private long windSpeedCount;
+
+    @Column(name = "wind_speed_min")
+    private Double windSpeedMin;
+
+    @Column(name = "wind_speed_max")
+    private Double windSpeedMax;
+
+    @Column(name = "precipitation_sum", nullable = false)
+    private double precipitationSum;
+
+    @Column(name = "precipitation_count", nullable = false)
+    private long precipitationCount;
+
+    @Column(name = "precipitation_min")
+    private Double precipitationMin;
+
+    @Column(name = "precipitation_max")
+    private Double precipitationMax;
+}
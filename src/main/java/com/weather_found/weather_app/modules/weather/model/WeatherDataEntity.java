@@ -13,7 +13,9 @@ import java.time.LocalDateTime;
  * Weather data entity for storing actual weather observations
  */
 @Entity
-@Table(name = "weather_data", indexes = {
+@Table(name = "weather_data", uniqueConstraints = @UniqueConstraint(
+        name = "uk_weather_data_observation", columnNames = { "location_id", "recorded_at", "data_source" }),
+        indexes = {
         @Index(name = "idx_weather_location_time", columnList = "location_id, recorded_at"),
         @Index(name = "idx_weather_recorded_at", columnList = "recorded_at"),
         @Index(name = "idx_weather_data_source", columnList = "data_source")
@@ -28,7 +30,8 @@ public class WeatherDataEntity {
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "location_id", nullable = false, foreignKey = @ForeignKey(name = "fk_weather_data_location"))
+    // No foreign key: MySQL does not allow them on partitioned tables
+    @JoinColumn(name = "location_id", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private Location location;
 
     @Column(name = "recorded_at", nullable = false)
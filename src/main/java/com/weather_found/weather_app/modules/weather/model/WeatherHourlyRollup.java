@@ -0,0 +1,13 @@
+package com.weather_found.weather_app.modules.weather.model;
+
+import jakarta.persistence.*;
+
+/**
+ * One location's observations summarized per hour
+ */
+@Entity
+@Table(name = "weather_hourly_rollups", uniqueConstraints = @UniqueConstraint(
+        name = "uk_weather_hourly_rollup_bucket", columnNames = { "location_id", "bucket_start" }),
+        indexes = @Index(name = "idx_weather_hourly_rollup_bucket", columnList = "bucket_start"))
+public class WeatherHourlyRollup extends WeatherRollup {
+}
@@ -0,0 +1,91 @@
+package com.weather_found.weather_app.modules.weather.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Downsampled observations of one location over one time bucket. Each metric keeps
+ * min, max, sum and count, so averages can be merged into coarser buckets exactly.
+ */
+@MappedSuperclass
+@Data
+@NoArgsConstructor
+public abstract class WeatherRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "location_id", nullable = false)
+    private Long locationId;
+
+    /** Start of the bucket */
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(name = "observation_count", nullable = false)
+    private long observationCount;
+
+    @Column(name = "temperature_min")
+    private Double temperatureMin;
+
+    @Column(name = "temperature_max")
+    private Double temperatureMax;
+
+    @Column(name = "temperature_sum", nullable = false)
+    private double temperatureSum;
+
+    @Column(name = "temperature_count", nullable = false)
+    private long temperatureCount;
+
+    @Column(name = "humidity_min")
+    private Double humidityMin;
+
+    @Column(name = "humidity_max")
+    private Double humidityMax;
+
+    @Column(name = "humidity_sum", nullable = false)
+    private double humiditySum;
+
+    @Column(name = "humidity_count", nullable = false)
+    private long humidityCount;
+
+    @Column(name = "pressure_min")
+    private Double pressureMin;
+
+    @Column(name = "pressure_max")
+    private Double pressureMax;
+
+    @Column(name = "pressure_sum", nullable = false)
+    private double pressureSum;
+
+    @Column(name = "pressure_count", nullable = false)
+    private long pressureCount;
+
+    @Column(name = "wind_speed_min")
+    private Double windSpeedMin;
+
+    @Column(name = "wind_speed_max")
+    private Double windSpeedMax;
+
+    @Column(name = "wind_speed_sum", nullable = false)
+    private double windSpeedSum;
+
+    @Column(name = "wind_speed_count", nullable = false)
+    private long windSpeedCount;
+
+    @Column(name = "precipitation_min")
+    private Double precipitationMin;
+
+    @Column(name = "precipitation_max")
+    private Double precipitationMax;
+
+    @Column(name = "precipitation_sum", nullable = false)
+    private double precipitationSum;
+
+    @Column(name = "precipitation_count", nullable = false)
+    private long precipitationCount;
+}
@@ -0,0 +1,41 @@
+package com.weather_found.weather_app.modules.weather.provider;
+
+import com.weather_found.weather_app.modules.weather.service.ExternalWeatherApiService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * OpenWeatherMap as an aggregation provider, backed by the guarded client path of
+ * {@link ExternalWeatherApiService}
+ */
+@Component
+public class OpenWeatherMapProvider implements WeatherProvider {
+
+    private final ExternalWeatherApiService externalWeatherApiService;
+    private final double weight;
+
+    public OpenWeatherMapProvider(@Lazy ExternalWeatherApiService externalWeatherApiService,
+            @Value("${weather.providers.openweathermap.weight:1.0}") double weight) {
+        this.externalWeatherApiService = externalWeatherApiService;
+        this.weight = weight;
+    }
+
+    @Override
+    public String getName() {
+        return "OpenWeatherMap";
+    }
+
+    @Override
+    public double getWeight() {
+        return weight;
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Object>> fetchCurrent(String locationName) {
+        return externalWeatherApiService.fetchCurrentWeatherFromOpenWeatherMap(locationName);
+    }
+}
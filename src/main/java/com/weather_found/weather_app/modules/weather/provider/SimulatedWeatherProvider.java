@@ -0,0 +1,102 @@
+package com.weather_found.weather_app.modules.weather.provider;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deterministic in-process provider for offline development and tests.
+ * <p>
+ * Values depend only on the location name and the current hour, so repeated calls
+ * agree with each other. Latency and failures are simulated as configured; whether a
+ * call fails is also derived from the seed. Calls complete on the upstream HTTP
+ * executor, as real provider responses do.
+ */
+@Component
+@ConditionalOnProperty(name = "weather.providers.simulator.enabled", havingValue = "true")
+public class SimulatedWeatherProvider implements WeatherProvider {
+
+    private static final String[] CONDITIONS = { "Clear", "Clouds", "Rain", "Snow", "Fog", "Drizzle", "Thunderstorm" };
+
+    private final String name;
+    private final double weight;
+    private final long latencyMs;
+    private final double failureRate;
+    private final Clock clock;
+    private final Executor executor;
+
+    @Autowired
+    public SimulatedWeatherProvider(
+            @Value("${weather.providers.simulator.weight:0.5}") double weight,
+            @Value("${weather.providers.simulator.latency-ms:50}") long latencyMs,
+            @Value("${weather.providers.simulator.failure-rate:0.0}") double failureRate,
+            @Qualifier("upstreamHttpExecutor") Executor upstreamHttpExecutor) {
+        this("Simulator", weight, latencyMs, failureRate, Clock.systemUTC(), upstreamHttpExecutor);
+    }
+
+    public SimulatedWeatherProvider(String name, double weight, long latencyMs, double failureRate, Clock clock,
+            Executor executor) {
+        this.name = name;
+        this.weight = weight;
+        this.latencyMs = latencyMs;
+        this.failureRate = failureRate;
+        this.clock = clock;
+        this.executor = executor;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public double getWeight() {
+        return weight;
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Object>> fetchCurrent(String locationName) {
+        long hour = TimeUnit.MILLISECONDS.toHours(clock.millis());
+        String location = locationName.trim().toLowerCase(Locale.ROOT);
+        Random random = new Random(((long) (name + "|" + location).hashCode() << 32) ^ hour);
+
+        CompletableFuture<Map<String, Object>> result = new CompletableFuture<>();
+        boolean fail = random.nextDouble() < failureRate;
+        Map<String, Object> weather = fail ? null : simulate(random);
+        CompletableFuture.delayedExecutor(latencyMs, TimeUnit.MILLISECONDS, executor).execute(() -> {
+            if (fail) {
+                result.completeExceptionally(new IllegalStateException("Simulated failure of " + name));
+            } else {
+                result.complete(weather);
+            }
+        });
+        return result;
+    }
+
+    private Map<String, Object> simulate(Random random) {
+        Map<String, Object> weather = new HashMap<>();
+        weather.put("temperature", Math.round((random.nextGaussian() * 8 + 18) * 10) / 10.0);
+        weather.put("humidity", 30.0 + random.nextInt(60));
+        weather.put("pressure", 990.0 + random.nextInt(40));
+        weather.put("windSpeed", Math.round(random.nextDouble() * 150) / 10.0);
+        weather.put("windDirection", random.nextInt(360));
+        weather.put("cloudCover", random.nextInt(101));
+        weather.put("visibility", 1.0 + random.nextInt(10));
+        weather.put("weatherCondition", CONDITIONS[random.nextInt(CONDITIONS.length)]);
+        weather.put("dataSource", name);
+        weather.put("timestamp", LocalDateTime.now(clock));
+        return weather;
+    }
+}
@@ -0,0 +1,229 @@
+package com.weather_found.weather_app.modules.weather.provider;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Queries every {@link WeatherProvider} in parallel under one overall deadline and
+ * merges whatever arrived in time, field by field, weighted by provider quality.
+ * Stale provider answers count with half their weight.
+ */
+@Component
+@Slf4j
+public class WeatherFanOut {
+
+    /** Numeric fields merged by weighted arithmetic mean */
+    private static final String[] NUMERIC_FIELDS = {
+            "temperature", "humidity", "pressure", "windSpeed", "cloudCover", "visibility" };
+
+    private static final double STALE_WEIGHT_FACTOR = 0.5;
+
+    private final List<WeatherProvider> providers;
+    private final Duration deadline;
+    private final Map<String, ProviderCounters> counters = new ConcurrentHashMap<>();
+
+    public WeatherFanOut(List<WeatherProvider> providers,
+            @Value("${weather.providers.deadline-ms:2000}") long deadlineMs) {
+        this.providers = List.copyOf(providers);
+        this.deadline = Duration.ofMillis(deadlineMs);
+    }
+
+    public List<WeatherProvider> getProviders() {
+        return providers;
+    }
+
+    /**
+     * Fan out to all configured providers; null when none answered in time
+     */
+    public Map<String, Object> fetchCurrent(String locationName) {
+        return fetchCurrent(locationName, providers, deadline);
+    }
+
+    /**
+     * Fan out to the given providers and merge the answers that arrived before the
+     * deadline. Returns null when none did.
+     */
+    public Map<String, Object> fetchCurrent(String locationName, List<WeatherProvider> targets, Duration timeout) {
+        long start = System.nanoTime();
+        List<CompletableFuture<Map<String, Object>>> calls = new ArrayList<>(targets.size());
+        long[] finishedAt = new long[targets.size()];
+        for (int i = 0; i < targets.size(); i++) {
+            int index = i;
+            CompletableFuture<Map<String, Object>> call;
+            try {
+                call = targets.get(i).fetchCurrent(locationName);
+            } catch (RuntimeException e) {
+                call = CompletableFuture.failedFuture(e);
+            }
+            calls.add(call.whenComplete((value, error) -> finishedAt[index] = System.nanoTime()));
+        }
+
+        try {
+            CompletableFuture.allOf(calls.toArray(new CompletableFuture<?>[0]))
+                    .get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            // Merge whatever completed; failures and stragglers are reported per source
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        List<Map<String, Object>> results = new ArrayList<>();
+        List<Double> weights = new ArrayList<>();
+        List<Map<String, Object>> sources = new ArrayList<>();
+        List<Map<String, Object>> missing = new ArrayList<>();
+
+        for (int i = 0; i < targets.size(); i++) {
+            WeatherProvider provider = targets.get(i);
+            ProviderCounters providerCounters = counters.computeIfAbsent(provider.getName(), n -> new ProviderCounters());
+            CompletableFuture<Map<String, Object>> call = calls.get(i);
+            String reason = null;
+            Map<String, Object> result = null;
+            if (!call.isDone()) {
+                reason = "timeout";
+                providerCounters.timeouts.increment();
+            } else if (call.isCompletedExceptionally()) {
+                reason = "error";
+                providerCounters.errors.increment();
+            } else {
+                result = call.join();
+                if (result == null || result.isEmpty()) {
+                    reason = "empty";
+                    providerCounters.empty.increment();
+                }
+            }
+
+            if (reason != null) {
+                missing.add(Map.of("provider", provider.getName(), "reason", reason));
+                continue;
+            }
+
+            providerCounters.contributed.increment();
+            boolean stale = Boolean.TRUE.equals(result.get("stale"));
+            double weight = provider.getWeight() * (stale ? STALE_WEIGHT_FACTOR : 1.0);
+            results.add(result);
+            weights.add(weight);
+
+            Map<String, Object> source = new HashMap<>();
+            source.put("provider", provider.getName());
+            source.put("weight", weight);
+            source.put("latencyMs", TimeUnit.NANOSECONDS.toMillis(finishedAt[i] - start));
+            source.put("stale", stale);
+            sources.add(source);
+        }
+
+        if (results.isEmpty()) {
+            log.warn("No weather provider answered for {} within {} ms", locationName, timeout.toMillis());
+            return null;
+        }
+
+        Map<String, Object> merged = merge(results, weights);
+        merged.put("location", locationName);
+        merged.put("dataSource", results.size() == 1 ? results.get(0).get("dataSource") : "Aggregated");
+        merged.put("sources", sources);
+        merged.put("missingSources", missing);
+        merged.put("timestamp", LocalDateTime.now());
+        return merged;
+    }
+
+    /**
+     * Per-field weighted merge: arithmetic mean for scalar fields, circular mean for
+     * wind direction, weighted vote for the condition. Coordinates and description come
+     * from the heaviest source that has them.
+     */
+    static Map<String, Object> merge(List<Map<String, Object>> results, List<Double> weights) {
+        Map<String, Object> merged = new HashMap<>();
+
+        for (String field : NUMERIC_FIELDS) {
+            double weightedSum = 0;
+            double totalWeight = 0;
+            for (int i = 0; i < results.size(); i++) {
+                if (results.get(i).get(field) instanceof Number number) {
+                    weightedSum += number.doubleValue() * weights.get(i);
+                    totalWeight += weights.get(i);
+                }
+            }
+            if (totalWeight > 0) {
+                merged.put(field, Math.round(weightedSum / totalWeight * 100) / 100.0);
+            }
+        }
+
+        double sin = 0;
+        double cos = 0;
+        boolean hasDirection = false;
+        Map<String, Double> conditionVotes = new HashMap<>();
+        int heaviest = 0;
+        for (int i = 0; i < results.size(); i++) {
+            Map<String, Object> result = results.get(i);
+            if (result.get("windDirection") instanceof Number direction) {
+                double radians = Math.toRadians(direction.doubleValue());
+                sin += Math.sin(radians) * weights.get(i);
+                cos += Math.cos(radians) * weights.get(i);
+                hasDirection = true;
+            }
+            if (result.get("weatherCondition") instanceof String condition) {
+                conditionVotes.merge(condition, weights.get(i), Double::sum);
+            }
+            if (weights.get(i) > weights.get(heaviest)) {
+                heaviest = i;
+            }
+        }
+        if (hasDirection) {
+            int degrees = (int) Math.round(Math.toDegrees(Math.atan2(sin, cos)));
+            merged.put("windDirection", (degrees + 360) % 360);
+        }
+        conditionVotes.entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .ifPresent(vote -> merged.put("weatherCondition", vote.getKey()));
+
+        for (String field : new String[] { "lat", "lon", "description" }) {
+            Object value = results.get(heaviest).get(field);
+            for (int i = 0; value == null && i < results.size(); i++) {
+                value = results.get(i).get(field);
+            }
+            if (value != null) {
+                merged.put(field, value);
+            }
+        }
+        return merged;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> providerStats = new HashMap<>();
+        for (WeatherProvider provider : providers) {
+            ProviderCounters providerCounters = counters.computeIfAbsent(provider.getName(), n -> new ProviderCounters());
+            Map<String, Object> entry = new HashMap<>();
+            entry.put("weight", provider.getWeight());
+            entry.put("contributed", providerCounters.contributed.sum());
+            entry.put("timeouts", providerCounters.timeouts.sum());
+            entry.put("errors", providerCounters.errors.sum());
+            entry.put("empty", providerCounters.empty.sum());
+            providerStats.put(provider.getName(), entry);
+        }
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("providers", providerStats);
+        stats.put("deadlineMs", deadline.toMillis());
+        return stats;
+    }
+
+    private static final class ProviderCounters {
+        private final LongAdder contributed = new LongAdder();
+        private final LongAdder timeouts = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder empty = new LongAdder();
+    }
+}
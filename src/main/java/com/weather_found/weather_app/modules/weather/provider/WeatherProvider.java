@@ -0,0 +1,31 @@
+package com.weather_found.weather_app.modules.weather.provider;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A source of current weather that can take part in aggregation.
+ * <p>
+ * Implementations are discovered as Spring beans. Results use the flat current-weather
+ * vocabulary of {@code ExternalWeatherApiService} ({@code temperature}, {@code humidity},
+ * {@code pressure}, {@code windSpeed}, {@code windDirection}, {@code cloudCover},
+ * {@code visibility}, {@code weatherCondition}, ...); absent fields are simply omitted.
+ */
+public interface WeatherProvider {
+
+    /**
+     * Stable provider name used in responses and metrics
+     */
+    String getName();
+
+    /**
+     * Relative quality weight used when merging fields from several providers
+     */
+    double getWeight();
+
+    /**
+     * Fetch current weather for a location name. Completes with null when the provider
+     * has no data for it.
+     */
+    CompletableFuture<Map<String, Object>> fetchCurrent(String locationName);
+}
@@ -0,0 +1,46 @@
+package com.weather_found.weather_app.modules.weather.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+/**
+ * MySQL named locks (GET_LOCK), so a background job runs on one node at a time
+ */
+@Repository
+@RequiredArgsConstructor
+public class DatabaseLocks {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Run {@code work} while holding the named lock. The lock belongs to one pooled
+     * connection for the duration; returns false without running {@code work} if
+     * another node holds it.
+     */
+    public boolean withLock(String name, Runnable work) {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            try (PreparedStatement lock = connection.prepareStatement("SELECT GET_LOCK(?, 0)")) {
+                lock.setString(1, name);
+                try (ResultSet rs = lock.executeQuery()) {
+                    if (!rs.next() || rs.getInt(1) != 1) {
+                        return false;
+                    }
+                }
+            }
+            try {
+                work.run();
+                return true;
+            } finally {
+                try (PreparedStatement release = connection.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+                    release.setString(1, name);
+                    release.execute();
+                }
+            }
+        }));
+    }
+}
@@ -72,9 +72,9 @@ public interface WeatherAlertRepository extends JpaRepository<WeatherAlert, Long
     List<WeatherAlert> findByAlertTimeBetweenOrderByAlertTimeDesc(LocalDateTime startTime, LocalDateTime endTime);
 
     /**
-     * Find critical alerts
+     * Find critical alerts, with their location loaded so they are usable outside a persistence context
      */
-    @Query("SELECT a FROM WeatherAlert a WHERE a.severity = 'CRITICAL' AND a.status = :status ORDER BY a.alertTime DESC")
+    @Query("SELECT a FROM WeatherAlert a JOIN FETCH a.location WHERE a.severity = 'CRITICAL' AND a.status = :status ORDER BY a.alertTime DESC")
     List<WeatherAlert> findCriticalAlerts(@Param("status") String status);
 
     /**
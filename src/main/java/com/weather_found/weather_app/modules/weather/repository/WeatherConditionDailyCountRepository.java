@@ -0,0 +1,50 @@
+package com.weather_found.weather_app.modules.weather.repository;
+
+import com.weather_found.weather_app.modules.weather.model.WeatherConditionDailyCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository for per-location daily weather condition histograms
+ */
+@Repository
+public interface WeatherConditionDailyCountRepository extends JpaRepository<WeatherConditionDailyCount, Long> {
+
+    /**
+     * Add observations of a condition to a location's day, creating the row if needed
+     */
+    @Modifying
+    @Query(value = "INSERT INTO weather_condition_daily_counts (location_id, observed_on, weather_condition, " +
+            "observation_count) VALUES (:locationId, :day, :condition, :count) " +
+            "ON DUPLICATE KEY UPDATE observation_count = observation_count + VALUES(observation_count)",
+            nativeQuery = true)
+    void accumulate(@Param("locationId") Long locationId, @Param("day") LocalDate day,
+            @Param("condition") String condition, @Param("count") long count);
+
+    /**
+     * Recompute the condition counts of every day since {@code since} from the raw observations
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO weather_condition_daily_counts (location_id, observed_on, weather_condition, " +
+            "observation_count) SELECT location_id, DATE(recorded_at), weather_condition, COUNT(*) " +
+            "FROM weather_data WHERE recorded_at >= :since AND weather_condition IS NOT NULL " +
+            "GROUP BY location_id, DATE(recorded_at), weather_condition " +
+            "ON DUPLICATE KEY UPDATE observation_count = VALUES(observation_count)", nativeQuery = true)
+    int rebuildSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Observations per condition, most frequent first
+     */
+    @Query("SELECT c.weatherCondition, SUM(c.observationCount) FROM WeatherConditionDailyCount c " +
+            "WHERE c.observedOn >= :since GROUP BY c.weatherCondition ORDER BY SUM(c.observationCount) DESC")
+    List<Object[]> sumCountsByCondition(@Param("since") LocalDate since);
+}
@@ -0,0 +1,147 @@
+package com.weather_found.weather_app.modules.weather.repository;
+
+import com.weather_found.weather_app.modules.weather.model.WeatherDailyAggregate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository for per-location daily weather aggregates
+ */
+@Repository
+public interface WeatherDailyAggregateRepository extends JpaRepository<WeatherDailyAggregate, Long> {
+
+    /**
+     * Add a batch of observations to a location's day, creating the row if needed;
+     * {@code day} holds the batch's sums, counts, min and max
+     */
+    @Modifying
+    @Query(value = "INSERT INTO weather_daily_aggregates (location_id, observed_on, observation_count, " +
+            "temperature_sum, temperature_count, temperature_min, temperature_max, " +
+            "humidity_sum, humidity_count, humidity_min, humidity_max, " +
+            "pressure_sum, pressure_count, pressure_min, pressure_max, wind_speed_sum, wind_speed_count, " +
+            "wind_speed_min, wind_speed_max, precipitation_sum, precipitation_count, precipitation_min, " +
+            "precipitation_max) " +
+            "VALUES (:#{#day.locationId}, :#{#day.observedOn}, :#{#day.observationCount}, " +
+            ":#{#day.temperatureSum}, :#{#day.temperatureCount}, :#{#day.temperatureMin}, :#{#day.temperatureMax}, " +
+            ":#{#day.humiditySum}, :#{#day.humidityCount}, :#{#day.humidityMin}, :#{#day.humidityMax}, " +
+            ":#{#day.pressureSum}, :#{#day.pressureCount}, :#{#day.pressureMin}, :#{#day.pressureMax}, " +
+            ":#{#day.windSpeedSum}, :#{#day.windSpeedCount}, :#{#day.windSpeedMin}, :#{#day.windSpeedMax}, " +
+            ":#{#day.precipitationSum}, :#{#day.precipitationCount}, :#{#day.precipitationMin}, " +
+            ":#{#day.precipitationMax}) " +
+            "ON DUPLICATE KEY UPDATE observation_count = observation_count + VALUES(observation_count), " +
+            "temperature_sum = temperature_sum + VALUES(temperature_sum), " +
+            "temperature_count = temperature_count + VALUES(temperature_count), " +
+            "temperature_min = LEAST(COALESCE(temperature_min, VALUES(temperature_min)), " +
+            "COALESCE(VALUES(temperature_min), temperature_min)), " +
+            "temperature_max = GREATEST(COALESCE(temperature_max, VALUES(temperature_max)), " +
+            "COALESCE(VALUES(temperature_max), temperature_max)), " +
+            "humidity_sum = humidity_sum + VALUES(humidity_sum), " +
+            "humidity_count = humidity_count + VALUES(humidity_count), " +
+            "humidity_min = LEAST(COALESCE(humidity_min, VALUES(humidity_min)), " +
+            "COALESCE(VALUES(humidity_min), humidity_min)), " +
+            "humidity_max = GREATEST(COALESCE(humidity_max, VALUES(humidity_max)), " +
+            "COALESCE(VALUES(humidity_max), humidity_max)), " +
+            "pressure_sum = pressure_sum + VALUES(pressure_sum), " +
+            "pressure_count = pressure_count + VALUES(pressure_count), " +
+            "pressure_min = LEAST(COALESCE(pressure_min, VALUES(pressure_min)), " +
+            "COALESCE(VALUES(pressure_min), pressure_min)), " +
+            "pressure_max = GREATEST(COALESCE(pressure_max, VALUES(pressure_max)), " +
+            "COALESCE(VALUES(pressure_max), pressure_max)), " +
+            "wind_speed_sum = wind_speed_sum + VALUES(wind_speed_sum), " +
+            "wind_speed_count = wind_speed_count + VALUES(wind_speed_count), " +
+            "wind_speed_min = LEAST(COALESCE(wind_speed_min, VALUES(wind_speed_min)), " +
+            "COALESCE(VALUES(wind_speed_min), wind_speed_min)), " +
+            "wind_speed_max = GREATEST(COALESCE(wind_speed_max, VALUES(wind_speed_max)), " +
+            "COALESCE(VALUES(wind_speed_max), wind_speed_max)), " +
+            "precipitation_sum = precipitation_sum + VALUES(precipitation_sum), " +
+            "precipitation_count = precipitation_count + VALUES(precipitation_count), " +
+            "precipitation_min = LEAST(COALESCE(precipitation_min, VALUES(precipitation_min)), " +
+            "COALESCE(VALUES(precipitation_min), precipitation_min)), " +
+            "precipitation_max = GREATEST(COALESCE(precipitation_max, VALUES(precipitation_max)), " +
+            "COALESCE(VALUES(precipitation_max), precipitation_max))",
+            nativeQuery = true)
+    void accumulate(@Param("day") WeatherDailyAggregate day);
+
+    /**
+     * Recompute the aggregates of every day since {@code since} from the raw observations
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO weather_daily_aggregates (location_id, observed_on, observation_count, " +
+            "temperature_sum, temperature_count, temperature_min, temperature_max, " +
+            "humidity_sum, humidity_count, humidity_min, humidity_max, " +
+            "pressure_sum, pressure_count, pressure_min, pressure_max, wind_speed_sum, wind_speed_count, " +
+            "wind_speed_min, wind_speed_max, precipitation_sum, precipitation_count, precipitation_min, " +
+            "precipitation_max) " +
+            "SELECT location_id, DATE(recorded_at), COUNT(*), COALESCE(SUM(temperature), 0), COUNT(temperature), " +
+            "MIN(temperature), MAX(temperature), COALESCE(SUM(humidity), 0), COUNT(humidity), " +
+            "MIN(humidity), MAX(humidity), COALESCE(SUM(pressure), 0), COUNT(pressure), MIN(pressure), " +
+            "MAX(pressure), COALESCE(SUM(wind_speed), 0), COUNT(wind_speed), MIN(wind_speed), " +
+            "MAX(wind_speed), COALESCE(SUM(precipitation), 0), COUNT(precipitation), MIN(precipitation), " +
+            "MAX(precipitation) " +
+            "FROM weather_data WHERE recorded_at >= :since GROUP BY location_id, DATE(recorded_at) " +
+            "ON DUPLICATE KEY UPDATE observation_count = VALUES(observation_count), " +
+            "temperature_sum = VALUES(temperature_sum), temperature_count = VALUES(temperature_count), " +
+            "temperature_min = VALUES(temperature_min), " +
+            "temperature_max = VALUES(temperature_max), humidity_sum = VALUES(humidity_sum), " +
+            "humidity_count = VALUES(humidity_count), humidity_min = VALUES(humidity_min), " +
+            "humidity_max = VALUES(humidity_max), pressure_sum = VALUES(pressure_sum), " +
+            "pressure_count = VALUES(pressure_count), pressure_min = VALUES(pressure_min), " +
+            "pressure_max = VALUES(pressure_max), wind_speed_sum = VALUES(wind_speed_sum), " +
+            "wind_speed_count = VALUES(wind_speed_count), wind_speed_min = VALUES(wind_speed_min), " +
+            "wind_speed_max = VALUES(wind_speed_max), precipitation_sum = VALUES(precipitation_sum), " +
+            "precipitation_count = VALUES(precipitation_count), " +
+            "precipitation_min = VALUES(precipitation_min), precipitation_max = VALUES(precipitation_max)",
+            nativeQuery = true)
+    int rebuildSince(@Param("since") LocalDateTime since);
+
+    /**
+     * A location's days within a range, oldest first
+     */
+    List<WeatherDailyAggregate> findByLocationIdAndObservedOnBetweenOrderByObservedOn(Long locationId,
+            LocalDate start, LocalDate end);
+
+    /**
+     * Observations per day, newest first
+     */
+    @Query("SELECT a.observedOn, SUM(a.observationCount) FROM WeatherDailyAggregate a " +
+            "WHERE a.observedOn >= :since GROUP BY a.observedOn ORDER BY a.observedOn DESC")
+    List<Object[]> sumCountsByDay(@Param("since") LocalDate since);
+
+    /**
+     * Per day: temperature sum and count, humidity sum and count; newest first
+     */
+    @Query("SELECT a.observedOn, SUM(a.temperatureSum), SUM(a.temperatureCount), SUM(a.humiditySum), " +
+            "SUM(a.humidityCount) FROM WeatherDailyAggregate a WHERE a.observedOn >= :since " +
+            "GROUP BY a.observedOn ORDER BY a.observedOn DESC")
+    List<Object[]> sumTotalsByDay(@Param("since") LocalDate since);
+
+    /**
+     * Temperature sum, count, min and max and the observation count over all locations
+     */
+    @Query("SELECT SUM(a.temperatureSum), SUM(a.temperatureCount), MIN(a.temperatureMin), MAX(a.temperatureMax), " +
+            "SUM(a.observationCount) FROM WeatherDailyAggregate a WHERE a.observedOn >= :since")
+    List<Object[]> sumTotals(@Param("since") LocalDate since);
+
+    /**
+     * Temperature sum, count, min and max and the observation count for one location
+     */
+    @Query("SELECT SUM(a.temperatureSum), SUM(a.temperatureCount), MIN(a.temperatureMin), MAX(a.temperatureMax), " +
+            "SUM(a.observationCount) FROM WeatherDailyAggregate a " +
+            "WHERE a.locationId = :locationId AND a.observedOn >= :since")
+    List<Object[]> sumTotalsForLocation(@Param("locationId") Long locationId, @Param("since") LocalDate since);
+
+    /**
+     * Observations stored so far, without counting {@code weather_data}
+     */
+    @Query("SELECT COALESCE(SUM(a.observationCount), 0) FROM WeatherDailyAggregate a")
+    long sumObservationCount();
+}
@@ -0,0 +1,113 @@
+package com.weather_found.weather_app.modules.weather.repository;
+
+import com.weather_found.weather_app.modules.weather.model.WeatherDataEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Writes observations to {@code weather_data} with plain JDBC, many rows per
+ * statement. The JPA path cannot batch these inserts because the ids are
+ * database generated; here MySQL assigns them within one multi-row INSERT.
+ */
+@Repository
+@RequiredArgsConstructor
+public class WeatherDataBatchWriter {
+
+    /** Identity of an observation: at most one row per location, time and source */
+    public record ObservationKey(Long locationId, LocalDateTime recordedAt, String dataSource) {
+
+        public static ObservationKey of(WeatherDataEntity observation) {
+            return new ObservationKey(observation.getLocation().getId(), observation.getRecordedAt(),
+                    observation.getDataSource());
+        }
+    }
+
+    /**
+     * IGNORE rather than ON DUPLICATE KEY UPDATE: a duplicate must stay untouched, or
+     * the update would make another writer's row visible in this transaction's snapshot
+     */
+    private static final String INSERT = "INSERT IGNORE INTO weather_data (location_id, recorded_at, temperature, "
+            + "humidity, pressure, wind_speed, wind_direction, precipitation, visibility, weather_condition, cloud_cover, "
+            + "uv_index, data_source, created_at) VALUES ";
+    private static final String ROW = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final Comparator<WeatherDataEntity> KEY_ORDER = Comparator
+            .comparing((WeatherDataEntity observation) -> observation.getLocation().getId())
+            .thenComparing(WeatherDataEntity::getRecordedAt)
+            .thenComparing(WeatherDataEntity::getDataSource, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Keys of the given observations visible to the current transaction, looked up
+     * by exact key through the unique index. This is a plain consistent read and
+     * takes no locks; under REPEATABLE READ the first call fixes the snapshot, so a
+     * later call sees the same rows plus this transaction's own inserts.
+     */
+    public Set<ObservationKey> findExisting(List<WeatherDataEntity> observations) {
+        if (observations.isEmpty()) {
+            return Collections.emptySet();
+        }
+        Set<ObservationKey> keys = new LinkedHashSet<>();
+        for (WeatherDataEntity observation : observations) {
+            keys.add(ObservationKey.of(observation));
+        }
+
+        List<Object> args = new ArrayList<>(keys.size() * 3);
+        for (ObservationKey key : keys) {
+            args.add(key.locationId());
+            args.add(Timestamp.valueOf(key.recordedAt()));
+            args.add(key.dataSource());
+        }
+        String sql = "SELECT location_id, recorded_at, data_source FROM weather_data "
+                + "WHERE (location_id, recorded_at, data_source) IN ("
+                + String.join(", ", Collections.nCopies(keys.size(), "(?, ?, ?)")) + ")";
+        return new HashSet<>(jdbcTemplate.query(sql, (rs, rowNum) -> new ObservationKey(rs.getLong(1),
+                rs.getTimestamp(2).toLocalDateTime(), rs.getString(3)), args.toArray()));
+    }
+
+    /**
+     * Insert the observations as one statement; rows that already exist, including
+     * ones a concurrent writer has just stored, are left untouched. Rows go in key
+     * order, so concurrent writers take their row locks in the same order. Returns
+     * the row count reported by the driver.
+     */
+    public int insertAll(List<WeatherDataEntity> observations) {
+        if (observations.isEmpty()) {
+            return 0;
+        }
+        List<WeatherDataEntity> ordered = new ArrayList<>(observations);
+        ordered.sort(KEY_ORDER);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object> args = new ArrayList<>(observations.size() * 14);
+        for (WeatherDataEntity observation : ordered) {
+            args.add(observation.getLocation().getId());
+            args.add(Timestamp.valueOf(observation.getRecordedAt()));
+            args.add(observation.getTemperature());
+            args.add(observation.getHumidity());
+            args.add(observation.getPressure());
+            args.add(observation.getWindSpeed());
+            args.add(observation.getWindDirection());
+            args.add(observation.getPrecipitation());
+            args.add(observation.getVisibility());
+            args.add(observation.getWeatherCondition());
+            args.add(observation.getCloudCover());
+            args.add(observation.getUvIndex());
+            args.add(observation.getDataSource());
+            args.add(now);
+        }
+        String sql = INSERT + String.join(", ", Collections.nCopies(observations.size(), ROW));
+        return jdbcTemplate.update(sql, args.toArray());
+    }
+}
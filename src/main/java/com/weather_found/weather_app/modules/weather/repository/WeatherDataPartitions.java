@@ -0,0 +1,118 @@
+package com.weather_found.weather_app.modules.weather.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * DDL for the daily RANGE COLUMNS partitions of {@code weather_data}. A day's
+ * partition is named {@code pYYYYMMDD}; {@code pold} holds everything before the
+ * first day partition and {@code pmax} everything after the last one.
+ */
+@Repository
+@RequiredArgsConstructor
+public class WeatherDataPartitions {
+
+    /**
+     * A partition and the exclusive upper bound of its {@code recorded_at} range;
+     * null for the MAXVALUE partition
+     */
+    public record Partition(String name, LocalDate upperBound) {
+    }
+
+    public static final String MAX_PARTITION = "pmax";
+    private static final String OLD_PARTITION = "pold";
+    private static final DateTimeFormatter NAME_FORMAT = DateTimeFormatter.ofPattern("'p'yyyyMMdd");
+    private static final String MAINTENANCE_LOCK = "weather_data_partition_maintenance";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseLocks databaseLocks;
+
+    /**
+     * Run {@code work} unless another node is maintaining the partitions; false if it
+     * was skipped
+     */
+    public boolean withMaintenanceLock(Runnable work) {
+        return databaseLocks.withLock(MAINTENANCE_LOCK, work);
+    }
+
+    /**
+     * Partitions of weather_data in range order; empty if the table is not partitioned
+     */
+    public List<Partition> list() {
+        return jdbcTemplate.query("SELECT PARTITION_NAME, PARTITION_DESCRIPTION FROM information_schema.PARTITIONS "
+                + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'weather_data' AND PARTITION_NAME IS NOT NULL "
+                + "ORDER BY PARTITION_ORDINAL_POSITION",
+                (rs, rowNum) -> new Partition(rs.getString(1), parseBound(rs.getString(2))));
+    }
+
+    /**
+     * Partition the table by day, starting with {@code days}. MySQL requires the
+     * partitioning column in every unique key and allows no foreign keys on
+     * partitioned tables, so the location foreign key is dropped and the primary key
+     * becomes (id, recorded_at). This rebuilds the whole table.
+     */
+    public void convert(List<LocalDate> days) {
+        List<String> foreignKeys = jdbcTemplate.queryForList("SELECT CONSTRAINT_NAME FROM "
+                + "information_schema.TABLE_CONSTRAINTS WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'weather_data' "
+                + "AND CONSTRAINT_TYPE = 'FOREIGN KEY'", String.class);
+        for (String foreignKey : foreignKeys) {
+            jdbcTemplate.execute("ALTER TABLE weather_data DROP FOREIGN KEY " + foreignKey);
+        }
+        jdbcTemplate.execute("ALTER TABLE weather_data DROP PRIMARY KEY, ADD PRIMARY KEY (id, recorded_at)");
+        jdbcTemplate.execute("ALTER TABLE weather_data PARTITION BY RANGE COLUMNS(recorded_at) ("
+                + "PARTITION " + OLD_PARTITION + " VALUES LESS THAN ('" + days.get(0) + "'), "
+                + dayPartitions(days) + ", PARTITION " + MAX_PARTITION + " VALUES LESS THAN (MAXVALUE))");
+    }
+
+    /**
+     * Split day partitions off the (empty) MAXVALUE partition
+     */
+    public void addDays(List<LocalDate> days) {
+        jdbcTemplate.execute("ALTER TABLE weather_data REORGANIZE PARTITION " + MAX_PARTITION + " INTO ("
+                + dayPartitions(days) + ", PARTITION " + MAX_PARTITION + " VALUES LESS THAN (MAXVALUE))");
+    }
+
+    /**
+     * Drop partitions with all their rows; a metadata change, not a row-by-row delete
+     */
+    public void drop(List<String> names) {
+        jdbcTemplate.execute("ALTER TABLE weather_data DROP PARTITION " + String.join(", ", names));
+    }
+
+    /**
+     * Delete observations older than {@code cutoff}, at most {@code batchSize} rows
+     * per statement; the retention path while the table is not partitioned
+     */
+    public long deleteBefore(LocalDateTime cutoff, int batchSize) {
+        long total = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update("DELETE FROM weather_data WHERE recorded_at < ? LIMIT ?",
+                    Timestamp.valueOf(cutoff), batchSize);
+            total += deleted;
+        } while (deleted >= batchSize);
+        return total;
+    }
+
+    private static String dayPartitions(List<LocalDate> days) {
+        return days.stream()
+                .map(day -> "PARTITION " + day.format(NAME_FORMAT) + " VALUES LESS THAN ('" + day.plusDays(1) + "')")
+                .collect(Collectors.joining(", "));
+    }
+
+    /** PARTITION_DESCRIPTION is a quoted datetime literal or MAXVALUE */
+    static LocalDate parseBound(String description) {
+        if (description == null || description.equalsIgnoreCase("MAXVALUE")) {
+            return null;
+        }
+        return LocalDate.parse(description.replace("'", "").substring(0, 10));
+    }
+}
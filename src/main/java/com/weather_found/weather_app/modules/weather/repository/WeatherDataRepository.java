@@ -104,11 +104,6 @@ public interface WeatherDataRepository extends JpaRepository<WeatherDataEntity,
             "w.recordedAt >= :since ORDER BY w.location.name")
     List<Location> findLocationsWithRecentData(@Param("since") LocalDateTime since);
 
-    /**
-     * Delete old weather data (for cleanup)
-     */
-    void deleteByRecordedAtBefore(LocalDateTime cutoffDate);
-
     /**
      * Find weather data with high wind speeds
      */
@@ -136,39 +131,9 @@ public interface WeatherDataRepository extends JpaRepository<WeatherDataEntity,
     @Query("SELECT wd FROM WeatherDataEntity wd WHERE wd.location = :location ORDER BY wd.recordedAt DESC")
     List<WeatherDataEntity> findByLocationOrderByTimestampDesc(@Param("location") Location location);
 
-    @Query("SELECT wd FROM WeatherDataEntity wd WHERE wd.recordedAt >= :since ORDER BY wd.recordedAt DESC")
-    List<WeatherDataEntity> findRecentWeatherData(@Param("since") LocalDateTime since);
-
-    @Query("SELECT DATE(wd.recordedAt) as date, COUNT(wd) as count FROM WeatherDataEntity wd WHERE wd.recordedAt >= :since GROUP BY DATE(wd.recordedAt) ORDER BY date DESC")
-    List<Object[]> getDailyDataCounts(@Param("since") LocalDateTime since);
-
-    @Query("SELECT DATE(wd.recordedAt) as date, AVG(wd.temperature) as avgTemp FROM WeatherDataEntity wd WHERE wd.recordedAt >= :since GROUP BY DATE(wd.recordedAt) ORDER BY date DESC")
-    List<Object[]> getTemperatureTrends(@Param("since") LocalDateTime since);
-
-    @Query("SELECT DATE(wd.recordedAt) as date, AVG(wd.humidity) as avgHumidity FROM WeatherDataEntity wd WHERE wd.recordedAt >= :since GROUP BY DATE(wd.recordedAt) ORDER BY date DESC")
-    List<Object[]> getHumidityTrends(@Param("since") LocalDateTime since);
-
-    @Query("SELECT wd.weatherCondition as condition, COUNT(wd) as count FROM WeatherDataEntity wd WHERE wd.recordedAt >= :since GROUP BY wd.weatherCondition ORDER BY count DESC")
-    List<Object[]> getPopularWeatherConditionsRaw(@Param("since") LocalDateTime since);
-
-    @Query("SELECT AVG(wd.temperature) FROM WeatherDataEntity wd WHERE wd.location = :location AND wd.recordedAt >= :since")
-    Double getAverageTemperatureByLocation(@Param("location") Location location, @Param("since") LocalDateTime since);
-
-    @Query("SELECT MAX(wd.temperature) FROM WeatherDataEntity wd WHERE wd.location = :location AND wd.recordedAt >= :since")
-    Double getMaxTemperatureByLocation(@Param("location") Location location, @Param("since") LocalDateTime since);
-
-    @Query("SELECT MIN(wd.temperature) FROM WeatherDataEntity wd WHERE wd.location = :location AND wd.recordedAt >= :since")
-    Double getMinTemperatureByLocation(@Param("location") Location location, @Param("since") LocalDateTime since);
-
-    @Query("SELECT AVG(wd.temperature) FROM WeatherDataEntity wd WHERE wd.recordedAt >= :since")
-    Double getGlobalAverageTemperature(@Param("since") LocalDateTime since);
-
-    @Query("SELECT MAX(wd.temperature) FROM WeatherDataEntity wd WHERE wd.recordedAt >= :since")
-    Double getGlobalMaxTemperature(@Param("since") LocalDateTime since);
-
-    @Query("SELECT MIN(wd.temperature) FROM WeatherDataEntity wd WHERE wd.recordedAt >= :since")
-    Double getGlobalMinTemperature(@Param("since") LocalDateTime since);
-
-    @Query("SELECT COUNT(wd) FROM WeatherDataEntity wd WHERE wd.location = :location AND wd.recordedAt >= :since")
-    long countByLocationAndTimestampAfter(@Param("location") Location location, @Param("since") LocalDateTime since);
+    /**
+     * Latest observations with their location loaded, usable outside a persistence context
+     */
+    @Query("SELECT wd FROM WeatherDataEntity wd JOIN FETCH wd.location WHERE wd.recordedAt >= :since ORDER BY wd.recordedAt DESC")
+    List<WeatherDataEntity> findRecentWeatherData(@Param("since") LocalDateTime since, Pageable pageable);
 }
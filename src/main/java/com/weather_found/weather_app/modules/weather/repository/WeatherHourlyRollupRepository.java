@@ -0,0 +1,21 @@
+package com.weather_found.weather_app.modules.weather.repository;
+
+import com.weather_found.weather_app.modules.weather.model.WeatherHourlyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository for hourly weather rollups
+ */
+@Repository
+public interface WeatherHourlyRollupRepository extends JpaRepository<WeatherHourlyRollup, Long> {
+
+    /**
+     * Buckets of a location starting within a time range, oldest first
+     */
+    List<WeatherHourlyRollup> findByLocationIdAndBucketStartBetweenOrderByBucketStart(
+            Long locationId, LocalDateTime start, LocalDateTime end);
+}
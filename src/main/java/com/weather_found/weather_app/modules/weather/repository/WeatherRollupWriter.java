@@ -0,0 +1,98 @@
+package com.weather_found.weather_app.modules.weather.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Fills the hourly rollup table with plain SQL. Every compaction replaces the
+ * buckets it covers, so re-running a range is harmless and picks up late rows.
+ */
+@Repository
+@RequiredArgsConstructor
+public class WeatherRollupWriter {
+
+    public static final String HOURLY_TABLE = "weather_hourly_rollups";
+
+    /** weather_data columns that are summarized; rollup columns add _min, _max, _sum, _count */
+    private static final List<String> METRICS = List.of("temperature", "humidity", "pressure", "wind_speed",
+            "precipitation");
+    private static final List<String> SUFFIXES = List.of("_min", "_max", "_sum", "_count");
+
+    private static final String COLUMNS = "location_id, bucket_start, observation_count, " + METRICS.stream()
+            .flatMap(metric -> SUFFIXES.stream().map(suffix -> metric + suffix))
+            .collect(Collectors.joining(", "));
+
+    private static final String REPLACE = " ON DUPLICATE KEY UPDATE observation_count = VALUES(observation_count), "
+            + METRICS.stream()
+                    .flatMap(metric -> SUFFIXES.stream().map(suffix -> metric + suffix))
+                    .map(column -> column + " = VALUES(" + column + ")")
+                    .collect(Collectors.joining(", "));
+
+    private static final String COMPACTION_LOCK = "weather_rollup_compaction";
+
+    private static final String HOUR = "DATE_FORMAT(recorded_at, '%Y-%m-%d %H:00:00')";
+
+    private static final String COMPACT_HOURLY = "INSERT INTO " + HOURLY_TABLE + " (" + COLUMNS + ") "
+            + "SELECT location_id, " + HOUR + ", COUNT(*), " + METRICS.stream()
+                    .map(m -> "MIN(" + m + "), MAX(" + m + "), COALESCE(SUM(" + m + "), 0), COUNT(" + m + ")")
+                    .collect(Collectors.joining(", "))
+            + " FROM weather_data WHERE recorded_at >= ? AND recorded_at < ? GROUP BY location_id, " + HOUR
+            + REPLACE;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseLocks databaseLocks;
+
+    /**
+     * Run {@code work} unless another node is compacting; false if it was skipped
+     */
+    public boolean withCompactionLock(Runnable work) {
+        return databaseLocks.withLock(COMPACTION_LOCK, work);
+    }
+
+    /**
+     * Recompute the hourly buckets of {@code [from, to)} from the raw observations
+     */
+    public int compactHours(LocalDateTime from, LocalDateTime to) {
+        return jdbcTemplate.update(COMPACT_HOURLY, Timestamp.valueOf(from), Timestamp.valueOf(to));
+    }
+
+    /**
+     * Start of the newest hourly bucket, or null if there are none
+     */
+    public LocalDateTime latestHourlyBucket() {
+        Timestamp latest = jdbcTemplate.queryForObject("SELECT MAX(bucket_start) FROM " + HOURLY_TABLE, Timestamp.class);
+        return latest != null ? latest.toLocalDateTime() : null;
+    }
+
+    /**
+     * Time of the oldest stored observation, or null if there are none
+     */
+    public LocalDateTime earliestObservation() {
+        Timestamp earliest = jdbcTemplate.queryForObject("SELECT MIN(recorded_at) FROM weather_data", Timestamp.class);
+        return earliest != null ? earliest.toLocalDateTime() : null;
+    }
+
+    /**
+     * Delete buckets older than {@code cutoff} from a rollup table, at most
+     * {@code batchSize} rows per statement so no delete holds locks for long
+     */
+    public long deleteBefore(String table, LocalDateTime cutoff, int batchSize) {
+        return deleteInBatches("DELETE FROM " + table + " WHERE bucket_start < ? LIMIT ?", cutoff, batchSize);
+    }
+
+    private long deleteInBatches(String sql, LocalDateTime cutoff, int batchSize) {
+        long total = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(sql, Timestamp.valueOf(cutoff), batchSize);
+            total += deleted;
+        } while (deleted >= batchSize);
+        return total;
+    }
+}
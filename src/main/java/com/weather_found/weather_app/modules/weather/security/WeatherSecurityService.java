@@ -2,7 +2,9 @@ package com.weather_found.weather_app.modules.weather.security;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.Cursor;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -305,8 +307,15 @@ public class WeatherSecurityService {
     }
 
     private long countKeysWithPrefix(String prefix) {
-        try {
-            return redisTemplate.keys(prefix + "*").size();
+        // SCAN walks the keyspace in steps instead of blocking Redis like KEYS
+        ScanOptions options = ScanOptions.scanOptions().match(prefix + "*").count(500).build();
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            long count = 0;
+            while (cursor.hasNext()) {
+                cursor.next();
+                count++;
+            }
+            return count;
         } catch (Exception e) {
             log.debug("Error counting keys with prefix: {}", prefix);
             return 0;
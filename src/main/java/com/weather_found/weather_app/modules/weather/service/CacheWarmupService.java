@@ -0,0 +1,187 @@
+package com.weather_found.weather_app.modules.weather.service;
+
+import com.weather_found.weather_app.modules.weather.cache.NearCacheSnapshot;
+import com.weather_found.weather_app.modules.weather.cache.RedisHealthMonitor;
+import com.weather_found.weather_app.modules.weather.model.WeatherAlert;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fills the caches before this node reports ready, so the first wave of traffic after
+ * a deploy does not go to the weather API and MySQL all at once.
+ * <p>
+ * Runs as an {@link ApplicationRunner}: Spring Boot only publishes the application as
+ * ready once it returns. It first restores the near cache snapshot, if enabled, then
+ * loads the current weather and forecast of the {@code top-n} popular locations, the
+ * global analytics aggregates and the active alerts of every location that has some,
+ * at most {@code max-concurrency} loads at a time. Loads still running after
+ * {@code timeout-seconds} are cancelled and the node starts anyway.
+ */
+@Service
+@Slf4j
+public class CacheWarmupService implements ApplicationRunner {
+
+    private final WeatherCacheService weatherCacheService;
+    private final WeatherDashboardService dashboardService;
+    private final WeatherAlertService alertService;
+    private final NearCacheSnapshot snapshot;
+    private final RedisHealthMonitor redisHealthMonitor;
+
+    private final boolean enabled;
+    private final int topN;
+    private final int forecastDays;
+    private final int maxConcurrency;
+    private final long timeoutSeconds;
+
+    private volatile Map<String, Object> lastRun = Map.of("status", "NOT_RUN");
+
+    public CacheWarmupService(WeatherCacheService weatherCacheService,
+            WeatherDashboardService dashboardService,
+            WeatherAlertService alertService,
+            NearCacheSnapshot snapshot,
+            RedisHealthMonitor redisHealthMonitor,
+            @Value("${weather.warmup.enabled:true}") boolean enabled,
+            @Value("${weather.warmup.top-n:20}") int topN,
+            @Value("${weather.warmup.forecast-days:7}") int forecastDays,
+            @Value("${weather.warmup.max-concurrency:4}") int maxConcurrency,
+            @Value("${weather.warmup.timeout-seconds:30}") long timeoutSeconds) {
+        this.weatherCacheService = weatherCacheService;
+        this.dashboardService = dashboardService;
+        this.alertService = alertService;
+        this.snapshot = snapshot;
+        this.redisHealthMonitor = redisHealthMonitor;
+        this.enabled = enabled;
+        this.topN = topN;
+        this.forecastDays = forecastDays;
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+        this.timeoutSeconds = timeoutSeconds;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (enabled) {
+            warmUp();
+        }
+    }
+
+    /**
+     * Restore the snapshot and pre-load the hot entries; blocks until done or timed out
+     */
+    public Map<String, Object> warmUp() {
+        long started = System.nanoTime();
+        int restored = snapshot.restore();
+
+        List<Callable<Void>> loads = plannedLoads();
+        int failed = 0;
+        int completed = 0;
+        int timedOut = 0;
+
+        ExecutorService pool = Executors.newFixedThreadPool(maxConcurrency, runnable -> {
+            Thread thread = new Thread(runnable, "cache-warmup");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<Void>> results = pool.invokeAll(loads, timeoutSeconds, TimeUnit.SECONDS);
+            for (Future<Void> result : results) {
+                try {
+                    result.get();
+                    completed++;
+                } catch (CancellationException e) {
+                    timedOut++;
+                } catch (ExecutionException e) {
+                    failed++;
+                    log.debug("Cache warm-up load failed: {}", e.getCause().getMessage());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            pool.shutdownNow();
+        }
+
+        long tookMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        Map<String, Object> run = new HashMap<>();
+        run.put("status", timedOut > 0 ? "TIMED_OUT" : "COMPLETED");
+        run.put("snapshotEntriesRestored", restored);
+        run.put("planned", loads.size());
+        run.put("completed", completed);
+        run.put("failed", failed);
+        run.put("timedOut", timedOut);
+        run.put("tookMillis", tookMillis);
+        run.put("finishedAt", LocalDateTime.now());
+        lastRun = run;
+
+        log.info("Cache warm-up: {} of {} loads done in {} ms ({} failed, {} timed out, {} restored from snapshot)",
+                completed, loads.size(), tookMillis, failed, timedOut, restored);
+        return run;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>(lastRun);
+        stats.put("enabled", enabled);
+        stats.put("snapshot", snapshot.getStats());
+        return stats;
+    }
+
+    private List<Callable<Void>> plannedLoads() {
+        List<Callable<Void>> loads = new ArrayList<>();
+        loads.add(() -> {
+            dashboardService.getWeatherAnalytics();
+            return null;
+        });
+
+        if (redisHealthMonitor.isAvailable()) {
+            Set<Object> popular = weatherCacheService.getPopularLocations(topN);
+            if (popular != null) {
+                for (Object entry : popular) {
+                    String location = String.valueOf(entry);
+                    loads.add(() -> {
+                        weatherCacheService.getCurrentWeatherCached(location);
+                        return null;
+                    });
+                    loads.add(() -> {
+                        weatherCacheService.getWeatherForecastCached(location, forecastDays);
+                        return null;
+                    });
+                }
+            }
+        }
+
+        try {
+            Set<Long> alertLocations = new LinkedHashSet<>();
+            for (WeatherAlert alert : alertService.getAllActiveAlerts()) {
+                if (alert.getLocation() != null) {
+                    alertLocations.add(alert.getLocation().getId());
+                }
+            }
+            for (Long locationId : alertLocations) {
+                loads.add(() -> {
+                    alertService.getActiveAlertsForLocation(locationId);
+                    return null;
+                });
+            }
+        } catch (RuntimeException e) {
+            log.warn("Cannot list active alerts for cache warm-up: {}", e.getMessage());
+        }
+        return loads;
+    }
+}
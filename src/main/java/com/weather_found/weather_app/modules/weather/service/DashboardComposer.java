@@ -0,0 +1,244 @@
+package com.weather_found.weather_app.modules.weather.service;
+
+import com.weather_found.weather_app.modules.weather.cache.NearCache;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Builds a dashboard out of independent sections that run concurrently, one virtual
+ * thread each, so a response takes as long as its slowest section instead of the sum.
+ * <p>
+ * Every section has its own deadline, measured from the start of the composition. A
+ * section that misses it, or fails, is answered with its last good value marked
+ * {@code STALE}, or with {@code UNAVAILABLE} if there is none; it keeps running and
+ * its late result becomes the last good value for the next request. Each section's
+ * status and time are reported with the result.
+ * <p>
+ * A section has at most one run in flight: concurrent dashboard loads wait on the same
+ * run instead of starting their own, and a run still going after its maximum run time
+ * is cancelled. Sections hold no transaction of their own; loaders fetch what they
+ * show with queries that need no open persistence context.
+ */
+@Component
+@Slf4j
+public class DashboardComposer {
+
+    public enum Status {
+        OK, STALE, UNAVAILABLE
+    }
+
+    /**
+     * One independently loaded part of a dashboard
+     */
+    public record Section(String name, Supplier<?> loader) {
+    }
+
+    /**
+     * Section values by name, each section's status and timing, and whether all were fresh
+     */
+    public record Composition(Map<String, Object> values, Map<String, Object> sections, boolean complete) {
+    }
+
+    private static final int LAST_GOOD_MAX = 256;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Duration defaultDeadline;
+    private final Map<String, Duration> deadlines = new HashMap<>();
+    private final long staleMaxAgeMillis;
+    private final long maxRunMillis;
+
+    /** The run each section currently has in flight, shared by concurrent compositions */
+    private final Map<String, Run> inFlight = new ConcurrentHashMap<>();
+
+    /** Last value each section produced, served when it is late or failing */
+    private final NearCache lastGood = new NearCache(LAST_GOOD_MAX);
+    private final Map<String, SectionCounters> counters = new ConcurrentHashMap<>();
+
+    public DashboardComposer(
+            @Value("${weather.dashboard.section-deadline-ms:1500}") long defaultDeadlineMs,
+            @Value("${weather.dashboard.section-deadlines:currentWeatherSummary=2500}") String[] sectionDeadlines,
+            @Value("${weather.dashboard.stale-max-age-seconds:600}") long staleMaxAgeSeconds,
+            @Value("${weather.dashboard.section-max-run-ms:10000}") long maxRunMs) {
+        this.defaultDeadline = Duration.ofMillis(defaultDeadlineMs);
+        for (String entry : sectionDeadlines) {
+            int separator = entry.indexOf('=');
+            if (separator > 0) {
+                deadlines.put(entry.substring(0, separator).trim(),
+                        Duration.ofMillis(Long.parseLong(entry.substring(separator + 1).trim())));
+            }
+        }
+        this.staleMaxAgeMillis = Duration.ofSeconds(staleMaxAgeSeconds).toMillis();
+        this.maxRunMillis = maxRunMs;
+    }
+
+    public Duration deadlineFor(String section) {
+        return deadlines.getOrDefault(section, defaultDeadline);
+    }
+
+    /**
+     * Run all sections concurrently and collect what each delivered by its deadline
+     */
+    public Composition compose(List<Section> sections) {
+        long start = System.nanoTime();
+        Map<String, Run> running = new LinkedHashMap<>();
+        for (Section section : sections) {
+            running.put(section.name(), runFor(section));
+        }
+
+        Map<String, Object> values = new LinkedHashMap<>();
+        Map<String, Object> report = new LinkedHashMap<>();
+        boolean complete = true;
+        for (Map.Entry<String, Run> entry : running.entrySet()) {
+            String name = entry.getKey();
+            SectionCounters sectionCounters = counters.computeIfAbsent(name, n -> new SectionCounters());
+            long remaining = deadlineFor(name).toNanos() - (System.nanoTime() - start);
+
+            Object value = null;
+            String reason = null;
+            try {
+                value = entry.getValue().result.get(Math.max(0, remaining), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                reason = "deadline";
+                sectionCounters.timeouts.increment();
+            } catch (ExecutionException e) {
+                reason = "error";
+                sectionCounters.errors.increment();
+                log.warn("Dashboard section {} failed: {}", name, e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                reason = "interrupted";
+            }
+
+            Status status = Status.OK;
+            if (reason != null) {
+                complete = false;
+                value = lastGood.get(name);
+                status = value != null ? Status.STALE : Status.UNAVAILABLE;
+            }
+            if (value != null) {
+                values.put(name, value);
+            }
+            (status == Status.OK ? sectionCounters.ok : status == Status.STALE ? sectionCounters.stale
+                    : sectionCounters.unavailable).increment();
+
+            // A shared run may have started before this composition
+            long finished = entry.getValue().finishedAt;
+            long elapsed = (finished != 0 ? finished : System.nanoTime()) - start;
+            long millis = TimeUnit.NANOSECONDS.toMillis(Math.max(0, elapsed));
+            sectionCounters.totalMillis.add(millis);
+
+            Map<String, Object> sectionReport = new HashMap<>();
+            sectionReport.put("status", status.name());
+            sectionReport.put("millis", millis);
+            sectionReport.put("deadlineMs", deadlineFor(name).toMillis());
+            if (reason != null) {
+                sectionReport.put("reason", reason);
+            }
+            report.put(name, sectionReport);
+        }
+        return new Composition(values, report, complete);
+    }
+
+    /**
+     * The section's run in flight, or a new one once the previous run has completed
+     */
+    private Run runFor(Section section) {
+        Run run = new Run();
+        Run current = inFlight.compute(section.name(),
+                (name, existing) -> existing != null && !existing.result.isDone() ? existing : run);
+        if (current != run) {
+            counters.computeIfAbsent(section.name(), n -> new SectionCounters()).joined.increment();
+            return current;
+        }
+
+        Future<?> task = executor.submit(() -> {
+            try {
+                run.result.complete(section.loader().get());
+            } catch (Throwable e) {
+                run.result.completeExceptionally(e);
+            }
+        });
+        run.result.orTimeout(maxRunMillis, TimeUnit.MILLISECONDS).whenComplete((value, error) -> {
+            run.finishedAt = System.nanoTime();
+            inFlight.remove(section.name(), run);
+            if (error instanceof TimeoutException) {
+                // Past its maximum run time: stop the loader instead of letting it pile up
+                counters.computeIfAbsent(section.name(), n -> new SectionCounters()).cancelled.increment();
+                task.cancel(true);
+            } else if (error == null && value != null) {
+                lastGood.put(section.name(), value, staleMaxAgeMillis);
+            }
+        });
+        return run;
+    }
+
+    /**
+     * Per-section outcome counts and average time
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> perSection = new HashMap<>();
+        counters.forEach((name, sectionCounters) -> {
+            long ok = sectionCounters.ok.sum();
+            long stale = sectionCounters.stale.sum();
+            long unavailable = sectionCounters.unavailable.sum();
+            long runs = ok + stale + unavailable;
+            Map<String, Object> entry = new HashMap<>();
+            entry.put("ok", ok);
+            entry.put("stale", stale);
+            entry.put("unavailable", unavailable);
+            entry.put("timeouts", sectionCounters.timeouts.sum());
+            entry.put("errors", sectionCounters.errors.sum());
+            entry.put("joined", sectionCounters.joined.sum());
+            entry.put("cancelled", sectionCounters.cancelled.sum());
+            entry.put("averageMillis", runs > 0 ? sectionCounters.totalMillis.sum() / runs : 0);
+            entry.put("deadlineMs", deadlineFor(name).toMillis());
+            perSection.put(name, entry);
+        });
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("sections", perSection);
+        stats.put("defaultDeadlineMs", defaultDeadline.toMillis());
+        stats.put("maxRunMs", maxRunMillis);
+        stats.put("inFlight", inFlight.size());
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static final class SectionCounters {
+        private final LongAdder ok = new LongAdder();
+        private final LongAdder stale = new LongAdder();
+        private final LongAdder unavailable = new LongAdder();
+        private final LongAdder timeouts = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder totalMillis = new LongAdder();
+        private final LongAdder joined = new LongAdder();
+        private final LongAdder cancelled = new LongAdder();
+    }
+
+    private static final class Run {
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+        private volatile long finishedAt;
+    }
+}
@@ -0,0 +1,87 @@
+package com.weather_found.weather_app.modules.weather.service;
+
+import com.weather_found.weather_app.modules.weather.cache.CacheTtlPolicy;
+import com.weather_found.weather_app.modules.weather.cache.RedisValueStore;
+import com.weather_found.weather_app.modules.weather.cache.StampedeGuard;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Shared dashboard fragments. Nothing in a dashboard depends on the user, so each
+ * part is cached once for everybody, with its own TTL from {@link CacheTtlPolicy},
+ * and dropped by the writes that change it. Stored observations only drop recent
+ * data; the trends and the observation figures in analytics catch up by TTL.
+ * Dashboards are assembled per request from these fragments.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DashboardFragments {
+
+    public enum Fragment {
+        CURRENT_SUMMARY("currentWeatherSummary", CacheTtlPolicy.DASHBOARD_SUMMARY),
+        ALERTS("activeAlerts", CacheTtlPolicy.DASHBOARD_ALERTS),
+        RECENT_DATA("recentWeatherData", CacheTtlPolicy.DASHBOARD_RECENT_DATA),
+        TRENDS("weatherTrends", CacheTtlPolicy.DASHBOARD_TRENDS),
+        ANALYTICS("analytics", CacheTtlPolicy.DASHBOARD_ANALYTICS);
+
+        private final String section;
+        private final String ttlType;
+
+        Fragment(String section, String ttlType) {
+            this.section = section;
+            this.ttlType = ttlType;
+        }
+
+        /** Name of the fragment in an assembled dashboard */
+        public String section() {
+            return section;
+        }
+
+        String key() {
+            return FRAGMENT_KEY + section;
+        }
+    }
+
+    private static final String FRAGMENT_KEY = "dashboard:fragment:";
+
+    private final StampedeGuard stampedeGuard;
+    private final RedisValueStore valueStore;
+    private final CacheTtlPolicy ttlPolicy;
+
+    /**
+     * The cached fragment, rebuilt by {@code loader} when missing or due. If the rebuild
+     * fails, the previous value is returned while there is one.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(Fragment fragment, Supplier<T> loader) {
+        StampedeGuard.Lookup cached = stampedeGuard.read(fragment.key());
+        if (cached.isFresh()) {
+            return (T) cached.value();
+        }
+        try {
+            T value = loader.get();
+            stampedeGuard.write(cached, value, ttlPolicy.ttlFor(fragment.ttlType));
+            return value;
+        } catch (RuntimeException e) {
+            if (cached.value() != null) {
+                log.warn("Rebuilding dashboard fragment {} failed, serving previous value: {}",
+                        fragment.section(), e.getMessage());
+                return (T) cached.value();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Drop fragments after a write that changed what they show
+     */
+    public void invalidate(Fragment... fragments) {
+        for (Fragment fragment : fragments) {
+            valueStore.delete(fragment.key());
+        }
+    }
+}
@@ -1,24 +1,55 @@
 package com.weather_found.weather_app.modules.weather.service;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.weather_found.weather_app.modules.weather.cache.GeoCellCache;
+import com.weather_found.weather_app.modules.weather.client.CallPriority;
+import com.weather_found.weather_app.modules.weather.client.CurrentObservation;
+import com.weather_found.weather_app.modules.weather.client.ForecastSeries;
+import com.weather_found.weather_app.modules.weather.client.NasaDailySeries;
+import com.weather_found.weather_app.modules.weather.client.NasaPowerDecoder;
+import com.weather_found.weather_app.modules.weather.client.NasaTileStore;
+import com.weather_found.weather_app.modules.weather.client.NegativeLookupCache;
+import com.weather_found.weather_app.modules.weather.client.OpenWeatherMapCityIndex;
+import com.weather_found.weather_app.modules.weather.client.OpenWeatherMapDecoder;
+import com.weather_found.weather_app.modules.weather.client.QuotaBudgeter;
+import com.weather_found.weather_app.modules.weather.client.QuotaExhaustedException;
+import com.weather_found.weather_app.modules.weather.client.RatePacer;
+import com.weather_found.weather_app.modules.weather.client.RequestCoalescer;
+import com.weather_found.weather_app.modules.weather.client.ResilientUpstreamClient;
+import com.weather_found.weather_app.modules.weather.client.ResponseArchive;
+import com.weather_found.weather_app.modules.weather.client.StaleValueCache;
+import com.weather_found.weather_app.modules.weather.client.UpstreamResponse;
+import com.weather_found.weather_app.modules.weather.client.UpstreamUnavailableException;
 import com.weather_found.weather_app.modules.weather.model.Location;
 import com.weather_found.weather_app.modules.weather.model.WeatherDataEntity;
-import com.weather_found.weather_app.modules.weather.repository.WeatherLocationRepository;
-import com.weather_found.weather_app.modules.weather.repository.WeatherDataRepository;
+import com.weather_found.weather_app.modules.weather.provider.WeatherFanOut;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.ResponseEntity;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.net.URI;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.time.format.DateTimeParseException;
 import java.util.*;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Service for integrating with external weather APIs
@@ -28,10 +59,21 @@ import java.util.concurrent.TimeUnit;
 @Slf4j
 public class ExternalWeatherApiService {
 
-    private final RestTemplate restTemplate;
-    private final ObjectMapper objectMapper;
-    private final WeatherLocationRepository locationRepository;
-    private final WeatherDataRepository weatherDataRepository;
+    private final ResilientUpstreamClient resilientUpstreamClient;
+    private final RequestCoalescer requestCoalescer;
+    private final NegativeLookupCache negativeLookupCache;
+    private final OpenWeatherMapCityIndex openWeatherMapCityIndex;
+    private final RatePacer ratePacer;
+    private final NasaTileStore nasaTileStore;
+    private final QuotaBudgeter quotaBudgeter;
+    private final StaleValueCache staleValueCache;
+    private final WeatherFanOut weatherFanOut;
+    private final GeoCellCache geoCellCache;
+    private final ResponseArchive responseArchive;
+    private final OpenWeatherMapDecoder openWeatherMapDecoder;
+    private final NasaPowerDecoder nasaPowerDecoder;
+    private final LocationIdCache locationIds;
+    private final WeatherIngestionPipeline ingestionPipeline;
 
     @Value("${weather.api.openweathermap.key}")
     private String openWeatherMapApiKey;
@@ -42,243 +84,569 @@ public class ExternalWeatherApiService {
     @Value("${weather.api.timeout:5000}")
     private int apiTimeout;
 
+    @Value("${weather.nasa.tile-cache-enabled:true}")
+    private boolean nasaTileCacheEnabled;
+
+    @Value("${weather.nasa.tile-lag-days:45}")
+    private int nasaTileLagDays;
+
+    @Value("${weather.geo-cache.current-ttl-seconds:300}")
+    private long geoCurrentTtlSeconds;
+
+    @Value("${weather.geo-cache.forecast-ttl-seconds:1800}")
+    private long geoForecastTtlSeconds;
+
+    @Value("${weather.bulk.max-concurrency:16}")
+    private int bulkMaxConcurrency;
+
+    @Value("${weather.bulk.group-size:20}")
+    private int bulkGroupSize;
+
+    @Value("${weather.bulk.max-quota-wait-ms:60000}")
+    private long bulkMaxQuotaWaitMs;
+
     // API URLs
     private static final String OPENWEATHERMAP_CURRENT_URL = "https://api.openweathermap.org/data/2.5/weather";
     private static final String OPENWEATHERMAP_FORECAST_URL = "https://api.openweathermap.org/data/2.5/forecast";
+    private static final String OPENWEATHERMAP_GROUP_URL = "https://api.openweathermap.org/data/2.5/group";
     private static final String NASA_POWER_URL = "https://power.larc.nasa.gov/api/temporal/daily/point";
 
+    // Coalescing keys
+    private static final String OPENWEATHERMAP = "openweathermap";
+    private static final String NASA_POWER = "nasa-power";
+    private static final String UNITS = "metric";
+    private static final int COORDINATE_SCALE = 4; // ~11 m, well below provider resolution
+    private static final long BULK_RESULT_POLL_MS = 50;
+
     /**
-     * Fetch current weather from OpenWeatherMap API (no Redis, always live)
+     * Fetch current weather from OpenWeatherMap API. Concurrent calls for the same
+     * location share one request, locations known to be missing complete with null
+     * without a call, and a failed call falls back to the last good observation,
+     * marked stale.
      */
     public CompletableFuture<Map<String, Object>> fetchCurrentWeatherFromOpenWeatherMap(String locationName) {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                String url = String.format("%s?q=%s&appid=%s&units=metric",
-                        OPENWEATHERMAP_CURRENT_URL, locationName, openWeatherMapApiKey);
-                ResponseEntity<String> response = restTemplate.getForEntity(url, String.class);
-                if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                    Map<String, Object> weatherData = objectMapper.readValue(response.getBody(), Map.class);
-                    return weatherData;
-                } else {
-                    log.warn("OpenWeatherMap API returned non-2xx for {}: {}", locationName, response.getStatusCode());
+        URI uri = UriComponentsBuilder.fromUriString(OPENWEATHERMAP_CURRENT_URL)
+                .queryParam("q", locationName)
+                .queryParam("appid", openWeatherMapApiKey)
+                .queryParam("units", UNITS)
+                .build().encode().toUri();
+
+        String query = normalizeLocation(locationName);
+        if (negativeLookupCache.isKnownMissing(OPENWEATHERMAP, query)) {
+            log.debug("Skipping OpenWeatherMap lookup for unknown location: {}", locationName);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        String key = "current:q=" + query + ":" + UNITS;
+        return requestCoalescer.execute(OPENWEATHERMAP, key, () -> resilientUpstreamClient.get(OPENWEATHERMAP, uri)
+                .thenApply(response -> {
+                    if (response.isSuccessful()) {
+                        return decodeCurrent(response);
+                    }
+                    rememberNotFound(response, query);
+                    log.warn("OpenWeatherMap API returned non-2xx for {}: {}", locationName, response.statusCode());
                     return null;
-                }
-            } catch (Exception e) {
-                log.error("Error fetching weather from OpenWeatherMap for {}", locationName, e);
-                return null;
-            }
-        });
+                })
+                .exceptionally(e -> {
+                    logUpstreamFailure("Error fetching weather from OpenWeatherMap for " + locationName, e);
+                    return null;
+                })
+                .thenApply(observation -> rememberLastGood(key, observation)))
+                .thenApply(observation -> liveOrStale(key, observation, this::toCurrentWeatherMap));
     }
 
     /**
-     * Fetch weather forecast from OpenWeatherMap API (no Redis, always live)
+     * Fetch weather forecast from OpenWeatherMap API. Concurrent calls for the same
+     * location and days share one request, locations known to be missing complete
+     * with null without a call, and a failed call falls back to the last good
+     * forecast, marked stale.
      */
     public CompletableFuture<Map<String, Object>> fetchForecastFromOpenWeatherMap(String locationName, int days) {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                String url = String.format("%s?q=%s&appid=%s&units=metric&cnt=%d",
-                        OPENWEATHERMAP_FORECAST_URL, locationName, openWeatherMapApiKey, days * 8);
-                ResponseEntity<String> response = restTemplate.getForEntity(url, String.class);
-                if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                    Map<String, Object> forecastData = parseOpenWeatherMapForecastResponse(response.getBody());
-                    return forecastData;
-                } else {
-                    log.warn("Failed to fetch forecast from OpenWeatherMap: {}", response.getStatusCode());
+        URI uri = UriComponentsBuilder.fromUriString(OPENWEATHERMAP_FORECAST_URL)
+                .queryParam("q", locationName)
+                .queryParam("appid", openWeatherMapApiKey)
+                .queryParam("units", UNITS)
+                .queryParam("cnt", days * 8)
+                .build().encode().toUri();
+
+        String query = normalizeLocation(locationName);
+        if (negativeLookupCache.isKnownMissing(OPENWEATHERMAP, query)) {
+            log.debug("Skipping OpenWeatherMap forecast for unknown location: {}", locationName);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        String key = "forecast:q=" + query + ":" + UNITS + ":" + days;
+        return requestCoalescer.execute(OPENWEATHERMAP, key, () -> resilientUpstreamClient.get(OPENWEATHERMAP, uri)
+                .thenApply(response -> {
+                    if (response.isSuccessful()) {
+                        return decodeForecast(response);
+                    }
+                    rememberNotFound(response, query);
+                    log.warn("Failed to fetch forecast from OpenWeatherMap: {}", response.statusCode());
                     return null;
-                }
-            } catch (Exception e) {
-                log.error("Error fetching forecast from OpenWeatherMap for location: {}", locationName, e);
-                return null;
-            }
-        });
+                })
+                .exceptionally(e -> {
+                    logUpstreamFailure("Error fetching forecast from OpenWeatherMap for location: " + locationName, e);
+                    return null;
+                })
+                .thenApply(series -> rememberLastGood(key, series)))
+                .thenApply(series -> liveOrStale(key, series, this::toForecastMap));
     }
 
     /**
-     * Fetch historical weather data from NASA POWER API
+     * Fetch historical weather data from NASA POWER API. Ranges within complete past
+     * years are served from the local tile store; only missing tiles are fetched.
      */
     public CompletableFuture<Map<String, Object>> fetchHistoricalDataFromNASA(
             BigDecimal latitude, BigDecimal longitude, String startDate, String endDate) {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                String url = String.format(
-                        "%s?start=%s&end=%s&latitude=%s&longitude=%s&community=ag&parameters=T2M,PRECTOT,WS2M,RH2M&format=json",
-                        NASA_POWER_URL, startDate, endDate, latitude, longitude);
-
-                ResponseEntity<String> response = restTemplate.getForEntity(url, String.class);
-
-                if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                    Map<String, Object> historicalData = parseNASAResponse(response.getBody());
-                    return historicalData;
-                } else {
-                    log.warn("Failed to fetch from NASA POWER: {}", response.getStatusCode());
-                    return generateMockHistoricalData(latitude, longitude, startDate, endDate, "NASA POWER");
-                }
+        LocalDate start;
+        LocalDate end;
+        try {
+            start = LocalDate.parse(startDate, DateTimeFormatter.BASIC_ISO_DATE);
+            end = LocalDate.parse(endDate, DateTimeFormatter.BASIC_ISO_DATE);
+        } catch (DateTimeParseException e) {
+            return fetchHistoricalLive(latitude, longitude, startDate, endDate);
+        }
+        if (!nasaTileCacheEnabled || start.isAfter(end) || start.getYear() < NasaTileStore.FIRST_YEAR
+                || end.getYear() >= LocalDate.now().minusDays(nasaTileLagDays).getYear()) {
+            // A year is still being filled in upstream until tile-lag-days after its end
+            return fetchHistoricalLive(latitude, longitude, startDate, endDate);
+        }
 
-            } catch (Exception e) {
-                log.error("Error fetching historical data from NASA", e);
-                return generateMockHistoricalData(latitude, longitude, startDate, endDate, "NASA POWER");
+        NasaTileStore.GridCell cell = nasaTileStore.cellOf(latitude.doubleValue(), longitude.doubleValue());
+        List<CompletableFuture<Void>> loads = new ArrayList<>();
+        int year = start.getYear();
+        while (year <= end.getYear()) {
+            if (nasaTileStore.hasTile(cell, year)) {
+                year++;
+                continue;
             }
-        });
+            int firstMissing = year;
+            while (year <= end.getYear() && !nasaTileStore.hasTile(cell, year)) {
+                year++;
+            }
+            loads.add(loadNasaTiles(cell, firstMissing, year - 1));
+        }
+
+        return CompletableFuture.allOf(loads.toArray(new CompletableFuture<?>[0]))
+                .thenCompose(v -> {
+                    NasaDailySeries series = readNasaTiles(cell, start, end);
+                    if (series != null) {
+                        Map<String, Object> historicalData = toHistoricalMap(series, latitude, longitude, startDate, endDate);
+                        historicalData.put("gridCell", cell.toString());
+                        return CompletableFuture.completedFuture(historicalData);
+                    }
+                    // A year upstream had not completed yet was not tiled
+                    return fetchHistoricalLive(latitude, longitude, startDate, endDate);
+                })
+                .handle((historicalData, e) -> {
+                    if (e == null) {
+                        return CompletableFuture.completedFuture(historicalData);
+                    }
+                    // Loading or storing tiles failed; the range can still be fetched directly
+                    logUpstreamFailure("Error serving historical data from NASA tiles, fetching live", e);
+                    return fetchHistoricalLive(latitude, longitude, startDate, endDate);
+                })
+                .thenCompose(Function.identity());
     }
 
     /**
-     * Store weather data in database
+     * Queue weather data for storage. Observations are written in batches by the
+     * ingestion pipeline; if its queue stays full the observation is dropped.
      */
-    @Async
-    public void storeWeatherData(String locationName, Map<String, Object> weatherData) {
+    public boolean storeWeatherData(String locationName, Map<String, Object> weatherData) {
         try {
-            Optional<Location> locationOpt = locationRepository.findByNameIgnoreCase(locationName);
-            Location location;
-
-            if (locationOpt.isPresent()) {
-                location = locationOpt.get();
-            } else {
-                // Create new location if not exists
-                location = createLocationFromWeatherData(locationName, weatherData);
-                location = locationRepository.save(location);
-            }
+            Location location = new Location();
+            location.setId(locationIds.resolve(locationName,
+                    () -> createLocationFromWeatherData(locationName, weatherData)));
 
             WeatherDataEntity weatherEntity = convertToWeatherEntity(location, weatherData);
-            weatherDataRepository.save(weatherEntity);
+            if (!ingestionPipeline.submit(weatherEntity)) {
+                log.warn("Ingestion queue full, dropped weather data for location: {}", locationName);
+                return false;
+            }
 
-            log.debug("Stored weather data for location: {}", locationName);
+            log.debug("Queued weather data for location: {}", locationName);
+            return true;
 
         } catch (Exception e) {
             log.error("Error storing weather data for location: {}", locationName, e);
+            return false;
         }
     }
 
     /**
-     * Aggregate weather data from multiple sources
+     * Aggregate current weather from all configured providers. Providers are queried
+     * in parallel; whatever arrives before the fan-out deadline is merged per field.
      */
     public Map<String, Object> aggregateWeatherData(String locationName) {
         try {
-            List<CompletableFuture<Map<String, Object>>> futures = Arrays.asList(
-                    fetchCurrentWeatherFromOpenWeatherMap(locationName)
-            // Add more API calls here when available
-            );
+            Map<String, Object> aggregated = weatherFanOut.fetchCurrent(locationName);
+            if (aggregated != null) {
+                return aggregated;
+            }
+        } catch (Exception e) {
+            log.error("Error aggregating weather data for location: {}", locationName, e);
+        }
+        return generateMockCurrentWeather(locationName, "Aggregated");
+    }
 
-            CompletableFuture<Void> allFutures = CompletableFuture.allOf(
-                    futures.toArray(new CompletableFuture[0]));
+    // Helper methods
+    private CompletableFuture<Map<String, Object>> fetchHistoricalLive(
+            BigDecimal latitude, BigDecimal longitude, String startDate, String endDate) {
+        return resilientUpstreamClient.get(NASA_POWER, nasaPowerUri(latitude, longitude, startDate, endDate))
+                .thenApply(response -> {
+                    NasaDailySeries series = response.isSuccessful() ? decodeNasaDaily(response) : null;
+                    if (series != null) {
+                        return toHistoricalMap(series, latitude, longitude, startDate, endDate);
+                    }
+                    log.warn("Failed to fetch from NASA POWER: {}", response.statusCode());
+                    return generateMockHistoricalData(latitude, longitude, startDate, endDate, "NASA POWER");
+                })
+                .exceptionally(e -> {
+                    logUpstreamFailure("Error fetching historical data from NASA", e);
+                    return generateMockHistoricalData(latitude, longitude, startDate, endDate, "NASA POWER");
+                });
+    }
 
-            CompletableFuture<List<Map<String, Object>>> allResults = allFutures.thenApply(v -> futures.stream()
-                    .map(CompletableFuture::join)
-                    .filter(Objects::nonNull)
-                    .toList());
+    /**
+     * Fetch whole years for the cell centre in one request and store them as tiles
+     */
+    private CompletableFuture<Void> loadNasaTiles(NasaTileStore.GridCell cell, int fromYear, int toYear) {
+        URI uri = nasaPowerUri(BigDecimal.valueOf(cell.centerLatitude()), BigDecimal.valueOf(cell.centerLongitude()),
+                fromYear + "0101", toYear + "1231");
+
+        String key = "tiles:" + cell + ":" + fromYear + "-" + toYear;
+        return requestCoalescer.execute(NASA_POWER, key, () -> resilientUpstreamClient.get(NASA_POWER, uri)
+                .thenAccept(response -> {
+                    NasaDailySeries series = response.isSuccessful() ? decodeNasaDaily(response) : null;
+                    if (series == null) {
+                        log.warn("Failed to fetch NASA POWER tiles {} {}-{}: {}", cell, fromYear, toYear,
+                                response.statusCode());
+                        return;
+                    }
+                    try {
+                        nasaTileStore.writeTiles(cell, series);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }));
+    }
+
+    private NasaDailySeries readNasaTiles(NasaTileStore.GridCell cell, LocalDate start, LocalDate end) {
+        try {
+            return nasaTileStore.read(cell, start, end);
+        } catch (IOException e) {
+            log.error("Error reading NASA tiles for cell {}", cell, e);
+            return null;
+        }
+    }
 
-            List<Map<String, Object>> results = allResults.get();
+    private URI nasaPowerUri(BigDecimal latitude, BigDecimal longitude, String startDate, String endDate) {
+        return UriComponentsBuilder.fromUriString(NASA_POWER_URL)
+                .queryParam("start", startDate)
+                .queryParam("end", endDate)
+                .queryParam("latitude", latitude)
+                .queryParam("longitude", longitude)
+                .queryParam("community", "ag")
+                .queryParam("parameters", "T2M,PRECTOT,WS2M,RH2M")
+                .queryParam("format", "json")
+                .build().encode().toUri();
+    }
+
+    /**
+     * Live observation for the coordinates, or null when it could not be fetched
+     */
+    private CompletableFuture<CurrentObservation> fetchCurrentObservation(BigDecimal latitude, BigDecimal longitude,
+            CallPriority priority) {
+        URI uri = UriComponentsBuilder.fromUriString(OPENWEATHERMAP_CURRENT_URL)
+                .queryParam("lat", roundCoordinate(latitude))
+                .queryParam("lon", roundCoordinate(longitude))
+                .queryParam("appid", openWeatherMapApiKey)
+                .queryParam("units", UNITS)
+                .build().encode().toUri();
+
+        String key = coordinateKey("current", latitude, longitude);
+        return requestCoalescer.execute(OPENWEATHERMAP, key, () -> resilientUpstreamClient.get(OPENWEATHERMAP, uri, priority)
+                .thenApply(response -> response.isSuccessful() ? decodeCurrent(response) : null)
+                .exceptionally(e -> {
+                    logUpstreamFailure("Error fetching current weather from OpenWeatherMap", e);
+                    return null;
+                })
+                .thenApply(observation -> rememberLastGood(key, observation)));
+    }
 
-            if (results.isEmpty()) {
-                return generateMockCurrentWeather(locationName, "Aggregated");
+    /**
+     * Live observations of a group call by city id; empty when the call failed
+     */
+    private CompletableFuture<Map<Long, CurrentObservation>> fetchGroupObservations(List<Long> cityIds,
+            CallPriority priority) {
+        StringJoiner ids = new StringJoiner(",");
+        cityIds.forEach(id -> ids.add(id.toString()));
+        URI uri = UriComponentsBuilder.fromUriString(OPENWEATHERMAP_GROUP_URL)
+                .queryParam("id", ids.toString())
+                .queryParam("appid", openWeatherMapApiKey)
+                .queryParam("units", UNITS)
+                .build().encode().toUri();
+
+        return resilientUpstreamClient.get(OPENWEATHERMAP, uri, priority).thenApply(response -> {
+            Map<Long, CurrentObservation> observations = new HashMap<>();
+            if (!response.isSuccessful()) {
+                log.warn("OpenWeatherMap group request for {} cities returned {}", cityIds.size(), response.statusCode());
+                return observations;
+            }
+            try {
+                for (CurrentObservation observation : openWeatherMapDecoder.decodeGroup(response.body())) {
+                    observations.put(observation.cityId(),
+                            rememberLastGood("current:id=" + observation.cityId() + ":" + UNITS, observation));
+                }
+            } catch (IOException e) {
+                log.error("Error parsing OpenWeatherMap group response", e);
             }
+            return observations;
+        }).exceptionally(e -> {
+            logUpstreamFailure("Error fetching OpenWeatherMap group", e);
+            return Map.of();
+        });
+    }
 
-            return aggregateResults(results, locationName);
+    /**
+     * Remember a live value as the last good one for its request key
+     */
+    private <T> T rememberLastGood(String key, T value) {
+        staleValueCache.put(OPENWEATHERMAP, key, value);
+        return value;
+    }
 
-        } catch (Exception e) {
-            log.error("Error aggregating weather data for location: {}", locationName, e);
-            return generateMockCurrentWeather(locationName, "Aggregated");
+    /**
+     * Map the live value, or the last good one marked stale when there is no live value
+     */
+    private <T> Map<String, Object> liveOrStale(String key, T value, Function<T, Map<String, Object>> toMap) {
+        if (value != null) {
+            return toMap.apply(value);
+        }
+        StaleValueCache.Entry<T> stale = staleValueCache.get(OPENWEATHERMAP, key);
+        if (stale == null) {
+            return null;
         }
+        Map<String, Object> data = toMap.apply(stale.value());
+        data.put("stale", true);
+        data.put("fetchedAt", stale.fetchedAt());
+        return data;
     }
 
-    // Helper methods
-    private Map<String, Object> parseOpenWeatherMapResponse(String jsonResponse) {
-        try {
-            JsonNode root = objectMapper.readTree(jsonResponse);
-            Map<String, Object> weatherData = new HashMap<>();
-
-            // Extract coordinates
-            JsonNode coord = root.path("coord");
-            if (coord.has("lat")) weatherData.put("lat", coord.get("lat").asDouble());
-            if (coord.has("lon")) weatherData.put("lon", coord.get("lon").asDouble());
-
-            weatherData.put("temperature", root.path("main").path("temp").asDouble());
-            weatherData.put("humidity", root.path("main").path("humidity").asDouble());
-            weatherData.put("pressure", root.path("main").path("pressure").asDouble());
-            weatherData.put("windSpeed", root.path("wind").path("speed").asDouble());
-            weatherData.put("windDirection", root.path("wind").path("deg").asInt());
-            weatherData.put("cloudCover", root.path("clouds").path("all").asInt());
-            weatherData.put("visibility", root.path("visibility").asDouble() / 1000); // Convert to km
-            weatherData.put("weatherCondition", root.path("weather").get(0).path("main").asText());
-            weatherData.put("description", root.path("weather").get(0).path("description").asText());
-            weatherData.put("dataSource", "OpenWeatherMap");
-            weatherData.put("timestamp", LocalDateTime.now());
-
-            return weatherData;
+    private String coordinateKey(String kind, BigDecimal latitude, BigDecimal longitude) {
+        return kind + ":" + roundCoordinate(latitude).toPlainString() + ","
+                + roundCoordinate(longitude).toPlainString() + ":" + UNITS;
+    }
 
-        } catch (Exception e) {
-            log.error("Error parsing OpenWeatherMap response", e);
-            return new HashMap<>();
+    /**
+     * Dispatch state of one bulk sweep: bounded concurrency, pacing and quota waits.
+     * Interactive sweeps have a user waiting, so they neither wait for quota nor get
+     * paced; calls the budget cannot grant fail fast to stale data.
+     */
+    private final class BulkSweep {
+        private final CallPriority priority;
+        private final Semaphore permits = new Semaphore(bulkMaxConcurrency);
+        private final List<CompletableFuture<Void>> calls = new ArrayList<>();
+        private boolean quotaLimited;
+
+        private BulkSweep(CallPriority priority) {
+            this.priority = priority;
         }
-    }
 
-    private Map<String, Object> parseOpenWeatherMapForecastResponse(String jsonResponse) {
-        try {
-            JsonNode root = objectMapper.readTree(jsonResponse);
-            Map<String, Object> forecastData = new HashMap<>();
-            List<Map<String, Object>> forecasts = new ArrayList<>();
-
-            JsonNode list = root.path("list");
-            for (JsonNode item : list) {
-                Map<String, Object> forecast = new HashMap<>();
-                forecast.put("temperature", item.path("main").path("temp").asDouble());
-                forecast.put("humidity", item.path("main").path("humidity").asDouble());
-                forecast.put("pressure", item.path("main").path("pressure").asDouble());
-                forecast.put("weatherCondition", item.path("weather").get(0).path("main").asText());
-                forecast.put("dateTime", item.path("dt_txt").asText());
-                forecasts.add(forecast);
+        private void dispatch(Supplier<CompletableFuture<Void>> call) throws InterruptedException {
+            permits.acquire();
+            if (priority == CallPriority.INTERACTIVE) {
+                if (!quotaLimited && !quotaBudgeter.hasCapacity(OPENWEATHERMAP, priority)) {
+                    quotaLimited = true;
+                    log.warn("OpenWeatherMap quota exhausted for {} sweep, serving stale data", priority);
+                }
+            } else {
+                // Once the window cannot be waited out, remaining calls fail fast to stale data
+                if (!quotaLimited && !quotaBudgeter.awaitCapacity(OPENWEATHERMAP, priority, bulkMaxQuotaWaitMs)) {
+                    quotaLimited = true;
+                    log.warn("OpenWeatherMap quota exhausted for {} sweep, serving stale data", priority);
+                }
+                if (!quotaLimited) {
+                    ratePacer.pace(OPENWEATHERMAP);
+                }
+            }
+            CompletableFuture<Void> future;
+            try {
+                future = call.get();
+            } catch (RuntimeException e) {
+                future = CompletableFuture.failedFuture(e);
             }
+            calls.add(future.handle((ignored, error) -> {
+                permits.release();
+                if (error != null) {
+                    logUpstreamFailure("Bulk weather call failed", error);
+                }
+                return null;
+            }));
+        }
+    }
 
-            forecastData.put("forecasts", forecasts);
-            forecastData.put("dataSource", "OpenWeatherMap");
-            forecastData.put("timestamp", LocalDateTime.now());
+    /**
+     * Hand every result queued so far to {@code handle} on the calling thread
+     */
+    private static void handleArrived(BlockingQueue<Map.Entry<Location, Map<String, Object>>> arrived,
+            Consumer<Map.Entry<Location, Map<String, Object>>> handle) {
+        Map.Entry<Location, Map<String, Object>> result;
+        while ((result = arrived.poll()) != null) {
+            handle.accept(result);
+        }
+    }
 
-            return forecastData;
+    private void rememberNotFound(UpstreamResponse response, String query) {
+        if (response.isNotFound()) {
+            negativeLookupCache.recordMissing(OPENWEATHERMAP, query);
+        }
+    }
 
-        } catch (Exception e) {
-            log.error("Error parsing OpenWeatherMap forecast response", e);
-            return new HashMap<>();
+    private void logUpstreamFailure(String message, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof UpstreamUnavailableException || cause instanceof QuotaExhaustedException) {
+            log.debug("{}: {}", message, cause.getMessage());
+        } else {
+            log.error(message, cause);
         }
     }
 
-    private Map<String, Object> parseNASAResponse(String jsonResponse) {
+    private CurrentObservation decodeCurrent(UpstreamResponse response) {
         try {
-            JsonNode root = objectMapper.readTree(jsonResponse);
-            Map<String, Object> historicalData = new HashMap<>();
-
-            JsonNode parameters = root.path("properties").path("parameter");
-            historicalData.put("temperature", parameters.path("T2M"));
-            historicalData.put("precipitation", parameters.path("PRECTOT"));
-            historicalData.put("windSpeed", parameters.path("WS2M"));
-            historicalData.put("humidity", parameters.path("RH2M"));
-            historicalData.put("dataSource", "NASA POWER");
-            historicalData.put("timestamp", LocalDateTime.now());
+            return openWeatherMapDecoder.decodeCurrent(response.body());
+        } catch (IOException e) {
+            log.error("Error parsing OpenWeatherMap response", e);
+            return null;
+        }
+    }
 
-            return historicalData;
+    private ForecastSeries decodeForecast(UpstreamResponse response) {
+        try {
+            return openWeatherMapDecoder.decodeForecast(response.body());
+        } catch (IOException e) {
+            log.error("Error parsing OpenWeatherMap forecast response", e);
+            return null;
+        }
+    }
 
-        } catch (Exception e) {
+    private NasaDailySeries decodeNasaDaily(UpstreamResponse response) {
+        try {
+            return nasaPowerDecoder.decodeDaily(response.body());
+        } catch (IOException e) {
             log.error("Error parsing NASA response", e);
-            return new HashMap<>();
+            return null;
+        }
+    }
+
+    private Map<String, Object> toCurrentWeatherMap(CurrentObservation observation) {
+        if (observation == null) {
+            return null;
+        }
+
+        Map<String, Object> weatherData = new HashMap<>();
+        if (observation.hasCoordinates()) {
+            weatherData.put("lat", observation.latitude());
+            weatherData.put("lon", observation.longitude());
+        }
+        putIfPresent(weatherData, "temperature", observation.temperature());
+        putIfPresent(weatherData, "humidity", observation.humidity());
+        putIfPresent(weatherData, "pressure", observation.pressure());
+        putIfPresent(weatherData, "windSpeed", observation.windSpeed());
+        putIfPresent(weatherData, "visibility", observation.visibilityKm());
+        if (observation.windDirection() != CurrentObservation.MISSING) {
+            weatherData.put("windDirection", observation.windDirection());
+        }
+        if (observation.cloudCover() != CurrentObservation.MISSING) {
+            weatherData.put("cloudCover", observation.cloudCover());
         }
+        if (observation.condition() != null) {
+            weatherData.put("weatherCondition", observation.condition());
+        }
+        if (observation.description() != null) {
+            weatherData.put("description", observation.description());
+        }
+        weatherData.put("dataSource", "OpenWeatherMap");
+        weatherData.put("timestamp", LocalDateTime.now());
+        return weatherData;
     }
 
-    private Map<String, Object> aggregateResults(List<Map<String, Object>> results, String locationName) {
-        if (results.size() == 1) {
-            return results.get(0);
+    private Map<String, Object> toForecastMap(ForecastSeries series) {
+        if (series == null) {
+            return null;
+        }
+
+        List<Map<String, Object>> forecasts = new ArrayList<>(series.size());
+        for (int i = 0; i < series.size(); i++) {
+            Map<String, Object> forecast = new HashMap<>();
+            putIfPresent(forecast, "temperature", series.temperature()[i]);
+            putIfPresent(forecast, "humidity", series.humidity()[i]);
+            putIfPresent(forecast, "pressure", series.pressure()[i]);
+            forecast.put("weatherCondition", series.conditions()[i]);
+            forecast.put("dateTime", series.dateTimes()[i]);
+            forecasts.add(forecast);
         }
 
-        // Simple aggregation logic - can be enhanced with weighted averages
-        Map<String, Object> aggregated = new HashMap<>();
-        aggregated.put("location", locationName);
-        aggregated.put("dataSource", "Aggregated");
-        aggregated.put("sources", results.size());
-        aggregated.put("timestamp", LocalDateTime.now());
+        Map<String, Object> forecastData = new HashMap<>();
+        forecastData.put("forecasts", forecasts);
+        forecastData.put("dataSource", "OpenWeatherMap");
+        forecastData.put("timestamp", LocalDateTime.now());
+        return forecastData;
+    }
+
+    private Map<String, Object> toHistoricalMap(NasaDailySeries series, BigDecimal latitude,
+            BigDecimal longitude, String startDate, String endDate) {
+        Map<String, Object> historicalData = new HashMap<>();
+        historicalData.put("latitude", latitude);
+        historicalData.put("longitude", longitude);
+        historicalData.put("startDate", startDate);
+        historicalData.put("endDate", endDate);
+        historicalData.put("dates", series.dates());
+        historicalData.put("temperature", series.temperature());
+        historicalData.put("precipitation", series.precipitation());
+        historicalData.put("windSpeed", series.windSpeed());
+        historicalData.put("humidity", series.humidity());
+
+        Map<String, Object> summary = new HashMap<>();
+        summary.put("averageTemperature", average(series.temperature()));
+        summary.put("totalPrecipitation", sum(series.precipitation()));
+        summary.put("averageHumidity", average(series.humidity()));
+        summary.put("days", series.size());
+        historicalData.put("summary", summary);
+
+        historicalData.put("dataSource", "NASA POWER");
+        historicalData.put("timestamp", LocalDateTime.now());
+        return historicalData;
+    }
+
+    private static void putIfPresent(Map<String, Object> target, String key, double value) {
+        if (!Double.isNaN(value)) {
+            target.put(key, value);
+        }
+    }
 
-        // For now, return the first available result
-        if (!results.isEmpty()) {
-            aggregated.putAll(results.get(0));
+    private static Double average(double[] values) {
+        double total = 0;
+        int count = 0;
+        for (double value : values) {
+            if (!Double.isNaN(value)) {
+                total += value;
+                count++;
+            }
         }
+        return count > 0 ? total / count : null;
+    }
 
-        return aggregated;
+    private static double sum(double[] values) {
+        double total = 0;
+        for (double value : values) {
+            if (!Double.isNaN(value)) {
+                total += value;
+            }
+        }
+        return total;
     }
 
     private Location createLocationFromWeatherData(String locationName, Map<String, Object> weatherData) {
@@ -295,8 +663,10 @@ public class ExternalWeatherApiService {
     private WeatherDataEntity convertToWeatherEntity(Location location, Map<String, Object> weatherData) {
         WeatherDataEntity entity = new WeatherDataEntity();
         entity.setLocation(location);
-        entity.setRecordedAt(LocalDateTime.now());
-        entity.setDataSource((String) weatherData.get("dataSource"));
+        // Second precision, as stored, so re-delivered observations match their row
+        entity.setRecordedAt((weatherData.get("timestamp") instanceof LocalDateTime timestamp ? timestamp
+                : LocalDateTime.now()).truncatedTo(ChronoUnit.SECONDS));
+        entity.setDataSource(weatherData.get("dataSource") != null ? (String) weatherData.get("dataSource") : "unknown");
 
         if (weatherData.get("temperature") != null) {
             entity.setTemperature(new BigDecimal(weatherData.get("temperature").toString()));
@@ -388,19 +758,28 @@ public class ExternalWeatherApiService {
     }
 
     /**
-     * Get current weather data for coordinates (no Redis, always live)
+     * Get current weather data for coordinates. Coordinates snap to a geohash cell;
+     * requests within the same cell share one cached observation.
      */
     public Map<String, Object> getCurrentWeather(BigDecimal latitude, BigDecimal longitude) {
         try {
-            String url = String.format(
-                    "%s?lat=%s&lon=%s&appid=%s&units=metric",
-                    OPENWEATHERMAP_CURRENT_URL, latitude, longitude, openWeatherMapApiKey);
+            GeoCellCache.Cell cell = geoCellCache.cellOf(latitude, longitude);
+            Map<String, Object> cached = geoCellCache.get("current", cell, null);
+            if (cached != null) {
+                return cached;
+            }
 
-            @SuppressWarnings("rawtypes")
-            ResponseEntity<Map> response = restTemplate.getForEntity(url, Map.class);
+            String key = coordinateKey("current", cell.latitude(), cell.longitude());
+            Map<String, Object> processedData = fetchCurrentObservation(cell.latitude(), cell.longitude(),
+                    CallPriority.INTERACTIVE)
+                    .thenApply(observation -> liveOrStale(key, observation, this::toCurrentWeatherMap))
+                    .join();
 
-            if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                Map<String, Object> processedData = processOpenWeatherMapCurrentData(response.getBody());
+            if (processedData != null) {
+                processedData.put("geohash", cell.geohash());
+                if (!processedData.containsKey("stale")) {
+                    geoCellCache.put("current", cell, null, processedData, geoCurrentTtlSeconds);
+                }
                 return processedData;
             }
 
@@ -412,19 +791,42 @@ public class ExternalWeatherApiService {
     }
 
     /**
-     * Get weather forecast for coordinates (no Redis, always live)
+     * Get weather forecast for coordinates, cached per geohash cell like current weather
      */
     public Map<String, Object> getWeatherForecast(BigDecimal latitude, BigDecimal longitude, int days) {
         try {
-            String url = String.format(
-                    "%s?lat=%s&lon=%s&appid=%s&units=metric&cnt=%d",
-                    OPENWEATHERMAP_FORECAST_URL, latitude, longitude, openWeatherMapApiKey, days * 8);
-
-            @SuppressWarnings("rawtypes")
-            ResponseEntity<Map> response = restTemplate.getForEntity(url, Map.class);
+            GeoCellCache.Cell cell = geoCellCache.cellOf(latitude, longitude);
+            String suffix = String.valueOf(days);
+            Map<String, Object> cached = geoCellCache.get("forecast", cell, suffix);
+            if (cached != null) {
+                return cached;
+            }
 
-            if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                Map<String, Object> processedData = processOpenWeatherMapForecastData(response.getBody());
+            URI uri = UriComponentsBuilder.fromUriString(OPENWEATHERMAP_FORECAST_URL)
+                    .queryParam("lat", cell.latitude())
+                    .queryParam("lon", cell.longitude())
+                    .queryParam("appid", openWeatherMapApiKey)
+                    .queryParam("units", UNITS)
+                    .queryParam("cnt", days * 8)
+                    .build().encode().toUri();
+
+            String key = coordinateKey("forecast", cell.latitude(), cell.longitude()) + ":" + days;
+            Map<String, Object> processedData = requestCoalescer.execute(OPENWEATHERMAP, key,
+                    () -> resilientUpstreamClient.get(OPENWEATHERMAP, uri)
+                            .thenApply(response -> response.isSuccessful() ? decodeForecast(response) : null)
+                            .exceptionally(e -> {
+                                logUpstreamFailure("Error fetching weather forecast from OpenWeatherMap", e);
+                                return null;
+                            })
+                            .thenApply(series -> rememberLastGood(key, series)))
+                    .thenApply(series -> liveOrStale(key, series, this::toForecastMap))
+                    .join();
+
+            if (processedData != null) {
+                processedData.put("geohash", cell.geohash());
+                if (!processedData.containsKey("stale")) {
+                    geoCellCache.put("forecast", cell, suffix, processedData, geoForecastTtlSeconds);
+                }
                 return processedData;
             }
 
@@ -435,86 +837,143 @@ public class ExternalWeatherApiService {
         return getMockForecastData(days);
     }
 
-    // Helper methods
-    private Map<String, Object> processOpenWeatherMapCurrentData(Map<String, Object> rawData) {
-        Map<String, Object> processed = new HashMap<>();
-
-        try {
-            @SuppressWarnings("unchecked")
-            Map<String, Object> main = (Map<String, Object>) rawData.get("main");
-            @SuppressWarnings("unchecked")
-            Map<String, Object> wind = (Map<String, Object>) rawData.get("wind");
-            @SuppressWarnings("unchecked")
-            List<Map<String, Object>> weather = (List<Map<String, Object>>) rawData.get("weather");
-
-            if (main != null) {
-                processed.put("temperature", main.get("temp"));
-                processed.put("humidity", main.get("humidity"));
-                processed.put("pressure", main.get("pressure"));
+    /**
+     * Fetch current weather for many locations at once. Locations with a known
+     * OpenWeatherMap city id are fetched through the group endpoint, the rest one by one
+     * by coordinates (which teaches us their city id for the next sweep). At most
+     * {@code weather.bulk.max-concurrency} calls are in flight and dispatches are paced
+     * per provider.
+     * <p>
+     * {@code onResult} is called on the calling thread, one location at a time, as
+     * results arrive; it never runs on the threads that complete upstream responses,
+     * so it may block. When a call cannot be made within the priority's quota, or
+     * fails, the last good value is delivered marked {@code stale}; locations without
+     * any result are skipped. Blocks until every call has finished and returns a
+     * summary of the sweep.
+     */
+    public Map<String, Object> fetchCurrentWeatherBulk(Collection<Location> locations, CallPriority priority,
+            BiConsumer<Location, Map<String, Object>> onResult) {
+        long start = System.nanoTime();
+        Map<Long, List<Location>> byCityId = new LinkedHashMap<>();
+        List<Location> unresolved = new ArrayList<>();
+        for (Location location : locations) {
+            Long cityId = openWeatherMapCityIndex.find(location.getId());
+            if (cityId != null) {
+                byCityId.computeIfAbsent(cityId, id -> new ArrayList<>()).add(location);
+            } else {
+                unresolved.add(location);
             }
+        }
 
-            if (wind != null) {
-                processed.put("windSpeed", wind.get("speed"));
-                processed.put("windDirection", wind.get("deg"));
+        BulkSweep sweep = new BulkSweep(priority);
+        BlockingQueue<Map.Entry<Location, Map<String, Object>>> arrived = new LinkedBlockingQueue<>();
+        BiConsumer<Location, Map<String, Object>> deliver = (location, weather) -> {
+            if (weather != null) {
+                arrived.add(Map.entry(location, weather));
             }
-
-            if (weather != null && !weather.isEmpty()) {
-                processed.put("weatherCondition", weather.get(0).get("main"));
+        };
+        LongAdder delivered = new LongAdder();
+        LongAdder deliveredStale = new LongAdder();
+        Consumer<Map.Entry<Location, Map<String, Object>>> handle = result -> {
+            Location location = result.getKey();
+            Map<String, Object> weather = result.getValue();
+            weather.put("locationId", location.getId());
+            weather.put("locationName", location.getName());
+            try {
+                onResult.accept(location, weather);
+                delivered.increment();
+                if (weather.containsKey("stale")) {
+                    deliveredStale.increment();
+                }
+            } catch (Exception e) {
+                log.error("Error handling bulk weather result for location: {}", location.getName(), e);
             }
+        };
 
-            processed.put("dataSource", "OpenWeatherMap");
-            processed.put("timestamp", LocalDateTime.now());
-
-        } catch (Exception e) {
-            log.error("Error processing OpenWeatherMap current data", e);
-        }
-
-        return processed;
-    }
-
-    private Map<String, Object> processOpenWeatherMapForecastData(Map<String, Object> rawData) {
-        Map<String, Object> processed = new HashMap<>();
-
+        List<Long> cityIds = new ArrayList<>(byCityId.keySet());
+        int groupCalls = 0;
         try {
-            @SuppressWarnings("unchecked")
-            List<Map<String, Object>> list = (List<Map<String, Object>>) rawData.get("list");
-
-            List<Map<String, Object>> forecasts = new ArrayList<>();
-
-            if (list != null) {
-                for (Map<String, Object> item : list) {
-                    Map<String, Object> forecast = new HashMap<>();
-
-                    @SuppressWarnings("unchecked")
-                    Map<String, Object> main = (Map<String, Object>) item.get("main");
-                    @SuppressWarnings("unchecked")
-                    List<Map<String, Object>> weather = (List<Map<String, Object>>) item.get("weather");
-
-                    if (main != null) {
-                        forecast.put("temperature", main.get("temp"));
-                        forecast.put("humidity", main.get("humidity"));
-                    }
-
-                    if (weather != null && !weather.isEmpty()) {
-                        forecast.put("weatherCondition", weather.get(0).get("main"));
+            for (int i = 0; i < cityIds.size(); i += bulkGroupSize) {
+                List<Long> chunk = cityIds.subList(i, Math.min(i + bulkGroupSize, cityIds.size()));
+                sweep.dispatch(() -> fetchGroupObservations(chunk, priority).thenAccept(observations -> {
+                    for (Long cityId : chunk) {
+                        String key = "current:id=" + cityId + ":" + UNITS;
+                        Map<String, Object> weather = liveOrStale(key, observations.get(cityId), this::toCurrentWeatherMap);
+                        for (Location location : byCityId.get(cityId)) {
+                            deliver.accept(location, weather == null ? null : new HashMap<>(weather));
+                        }
                     }
+                }));
+                groupCalls++;
+                handleArrived(arrived, handle);
+            }
+            for (Location location : unresolved) {
+                String key = coordinateKey("current", location.getLatitude(), location.getLongitude());
+                sweep.dispatch(() -> fetchCurrentObservation(location.getLatitude(), location.getLongitude(), priority)
+                        .thenAccept(observation -> {
+                            if (observation != null) {
+                                openWeatherMapCityIndex.remember(location.getId(), observation.cityId());
+                            }
+                            deliver.accept(location, liveOrStale(key, observation, this::toCurrentWeatherMap));
+                        }));
+                handleArrived(arrived, handle);
+            }
 
-                    forecast.put("datetime", item.get("dt_txt"));
-                    forecasts.add(forecast);
+            CompletableFuture<Void> all = CompletableFuture.allOf(sweep.calls.toArray(new CompletableFuture<?>[0]));
+            while (!all.isDone()) {
+                Map.Entry<Location, Map<String, Object>> result = arrived.poll(BULK_RESULT_POLL_MS, TimeUnit.MILLISECONDS);
+                if (result != null) {
+                    handle.accept(result);
                 }
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Bulk weather fetch interrupted after {} calls", sweep.calls.size());
+            CompletableFuture.allOf(sweep.calls.toArray(new CompletableFuture<?>[0])).join();
+        }
+        // Results are queued before their call completes, so everything has arrived by now
+        handleArrived(arrived, handle);
 
-            processed.put("forecasts", forecasts);
-            processed.put("dataSource", "OpenWeatherMap");
-            processed.put("timestamp", LocalDateTime.now());
+        Map<String, Object> summary = new HashMap<>();
+        summary.put("requested", locations.size());
+        summary.put("delivered", delivered.sum());
+        summary.put("deliveredStale", deliveredStale.sum());
+        summary.put("quotaLimited", sweep.quotaLimited);
+        summary.put("groupCalls", groupCalls);
+        summary.put("singleCalls", unresolved.size());
+        summary.put("durationMs", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        log.info("Bulk weather fetch: {}", summary);
+        return summary;
+    }
 
-        } catch (Exception e) {
-            log.error("Error processing OpenWeatherMap forecast data", e);
-        }
+    /**
+     * Statistics for the upstream call layer
+     */
+    public Map<String, Object> getUpstreamStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("coalescing", requestCoalescer.getStats());
+        stats.put("resilience", resilientUpstreamClient.getStats());
+        stats.put("negativeCache", negativeLookupCache.getStats());
+        stats.put("knownCityIds", openWeatherMapCityIndex.size());
+        stats.put("nasaTiles", nasaTileStore.getStats());
+        stats.put("quota", quotaBudgeter.getStats());
+        stats.put("staleValues", staleValueCache.getStats());
+        stats.put("fanOut", weatherFanOut.getStats());
+        stats.put("geoCache", geoCellCache.getStats());
+        stats.put("archive", responseArchive.getStats());
+        stats.put("ingestion", ingestionPipeline.getStats());
+        stats.put("locationIds", locationIds.getStats());
+        stats.put("timestamp", LocalDateTime.now());
+        return stats;
+    }
 
-        return processed;
+    private String normalizeLocation(String locationName) {
+        return locationName == null ? "" : locationName.trim().toLowerCase(Locale.ROOT);
     }
 
+    private BigDecimal roundCoordinate(BigDecimal coordinate) {
+        return coordinate.setScale(COORDINATE_SCALE, RoundingMode.HALF_UP);
+    }
 
     private Map<String, Object> getMockCurrentWeatherData() {
         Map<String, Object> mock = new HashMap<>();
@@ -560,20 +1019,10 @@ public class ExternalWeatherApiService {
         try {
             log.info("Fetching real weather data for city: {}", cityName);
             CompletableFuture<Map<String, Object>> future = fetchCurrentWeatherFromOpenWeatherMap(cityName);
-            Map<String, Object> rawWeatherData = future.get(apiTimeout, TimeUnit.MILLISECONDS);
-            if (rawWeatherData != null && !rawWeatherData.isEmpty()) {
-                // If the response is already parsed, return as is; otherwise, parse JSON string
-                if (rawWeatherData.containsKey("main") && rawWeatherData.containsKey("weather")) {
-                    // This is a raw OpenWeatherMap response, so convert it to JSON and parse
-                    String jsonString = objectMapper.writeValueAsString(rawWeatherData);
-                    Map<String, Object> parsed = parseOpenWeatherMapResponse(jsonString);
-                    log.info("Successfully parsed real weather data for: {}", cityName);
-                    return parsed;
-                } else {
-                    // Already parsed/flat map
-                    log.info("Successfully fetched real weather data for: {}", cityName);
-                    return rawWeatherData;
-                }
+            Map<String, Object> weatherData = future.get(apiTimeout, TimeUnit.MILLISECONDS);
+            if (weatherData != null && !weatherData.isEmpty()) {
+                log.info("Successfully fetched real weather data for: {}", cityName);
+                return weatherData;
             } else {
                 log.warn("No weather data returned for: {}", cityName);
                 return null;
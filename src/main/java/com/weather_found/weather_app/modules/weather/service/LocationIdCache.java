@@ -0,0 +1,73 @@
+package com.weather_found.weather_app.modules.weather.service;
+
+import com.weather_found.weather_app.modules.weather.model.Location;
+import com.weather_found.weather_app.modules.weather.repository.WeatherLocationRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Location ids by name, so storing an observation does not look its location up
+ * in the database. Locations are never renamed or deleted, so entries stay valid;
+ * a name is resolved, or its location created, once per process. Concurrent misses
+ * for the same name wait for the first lookup instead of creating it twice; the
+ * lookup runs outside any map lock.
+ */
+@Component
+@RequiredArgsConstructor
+public class LocationIdCache {
+
+    private final WeatherLocationRepository locationRepository;
+
+    private final Map<String, Long> ids = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<Long>> resolving = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Id of the named location, creating it from {@code creator} if it does not exist yet
+     */
+    public Long resolve(String name, Supplier<Location> creator) {
+        String key = name.trim().toLowerCase(Locale.ROOT);
+        Long id = ids.get(key);
+        if (id != null) {
+            hits.increment();
+            return id;
+        }
+        misses.increment();
+
+        CompletableFuture<Long> lookup = new CompletableFuture<>();
+        CompletableFuture<Long> inFlight = resolving.putIfAbsent(key, lookup);
+        if (inFlight != null) {
+            return inFlight.join();
+        }
+        try {
+            id = locationRepository.findByNameIgnoreCase(name)
+                    .orElseGet(() -> locationRepository.save(creator.get()))
+                    .getId();
+            ids.put(key, id);
+            lookup.complete(id);
+            return id;
+        } catch (RuntimeException e) {
+            lookup.completeExceptionally(e);
+            throw e;
+        } finally {
+            resolving.remove(key, lookup);
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("size", ids.size());
+        stats.put("hits", hits.sum());
+        stats.put("misses", misses.sum());
+        return stats;
+    }
+}
@@ -0,0 +1,229 @@
+package com.weather_found.weather_app.modules.weather.service;
+
+import com.weather_found.weather_app.modules.weather.cache.RedisHealthMonitor;
+import com.weather_found.weather_app.modules.weather.cache.TwoTierCacheManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Reloads the current weather and forecast entries of the most popular locations
+ * shortly before they expire, so hot keys are not left to the next reader.
+ * <p>
+ * Each cycle reads the top {@code top-n} locations from the popularity sorted set,
+ * fetches the remaining TTL of their entries in one pipeline and reloads those inside
+ * the refresh window. At most {@code max-concurrency} reloads run at once; a Redis lock
+ * keeps one node per cycle doing the work. Refreshed keys are remembered with their
+ * original expiry, and a hit on such a key after that moment counts as an avoided miss.
+ */
+@Service
+@Slf4j
+public class RefreshAheadService {
+
+    private static final String CYCLE_LOCK_KEY = "weather:refresh-ahead:lock";
+    private static final String CURRENT_WEATHER_CACHE = "currentWeather";
+    private static final String FORECAST_CACHE = "weatherForecast";
+
+    private final WeatherCacheService weatherCacheService;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisHealthMonitor redisHealthMonitor;
+    private final Executor executor;
+
+    private final boolean enabled;
+    private final int topN;
+    private final long refreshWindowMillis;
+    private final long intervalMillis;
+    private final int forecastDays;
+    private final int maxConcurrency;
+    private final Semaphore permits;
+
+    /** cache name + key -> epoch millis at which the entry would have expired */
+    private final Map<String, Long> refreshedKeys = new ConcurrentHashMap<>();
+
+    private final LongAdder cycles = new LongAdder();
+    private final LongAdder skippedCycles = new LongAdder();
+    private final LongAdder refreshed = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder saturated = new LongAdder();
+    private final LongAdder missesAvoided = new LongAdder();
+
+    public RefreshAheadService(WeatherCacheService weatherCacheService,
+            RedisTemplate<String, Object> redisTemplate,
+            RedisHealthMonitor redisHealthMonitor,
+            TwoTierCacheManager cacheManager,
+            @Qualifier("weatherAsyncExecutor") Executor executor,
+            @Value("${weather.refresh-ahead.enabled:true}") boolean enabled,
+            @Value("${weather.refresh-ahead.top-n:20}") int topN,
+            @Value("${weather.refresh-ahead.refresh-window-seconds:60}") long refreshWindowSeconds,
+            @Value("${weather.refresh-ahead.interval-ms:30000}") long intervalMillis,
+            @Value("${weather.refresh-ahead.max-concurrency:4}") int maxConcurrency,
+            @Value("${weather.refresh-ahead.forecast-days:7}") int forecastDays) {
+        this.weatherCacheService = weatherCacheService;
+        this.redisTemplate = redisTemplate;
+        this.redisHealthMonitor = redisHealthMonitor;
+        this.executor = executor;
+        this.enabled = enabled;
+        this.topN = topN;
+        this.refreshWindowMillis = Duration.ofSeconds(refreshWindowSeconds).toMillis();
+        this.intervalMillis = intervalMillis;
+        this.forecastDays = forecastDays;
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+        this.permits = new Semaphore(this.maxConcurrency);
+
+        cacheManager.addHitListener(this::onCacheHit);
+    }
+
+    /**
+     * Reload popular entries that are about to expire
+     */
+    @Scheduled(fixedDelayString = "${weather.refresh-ahead.interval-ms:30000}",
+            initialDelayString = "${weather.refresh-ahead.interval-ms:30000}")
+    public void refreshPopularEntries() {
+        if (!enabled || !redisHealthMonitor.isAvailable()) {
+            return;
+        }
+        if (!acquireCycleLock()) {
+            skippedCycles.increment();
+            return;
+        }
+        cycles.increment();
+        pruneMarks();
+
+        Set<Object> popular = weatherCacheService.getPopularLocations(topN);
+        if (popular == null || popular.isEmpty()) {
+            return;
+        }
+
+        List<String> locations = new ArrayList<>(popular.size());
+        popular.forEach(location -> locations.add(String.valueOf(location)));
+        List<Object> ttls = readRemainingTtls(locations);
+        if (ttls.size() != locations.size() * 2) {
+            return;
+        }
+
+        for (int i = 0; i < locations.size(); i++) {
+            String location = locations.get(i);
+            long currentTtl = asLong(ttls.get(2 * i));
+            long forecastTtl = asLong(ttls.get(2 * i + 1));
+
+            if (dueForRefresh(currentTtl)) {
+                submit(CURRENT_WEATHER_CACHE, location, currentTtl,
+                        () -> weatherCacheService.refreshCurrentWeather(location));
+            }
+            if (dueForRefresh(forecastTtl)) {
+                submit(FORECAST_CACHE, location + ":" + forecastDays, forecastTtl,
+                        () -> weatherCacheService.refreshWeatherForecast(location, forecastDays));
+            }
+        }
+    }
+
+    /**
+     * Refresh-ahead statistics; marks and avoided misses are local to this node
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("cycles", cycles.sum());
+        stats.put("skippedCycles", skippedCycles.sum());
+        stats.put("refreshed", refreshed.sum());
+        stats.put("failures", failures.sum());
+        stats.put("saturated", saturated.sum());
+        stats.put("missesAvoided", missesAvoided.sum());
+        stats.put("pendingMarks", refreshedKeys.size());
+        stats.put("inFlight", maxConcurrency - permits.availablePermits());
+        stats.put("timestamp", LocalDateTime.now());
+        return stats;
+    }
+
+    private void onCacheHit(String cacheName, Object key) {
+        Long originalExpiry = refreshedKeys.get(cacheName + "::" + key);
+        if (originalExpiry != null && System.currentTimeMillis() >= originalExpiry
+                && refreshedKeys.remove(cacheName + "::" + key, originalExpiry)) {
+            missesAvoided.increment();
+        }
+    }
+
+    private void submit(String cacheName, String key, long remainingMillis, Runnable reload) {
+        if (!permits.tryAcquire()) {
+            saturated.increment();
+            return;
+        }
+        String mark = cacheName + "::" + key;
+        long originalExpiry = System.currentTimeMillis() + remainingMillis;
+        try {
+            executor.execute(() -> {
+                try {
+                    reload.run();
+                    refreshedKeys.put(mark, originalExpiry);
+                    refreshed.increment();
+                } catch (RuntimeException e) {
+                    failures.increment();
+                    log.warn("Refresh-ahead of {} failed: {}", mark, e.getMessage());
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            saturated.increment();
+        }
+    }
+
+    private List<Object> readRemainingTtls(List<String> locations) {
+        return redisHealthMonitor.execute(() -> redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String location : locations) {
+                pTtl(connection, CURRENT_WEATHER_CACHE + "::" + location);
+                pTtl(connection, FORECAST_CACHE + "::" + location + ":" + forecastDays);
+            }
+            return null;
+        }), List.of());
+    }
+
+    private static void pTtl(RedisConnection connection, String key) {
+        connection.keyCommands().pTtl(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Missing keys (-2) are left to the next reader; only live entries close to expiry are reloaded
+     */
+    private boolean dueForRefresh(long ttlMillis) {
+        return ttlMillis >= 0 && ttlMillis <= refreshWindowMillis;
+    }
+
+    private boolean acquireCycleLock() {
+        return redisHealthMonitor.execute(() -> Boolean.TRUE.equals(redisTemplate.opsForValue()
+                .setIfAbsent(CYCLE_LOCK_KEY, "locked", Duration.ofMillis(Math.max(1000, intervalMillis - 1000)))),
+                false);
+    }
+
+    /**
+     * Forget marks whose entry expired long ago without being read
+     */
+    private void pruneMarks() {
+        long cutoff = System.currentTimeMillis() - 2 * refreshWindowMillis - intervalMillis;
+        refreshedKeys.values().removeIf(expiry -> expiry < cutoff);
+    }
+
+    private static long asLong(Object value) {
+        return value instanceof Number number ? number.longValue() : -2;
+    }
+}
@@ -0,0 +1,179 @@
+package com.weather_found.weather_app.modules.weather.service;
+
+import com.weather_found.weather_app.modules.weather.cache.RedisHealthMonitor;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.ExpirationOptions;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory accumulator for analytics counters, flushed to Redis as one pipeline.
+ * <p>
+ * Increments are summed per counter in {@code stripes} maps picked by thread, so
+ * concurrent requests rarely contend on the same daily or hourly counter. Every
+ * {@code flush-interval-ms} the stripes are drained into a single batch of
+ * INCRBY/ZINCRBY commands. A counter's EXPIRE is sent once per batch that touches
+ * it, not with every increment, and as EXPIRE NX: a no-op while the key has an
+ * expiry, so restarts and other nodes never push it back, and set again whenever
+ * the key has expired and been recreated. Counts recorded while Redis is down are
+ * dropped, as tracking did before.
+ */
+@Component
+@Slf4j
+public class UsageCounterBuffer {
+
+    private static final ExpirationOptions IF_NONE = ExpirationOptions.builder().nx().build();
+
+    /**
+     * A string counter ({@code member} null) or a sorted set member
+     */
+    record Counter(String key, String member, Duration ttl) {
+    }
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisHealthMonitor health;
+
+    private final List<Map<Counter, Long>> stripes;
+
+    private final LongAdder recorded = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder commandsSent = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final AtomicLong lastBatchCommands = new AtomicLong();
+
+    public UsageCounterBuffer(RedisTemplate<String, Object> redisTemplate, RedisHealthMonitor health,
+            @Value("${weather.analytics.tracking.stripes:16}") int stripes) {
+        this.redisTemplate = redisTemplate;
+        this.health = health;
+        this.stripes = new ArrayList<>(Math.max(1, stripes));
+        for (int i = 0; i < Math.max(1, stripes); i++) {
+            this.stripes.add(new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Add to a string counter that expires {@code ttl} after it is created
+     */
+    public void increment(String key, Duration ttl) {
+        add(new Counter(key, null, ttl), 1);
+    }
+
+    /**
+     * Add to a sorted set member's score; a null {@code ttl} leaves the set without expiry
+     */
+    public void incrementScore(String key, String member, Duration ttl) {
+        add(new Counter(key, member, ttl), 1);
+    }
+
+    @Scheduled(fixedDelayString = "${weather.analytics.tracking.flush-interval-ms:250}")
+    public void flush() {
+        Map<Counter, Long> batch = drain();
+        if (batch.isEmpty()) {
+            return;
+        }
+        if (!health.isAvailable()) {
+            dropped.add(batch.values().stream().mapToLong(Long::longValue).sum());
+            return;
+        }
+
+        Map<String, Duration> expiries = new HashMap<>();
+        batch.keySet().forEach(counter -> {
+            if (counter.ttl() != null) {
+                expiries.put(counter.key(), counter.ttl());
+            }
+        });
+
+        boolean sent = health.execute(() -> {
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> redisOperations) throws DataAccessException {
+                    RedisOperations<String, Object> operations = (RedisOperations<String, Object>) redisOperations;
+                    batch.forEach((counter, delta) -> {
+                        if (counter.member() == null) {
+                            operations.opsForValue().increment(counter.key(), delta);
+                        } else {
+                            operations.opsForZSet().incrementScore(counter.key(), counter.member(), delta);
+                        }
+                    });
+                    expiries.forEach((key, ttl) -> operations.expire(key, Expiration.from(ttl), IF_NONE));
+                    return null;
+                }
+            });
+            return true;
+        }, false);
+
+        if (!sent) {
+            log.debug("Dropped {} analytics counters, Redis write failed", batch.size());
+            dropped.add(batch.values().stream().mapToLong(Long::longValue).sum());
+            return;
+        }
+
+        long commands = batch.size() + expiries.size();
+        flushes.increment();
+        commandsSent.add(commands);
+        lastBatchCommands.set(commands);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("recorded", recorded.sum());
+        stats.put("flushes", flushes.sum());
+        stats.put("commandsSent", commandsSent.sum());
+        stats.put("lastBatchCommands", lastBatchCommands.get());
+        stats.put("dropped", dropped.sum());
+        stats.put("pending", pending());
+        return stats;
+    }
+
+    /**
+     * Take everything accumulated so far, summed per counter across stripes
+     */
+    Map<Counter, Long> drain() {
+        Map<Counter, Long> batch = new HashMap<>();
+        for (Map<Counter, Long> stripe : stripes) {
+            for (Counter counter : stripe.keySet()) {
+                Long delta = stripe.remove(counter);
+                if (delta != null) {
+                    batch.merge(counter, delta, Long::sum);
+                }
+            }
+        }
+        return batch;
+    }
+
+    private void add(Counter counter, long delta) {
+        recorded.increment();
+        int stripe = (int) (Thread.currentThread().threadId() % stripes.size());
+        stripes.get(stripe).merge(counter, delta, Long::sum);
+    }
+
+    private long pending() {
+        long pending = 0;
+        for (Map<Counter, Long> stripe : stripes) {
+            pending += stripe.size();
+        }
+        return pending;
+    }
+}
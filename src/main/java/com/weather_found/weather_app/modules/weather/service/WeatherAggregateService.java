@@ -0,0 +1,267 @@
+package com.weather_found.weather_app.modules.weather.service;
+
+import com.weather_found.weather_app.modules.weather.model.WeatherDailyAggregate;
+import com.weather_found.weather_app.modules.weather.model.WeatherDataEntity;
+import com.weather_found.weather_app.modules.weather.repository.WeatherConditionDailyCountRepository;
+import com.weather_found.weather_app.modules.weather.repository.WeatherDailyAggregateRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-location daily aggregates of the stored observations: running sums, counts,
+ * min/max and condition histograms. They are updated in the same call that stores
+ * observations, so dashboard statistics read a handful of rows per day instead of
+ * aggregating {@code weather_data}. They also serve daily history, and outlive raw
+ * retention: totals count every observation ever stored.
+ * <p>
+ * Windows are whole days: "since" includes every observation of its start date. If
+ * the aggregate table is empty at startup while observations exist, it is backfilled
+ * from {@code weather_data} once; {@link #rebuild(LocalDate)} recomputes a range on
+ * demand.
+ */
+@Service
+@Order(0)
+@Slf4j
+public class WeatherAggregateService implements ApplicationRunner {
+
+    /** Sum, count, min and max of one metric's readings */
+    record Metric(double sum, long count, Double min, Double max) {
+
+        static final Metric NONE = new Metric(0, 0, null, null);
+
+        Metric add(BigDecimal reading) {
+            if (reading == null) {
+                return this;
+            }
+            double value = reading.doubleValue();
+            return new Metric(sum + value, count + 1, min == null ? value : Math.min(min, value),
+                    max == null ? value : Math.max(max, value));
+        }
+    }
+
+    /** Aggregates of one location on one day, as added by a batch of observations */
+    record DayDelta(Long locationId, LocalDate day, long count, Metric temperature, Metric humidity, Metric pressure,
+            Metric windSpeed, Metric precipitation) {
+
+        DayDelta add(WeatherDataEntity observation) {
+            return new DayDelta(locationId, day, count + 1, temperature.add(observation.getTemperature()),
+                    humidity.add(observation.getHumidity()), pressure.add(observation.getPressure()),
+                    windSpeed.add(observation.getWindSpeed()), precipitation.add(observation.getPrecipitation()));
+        }
+
+        WeatherDailyAggregate toAggregate() {
+            WeatherDailyAggregate aggregate = new WeatherDailyAggregate();
+            aggregate.setLocationId(locationId);
+            aggregate.setObservedOn(day);
+            aggregate.setObservationCount(count);
+            aggregate.setTemperatureSum(temperature.sum());
+            aggregate.setTemperatureCount(temperature.count());
+            aggregate.setTemperatureMin(temperature.min());
+            aggregate.setTemperatureMax(temperature.max());
+            aggregate.setHumiditySum(humidity.sum());
+            aggregate.setHumidityCount(humidity.count());
+            aggregate.setHumidityMin(humidity.min());
+            aggregate.setHumidityMax(humidity.max());
+            aggregate.setPressureSum(pressure.sum());
+            aggregate.setPressureCount(pressure.count());
+            aggregate.setPressureMin(pressure.min());
+            aggregate.setPressureMax(pressure.max());
+            aggregate.setWindSpeedSum(windSpeed.sum());
+            aggregate.setWindSpeedCount(windSpeed.count());
+            aggregate.setWindSpeedMin(windSpeed.min());
+            aggregate.setWindSpeedMax(windSpeed.max());
+            aggregate.setPrecipitationSum(precipitation.sum());
+            aggregate.setPrecipitationCount(precipitation.count());
+            aggregate.setPrecipitationMin(precipitation.min());
+            aggregate.setPrecipitationMax(precipitation.max());
+            return aggregate;
+        }
+    }
+
+    /** Condition observations of one location on one day */
+    record ConditionKey(Long locationId, LocalDate day, String condition) {
+    }
+
+    /** Temperature summary and observation count over a window */
+    public record Totals(Double averageTemperature, Double minTemperature, Double maxTemperature, long observations) {
+    }
+
+    private record DayKey(Long locationId, LocalDate day) {
+    }
+
+    private static final LocalDate EPOCH = LocalDate.of(1970, 1, 1);
+
+    private final WeatherDailyAggregateRepository aggregateRepository;
+    private final WeatherConditionDailyCountRepository conditionRepository;
+    private final boolean backfillOnStartup;
+
+    public WeatherAggregateService(WeatherDailyAggregateRepository aggregateRepository,
+            WeatherConditionDailyCountRepository conditionRepository,
+            @Value("${weather.aggregates.backfill-on-startup:true}") boolean backfillOnStartup) {
+        this.aggregateRepository = aggregateRepository;
+        this.conditionRepository = conditionRepository;
+        this.backfillOnStartup = backfillOnStartup;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!backfillOnStartup) {
+            return;
+        }
+        try {
+            if (aggregateRepository.count() == 0) {
+                rebuild(EPOCH);
+                log.info("Backfilled weather aggregates: {} location-days", aggregateRepository.count());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Cannot backfill weather aggregates: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Add freshly stored observations to their days
+     */
+    @Transactional
+    public void record(List<WeatherDataEntity> observations) {
+        for (DayDelta delta : summarizeDays(observations)) {
+            aggregateRepository.accumulate(delta.toAggregate());
+        }
+        summarizeConditions(observations).forEach((key, count) ->
+                conditionRepository.accumulate(key.locationId(), key.day(), key.condition(), count));
+    }
+
+    /**
+     * Recompute every day from {@code since} on from the raw observations; returns the
+     * rows affected in the daily aggregate table, as MySQL counts them for an upsert
+     */
+    @Transactional
+    public int rebuild(LocalDate since) {
+        LocalDateTime from = since.atStartOfDay();
+        int rows = aggregateRepository.rebuildSince(from);
+        conditionRepository.rebuildSince(from);
+        return rows;
+    }
+
+    /**
+     * Average temperature per day since {@code since}, newest first, as [date, average]
+     */
+    public List<Object[]> temperatureTrends(LocalDate since) {
+        return dailyAverages(since, 1, 2);
+    }
+
+    /**
+     * Average humidity per day since {@code since}, newest first, as [date, average]
+     */
+    public List<Object[]> humidityTrends(LocalDate since) {
+        return dailyAverages(since, 3, 4);
+    }
+
+    /**
+     * Observations per day since {@code since}, newest first, as [date, count]
+     */
+    public List<Object[]> dailyCounts(LocalDate since) {
+        return aggregateRepository.sumCountsByDay(since);
+    }
+
+    /**
+     * Observations per weather condition since {@code since}, most frequent first
+     */
+    public List<Object[]> conditionCounts(LocalDate since) {
+        return conditionRepository.sumCountsByCondition(since);
+    }
+
+    public Totals totals(LocalDate since) {
+        return toTotals(aggregateRepository.sumTotals(since));
+    }
+
+    public Totals totalsForLocation(Long locationId, LocalDate since) {
+        return toTotals(aggregateRepository.sumTotalsForLocation(locationId, since));
+    }
+
+    public long totalObservations() {
+        return aggregateRepository.sumObservationCount();
+    }
+
+    /**
+     * Row counts of the aggregate tables
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("locationDays", aggregateRepository.count());
+        stats.put("conditionDays", conditionRepository.count());
+        stats.put("backfillOnStartup", backfillOnStartup);
+        return stats;
+    }
+
+    static List<DayDelta> summarizeDays(List<WeatherDataEntity> observations) {
+        Map<DayKey, DayDelta> days = new LinkedHashMap<>();
+        for (WeatherDataEntity observation : observations) {
+            if (observation.getLocation() == null || observation.getRecordedAt() == null) {
+                continue;
+            }
+            DayKey key = new DayKey(observation.getLocation().getId(), observation.getRecordedAt().toLocalDate());
+            DayDelta delta = days.getOrDefault(key, new DayDelta(key.locationId(), key.day(), 0, Metric.NONE,
+                    Metric.NONE, Metric.NONE, Metric.NONE, Metric.NONE));
+            days.put(key, delta.add(observation));
+        }
+        return new ArrayList<>(days.values());
+    }
+
+    static Map<ConditionKey, Long> summarizeConditions(List<WeatherDataEntity> observations) {
+        Map<ConditionKey, Long> counts = new LinkedHashMap<>();
+        for (WeatherDataEntity observation : observations) {
+            if (observation.getLocation() == null || observation.getRecordedAt() == null
+                    || observation.getWeatherCondition() == null) {
+                continue;
+            }
+            counts.merge(new ConditionKey(observation.getLocation().getId(), observation.getRecordedAt().toLocalDate(),
+                    observation.getWeatherCondition()), 1L, Long::sum);
+        }
+        return counts;
+    }
+
+    private List<Object[]> dailyAverages(LocalDate since, int sumColumn, int countColumn) {
+        List<Object[]> averages = new ArrayList<>();
+        for (Object[] row : aggregateRepository.sumTotalsByDay(since)) {
+            long count = toLong(row[countColumn]);
+            if (count > 0) {
+                averages.add(new Object[] { row[0], toDouble(row[sumColumn]) / count });
+            }
+        }
+        return averages;
+    }
+
+    private static Totals toTotals(List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return new Totals(null, null, null, 0);
+        }
+        Object[] row = rows.get(0);
+        long temperatureCount = toLong(row[1]);
+        return new Totals(temperatureCount > 0 ? toDouble(row[0]) / temperatureCount : null,
+                row[2] != null ? toDouble(row[2]) : null,
+                row[3] != null ? toDouble(row[3]) : null,
+                toLong(row[4]));
+    }
+
+    private static long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : 0;
+    }
+
+    private static double toDouble(Object value) {
+        return value != null ? ((Number) value).doubleValue() : 0;
+    }
+}
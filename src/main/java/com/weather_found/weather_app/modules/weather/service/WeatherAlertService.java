@@ -1,5 +1,9 @@
 package com.weather_found.weather_app.modules.weather.service;
 
+import com.weather_found.weather_app.modules.weather.cache.CacheMetrics;
+import com.weather_found.weather_app.modules.weather.cache.CacheTtlPolicy;
+import com.weather_found.weather_app.modules.weather.cache.RedisValueStore;
+import com.weather_found.weather_app.modules.weather.client.CallPriority;
 import com.weather_found.weather_app.modules.weather.model.Location;
 import com.weather_found.weather_app.modules.weather.model.WeatherAlert;
 import com.weather_found.weather_app.modules.weather.repository.WeatherLocationRepository;
@@ -27,7 +31,11 @@ public class WeatherAlertService {
     private final WeatherAlertRepository alertRepository;
     private final WeatherLocationRepository locationRepository;
     private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisValueStore valueStore;
+    private final CacheMetrics cacheMetrics;
+    private final CacheTtlPolicy ttlPolicy;
     private final ExternalWeatherApiService externalWeatherApiService;
+    private final DashboardFragments dashboardFragments;
 
     // Cache keys
     private static final String ALERT_CACHE_KEY = "alerts:location:";
@@ -75,16 +83,17 @@ public class WeatherAlertService {
         String cacheKey = ALERT_CACHE_KEY + locationId + ":active";
 
         @SuppressWarnings("unchecked")
-        List<WeatherAlert> cachedAlerts = (List<WeatherAlert>) redisTemplate.opsForValue().get(cacheKey);
+        List<WeatherAlert> cachedAlerts = (List<WeatherAlert>) valueStore.get(cacheKey);
 
         if (cachedAlerts != null) {
             return cachedAlerts;
         }
 
+        long startedAt = System.nanoTime();
         List<WeatherAlert> alerts = alertRepository.findByLocationAndStatusOrderByAlertTimeDesc(location, "ACTIVE");
+        cacheMetrics.keyspace(cacheKey).load(System.nanoTime() - startedAt);
 
-        // Cache for 5 minutes
-        redisTemplate.opsForValue().set(cacheKey, alerts, 5, TimeUnit.MINUTES);
+        valueStore.set(cacheKey, alerts, ttlPolicy.ttlFor(CacheTtlPolicy.ACTIVE_ALERTS));
 
         return alerts;
     }
@@ -187,17 +196,11 @@ public class WeatherAlertService {
 
         List<Location> locations = locationRepository.findAll();
 
-        for (Location location : locations) {
-            try {
-                Map<String, Object> currentWeather = externalWeatherApiService
-                        .aggregateWeatherData(location.getName());
+        Map<String, Object> summary = externalWeatherApiService.fetchCurrentWeatherBulk(locations,
+                CallPriority.BACKGROUND, this::processWeatherConditions);
 
-                processWeatherConditions(location, currentWeather);
-
-            } catch (Exception e) {
-                log.error("Error checking weather for location: {}", location.getName(), e);
-            }
-        }
+        log.info("Checked weather for {} of {} locations in {} ms", summary.get("delivered"),
+                locations.size(), summary.get("durationMs"));
     }
 
     /**
@@ -212,6 +215,7 @@ public class WeatherAlertService {
 
         if (updatedCount > 0) {
             log.info("Updated {} expired alerts", updatedCount);
+            dashboardFragments.invalidate(DashboardFragments.Fragment.ALERTS, DashboardFragments.Fragment.ANALYTICS);
         }
     }
 
@@ -308,10 +312,17 @@ public class WeatherAlertService {
         List<WeatherAlert> activeAlerts = alertRepository.findByLocationAndStatusOrderByAlertTimeDesc(location,
                 "ACTIVE");
         String cacheKey = ALERT_CACHE_KEY + location.getId() + ":active";
-        redisTemplate.opsForValue().set(cacheKey, activeAlerts, 5, TimeUnit.MINUTES);
+        valueStore.set(cacheKey, activeAlerts, ttlPolicy.ttlFor(CacheTtlPolicy.ACTIVE_ALERTS));
+        // Dashboard alert counts and analytics breakdown changed with it
+        dashboardFragments.invalidate(DashboardFragments.Fragment.ALERTS, DashboardFragments.Fragment.ANALYTICS);
     }
 
     private void processWeatherConditions(Location location, Map<String, Object> weatherData) {
+        // A stale fallback can be hours old; it must not raise a fresh alert
+        if (weatherData.containsKey("stale")) {
+            log.debug("Skipping alert check on stale weather for location: {}", location.getName());
+            return;
+        }
         // Check if automatic alert generation is needed
         generateAutomaticAlerts(location, weatherData);
     }
@@ -1,18 +1,22 @@
 package com.weather_found.weather_app.modules.weather.service;
 
+import com.weather_found.weather_app.modules.weather.cache.RedisHealthMonitor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.Cursor;
 import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.data.redis.core.ScanOptions;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.TimeUnit;
 
 /**
  * Redis-based analytics service for weather API usage
@@ -23,6 +27,8 @@ import java.util.concurrent.TimeUnit;
 public class WeatherAnalyticsService {
 
     private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisHealthMonitor redisHealthMonitor;
+    private final UsageCounterBuffer counterBuffer;
 
     // Analytics Keys
     private static final String DAILY_REQUESTS_KEY = "analytics:daily:requests:";
@@ -32,75 +38,53 @@ public class WeatherAnalyticsService {
     private static final String LOCATION_REQUESTS_KEY = "analytics:locations:requests";
     private static final String ERROR_TRACKING_KEY = "analytics:errors:";
 
+    private static final Duration DAILY_RETENTION = Duration.ofDays(30);
+    private static final Duration HOURLY_RETENTION = Duration.ofDays(7);
+
+    /** Keys requested per SCAN step, and deleted per DEL during a reset */
+    private static final int SCAN_BATCH = 500;
+
     /**
-     * Track API request asynchronously
+     * Track API request; counted in memory and flushed to Redis in batches
      */
-    @Async
     public void trackApiRequest(String endpoint, String location, String userId) {
         if (!isRedisAvailable()) {
             log.debug("Redis not available, skipping analytics tracking");
             return;
         }
-        try {
-            String today = LocalDate.now().format(DateTimeFormatter.ISO_LOCAL_DATE);
-            String currentHour = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd-HH"));
-
-            // Increment daily requests
-            String dailyKey = DAILY_REQUESTS_KEY + today;
-            redisTemplate.opsForValue().increment(dailyKey);
-            redisTemplate.expire(dailyKey, 30, TimeUnit.DAYS); // Keep for 30 days
-
-            // Increment hourly requests
-            String hourlyKey = HOURLY_REQUESTS_KEY + currentHour;
-            redisTemplate.opsForValue().increment(hourlyKey);
-            redisTemplate.expire(hourlyKey, 7, TimeUnit.DAYS); // Keep for 7 days
-
-            // Track endpoint usage
-            redisTemplate.opsForZSet().incrementScore(ENDPOINT_USAGE_KEY, endpoint, 1);
-
-            // Track location requests
-            if (location != null && !location.isEmpty()) {
-                redisTemplate.opsForZSet().incrementScore(LOCATION_REQUESTS_KEY, location.toLowerCase(), 1);
-            }
+        LocalDateTime now = LocalDateTime.now();
+        String today = now.format(DateTimeFormatter.ISO_LOCAL_DATE);
+        String currentHour = now.format(DateTimeFormatter.ofPattern("yyyy-MM-dd-HH"));
 
-            // Track user activity
-            if (userId != null && !userId.isEmpty()) {
-                String userKey = USER_ACTIVITY_KEY + userId;
-                redisTemplate.opsForZSet().incrementScore(userKey, endpoint, 1);
-                redisTemplate.expire(userKey, 30, TimeUnit.DAYS);
-            }
+        counterBuffer.increment(DAILY_REQUESTS_KEY + today, DAILY_RETENTION);
+        counterBuffer.increment(HOURLY_REQUESTS_KEY + currentHour, HOURLY_RETENTION);
+        counterBuffer.incrementScore(ENDPOINT_USAGE_KEY, endpoint, null);
 
-            log.debug("Tracked API request - Endpoint: {}, Location: {}, User: {}", endpoint, location, userId);
-        } catch (Exception e) {
-            log.error("Error tracking API request", e);
+        if (location != null && !location.isEmpty()) {
+            counterBuffer.incrementScore(LOCATION_REQUESTS_KEY, location.toLowerCase(), null);
+        }
+        if (userId != null && !userId.isEmpty()) {
+            counterBuffer.incrementScore(USER_ACTIVITY_KEY + userId, endpoint, DAILY_RETENTION);
         }
+
+        log.debug("Tracked API request - Endpoint: {}, Location: {}, User: {}", endpoint, location, userId);
     }
 
     /**
      * Track API errors
      */
-    @Async
     public void trackError(String endpoint, String errorType, String userId) {
         if (!isRedisAvailable()) {
             log.debug("Redis not available, skipping error tracking");
             return;
         }
-        try {
-            String today = LocalDate.now().format(DateTimeFormatter.ISO_LOCAL_DATE);
-            String errorKey = ERROR_TRACKING_KEY + today + ":" + errorType;
-
-            redisTemplate.opsForValue().increment(errorKey);
-            redisTemplate.expire(errorKey, 30, TimeUnit.DAYS);
+        String today = LocalDate.now().format(DateTimeFormatter.ISO_LOCAL_DATE);
 
-            // Track per endpoint
-            String endpointErrorKey = ERROR_TRACKING_KEY + today + ":endpoint:" + endpoint;
-            redisTemplate.opsForValue().increment(endpointErrorKey);
-            redisTemplate.expire(endpointErrorKey, 30, TimeUnit.DAYS);
+        counterBuffer.increment(ERROR_TRACKING_KEY + today + ":" + errorType, DAILY_RETENTION);
+        // Track per endpoint
+        counterBuffer.increment(ERROR_TRACKING_KEY + today + ":endpoint:" + endpoint, DAILY_RETENTION);
 
-            log.debug("Tracked error - Endpoint: {}, Type: {}, User: {}", endpoint, errorType, userId);
-        } catch (Exception e) {
-            log.error("Error tracking error", e);
-        }
+        log.debug("Tracked error - Endpoint: {}, Type: {}, User: {}", endpoint, errorType, userId);
     }
 
     /**
@@ -282,12 +266,13 @@ public class WeatherAnalyticsService {
         }
 
         try {
-            String pattern = ERROR_TRACKING_KEY + date + "*";
-            Set<String> errorKeys = redisTemplate.keys(pattern);
+            List<String> errorKeys = scanKeys(ERROR_TRACKING_KEY + date + "*");
 
-            if (errorKeys != null) {
-                for (String key : errorKeys) {
-                    Object count = redisTemplate.opsForValue().get(key);
+            if (!errorKeys.isEmpty()) {
+                List<Object> counts = redisTemplate.opsForValue().multiGet(errorKeys);
+                for (int i = 0; i < errorKeys.size(); i++) {
+                    String key = errorKeys.get(i);
+                    Object count = counts != null ? counts.get(i) : null;
                     String errorType = key.substring(key.lastIndexOf(":") + 1);
                     errorData.put(errorType, count != null ? count : 0);
                 }
@@ -330,6 +315,8 @@ public class WeatherAnalyticsService {
             // Error summary
             dashboard.put("errorStats", getErrorStats(today));
 
+            dashboard.put("tracking", counterBuffer.getStats());
+
             dashboard.put("generatedAt", LocalDateTime.now());
             dashboard.put("dashboard", "weather-api-analytics");
 
@@ -350,10 +337,19 @@ public class WeatherAnalyticsService {
             return;
         }
         try {
-            Set<String> analyticsKeys = redisTemplate.keys("analytics:*");
-            if (analyticsKeys != null && !analyticsKeys.isEmpty()) {
-                redisTemplate.delete(analyticsKeys);
-                log.info("Reset analytics data - {} keys deleted", analyticsKeys.size());
+            long deleted = 0;
+            List<String> batch = new ArrayList<>(SCAN_BATCH);
+            try (Cursor<String> cursor = scan("analytics:*")) {
+                while (cursor.hasNext()) {
+                    batch.add(cursor.next());
+                    if (batch.size() == SCAN_BATCH) {
+                        deleted += deleteKeys(batch);
+                    }
+                }
+            }
+            deleted += deleteKeys(batch);
+            if (deleted > 0) {
+                log.info("Reset analytics data - {} keys deleted", deleted);
             }
         } catch (Exception e) {
             log.error("Error resetting analytics data", e);
@@ -361,17 +357,33 @@ public class WeatherAnalyticsService {
     }
 
     /**
-     * Check if Redis is available
+     * Keys matching the pattern, walked with SCAN so Redis is never blocked by KEYS
      */
-    private boolean isRedisAvailable() {
-        try {
-            if (redisTemplate.getConnectionFactory() != null) {
-                redisTemplate.opsForValue().get("redis:health:check");
-                return true;
-            }
-        } catch (Exception e) {
-            log.debug("Redis not available: {}", e.getMessage());
+    private List<String> scanKeys(String pattern) {
+        List<String> keys = new ArrayList<>();
+        try (Cursor<String> cursor = scan(pattern)) {
+            cursor.forEachRemaining(keys::add);
         }
-        return false;
+        return keys;
+    }
+
+    private Cursor<String> scan(String pattern) {
+        return redisTemplate.scan(ScanOptions.scanOptions().match(pattern).count(SCAN_BATCH).build());
+    }
+
+    private long deleteKeys(List<String> keys) {
+        if (keys.isEmpty()) {
+            return 0;
+        }
+        Long deleted = redisTemplate.delete(keys);
+        keys.clear();
+        return deleted != null ? deleted : 0;
+    }
+
+    /**
+     * Check the shared Redis health state; no round trip
+     */
+    private boolean isRedisAvailable() {
+        return redisHealthMonitor.isAvailable();
     }
 }
@@ -2,16 +2,23 @@ package com.weather_found.weather_app.modules.weather.service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.weather_found.weather_app.modules.weather.cache.CacheKeyIndex;
+import com.weather_found.weather_app.modules.weather.cache.CacheMetrics;
+import com.weather_found.weather_app.modules.weather.cache.CacheTtlPolicy;
+import com.weather_found.weather_app.modules.weather.cache.RedisHealthMonitor;
+import com.weather_found.weather_app.modules.weather.cache.RedisValueStore;
+import com.weather_found.weather_app.modules.weather.cache.TwoTierCacheManager;
+import com.weather_found.weather_app.modules.weather.cache.WeatherCacheStore;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.TimeUnit;
 
 /**
  * Weather caching service using Redis
@@ -23,11 +30,15 @@ public class WeatherCacheService {
 
     private final RedisTemplate<String, Object> redisTemplate;
     private final ObjectMapper objectMapper;
+    private final TwoTierCacheManager cacheManager;
+    private final RedisValueStore valueStore;
+    private final RedisHealthMonitor redisHealthMonitor;
+    private final CacheKeyIndex cacheKeyIndex;
+    private final CacheMetrics cacheMetrics;
+    private final CacheTtlPolicy ttlPolicy;
+    private final WeatherCacheStore cacheStore;
 
     // Cache Keys
-    private static final String CURRENT_WEATHER_KEY = "weather:current:";
-    private static final String FORECAST_KEY = "weather:forecast:";
-    private static final String HISTORICAL_KEY = "weather:historical:";
     private static final String USER_PREFERENCES_KEY = "weather:preferences:";
     private static final String POPULAR_LOCATIONS_KEY = "weather:popular:locations";
     private static final String WEATHER_ALERTS_KEY = "weather:alerts:";
@@ -35,149 +46,124 @@ public class WeatherCacheService {
     /**
      * Cache current weather data
      */
-    @Cacheable(value = "currentWeather", key = "#location")
     public String getCurrentWeatherCached(String location) {
-        log.info("Fetching current weather for location: {}", location);
-
-        // This would normally call external API
-        String weatherJson = generateCurrentWeatherJson(location);
-
-        // Also store in Redis with custom TTL if available
-        if (isRedisAvailable()) {
-            String key = CURRENT_WEATHER_KEY + location.toLowerCase();
-            redisTemplate.opsForValue().set(key, weatherJson, 5, TimeUnit.MINUTES);
-        }
+        return cacheStore.getOrLoad(CacheTtlPolicy.CURRENT_WEATHER, location, "",
+                () -> loadCurrentWeather(location));
+    }
 
+    /**
+     * Reload current weather into the cache ahead of expiry
+     */
+    public String refreshCurrentWeather(String location) {
+        String weatherJson = loadCurrentWeather(location);
+        cacheStore.put(CacheTtlPolicy.CURRENT_WEATHER, location, "", weatherJson);
         return weatherJson;
     }
 
     /**
      * Cache weather forecast data
      */
-    @Cacheable(value = "weatherForecast", key = "#location + ':' + #days")
     public String getWeatherForecastCached(String location, int days) {
-        log.info("Fetching weather forecast for location: {} for {} days", location, days);
+        return cacheStore.getOrLoad(CacheTtlPolicy.WEATHER_FORECAST, location, ":" + days,
+                () -> loadWeatherForecast(location, days));
+    }
 
-        String forecastJson = generateForecastJson(location, days);
+    /**
+     * Reload a weather forecast into the cache ahead of expiry
+     */
+    public String refreshWeatherForecast(String location, int days) {
+        String forecastJson = loadWeatherForecast(location, days);
+        cacheStore.put(CacheTtlPolicy.WEATHER_FORECAST, location, ":" + days, forecastJson);
+        return forecastJson;
+    }
 
-        // Store in Redis with 30-minute TTL if available
-        if (isRedisAvailable()) {
-            String key = FORECAST_KEY + location.toLowerCase() + ":" + days;
-            redisTemplate.opsForValue().set(key, forecastJson, 30, TimeUnit.MINUTES);
-        }
+    private String loadCurrentWeather(String location) {
+        log.info("Fetching current weather for location: {}", location);
 
-        return forecastJson;
+        // This would normally call external API
+        return generateCurrentWeatherJson(location);
+    }
+
+    private String loadWeatherForecast(String location, int days) {
+        log.info("Fetching weather forecast for location: {} for {} days", location, days);
+
+        return generateForecastJson(location, days);
     }
 
     /**
      * Cache historical weather data
      */
-    @Cacheable(value = "historicalWeather", key = "#location + ':' + #startDate + ':' + #endDate")
     public String getHistoricalWeatherCached(String location, String startDate, String endDate) {
-        log.info("Fetching historical weather for location: {} from {} to {}", location, startDate, endDate);
-
-        String historicalJson = generateHistoricalWeatherJson(location, startDate, endDate);
-
-        // Store in Redis with 2-hour TTL if available (historical data doesn't change)
-        if (isRedisAvailable()) {
-            String key = HISTORICAL_KEY + location.toLowerCase() + ":" + startDate + ":" + endDate;
-            redisTemplate.opsForValue().set(key, historicalJson, 2, TimeUnit.HOURS);
-        }
-
-        return historicalJson;
+        return cacheStore.getOrLoad(CacheTtlPolicy.HISTORICAL_WEATHER, location, ":" + startDate + ":" + endDate,
+                () -> {
+                    log.info("Fetching historical weather for location: {} from {} to {}", location, startDate,
+                            endDate);
+                    return generateHistoricalWeatherJson(location, startDate, endDate);
+                });
     }
 
     /**
      * Cache user weather preferences
      */
     public void cacheUserPreferences(String userId, Object preferences) {
-        if (isRedisAvailable()) {
-            String key = USER_PREFERENCES_KEY + userId;
-            redisTemplate.opsForValue().set(key, preferences, 1, TimeUnit.HOURS);
-            log.info("Cached weather preferences for user: {}", userId);
-        }
+        valueStore.set(USER_PREFERENCES_KEY + userId, preferences, ttlPolicy.ttlFor(CacheTtlPolicy.USER_PREFERENCES));
+        log.info("Cached weather preferences for user: {}", userId);
     }
 
     /**
      * Get cached user preferences
      */
     public Object getUserPreferences(String userId) {
-        if (!isRedisAvailable()) {
-            return null;
-        }
-        String key = USER_PREFERENCES_KEY + userId;
-        return redisTemplate.opsForValue().get(key);
+        return valueStore.get(USER_PREFERENCES_KEY + userId);
     }
 
     /**
      * Track popular locations (using Redis sorted sets)
      */
     public void incrementLocationPopularity(String location) {
-        if (isRedisAvailable()) {
-            redisTemplate.opsForZSet().incrementScore(POPULAR_LOCATIONS_KEY, location.toLowerCase(), 1);
-            log.debug("Incremented popularity for location: {}", location);
-        }
+        redisHealthMonitor.execute(
+                () -> redisTemplate.opsForZSet().incrementScore(POPULAR_LOCATIONS_KEY, location.toLowerCase(), 1),
+                null);
     }
 
     /**
      * Get popular locations
      */
     public Set<Object> getPopularLocations(int limit) {
-        if (!isRedisAvailable()) {
-            return null;
-        }
-        return redisTemplate.opsForZSet().reverseRange(POPULAR_LOCATIONS_KEY, 0, limit - 1);
+        return redisHealthMonitor.execute(
+                () -> redisTemplate.opsForZSet().reverseRange(POPULAR_LOCATIONS_KEY, 0, limit - 1), null);
     }
 
     /**
      * Cache weather alerts
      */
     public void cacheWeatherAlert(String location, Object alert) {
-        if (isRedisAvailable()) {
-            String key = WEATHER_ALERTS_KEY + location.toLowerCase();
-            redisTemplate.opsForValue().set(key, alert, 1, TimeUnit.MINUTES);
-            log.info("Cached weather alert for location: {}", location);
-        }
+        valueStore.set(WEATHER_ALERTS_KEY + location.toLowerCase(), alert, ttlPolicy.ttlFor(CacheTtlPolicy.WEATHER_ALERTS));
+        log.info("Cached weather alert for location: {}", location);
     }
 
     /**
      * Get weather alerts
      */
     public Object getWeatherAlert(String location) {
-        if (!isRedisAvailable()) {
-            return null;
-        }
-        String key = WEATHER_ALERTS_KEY + location.toLowerCase();
-        return redisTemplate.opsForValue().get(key);
+        return valueStore.get(WEATHER_ALERTS_KEY + location.toLowerCase());
     }
 
     /**
      * Clear all caches for a location
      */
-    @CacheEvict(value = { "currentWeather", "weatherForecast", "historicalWeather" }, key = "#location")
     public void clearLocationCache(String location) {
-        if (!isRedisAvailable()) {
-            return;
-        }
-        // Also clear Redis keys
-        String currentKey = CURRENT_WEATHER_KEY + location.toLowerCase();
-        String forecastPattern = FORECAST_KEY + location.toLowerCase() + "*";
-        String historicalPattern = HISTORICAL_KEY + location.toLowerCase() + "*";
-
-        redisTemplate.delete(currentKey);
+        // Evict exactly the entries written for this location, no keyspace scan
+        int cleared = cacheStore.evictLocation(location);
 
-        // Delete keys matching pattern
-        Set<String> forecastKeys = redisTemplate.keys(forecastPattern);
-        Set<String> historicalKeys = redisTemplate.keys(historicalPattern);
-
-        if (forecastKeys != null && !forecastKeys.isEmpty()) {
-            redisTemplate.delete(forecastKeys);
-        }
-        if (historicalKeys != null && !historicalKeys.isEmpty()) {
-            redisTemplate.delete(historicalKeys);
-        }
+        log.info("Cleared all cached data for location: {} ({} keys)", location, cleared);
+    }
 
-        log.info("Cleared all cached data for location: {}", location);
+    /**
+     * What is currently cached for a location, with remaining TTLs
+     */
+    public List<Map<String, Object>> getLocationCacheEntries(String location) {
+        return cacheStore.entriesFor(location);
     }
 
     /**
@@ -185,17 +171,18 @@ public class WeatherCacheService {
      */
     public Object getCacheStats() {
         try {
-            // Get cache size information
-            Set<String> currentWeatherKeys = redisTemplate.keys(CURRENT_WEATHER_KEY + "*");
-            Set<String> forecastKeys = redisTemplate.keys(FORECAST_KEY + "*");
-            Set<String> historicalKeys = redisTemplate.keys(HISTORICAL_KEY + "*");
-
+            // Cache sizes come from the write-time key index
             var stats = new java.util.HashMap<String, Object>();
-            stats.put("currentWeatherCacheSize", currentWeatherKeys != null ? currentWeatherKeys.size() : 0);
-            stats.put("forecastCacheSize", forecastKeys != null ? forecastKeys.size() : 0);
-            stats.put("historicalCacheSize", historicalKeys != null ? historicalKeys.size() : 0);
-            stats.put("popularLocationsCount", redisTemplate.opsForZSet().zCard(POPULAR_LOCATIONS_KEY));
-            stats.put("cacheHitRatio", "Calculated based on actual usage");
+            stats.put("currentWeatherCacheSize", cacheKeyIndex.liveCount(CacheTtlPolicy.CURRENT_WEATHER));
+            stats.put("forecastCacheSize", cacheKeyIndex.liveCount(CacheTtlPolicy.WEATHER_FORECAST));
+            stats.put("historicalCacheSize", cacheKeyIndex.liveCount(CacheTtlPolicy.HISTORICAL_WEATHER));
+            stats.put("ttlPolicySeconds", ttlPolicySeconds());
+            stats.put("popularLocationsCount",
+                    redisHealthMonitor.execute(() -> redisTemplate.opsForZSet().zCard(POPULAR_LOCATIONS_KEY), 0L));
+            stats.put("cacheHitRatio", cacheMetrics.getOverallHitRatio());
+            stats.put("cacheMetrics", cacheMetrics.getStats());
+            stats.put("tiers", cacheManager.getStats());
+            stats.put("redis", valueStore.getStats());
             stats.put("lastUpdated", LocalDateTime.now());
 
             return objectMapper.writeValueAsString(stats);
@@ -205,6 +192,12 @@ public class WeatherCacheService {
         }
     }
 
+    private Map<String, Long> ttlPolicySeconds() {
+        Map<String, Long> seconds = new LinkedHashMap<>();
+        ttlPolicy.getTtls().forEach((type, ttl) -> seconds.put(type, ttl.toSeconds()));
+        return seconds;
+    }
+
     // Helper methods to generate mock data (in real app, these would call external
     // APIs)
     private String generateCurrentWeatherJson(String location) {
@@ -286,19 +279,4 @@ public class WeatherCacheService {
                 }
                 """.formatted(location, startDate, endDate, LocalDateTime.now());
     }
-
-    /**
-     * Check if Redis is available
-     */
-    private boolean isRedisAvailable() {
-        try {
-            if (redisTemplate.getConnectionFactory() != null) {
-                redisTemplate.opsForValue().get("redis:health:check");
-                return true;
-            }
-        } catch (Exception e) {
-            log.debug("Redis not available: {}", e.getMessage());
-        }
-        return false;
-    }
 }
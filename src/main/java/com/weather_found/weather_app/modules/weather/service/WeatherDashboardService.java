@@ -1,5 +1,11 @@
 package com.weather_found.weather_app.modules.weather.service;
 
+import com.weather_found.weather_app.modules.weather.cache.CacheMetrics;
+import com.weather_found.weather_app.modules.weather.cache.CacheTtlPolicy;
+import com.weather_found.weather_app.modules.weather.cache.RedisHealthMonitor;
+import com.weather_found.weather_app.modules.weather.cache.RedisValueStore;
+import com.weather_found.weather_app.modules.weather.cache.StampedeGuard;
+import com.weather_found.weather_app.modules.weather.client.CallPriority;
 import com.weather_found.weather_app.modules.weather.model.Location;
 import com.weather_found.weather_app.modules.weather.model.WeatherAlert;
 import com.weather_found.weather_app.modules.weather.model.WeatherDataEntity;
@@ -8,12 +14,13 @@ import com.weather_found.weather_app.modules.weather.repository.WeatherAlertRepo
 import com.weather_found.weather_app.modules.weather.repository.WeatherDataRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -27,66 +34,49 @@ public class WeatherDashboardService {
     private final WeatherDataRepository weatherDataRepository;
     private final WeatherLocationRepository locationRepository;
     private final WeatherAlertRepository alertRepository;
-    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisValueStore valueStore;
+    private final RedisHealthMonitor redisHealthMonitor;
+    private final StampedeGuard stampedeGuard;
+    private final CacheMetrics cacheMetrics;
+    private final CacheTtlPolicy ttlPolicy;
     private final WeatherLocationService locationService;
     private final WeatherAlertService alertService;
     private final ExternalWeatherApiService externalWeatherApiService;
+    private final DashboardComposer dashboardComposer;
+    private final DashboardFragments dashboardFragments;
+    private final WeatherAggregateService aggregateService;
 
     // Cache keys
     private static final String DASHBOARD_CACHE_KEY = "dashboard:weather:";
-    private static final String ANALYTICS_CACHE_KEY = "analytics:weather:";
     private static final String SUMMARY_CACHE_KEY = "summary:weather:";
 
     /**
-     * Get comprehensive weather dashboard data
+     * Get comprehensive weather dashboard data. Assembled per request from shared
+     * fragments; only the role decides which sections are included.
      */
-    public Map<String, Object> getWeatherDashboard(Long userId, String userRole) {
-        String cacheKey = DASHBOARD_CACHE_KEY + userId + ":" + userRole;
-
-        if (isRedisConnected()) {
-            @SuppressWarnings("unchecked")
-            Map<String, Object> cachedDashboard = (Map<String, Object>) redisTemplate.opsForValue().get(cacheKey);
-
-            if (cachedDashboard != null) {
-                return cachedDashboard;
-            }
-        }
-
+    public Map<String, Object> getWeatherDashboard(String userRole) {
         Map<String, Object> dashboard = new HashMap<>();
 
-        try {
-            // Current weather summary
-            dashboard.put("currentWeatherSummary", getCurrentWeatherSummary());
-
-            // Active alerts
-            dashboard.put("activeAlerts", getActiveAlertsSummary());
-
-            // Popular locations
-            dashboard.put("popularLocations", getPopularLocationsSummary());
-
-            // Weather analytics (admin only)
-            if ("ADMIN".equals(userRole)) {
-                dashboard.put("analytics", getWeatherAnalytics());
-                dashboard.put("systemMetrics", getSystemMetrics());
-            }
-
-            // Recent weather data
-            dashboard.put("recentWeatherData", getRecentWeatherData());
-
-            // Weather trends
-            dashboard.put("weatherTrends", getWeatherTrends());
+        List<DashboardComposer.Section> sections = new ArrayList<>();
+        sections.add(fragment(DashboardFragments.Fragment.CURRENT_SUMMARY, this::getCurrentWeatherSummary));
+        sections.add(fragment(DashboardFragments.Fragment.ALERTS, this::getActiveAlertsSummary));
+        sections.add(new DashboardComposer.Section("popularLocations", this::getPopularLocationsSummary));
 
-            dashboard.put("lastUpdated", LocalDateTime.now());
+        // Weather analytics (admin only)
+        if ("ADMIN".equals(userRole)) {
+            sections.add(new DashboardComposer.Section("analytics", this::getWeatherAnalytics));
+            sections.add(new DashboardComposer.Section("systemMetrics", this::getSystemMetrics));
+        }
 
-            // Cache for 10 minutes if Redis is available
-            if (isRedisConnected()) {
-                redisTemplate.opsForValue().set(cacheKey, dashboard, 10, TimeUnit.MINUTES);
-            }
+        sections.add(fragment(DashboardFragments.Fragment.RECENT_DATA, this::getRecentWeatherData));
+        sections.add(fragment(DashboardFragments.Fragment.TRENDS, this::getWeatherTrends));
 
-        } catch (Exception e) {
-            log.error("Error building weather dashboard", e);
-            dashboard.put("error", "Failed to load dashboard data");
-        }
+        // Sections run concurrently; late ones come back stale or unavailable
+        DashboardComposer.Composition composition = dashboardComposer.compose(sections);
+        dashboard.putAll(composition.values());
+        dashboard.put("sections", composition.sections());
+        dashboard.put("partial", !composition.complete());
+        dashboard.put("lastUpdated", LocalDateTime.now());
 
         return dashboard;
     }
@@ -97,13 +87,9 @@ public class WeatherDashboardService {
     public Map<String, Object> getLocationWeatherSummary(Long locationId) {
         String cacheKey = SUMMARY_CACHE_KEY + "location:" + locationId;
 
-        if (isRedisConnected()) {
-            @SuppressWarnings("unchecked")
-            Map<String, Object> cachedSummary = (Map<String, Object>) redisTemplate.opsForValue().get(cacheKey);
-
-            if (cachedSummary != null) {
-                return cachedSummary;
-            }
+        StampedeGuard.Lookup cached = stampedeGuard.read(cacheKey);
+        if (cached.isFresh()) {
+            return asMap(cached.value());
         }
 
         Map<String, Object> summary = new HashMap<>();
@@ -138,13 +124,13 @@ public class WeatherDashboardService {
             summary.put("location", location);
             summary.put("lastUpdated", LocalDateTime.now());
 
-            // Cache for 5 minutes if Redis is available
-            if (isRedisConnected()) {
-                redisTemplate.opsForValue().set(cacheKey, summary, 5, TimeUnit.MINUTES);
-            }
+            stampedeGuard.write(cached, summary, ttlPolicy.ttlFor(CacheTtlPolicy.LOCATION_SUMMARY));
 
         } catch (Exception e) {
             log.error("Error building location weather summary for location: {}", locationId, e);
+            if (cached.value() != null) {
+                return asMap(cached.value());
+            }
             summary.put("error", "Failed to load location summary");
         }
 
@@ -155,56 +141,14 @@ public class WeatherDashboardService {
      * Get weather analytics data
      */
     public Map<String, Object> getWeatherAnalytics() {
-        String cacheKey = ANALYTICS_CACHE_KEY + "general";
-
-        if (isRedisConnected()) {
-            @SuppressWarnings("unchecked")
-            Map<String, Object> cachedAnalytics = (Map<String, Object>) redisTemplate.opsForValue().get(cacheKey);
-
-            if (cachedAnalytics != null) {
-                return cachedAnalytics;
-            }
-        }
-
-        Map<String, Object> analytics = new HashMap<>();
-
         try {
-            // Total locations tracked
-            long totalLocations = locationRepository.count();
-            analytics.put("totalLocations", totalLocations);
-
-            // Total weather data points
-            long totalWeatherData = weatherDataRepository.count();
-            analytics.put("totalWeatherDataPoints", totalWeatherData);
-
-            // Active alerts breakdown
-            Map<String, Long> alertBreakdown = new HashMap<>();
-            alertBreakdown.put("critical", alertRepository.countBySeverityAndStatus("CRITICAL", "ACTIVE"));
-            alertBreakdown.put("high", alertRepository.countBySeverityAndStatus("HIGH", "ACTIVE"));
-            alertBreakdown.put("medium", alertRepository.countBySeverityAndStatus("MEDIUM", "ACTIVE"));
-            alertBreakdown.put("low", alertRepository.countBySeverityAndStatus("LOW", "ACTIVE"));
-            analytics.put("alertBreakdown", alertBreakdown);
-
-            // Data collection trends (last 7 days)
-            analytics.put("dataCollectionTrends", getDataCollectionTrends());
-
-            // Popular weather conditions
-            analytics.put("popularConditions", getPopularWeatherConditions());
-
-            // Temperature statistics
-            analytics.put("temperatureStats", getTemperatureStatistics());
-
-            // Cache for 15 minutes if Redis is available
-            if (isRedisConnected()) {
-                redisTemplate.opsForValue().set(cacheKey, analytics, 15, TimeUnit.MINUTES);
-            }
-
+            return dashboardFragments.get(DashboardFragments.Fragment.ANALYTICS, this::buildWeatherAnalytics);
         } catch (Exception e) {
             log.error("Error building weather analytics", e);
+            Map<String, Object> analytics = new HashMap<>();
             analytics.put("error", "Failed to load analytics data");
+            return analytics;
         }
-
-        return analytics;
     }
 
     /**
@@ -215,7 +159,10 @@ public class WeatherDashboardService {
 
         try {
             // Redis connection status
-            metrics.put("redisConnected", isRedisConnected());
+            metrics.put("redisConnected", redisHealthMonitor.isAvailable());
+            metrics.put("redis", valueStore.getStats());
+            metrics.put("stampede", stampedeGuard.getStats());
+            metrics.put("dashboardSections", dashboardComposer.getStats());
 
             // Database metrics
             metrics.put("activeConnections", "N/A"); // Would need database pool metrics
@@ -245,13 +192,9 @@ public class WeatherDashboardService {
     public Map<String, Object> getForecastDashboard(Long locationId, int days) {
         String cacheKey = DASHBOARD_CACHE_KEY + "forecast:" + locationId + ":" + days;
 
-        if (isRedisConnected()) {
-            @SuppressWarnings("unchecked")
-            Map<String, Object> cachedForecast = (Map<String, Object>) redisTemplate.opsForValue().get(cacheKey);
-
-            if (cachedForecast != null) {
-                return cachedForecast;
-            }
+        StampedeGuard.Lookup cached = stampedeGuard.read(cacheKey);
+        if (cached.isFresh()) {
+            return asMap(cached.value());
         }
 
         Map<String, Object> forecast = new HashMap<>();
@@ -274,13 +217,13 @@ public class WeatherDashboardService {
             forecast.put("days", days);
             forecast.put("generatedAt", LocalDateTime.now());
 
-            // Cache for 30 minutes if Redis is available
-            if (isRedisConnected()) {
-                redisTemplate.opsForValue().set(cacheKey, forecast, 30, TimeUnit.MINUTES);
-            }
+            stampedeGuard.write(cached, forecast, ttlPolicy.ttlFor(CacheTtlPolicy.FORECAST_DASHBOARD));
 
         } catch (Exception e) {
             log.error("Error building forecast dashboard for location: {}", locationId, e);
+            if (cached.value() != null) {
+                return asMap(cached.value());
+            }
             forecast.put("error", "Failed to load forecast data");
         }
 
@@ -288,56 +231,73 @@ public class WeatherDashboardService {
     }
 
     // Helper methods
-    private Map<String, Object> getCurrentWeatherSummary() {
-        Map<String, Object> summary = new HashMap<>();
+    private Map<String, Object> buildWeatherAnalytics() {
+        Map<String, Object> analytics = new HashMap<>();
 
-        try {
-            List<Location> topLocations = locationRepository.findAll().stream()
-                    .limit(5)
-                    .collect(Collectors.toList());
+        // Total locations tracked
+        long totalLocations = locationRepository.count();
+        analytics.put("totalLocations", totalLocations);
 
-            List<Map<String, Object>> currentConditions = new ArrayList<>();
-
-            for (Location location : topLocations) {
-                try {
-                    Map<String, Object> weather = externalWeatherApiService.getCurrentWeather(
-                            location.getLatitude(), location.getLongitude());
-                    weather.put("locationName", location.getName());
-                    currentConditions.add(weather);
-                } catch (Exception e) {
-                    log.debug("Error getting current weather for location: {}", location.getName());
-                }
-            }
+        // Total weather data points
+        long totalWeatherData = aggregateService.totalObservations();
+        analytics.put("totalWeatherDataPoints", totalWeatherData);
 
-            summary.put("topLocations", currentConditions);
-            summary.put("totalLocationsTracked", locationRepository.count());
+        // Active alerts breakdown
+        Map<String, Long> alertBreakdown = new HashMap<>();
+        alertBreakdown.put("critical", alertRepository.countBySeverityAndStatus("CRITICAL", "ACTIVE"));
+        alertBreakdown.put("high", alertRepository.countBySeverityAndStatus("HIGH", "ACTIVE"));
+        alertBreakdown.put("medium", alertRepository.countBySeverityAndStatus("MEDIUM", "ACTIVE"));
+        alertBreakdown.put("low", alertRepository.countBySeverityAndStatus("LOW", "ACTIVE"));
+        analytics.put("alertBreakdown", alertBreakdown);
 
-        } catch (Exception e) {
-            log.error("Error building current weather summary", e);
+        // Data collection trends (last 7 days)
+        analytics.put("dataCollectionTrends", getDataCollectionTrends());
+
+        // Popular weather conditions
+        analytics.put("popularConditions", getPopularWeatherConditions());
+
+        // Temperature statistics
+        analytics.put("temperatureStats", getTemperatureStatistics());
+
+        return analytics;
+    }
+
+    /**
+     * Failures propagate, like every fragment loader, so a broken rebuild keeps the
+     * previous fragment instead of caching an empty one for everybody
+     */
+    private Map<String, Object> getCurrentWeatherSummary() {
+        Map<String, Object> summary = new HashMap<>();
+
+        List<Location> topLocations = locationRepository.findAll(PageRequest.of(0, 5)).getContent();
+
+        List<Map<String, Object>> currentConditions = Collections.synchronizedList(new ArrayList<>());
+        externalWeatherApiService.fetchCurrentWeatherBulk(topLocations, CallPriority.INTERACTIVE,
+                (location, weather) -> currentConditions.add(weather));
+        if (!topLocations.isEmpty() && currentConditions.isEmpty()) {
+            throw new IllegalStateException("No current weather delivered for the top locations");
         }
 
+        summary.put("topLocations", currentConditions);
+        summary.put("totalLocationsTracked", locationRepository.count());
+
         return summary;
     }
 
     private Map<String, Object> getActiveAlertsSummary() {
         Map<String, Object> summary = new HashMap<>();
 
-        try {
-            List<WeatherAlert> criticalAlerts = alertService.getCriticalAlerts();
-            summary.put("criticalAlerts", criticalAlerts);
-            summary.put("criticalCount", criticalAlerts.size());
-
-            Map<String, Object> alertStats = alertService.getAlertStatistics();
-            summary.put("totalActive", alertStats.get("totalActiveAlerts"));
-            summary.put("breakdown", Map.of(
-                    "critical", alertStats.get("criticalAlerts"),
-                    "high", alertStats.get("highAlerts"),
-                    "medium", alertStats.get("mediumAlerts"),
-                    "low", alertStats.get("lowAlerts")));
+        List<WeatherAlert> criticalAlerts = alertService.getCriticalAlerts();
+        summary.put("criticalAlerts", criticalAlerts);
+        summary.put("criticalCount", criticalAlerts.size());
 
-        } catch (Exception e) {
-            log.error("Error building active alerts summary", e);
-        }
+        Map<String, Object> alertStats = alertService.getAlertStatistics();
+        summary.put("totalActive", alertStats.get("totalActiveAlerts"));
+        summary.put("breakdown", Map.of(
+                "critical", alertStats.get("criticalAlerts"),
+                "high", alertStats.get("highAlerts"),
+                "medium", alertStats.get("mediumAlerts"),
+                "low", alertStats.get("lowAlerts")));
 
         return summary;
     }
@@ -347,44 +307,37 @@ public class WeatherDashboardService {
         return new ArrayList<>();
     }
 
+    /**
+     * Failures propagate, so the composer reports the section as stale or unavailable
+     * instead of caching an empty list as a good fragment
+     */
     private List<Map<String, Object>> getRecentWeatherData() {
-        try {
-            LocalDateTime since = LocalDateTime.now().minusHours(6);
-            return weatherDataRepository.findRecentWeatherData(since).stream()
-                    .limit(20)
-                    .map(data -> {
-                        Map<String, Object> dataInfo = new HashMap<>();
-                        dataInfo.put("locationName", data.getLocation().getName());
-                        dataInfo.put("temperature", data.getTemperature());
-                        dataInfo.put("humidity", data.getHumidity());
-                        dataInfo.put("weatherCondition", data.getWeatherCondition());
-                        dataInfo.put("timestamp", data.getRecordedAt());
-                        return dataInfo;
-                    })
-                    .collect(Collectors.toList());
-        } catch (Exception e) {
-            log.error("Error getting recent weather data", e);
-            return Collections.emptyList();
-        }
+        LocalDateTime since = LocalDateTime.now().minusHours(6);
+        return weatherDataRepository.findRecentWeatherData(since, PageRequest.of(0, 20)).stream()
+                .map(data -> {
+                    Map<String, Object> dataInfo = new HashMap<>();
+                    dataInfo.put("locationName", data.getLocation().getName());
+                    dataInfo.put("temperature", data.getTemperature());
+                    dataInfo.put("humidity", data.getHumidity());
+                    dataInfo.put("weatherCondition", data.getWeatherCondition());
+                    dataInfo.put("timestamp", data.getRecordedAt());
+                    return dataInfo;
+                })
+                .collect(Collectors.toList());
     }
 
     private Map<String, Object> getWeatherTrends() {
         Map<String, Object> trends = new HashMap<>();
 
-        try {
-            LocalDateTime weekAgo = LocalDateTime.now().minusDays(7);
-
-            // Temperature trends
-            List<Object[]> tempTrends = weatherDataRepository.getTemperatureTrends(weekAgo);
-            trends.put("temperatureTrends", tempTrends);
+        LocalDate weekAgo = LocalDate.now().minusDays(7);
 
-            // Humidity trends
-            List<Object[]> humidityTrends = weatherDataRepository.getHumidityTrends(weekAgo);
-            trends.put("humidityTrends", humidityTrends);
+        // Temperature trends
+        List<Object[]> tempTrends = aggregateService.temperatureTrends(weekAgo);
+        trends.put("temperatureTrends", tempTrends);
 
-        } catch (Exception e) {
-            log.error("Error getting weather trends", e);
-        }
+        // Humidity trends
+        List<Object[]> humidityTrends = aggregateService.humidityTrends(weekAgo);
+        trends.put("humidityTrends", humidityTrends);
 
         return trends;
     }
@@ -393,25 +346,20 @@ public class WeatherDashboardService {
         Map<String, Object> stats = new HashMap<>();
 
         try {
-            LocalDateTime monthAgo = LocalDateTime.now().minusDays(30);
-
-            // Average temperature for the month
-            Double avgTemp = weatherDataRepository.getAverageTemperatureByLocation(location, monthAgo);
-            stats.put("averageTemperature", avgTemp);
+            LocalDate monthAgo = LocalDate.now().minusDays(30);
+            WeatherAggregateService.Totals totals = aggregateService.totalsForLocation(location.getId(), monthAgo);
 
-            // Max and min temperatures
-            Double maxTemp = weatherDataRepository.getMaxTemperatureByLocation(location, monthAgo);
-            Double minTemp = weatherDataRepository.getMinTemperatureByLocation(location, monthAgo);
-            stats.put("maxTemperature", maxTemp);
-            stats.put("minTemperature", minTemp);
+            // Average, max and min temperatures for the month
+            stats.put("averageTemperature", totals.averageTemperature());
+            stats.put("maxTemperature", totals.maxTemperature());
+            stats.put("minTemperature", totals.minTemperature());
 
             // Alert count for this location
             long alertCount = alertRepository.countByLocationAndStatus(location, "ACTIVE");
             stats.put("activeAlerts", alertCount);
 
             // Data points collected
-            long dataPoints = weatherDataRepository.countByLocationAndTimestampAfter(location, monthAgo);
-            stats.put("dataPointsCollected", dataPoints);
+            stats.put("dataPointsCollected", totals.observations());
 
         } catch (Exception e) {
             log.error("Error getting location statistics for: {}", location.getName(), e);
@@ -420,80 +368,54 @@ public class WeatherDashboardService {
         return stats;
     }
 
+    /**
+     * Parts of the analytics fragment; failures propagate like the fragment loaders,
+     * so the previous analytics are kept instead of caching empty parts
+     */
     private Map<String, Object> getDataCollectionTrends() {
         Map<String, Object> trends = new HashMap<>();
 
-        try {
-            LocalDateTime weekAgo = LocalDateTime.now().minusDays(7);
-            List<Object[]> dailyCounts = weatherDataRepository.getDailyDataCounts(weekAgo);
-            trends.put("dailyDataCounts", dailyCounts);
-
-        } catch (Exception e) {
-            log.error("Error getting data collection trends", e);
-        }
+        LocalDate weekAgo = LocalDate.now().minusDays(7);
+        List<Object[]> dailyCounts = aggregateService.dailyCounts(weekAgo);
+        trends.put("dailyDataCounts", dailyCounts);
 
         return trends;
     }
 
     private List<Map<String, Object>> getPopularWeatherConditions() {
-        try {
-            LocalDateTime monthAgo = LocalDateTime.now().minusDays(30);
-            List<Object[]> rawData = weatherDataRepository.getPopularWeatherConditionsRaw(monthAgo);
-
-            return rawData.stream()
-                    .map(row -> {
-                        Map<String, Object> condition = new HashMap<>();
-                        condition.put("condition", row[0]);
-                        condition.put("count", row[1]);
-                        return condition;
-                    })
-                    .collect(Collectors.toList());
-        } catch (Exception e) {
-            log.error("Error getting popular weather conditions", e);
-            return Collections.emptyList();
-        }
+        LocalDate monthAgo = LocalDate.now().minusDays(30);
+        List<Object[]> rawData = aggregateService.conditionCounts(monthAgo);
+
+        return rawData.stream()
+                .map(row -> {
+                    Map<String, Object> condition = new HashMap<>();
+                    condition.put("condition", row[0]);
+                    condition.put("count", row[1]);
+                    return condition;
+                })
+                .collect(Collectors.toList());
     }
 
     private Map<String, Object> getTemperatureStatistics() {
         Map<String, Object> stats = new HashMap<>();
 
-        try {
-            LocalDateTime monthAgo = LocalDateTime.now().minusDays(30);
-
-            Double avgTemp = weatherDataRepository.getGlobalAverageTemperature(monthAgo);
-            Double maxTemp = weatherDataRepository.getGlobalMaxTemperature(monthAgo);
-            Double minTemp = weatherDataRepository.getGlobalMinTemperature(monthAgo);
-
-            stats.put("globalAverage", avgTemp);
-            stats.put("globalMax", maxTemp);
-            stats.put("globalMin", minTemp);
-
-        } catch (Exception e) {
-            log.error("Error getting temperature statistics", e);
-        }
+        WeatherAggregateService.Totals totals = aggregateService.totals(LocalDate.now().minusDays(30));
+        stats.put("globalAverage", totals.averageTemperature());
+        stats.put("globalMax", totals.maxTemperature());
+        stats.put("globalMin", totals.minTemperature());
 
         return stats;
     }
 
-    private boolean isRedisConnected() {
-        try {
-            if (redisTemplate.getConnectionFactory() != null) {
-                redisTemplate.opsForValue().get("redis:health:check");
-                return true;
-            }
-            return false;
-        } catch (Exception e) {
-            return false;
-        }
-    }
-
+    @SuppressWarnings("unchecked")
     private Map<String, Object> getCacheHitRates() {
-        // This would require custom Redis metrics tracking
-        // For now, return placeholder data
+        Map<String, Object> stats = cacheMetrics.getStats();
         Map<String, Object> rates = new HashMap<>();
-        rates.put("overall", "N/A");
-        rates.put("weather", "N/A");
-        rates.put("locations", "N/A");
+        rates.put("overall", stats.get("overallHitRatio"));
+        ((Map<String, Object>) stats.get("caches")).forEach(
+                (name, counters) -> rates.put(name, ((Map<String, Object>) counters).get("hitRatio")));
+        ((Map<String, Object>) stats.get("keyPrefixes")).forEach(
+                (prefix, counters) -> rates.put(prefix, ((Map<String, Object>) counters).get("hitRatio")));
         return rates;
     }
 
@@ -506,4 +428,13 @@ public class WeatherDashboardService {
         stats.put("errorRate", "N/A");
         return stats;
     }
+
+    private DashboardComposer.Section fragment(DashboardFragments.Fragment fragment, Supplier<?> loader) {
+        return new DashboardComposer.Section(fragment.section(), () -> dashboardFragments.get(fragment, loader));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> asMap(Object cached) {
+        return (Map<String, Object>) cached;
+    }
 }
@@ -0,0 +1,275 @@
+package com.weather_found.weather_app.modules.weather.service;
+
+import com.weather_found.weather_app.modules.weather.model.Location;
+import com.weather_found.weather_app.modules.weather.model.WeatherDailyAggregate;
+import com.weather_found.weather_app.modules.weather.model.WeatherDataEntity;
+import com.weather_found.weather_app.modules.weather.model.WeatherRollup;
+import com.weather_found.weather_app.modules.weather.repository.WeatherDailyAggregateRepository;
+import com.weather_found.weather_app.modules.weather.repository.WeatherDataRepository;
+import com.weather_found.weather_app.modules.weather.repository.WeatherHourlyRollupRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stored observations of a location over a time range, read from the cheapest
+ * table that can answer it: raw rows for short recent ranges, hourly rollups up to
+ * {@code hourly-max-span-days}, the daily aggregates beyond that or once a range
+ * reaches past the retention of the finer table.
+ * <p>
+ * Hourly rollups only reach as far as compaction has got. The part of a range after
+ * {@link WeatherRollupService#compactedUntil()} is summarized from raw rows into
+ * the same hourly buckets, so recent observations are never missing. The daily
+ * aggregates are updated as observations are stored and need no such tail.
+ */
+@Service
+public class WeatherHistoryService {
+
+    public enum Resolution {
+        RAW, HOURLY, DAILY
+    }
+
+    private final WeatherDataRepository weatherDataRepository;
+    private final WeatherHourlyRollupRepository hourlyRollupRepository;
+    private final WeatherDailyAggregateRepository dailyAggregateRepository;
+    private final WeatherRollupService rollupService;
+    private final Duration rawMaxSpan;
+    private final Duration hourlyMaxSpan;
+    private final int rawRetentionDays;
+    private final int hourlyRetentionDays;
+
+    public WeatherHistoryService(WeatherDataRepository weatherDataRepository,
+            WeatherHourlyRollupRepository hourlyRollupRepository,
+            WeatherDailyAggregateRepository dailyAggregateRepository,
+            WeatherRollupService rollupService,
+            @Value("${weather.history.raw-max-span-hours:48}") long rawMaxSpanHours,
+            @Value("${weather.history.hourly-max-span-days:31}") long hourlyMaxSpanDays,
+            @Value("${weather.retention.raw-days:90}") int rawRetentionDays,
+            @Value("${weather.retention.hourly-days:400}") int hourlyRetentionDays) {
+        this.weatherDataRepository = weatherDataRepository;
+        this.hourlyRollupRepository = hourlyRollupRepository;
+        this.dailyAggregateRepository = dailyAggregateRepository;
+        this.rollupService = rollupService;
+        this.rawMaxSpan = Duration.ofHours(rawMaxSpanHours);
+        this.hourlyMaxSpan = Duration.ofDays(hourlyMaxSpanDays);
+        this.rawRetentionDays = rawRetentionDays;
+        this.hourlyRetentionDays = hourlyRetentionDays;
+    }
+
+    /**
+     * Observations of a location between {@code from} and {@code to}, oldest first
+     */
+    public Map<String, Object> getObservations(Long locationId, LocalDateTime from, LocalDateTime to) {
+        Resolution resolution = resolutionFor(from, to, LocalDateTime.now());
+        List<Map<String, Object>> points = switch (resolution) {
+            case RAW -> rawPoints(locationId, from, to);
+            case HOURLY -> rollupPointsWithRawTail(locationId, from, to);
+            case DAILY -> dailyPoints(locationId, from, to);
+        };
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("locationId", locationId);
+        result.put("from", from);
+        result.put("to", to);
+        result.put("resolution", resolution.name());
+        result.put("points", points);
+        if (resolution == Resolution.HOURLY) {
+            // Buckets from here on were summarized from raw rows at request time
+            result.put("compactedUntil", rollupService.compactedUntil());
+        }
+        return result;
+    }
+
+    Resolution resolutionFor(LocalDateTime from, LocalDateTime to, LocalDateTime now) {
+        Duration span = Duration.between(from, to);
+        if (span.compareTo(rawMaxSpan) <= 0 && within(from, now, rawRetentionDays)) {
+            return Resolution.RAW;
+        }
+        if (span.compareTo(hourlyMaxSpan) <= 0 && within(from, now, hourlyRetentionDays)) {
+            return Resolution.HOURLY;
+        }
+        return Resolution.DAILY;
+    }
+
+    /** Whether {@code from} is still inside a retention of {@code days} (0 = forever) */
+    private static boolean within(LocalDateTime from, LocalDateTime now, int days) {
+        return days <= 0 || !from.isBefore(now.toLocalDate().minusDays(days).atStartOfDay());
+    }
+
+    /**
+     * Hourly rollups up to the compaction watermark, then hourly buckets built from
+     * raw rows for the uncompacted tail
+     */
+    private List<Map<String, Object>> rollupPointsWithRawTail(Long locationId, LocalDateTime from, LocalDateTime to) {
+        LocalDateTime compacted = rollupService.compactedUntil();
+        LocalDateTime tailFrom = compacted == null ? from : compacted;
+
+        List<Map<String, Object>> points = new ArrayList<>();
+        if (from.isBefore(tailFrom)) {
+            LocalDateTime rollupTo = to.isBefore(tailFrom) ? to : tailFrom.minusNanos(1);
+            points.addAll(rollupPoints(hourlyRollupRepository.findByLocationIdAndBucketStartBetweenOrderByBucketStart(
+                    locationId, from, rollupTo)));
+        }
+        if (!to.isBefore(tailFrom)) {
+            LocalDateTime rawFrom = tailFrom.isAfter(from) ? tailFrom : from;
+            points.addAll(bucketPoints(rawRows(locationId, rawFrom, to), ChronoUnit.HOURS));
+        }
+        return points;
+    }
+
+    private List<Map<String, Object>> dailyPoints(Long locationId, LocalDateTime from, LocalDateTime to) {
+        List<WeatherDailyAggregate> days = dailyAggregateRepository.findByLocationIdAndObservedOnBetweenOrderByObservedOn(
+                locationId, from.toLocalDate(), to.toLocalDate());
+
+        List<Map<String, Object>> points = new ArrayList<>(days.size());
+        for (WeatherDailyAggregate day : days) {
+            Map<String, Object> point = new LinkedHashMap<>();
+            point.put("time", day.getObservedOn().atStartOfDay());
+            point.put("count", day.getObservationCount());
+            point.put("temperature", metric(day.getTemperatureMin(), day.getTemperatureMax(),
+                    day.getTemperatureSum(), day.getTemperatureCount()));
+            point.put("humidity", metric(day.getHumidityMin(), day.getHumidityMax(),
+                    day.getHumiditySum(), day.getHumidityCount()));
+            point.put("pressure", metric(day.getPressureMin(), day.getPressureMax(),
+                    day.getPressureSum(), day.getPressureCount()));
+            point.put("windSpeed", metric(day.getWindSpeedMin(), day.getWindSpeedMax(),
+                    day.getWindSpeedSum(), day.getWindSpeedCount()));
+            point.put("precipitation", metric(day.getPrecipitationMin(), day.getPrecipitationMax(),
+                    day.getPrecipitationSum(), day.getPrecipitationCount()));
+            points.add(point);
+        }
+        return points;
+    }
+
+    private List<WeatherDataEntity> rawRows(Long locationId, LocalDateTime from, LocalDateTime to) {
+        Location location = new Location();
+        location.setId(locationId);
+        List<WeatherDataEntity> rows = new ArrayList<>(
+                weatherDataRepository.findByLocationAndRecordedAtBetweenOrderByRecordedAtDesc(location, from, to));
+        rows.sort(Comparator.comparing(WeatherDataEntity::getRecordedAt));
+        return rows;
+    }
+
+    private List<Map<String, Object>> rawPoints(Long locationId, LocalDateTime from, LocalDateTime to) {
+        List<WeatherDataEntity> rows = rawRows(locationId, from, to);
+
+        List<Map<String, Object>> points = new ArrayList<>(rows.size());
+        for (WeatherDataEntity row : rows) {
+            Map<String, Object> point = new LinkedHashMap<>();
+            point.put("time", row.getRecordedAt());
+            point.put("temperature", row.getTemperature());
+            point.put("humidity", row.getHumidity());
+            point.put("pressure", row.getPressure());
+            point.put("windSpeed", row.getWindSpeed());
+            point.put("precipitation", row.getPrecipitation());
+            point.put("weatherCondition", row.getWeatherCondition());
+            point.put("dataSource", row.getDataSource());
+            points.add(point);
+        }
+        return points;
+    }
+
+    private static List<Map<String, Object>> rollupPoints(List<? extends WeatherRollup> rollups) {
+        List<Map<String, Object>> points = new ArrayList<>(rollups.size());
+        for (WeatherRollup rollup : rollups) {
+            Map<String, Object> point = new LinkedHashMap<>();
+            point.put("time", rollup.getBucketStart());
+            point.put("count", rollup.getObservationCount());
+            point.put("temperature", metric(rollup.getTemperatureMin(), rollup.getTemperatureMax(),
+                    rollup.getTemperatureSum(), rollup.getTemperatureCount()));
+            point.put("humidity", metric(rollup.getHumidityMin(), rollup.getHumidityMax(),
+                    rollup.getHumiditySum(), rollup.getHumidityCount()));
+            point.put("pressure", metric(rollup.getPressureMin(), rollup.getPressureMax(),
+                    rollup.getPressureSum(), rollup.getPressureCount()));
+            point.put("windSpeed", metric(rollup.getWindSpeedMin(), rollup.getWindSpeedMax(),
+                    rollup.getWindSpeedSum(), rollup.getWindSpeedCount()));
+            point.put("precipitation", metric(rollup.getPrecipitationMin(), rollup.getPrecipitationMax(),
+                    rollup.getPrecipitationSum(), rollup.getPrecipitationCount()));
+            points.add(point);
+        }
+        return points;
+    }
+
+    /**
+     * Raw rows summarized into buckets of {@code unit}, shaped like rollup points;
+     * rows must be in time order
+     */
+    static List<Map<String, Object>> bucketPoints(List<WeatherDataEntity> rows, ChronoUnit unit) {
+        Map<LocalDateTime, RawBucket> buckets = new LinkedHashMap<>();
+        for (WeatherDataEntity row : rows) {
+            buckets.computeIfAbsent(row.getRecordedAt().truncatedTo(unit), start -> new RawBucket()).add(row);
+        }
+        List<Map<String, Object>> points = new ArrayList<>(buckets.size());
+        buckets.forEach((start, bucket) -> {
+            Map<String, Object> point = new LinkedHashMap<>();
+            point.put("time", start);
+            point.put("count", bucket.count);
+            point.put("temperature", bucket.temperature.toMetric());
+            point.put("humidity", bucket.humidity.toMetric());
+            point.put("pressure", bucket.pressure.toMetric());
+            point.put("windSpeed", bucket.windSpeed.toMetric());
+            point.put("precipitation", bucket.precipitation.toMetric());
+            points.add(point);
+        });
+        return points;
+    }
+
+    private static Map<String, Object> metric(Double min, Double max, double sum, long count) {
+        Map<String, Object> metric = new LinkedHashMap<>();
+        metric.put("min", min);
+        metric.put("max", max);
+        metric.put("avg", count > 0 ? sum / count : null);
+        metric.put("count", count);
+        return metric;
+    }
+
+    private static final class RawBucket {
+        private long count;
+        private final RawMetric temperature = new RawMetric();
+        private final RawMetric humidity = new RawMetric();
+        private final RawMetric pressure = new RawMetric();
+        private final RawMetric windSpeed = new RawMetric();
+        private final RawMetric precipitation = new RawMetric();
+
+        private void add(WeatherDataEntity row) {
+            count++;
+            temperature.add(row.getTemperature());
+            humidity.add(row.getHumidity());
+            pressure.add(row.getPressure());
+            windSpeed.add(row.getWindSpeed());
+            precipitation.add(row.getPrecipitation());
+        }
+    }
+
+    private static final class RawMetric {
+        private Double min;
+        private Double max;
+        private double sum;
+        private long count;
+
+        private void add(BigDecimal value) {
+            if (value == null) {
+                return;
+            }
+            double v = value.doubleValue();
+            min = min == null ? v : Math.min(min, v);
+            max = max == null ? v : Math.max(max, v);
+            sum += v;
+            count++;
+        }
+
+        private Map<String, Object> toMetric() {
+            return metric(min, max, sum, count);
+        }
+    }
+}
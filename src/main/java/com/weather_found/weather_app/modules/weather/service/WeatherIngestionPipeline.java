@@ -0,0 +1,242 @@
+package com.weather_found.weather_app.modules.weather.service;
+
+import com.weather_found.weather_app.modules.weather.model.WeatherDataEntity;
+import com.weather_found.weather_app.modules.weather.repository.WeatherDataBatchWriter;
+import com.weather_found.weather_app.modules.weather.repository.WeatherDataBatchWriter.ObservationKey;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Queue between the code that receives observations and the database.
+ * <p>
+ * Producers {@link #submit} into a bounded queue; when it is full they wait up to
+ * {@code offer-timeout-ms} and the observation is then rejected, so a slow database
+ * pushes back on ingestion instead of growing the heap. One writer thread drains up
+ * to {@code batch-size} observations at a time and stores them in one transaction:
+ * duplicates of the same location, time and source are dropped, both within the
+ * batch and against what is already stored, the rest go in as one multi-row
+ * INSERT, and the new rows are added to the daily aggregates. Nothing is locked
+ * up front: the unique key keeps a second copy out, and the rows a batch actually
+ * inserted are those its own snapshot shows after the INSERT but not before, so
+ * writers on several nodes never both count the same observation. A batch that
+ * loses a deadlock to another writer is retried.
+ */
+@Component
+@Slf4j
+public class WeatherIngestionPipeline {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final WeatherDataBatchWriter batchWriter;
+    private final WeatherAggregateService aggregateService;
+    private final DashboardFragments dashboardFragments;
+    private final TransactionTemplate transactionTemplate;
+
+    private final BlockingQueue<WeatherDataEntity> queue;
+    private final long offerTimeoutMs;
+    private final int batchSize;
+    private final long flushIntervalMs;
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder inserted = new LongAdder();
+    private final LongAdder duplicates = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder batchMillis = new LongAdder();
+
+    private volatile Thread writer;
+    private volatile boolean running;
+
+    public WeatherIngestionPipeline(WeatherDataBatchWriter batchWriter,
+            WeatherAggregateService aggregateService,
+            DashboardFragments dashboardFragments,
+            PlatformTransactionManager transactionManager,
+            @Value("${weather.ingestion.queue-capacity:10000}") int queueCapacity,
+            @Value("${weather.ingestion.offer-timeout-ms:50}") long offerTimeoutMs,
+            @Value("${weather.ingestion.batch-size:500}") int batchSize,
+            @Value("${weather.ingestion.flush-interval-ms:200}") long flushIntervalMs) {
+        this.batchWriter = batchWriter;
+        this.aggregateService = aggregateService;
+        this.dashboardFragments = dashboardFragments;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // The before/after reads in store() rely on one snapshot for the whole transaction
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        this.offerTimeoutMs = offerTimeoutMs;
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalMs = flushIntervalMs;
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writer = new Thread(this::writeLoop, "weather-ingestion");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Queue an observation for storage; false if the queue stayed full past the offer timeout
+     */
+    public boolean submit(WeatherDataEntity observation) {
+        try {
+            if (queue.offer(observation, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                accepted.increment();
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        rejected.increment();
+        return false;
+    }
+
+    /**
+     * Store everything queued so far, one batch at a time
+     */
+    public void flush() {
+        List<WeatherDataEntity> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void writeLoop() {
+        while (running) {
+            try {
+                WeatherDataEntity first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                List<WeatherDataEntity> batch = new ArrayList<>(batchSize);
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Weather ingestion writer failed", e);
+            }
+        }
+    }
+
+    void write(List<WeatherDataEntity> batch) {
+        long started = System.nanoTime();
+        Map<ObservationKey, WeatherDataEntity> unique = new LinkedHashMap<>();
+        for (WeatherDataEntity observation : batch) {
+            unique.putIfAbsent(ObservationKey.of(observation), observation);
+        }
+        try {
+            int rows = store(unique);
+            inserted.add(rows);
+            duplicates.add(batch.size() - rows);
+            if (rows > 0) {
+                // Trends and analytics summarize days of data and are left to their TTL;
+                // dropping them on every batch would rebuild them several times a second
+                dashboardFragments.invalidate(DashboardFragments.Fragment.RECENT_DATA);
+            }
+        } catch (RuntimeException e) {
+            failed.add(batch.size());
+            log.error("Failed to store a batch of {} weather observations: {}", batch.size(), e.getMessage());
+        } finally {
+            batches.increment();
+            batchMillis.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        }
+    }
+
+    /**
+     * Store the observations not yet in the table, retrying when the transaction
+     * loses a lock conflict. Returns the number of rows inserted.
+     */
+    private int store(Map<ObservationKey, WeatherDataEntity> unique) {
+        for (int attempt = 1;; attempt++) {
+            try {
+                Integer stored = transactionTemplate.execute(status -> {
+                    Set<ObservationKey> before = batchWriter.findExisting(new ArrayList<>(unique.values()));
+                    List<WeatherDataEntity> fresh = new ArrayList<>(unique.size());
+                    unique.forEach((key, observation) -> {
+                        if (!before.contains(key)) {
+                            fresh.add(observation);
+                        }
+                    });
+                    if (fresh.isEmpty()) {
+                        return 0;
+                    }
+                    batchWriter.insertAll(fresh);
+
+                    // Rows a concurrent writer committed first were skipped by the INSERT
+                    // and are not in this snapshot; that writer counts them
+                    Set<ObservationKey> after = batchWriter.findExisting(fresh);
+                    List<WeatherDataEntity> inserted = new ArrayList<>(fresh.size());
+                    for (WeatherDataEntity observation : fresh) {
+                        if (after.contains(ObservationKey.of(observation))) {
+                            inserted.add(observation);
+                        }
+                    }
+                    aggregateService.record(inserted);
+                    return inserted.size();
+                });
+                return stored != null ? stored : 0;
+            } catch (PessimisticLockingFailureException e) {
+                if (attempt >= MAX_ATTEMPTS) {
+                    throw e;
+                }
+                retries.increment();
+                log.debug("Retrying weather observation batch after lock conflict: {}", e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        Thread current = writer;
+        if (current != null) {
+            current.interrupt();
+            try {
+                current.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flush();
+    }
+
+    public Map<String, Object> getStats() {
+        long batchCount = batches.sum();
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("queued", queue.size());
+        stats.put("queueCapacity", queue.size() + queue.remainingCapacity());
+        stats.put("accepted", accepted.sum());
+        stats.put("rejected", rejected.sum());
+        stats.put("inserted", inserted.sum());
+        stats.put("duplicates", duplicates.sum());
+        stats.put("failed", failed.sum());
+        stats.put("retries", retries.sum());
+        stats.put("batches", batchCount);
+        stats.put("averageBatchMillis", batchCount > 0 ? batchMillis.sum() / batchCount : 0);
+        return stats;
+    }
+}
@@ -0,0 +1,190 @@
+package com.weather_found.weather_app.modules.weather.service;
+
+import com.weather_found.weather_app.modules.weather.repository.WeatherDataPartitions;
+import com.weather_found.weather_app.modules.weather.repository.WeatherDataPartitions.Partition;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Retention for raw observations through daily partitions of {@code weather_data}.
+ * <p>
+ * On startup and then on {@code maintenance-cron}, partitions for the next
+ * {@code future-days} are created and partitions entirely older than
+ * {@code raw-days} are dropped, which removes a day of rows without scanning or
+ * locking them. A partition is only dropped once the rollups cover it; the daily
+ * aggregates are kept. Only the node holding the database's maintenance lock runs
+ * this; the others skip the run.
+ * <p>
+ * Converting an existing table rewrites it, so it only happens with
+ * {@code convert-existing} enabled; rows from before the conversion share one
+ * partition, dropped once all of them have expired. Until then retention falls back
+ * to deleting old rows in small batches.
+ */
+@Service
+@Order(1)
+@Slf4j
+public class WeatherPartitionManager implements ApplicationRunner {
+
+    private final WeatherDataPartitions partitions;
+    private final WeatherRollupService rollupService;
+    private final boolean convertExisting;
+    private final int futureDays;
+    private final int rawRetentionDays;
+    private final int deleteBatchSize;
+
+    private volatile List<Partition> current = List.of();
+    private volatile LocalDateTime lastRun;
+    private final LongAdder partitionsAdded = new LongAdder();
+    private final LongAdder partitionsDropped = new LongAdder();
+    private final LongAdder rowsDeleted = new LongAdder();
+    private final LongAdder skippedLocked = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    public WeatherPartitionManager(WeatherDataPartitions partitions,
+            WeatherRollupService rollupService,
+            @Value("${weather.partitions.convert-existing:false}") boolean convertExisting,
+            @Value("${weather.partitions.future-days:7}") int futureDays,
+            @Value("${weather.retention.raw-days:90}") int rawRetentionDays,
+            @Value("${weather.retention.delete-batch-size:5000}") int deleteBatchSize) {
+        this.partitions = partitions;
+        this.rollupService = rollupService;
+        this.convertExisting = convertExisting;
+        this.futureDays = Math.max(1, futureDays);
+        this.rawRetentionDays = rawRetentionDays;
+        this.deleteBatchSize = Math.max(1, deleteBatchSize);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        maintain();
+    }
+
+    @Scheduled(cron = "${weather.partitions.maintenance-cron:0 15 * * * *}")
+    public void maintain() {
+        try {
+            if (!partitions.withMaintenanceLock(() -> maintain(LocalDate.now()))) {
+                skippedLocked.increment();
+                log.debug("Weather data partition maintenance is running on another node");
+            }
+        } catch (RuntimeException e) {
+            failures.increment();
+            log.error("Weather data partition maintenance failed: {}", e.getMessage());
+        } finally {
+            lastRun = LocalDateTime.now();
+        }
+    }
+
+    void maintain(LocalDate today) {
+        List<Partition> existing = partitions.list();
+        if (existing.isEmpty() && convertExisting) {
+            log.info("Partitioning weather_data by day; this rebuilds the table");
+            partitions.convert(daysFrom(today, today.plusDays(futureDays)));
+            existing = partitions.list();
+        }
+
+        LocalDateTime keepFrom = retainedFrom(today);
+        if (existing.isEmpty()) {
+            current = existing;
+            if (keepFrom != null) {
+                rowsDeleted.add(partitions.deleteBefore(keepFrom, deleteBatchSize));
+            }
+            return;
+        }
+
+        List<LocalDate> missing = missingDays(existing, today, futureDays);
+        if (!missing.isEmpty()) {
+            partitions.addDays(missing);
+            partitionsAdded.add(missing.size());
+        }
+        List<String> expired = keepFrom != null ? expiredPartitions(existing, keepFrom) : List.of();
+        if (!expired.isEmpty()) {
+            partitions.drop(expired);
+            partitionsDropped.add(expired.size());
+            log.info("Dropped expired weather_data partitions {}", expired);
+        }
+        if (!missing.isEmpty() || !expired.isEmpty()) {
+            existing = partitions.list();
+        }
+        current = existing;
+    }
+
+    /**
+     * Raw rows before this time may go: older than {@code raw-days} and already in
+     * the rollups. Null while nothing may be removed.
+     */
+    private LocalDateTime retainedFrom(LocalDate today) {
+        LocalDateTime compacted = rollupService.compactedUntil();
+        if (rawRetentionDays <= 0 || compacted == null) {
+            return null;
+        }
+        LocalDateTime cutoff = today.minusDays(rawRetentionDays).atStartOfDay();
+        return compacted.isBefore(cutoff) ? compacted : cutoff;
+    }
+
+    /**
+     * Days from the end of the last bounded partition through {@code today + futureDays}
+     * that have no partition yet
+     */
+    static List<LocalDate> missingDays(List<Partition> partitions, LocalDate today, int futureDays) {
+        LocalDate next = today;
+        for (Partition partition : partitions) {
+            if (partition.upperBound() != null && partition.upperBound().isAfter(next)) {
+                next = partition.upperBound();
+            }
+        }
+        return daysFrom(next, today.plusDays(futureDays));
+    }
+
+    /**
+     * Bounded partitions whose whole range lies before {@code keepFrom}
+     */
+    static List<String> expiredPartitions(List<Partition> partitions, LocalDateTime keepFrom) {
+        List<String> expired = new ArrayList<>();
+        for (Partition partition : partitions) {
+            if (partition.upperBound() != null && !partition.upperBound().atStartOfDay().isAfter(keepFrom)) {
+                expired.add(partition.name());
+            }
+        }
+        return expired;
+    }
+
+    private static List<LocalDate> daysFrom(LocalDate first, LocalDate last) {
+        List<LocalDate> days = new ArrayList<>();
+        for (LocalDate day = first; !day.isAfter(last); day = day.plusDays(1)) {
+            days.add(day);
+        }
+        return days;
+    }
+
+    public Map<String, Object> getStats() {
+        List<Partition> snapshot = current;
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("partitioned", !snapshot.isEmpty());
+        stats.put("partitions", snapshot.size());
+        snapshot.stream().filter(p -> p.upperBound() != null).findFirst()
+                .ifPresent(p -> stats.put("oldestBound", p.upperBound()));
+        snapshot.stream().filter(p -> p.upperBound() != null).reduce((first, second) -> second)
+                .ifPresent(p -> stats.put("newestBound", p.upperBound()));
+        stats.put("partitionsAdded", partitionsAdded.sum());
+        stats.put("partitionsDropped", partitionsDropped.sum());
+        stats.put("rowsDeleted", rowsDeleted.sum());
+        stats.put("skippedLocked", skippedLocked.sum());
+        stats.put("failures", failures.sum());
+        stats.put("rawRetentionDays", rawRetentionDays);
+        stats.put("lastRun", lastRun);
+        return stats;
+    }
+}
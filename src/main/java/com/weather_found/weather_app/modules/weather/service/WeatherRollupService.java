@@ -0,0 +1,164 @@
+package com.weather_found.weather_app.modules.weather.service;
+
+import com.weather_found.weather_app.modules.weather.repository.WeatherRollupWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Background compaction of raw observations into hourly rollups. Daily history is
+ * served from the daily aggregates instead, see {@link WeatherAggregateService}.
+ * <p>
+ * Each run recomputes every complete hour since the last compacted one, plus the
+ * last {@code recompact-hours} to pick up late observations. A backlog, such as the whole history on first start, is worked
+ * off at most {@code max-hours-per-run} at a time. Raw partitions are only dropped
+ * once compaction has passed them, see {@link #compactedUntil()}. Only the node
+ * holding the database's compaction lock compacts; the others follow its progress
+ * from the newest hourly bucket. Hourly rollups are kept for {@code hourly-days}.
+ */
+@Service
+@Slf4j
+public class WeatherRollupService {
+
+    private final WeatherRollupWriter rollupWriter;
+    private final int recompactHours;
+    private final int maxHoursPerRun;
+    private final int hourlyRetentionDays;
+    private final int deleteBatchSize;
+
+    /** Exclusive end of the compacted raw range; null until first known */
+    private volatile LocalDateTime compactedUntil;
+    private volatile LocalDateTime lastRun;
+
+    private final LongAdder runs = new LongAdder();
+    private final LongAdder skippedLocked = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder hourlyRowsWritten = new LongAdder();
+    private final LongAdder rollupsExpired = new LongAdder();
+    private final LongAdder runMillis = new LongAdder();
+
+    public WeatherRollupService(WeatherRollupWriter rollupWriter,
+            @Value("${weather.rollups.recompact-hours:2}") int recompactHours,
+            @Value("${weather.rollups.max-hours-per-run:168}") int maxHoursPerRun,
+            @Value("${weather.retention.hourly-days:400}") int hourlyRetentionDays,
+            @Value("${weather.retention.delete-batch-size:5000}") int deleteBatchSize) {
+        this.rollupWriter = rollupWriter;
+        this.recompactHours = Math.max(0, recompactHours);
+        this.maxHoursPerRun = Math.max(1, maxHoursPerRun);
+        this.hourlyRetentionDays = hourlyRetentionDays;
+        this.deleteBatchSize = Math.max(1, deleteBatchSize);
+    }
+
+    @Scheduled(fixedDelayString = "${weather.rollups.compaction-interval-ms:300000}",
+            initialDelayString = "${weather.rollups.initial-delay-ms:60000}")
+    public void compact() {
+        long started = System.nanoTime();
+        try {
+            boolean ran = rollupWriter.withCompactionLock(() -> {
+                compact(LocalDateTime.now());
+                expireRollups(LocalDate.now());
+            });
+            if (!ran) {
+                skippedLocked.increment();
+                followWatermark();
+            }
+        } catch (RuntimeException e) {
+            failures.increment();
+            log.error("Weather rollup compaction failed: {}", e.getMessage());
+        } finally {
+            runs.increment();
+            runMillis.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+            lastRun = LocalDateTime.now();
+        }
+    }
+
+    void compact(LocalDateTime now) {
+        LocalDateTime upTo = now.truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime until = watermark(upTo);
+
+        LocalDateTime from = until.isBefore(upTo.minusHours(recompactHours)) ? until : upTo.minusHours(recompactHours);
+        LocalDateTime to = from.plusHours(maxHoursPerRun).isBefore(upTo) ? from.plusHours(maxHoursPerRun) : upTo;
+        if (!from.isBefore(to)) {
+            return;
+        }
+
+        hourlyRowsWritten.add(rollupWriter.compactHours(from, to));
+        compactedUntil = to.isAfter(until) ? to : until;
+        log.debug("Compacted weather rollups for {} to {}", from, to);
+    }
+
+    /**
+     * Raw observations before this time are fully reflected in the rollups. Known
+     * from the database right after a restart, before this node compacted anything.
+     */
+    public LocalDateTime compactedUntil() {
+        return watermark(LocalDateTime.now().truncatedTo(ChronoUnit.HOURS));
+    }
+
+    public Map<String, Object> getStats() {
+        long runCount = runs.sum();
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("compactedUntil", compactedUntil);
+        stats.put("lastRun", lastRun);
+        stats.put("runs", runCount);
+        stats.put("failures", failures.sum());
+        stats.put("skippedLocked", skippedLocked.sum());
+        stats.put("hourlyRowsWritten", hourlyRowsWritten.sum());
+        stats.put("rollupsExpired", rollupsExpired.sum());
+        stats.put("averageRunMillis", runCount > 0 ? runMillis.sum() / runCount : 0);
+        stats.put("hourlyRetentionDays", hourlyRetentionDays);
+        return stats;
+    }
+
+    private LocalDateTime watermark(LocalDateTime upTo) {
+        LocalDateTime until = compactedUntil;
+        if (until == null) {
+            synchronized (this) {
+                if (compactedUntil == null) {
+                    compactedUntil = initialWatermark(upTo);
+                }
+                until = compactedUntil;
+            }
+        }
+        return until;
+    }
+
+    /** Advance to the newest hourly bucket another node compacted */
+    private void followWatermark() {
+        LocalDateTime latest = rollupWriter.latestHourlyBucket();
+        if (latest == null) {
+            return;
+        }
+        synchronized (this) {
+            if (compactedUntil == null || latest.plusHours(1).isAfter(compactedUntil)) {
+                compactedUntil = latest.plusHours(1);
+            }
+        }
+    }
+
+    /** Resume after the newest hourly bucket, or start from the oldest observation */
+    private LocalDateTime initialWatermark(LocalDateTime upTo) {
+        LocalDateTime latest = rollupWriter.latestHourlyBucket();
+        if (latest != null) {
+            return latest.plusHours(1);
+        }
+        LocalDateTime earliest = rollupWriter.earliestObservation();
+        return earliest != null ? earliest.truncatedTo(ChronoUnit.HOURS) : upTo;
+    }
+
+    private void expireRollups(LocalDate today) {
+        if (hourlyRetentionDays > 0) {
+            rollupsExpired.add(rollupWriter.deleteBefore(WeatherRollupWriter.HOURLY_TABLE,
+                    today.minusDays(hourlyRetentionDays).atStartOfDay(), deleteBatchSize));
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.weather_found.weather_app.modules.weather.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatcher;
+import org.springframework.data.redis.connection.ExpirationOptions;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.types.Expiration;
+
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("CacheKeyIndex Tests")
+class CacheKeyIndexTest {
+
+    private static final String TAG_KEY = "weather:index:tag:location:42";
+
+    private RedisOperations<String, Object> operations;
+    private SetOperations<String, Object> setOperations;
+    private ZSetOperations<String, Object> zSetOperations;
+    private List<Object> pipelineResults;
+    private CacheKeyIndex index;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        operations = mock(RedisOperations.class);
+        setOperations = mock(SetOperations.class);
+        zSetOperations = mock(ZSetOperations.class);
+        when(operations.opsForSet()).thenReturn(setOperations);
+        when(operations.opsForZSet()).thenReturn(zSetOperations);
+        pipelineResults = List.of();
+
+        RedisTemplate<String, Object> redisTemplate = mock(RedisTemplate.class);
+        when(redisTemplate.opsForSet()).thenReturn(setOperations);
+        when(redisTemplate.executePipelined(any(SessionCallback.class))).thenAnswer(invocation -> {
+            invocation.getArgument(0, SessionCallback.class).execute(operations);
+            return pipelineResults;
+        });
+
+        index = new CacheKeyIndex(redisTemplate, new RedisHealthMonitor(null, 3, 2, 500), 120);
+    }
+
+    @Test
+    @DisplayName("Should keep the tag set alive at least as long as an entry with a longer TTL")
+    void shouldCoverLongEntryTtl() {
+        index.recordWrite("historicalWeather", "location:42", "historicalWeather::k", 1, TimeUnit.DAYS);
+
+        Expiration day = Expiration.milliseconds(TimeUnit.DAYS.toMillis(1));
+        verify(operations).expire(eq(TAG_KEY), eq(day), argThat(conditionIs(ExpirationOptions.Condition.NX)));
+        verify(operations).expire(eq(TAG_KEY), eq(day), argThat(conditionIs(ExpirationOptions.Condition.GT)));
+    }
+
+    @Test
+    @DisplayName("Should use the configured tag TTL for short entries and never shorten the set's expiry")
+    void shouldNotShortenForShortEntries() {
+        index.recordWrite("currentWeather", "location:42", "currentWeather::k", 300, TimeUnit.SECONDS);
+
+        Expiration tagTtl = Expiration.milliseconds(TimeUnit.MINUTES.toMillis(120));
+        verify(operations).expire(eq(TAG_KEY), eq(tagTtl), argThat(conditionIs(ExpirationOptions.Condition.NX)));
+        verify(operations).expire(eq(TAG_KEY), eq(tagTtl), argThat(conditionIs(ExpirationOptions.Condition.GT)));
+        verify(operations, never()).expire(eq(TAG_KEY), any(Duration.class));
+    }
+
+    @Test
+    @DisplayName("Should record a write under its tag and in its namespace scored by expiry")
+    void shouldRecordWrite() {
+        long before = System.currentTimeMillis();
+        index.recordWrite("currentWeather", "location:42", "currentWeather::k", 300, TimeUnit.SECONDS);
+
+        verify(setOperations).add(TAG_KEY, "currentWeather::k");
+        verify(zSetOperations).add(eq("weather:index:ns:currentWeather"), eq("currentWeather::k"),
+                doubleThat(score -> score >= before + 300_000 && score <= System.currentTimeMillis() + 300_000));
+    }
+
+    @Test
+    @DisplayName("Should delete exactly the tagged keys and the tag set, and unindex them")
+    void shouldInvalidateTaggedKeys() {
+        Set<Object> members = new LinkedHashSet<>(List.of("currentWeather::a", "weatherForecast::b"));
+        when(setOperations.members(TAG_KEY)).thenReturn(members);
+
+        int invalidated = index.invalidate("location:42", List.of("currentWeather", "weatherForecast"));
+
+        assertEquals(2, invalidated);
+        verify(zSetOperations).remove("weather:index:ns:currentWeather", members.toArray());
+        verify(zSetOperations).remove("weather:index:ns:weatherForecast", members.toArray());
+        verify(operations).delete(List.of("currentWeather::a", "weatherForecast::b", TAG_KEY));
+    }
+
+    @Test
+    @DisplayName("Should do nothing for a tag without members")
+    void shouldSkipEmptyTag() {
+        when(setOperations.members(TAG_KEY)).thenReturn(Set.of());
+
+        assertEquals(0, index.invalidate("location:42", List.of("currentWeather")));
+        verifyNoInteractions(operations);
+    }
+
+    @Test
+    @DisplayName("Should trim expired entries before counting live keys")
+    void shouldCountLiveKeys() {
+        pipelineResults = List.of(3L, 5L);
+
+        assertEquals(5, index.liveCount("currentWeather"));
+        verify(zSetOperations).removeRangeByScore(eq("weather:index:ns:currentWeather"), eq(0.0), anyDouble());
+        verify(zSetOperations).zCard("weather:index:ns:currentWeather");
+    }
+
+    @Test
+    @DisplayName("Should count no live keys when the pipeline returns nothing")
+    void shouldCountNothingWithoutResults() {
+        assertEquals(0, index.liveCount("currentWeather"));
+    }
+
+    private static ArgumentMatcher<ExpirationOptions> conditionIs(ExpirationOptions.Condition condition) {
+        return options -> options != null && options.getCondition() == condition;
+    }
+}
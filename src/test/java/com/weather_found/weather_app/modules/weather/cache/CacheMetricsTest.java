@@ -0,0 +1,105 @@
+package com.weather_found.weather_app.modules.weather.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("CacheMetrics Tests")
+class CacheMetricsTest {
+
+    private CacheMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        metrics = new CacheMetrics(2, 3);
+    }
+
+    @Test
+    @DisplayName("Should group keys by their leading segments")
+    void shouldGroupByPrefix() {
+        assertEquals("dashboard:weather", metrics.prefixOf("dashboard:weather:42:ADMIN"));
+        assertEquals("analytics:weather", metrics.prefixOf("analytics:weather:general"));
+        assertEquals("weather", metrics.prefixOf("weather:cairo"));
+        assertEquals("plain", metrics.prefixOf("plain"));
+        assertSame(metrics.keyspace("alerts:location:1:active"), metrics.keyspace("alerts:location:2:active"));
+    }
+
+    @Test
+    @DisplayName("Should fold prefixes beyond the limit into one bucket")
+    @SuppressWarnings("unchecked")
+    void shouldBoundPrefixes() {
+        for (int i = 0; i < 10; i++) {
+            metrics.keyspace("p" + i + ":x:y").hit();
+        }
+
+        Map<String, Object> prefixes = (Map<String, Object>) metrics.getStats().get("keyPrefixes");
+        assertEquals(4, prefixes.size());
+        assertEquals(7L, ((Map<String, Object>) prefixes.get("other")).get("hits"));
+    }
+
+    @Test
+    @DisplayName("Should time the load between a miss and the following put")
+    @SuppressWarnings("unchecked")
+    void shouldRecordCacheableLoads() {
+        InstrumentedCache cache = new InstrumentedCache(new ConcurrentMapCache("currentWeather"),
+                metrics.cache("currentWeather"));
+
+        assertNull(cache.get("cairo"));
+        cache.put("cairo", "sunny");
+        assertEquals("sunny", cache.get("cairo", String.class));
+        cache.evict("cairo");
+
+        Map<String, Object> caches = (Map<String, Object>) metrics.getStats().get("caches");
+        Map<String, Object> stats = (Map<String, Object>) caches.get("currentWeather");
+        assertEquals(1L, stats.get("hits"));
+        assertEquals(1L, stats.get("misses"));
+        assertEquals(1L, stats.get("loads"));
+        assertEquals(1L, stats.get("evictions"));
+        assertEquals(0.5, metrics.getOverallHitRatio());
+    }
+
+    @Test
+    @DisplayName("Should count only evictions of present keys and clears separately")
+    @SuppressWarnings("unchecked")
+    void shouldCountEvictionsAndClearsSeparately() {
+        InstrumentedCache cache = new InstrumentedCache(new ConcurrentMapCache("currentWeather"),
+                metrics.cache("currentWeather"));
+        cache.put("cairo", "sunny");
+        cache.put("giza", "cloudy");
+
+        cache.evict("cairo");
+        cache.evict("cairo");
+        assertFalse(cache.evictIfPresent("alexandria"));
+        cache.clear();
+        cache.invalidate();
+
+        Map<String, Object> caches = (Map<String, Object>) metrics.getStats().get("caches");
+        Map<String, Object> stats = (Map<String, Object>) caches.get("currentWeather");
+        assertEquals(1L, stats.get("evictions"));
+        assertEquals(2L, stats.get("clears"));
+    }
+
+    @Test
+    @DisplayName("Should count a manual key delete as an eviction only when Redis removed the key")
+    @SuppressWarnings("unchecked")
+    void shouldCountOnlyRealDeletes() {
+        RedisTemplate<String, Object> redisTemplate = mock(RedisTemplate.class);
+        when(redisTemplate.delete("alerts:location:1:active")).thenReturn(true);
+        when(redisTemplate.delete("alerts:location:2:active")).thenReturn(false);
+        RedisValueStore store = new RedisValueStore(redisTemplate, new RedisHealthMonitor(null, 3, 2, 500),
+                metrics, 10);
+
+        store.delete("alerts:location:1:active");
+        store.delete("alerts:location:2:active");
+
+        Map<String, Object> prefixes = (Map<String, Object>) metrics.getStats().get("keyPrefixes");
+        assertEquals(1L, ((Map<String, Object>) prefixes.get("alerts:location")).get("evictions"));
+    }
+}
@@ -0,0 +1,40 @@
+package com.weather_found.weather_app.modules.weather.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CacheTtlPolicy Tests")
+class CacheTtlPolicyTest {
+
+    private CacheTtlPolicy policy;
+
+    @BeforeEach
+    void setUp() {
+        policy = new CacheTtlPolicy(900, 300, 1800, 7200, 60, 3600, 300, 300, 120, 120, 1800, 300, 900, 1800);
+    }
+
+    @Test
+    @DisplayName("Should take TTLs from the table and fall back to the default")
+    void shouldResolveTableEntries() {
+        assertEquals(Duration.ofMinutes(5), policy.ttlFor(CacheTtlPolicy.CURRENT_WEATHER));
+        assertEquals(Duration.ofHours(2), policy.ttlFor(CacheTtlPolicy.HISTORICAL_WEATHER));
+        assertEquals(Duration.ofMinutes(15), policy.ttlFor("unlisted"));
+    }
+
+    @Test
+    @DisplayName("Should apply a per-write override only inside its scope")
+    void shouldScopeOverrides() {
+        RedisCacheWriter.TtlFunction ttl = policy.ttlFunction(CacheTtlPolicy.WEATHER_FORECAST);
+
+        Duration inside = policy.withTtl(Duration.ofSeconds(42), () -> ttl.getTimeToLive("cairo:7", null));
+
+        assertEquals(Duration.ofSeconds(42), inside);
+        assertEquals(Duration.ofMinutes(30), ttl.getTimeToLive("cairo:7", null));
+    }
+}
@@ -0,0 +1,124 @@
+package com.weather_found.weather_app.modules.weather.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.weather_found.weather_app.modules.weather.model.WeatherAlert;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encode/decode time and bytes per entry of the cache value formats, per cache type.
+ * Not part of the test suite; run the main method from the IDE or with
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.weather_found.weather_app.modules.weather.cache.CacheValueSerializerBenchmark}.
+ */
+public class CacheValueSerializerBenchmark {
+
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 50_000;
+
+    public static void main(String[] args) {
+        Map<String, Object> samples = new LinkedHashMap<>();
+        samples.put("currentWeather (json text)", currentWeatherText());
+        samples.put("weatherForecast (40 x 3h)", CacheValueSerializerTest.forecast(40));
+        samples.put("dashboard", dashboard());
+        samples.put("alerts (List<WeatherAlert> x 20)", alerts(20));
+
+        System.out.printf("%-34s %-14s %8s %12s %12s%n", "cache type", "format", "bytes", "encode ns", "decode ns");
+        for (Map.Entry<String, Object> sample : samples.entrySet()) {
+            for (Map.Entry<String, RedisSerializer<Object>> format : formats().entrySet()) {
+                run(sample.getKey(), format.getKey(), format.getValue(), sample.getValue());
+            }
+        }
+    }
+
+    private static Map<String, RedisSerializer<Object>> formats() {
+        Map<String, RedisSerializer<Object>> formats = new LinkedHashMap<>();
+        formats.put("json", json());
+        formats.put("binary", new CacheValueSerializer(json(), CacheValueSerializer.Format.BINARY, Integer.MAX_VALUE));
+        formats.put("binary+deflate", new CacheValueSerializer(json(), CacheValueSerializer.Format.BINARY, 512));
+        return formats;
+    }
+
+    private static GenericJackson2JsonRedisSerializer json() {
+        return new GenericJackson2JsonRedisSerializer(new ObjectMapper().registerModule(new JavaTimeModule()));
+    }
+
+    private static void run(String sample, String format, RedisSerializer<Object> serializer, Object value) {
+        byte[] encoded = serializer.serialize(value);
+        long sink = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            sink += serializer.serialize(value).length;
+            sink += serializer.deserialize(encoded) != null ? 1 : 0;
+        }
+
+        long started = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += serializer.serialize(value).length;
+        }
+        long encodeNanos = (System.nanoTime() - started) / ITERATIONS;
+
+        started = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += serializer.deserialize(encoded) != null ? 1 : 0;
+        }
+        long decodeNanos = (System.nanoTime() - started) / ITERATIONS;
+
+        System.out.printf("%-34s %-14s %8d %12d %12d%s%n", sample, format, encoded.length, encodeNanos, decodeNanos,
+                sink == 0 ? "!" : "");
+    }
+
+    private static String currentWeatherText() {
+        return """
+                {"location":{"name":"Cairo","country":"Egypt","coordinates":{"lat":30.0444,"lng":31.2357},
+                "timezone":"Africa/Cairo"},"current":{"temperature":"31°C","feelsLike":"33°C",
+                "condition":"Clear","humidity":"40%","pressure":"1011 hPa","visibility":"10 km",
+                "uvIndex":"9 (Very High)","windSpeed":"14 km/h","windDirection":"North","windGust":"20 km/h",
+                "cloudCover":"5%","dewPoint":"16°C"},"cached":true}
+                """;
+    }
+
+    private static Map<String, Object> dashboard() {
+        Map<String, Object> dashboard = new LinkedHashMap<>();
+        List<Object> topLocations = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Map<String, Object> location = new LinkedHashMap<>();
+            location.put("location", "City " + i);
+            location.put("temperature", 20.0 + i);
+            location.put("humidity", 50 + i);
+            location.put("weatherCondition", "Clear");
+            location.put("source", "openweathermap");
+            topLocations.add(location);
+        }
+        dashboard.put("currentWeatherSummary", Map.of("topLocations", topLocations, "totalLocationsTracked", 120L));
+        dashboard.put("activeAlerts", Map.of("criticalCount", 2, "totalActive", 14L));
+        dashboard.put("weatherTrends", CacheValueSerializerTest.forecast(14));
+        dashboard.put("lastUpdated", LocalDateTime.of(2025, 9, 11, 8, 30));
+        return dashboard;
+    }
+
+    private static List<WeatherAlert> alerts(int count) {
+        List<WeatherAlert> alerts = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            WeatherAlert alert = new WeatherAlert();
+            alert.setId((long) i);
+            alert.setAlertType(i % 2 == 0 ? "EXTREME_HEAT" : "HIGH_WIND");
+            alert.setTitle("Weather alert " + i);
+            alert.setDescription("Conditions exceed the configured threshold for this location.");
+            alert.setSeverity(i % 4 == 0 ? "CRITICAL" : "HIGH");
+            alert.setAlertTime(LocalDateTime.of(2025, 9, 11, 8, 0).plusMinutes(i));
+            alert.setExpiresAt(LocalDateTime.of(2025, 9, 11, 20, 0));
+            alert.setStatus("ACTIVE");
+            alert.setDataSource("SYSTEM");
+            alert.setCreatedAt(LocalDateTime.of(2025, 9, 11, 8, 0));
+            alerts.add(alert);
+        }
+        return alerts;
+    }
+}
@@ -0,0 +1,117 @@
+package com.weather_found.weather_app.modules.weather.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.support.NullValue;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CacheValueSerializer Tests")
+class CacheValueSerializerTest {
+
+    private final GenericJackson2JsonRedisSerializer typedJson = new GenericJackson2JsonRedisSerializer();
+    private final CacheValueSerializer typed = new CacheValueSerializer(typedJson,
+            CacheValueSerializer.Format.BINARY, 512);
+
+    @Test
+    @DisplayName("Should round-trip typed values like the JSON serializer does")
+    void shouldRoundTripTypedValues() {
+        Map<String, Object> forecast = forecast(8);
+
+        Object decoded = typed.deserialize(typed.serialize(forecast));
+
+        assertEquals(typedJson.deserialize(typedJson.serialize(forecast)), decoded);
+        assertEquals(CacheValueSerializer.MAGIC, typed.serialize(forecast)[0]);
+    }
+
+    @Test
+    @DisplayName("Should round-trip untyped maps with dates")
+    void shouldRoundTripUntypedValues() {
+        ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        GenericJackson2JsonRedisSerializer json = new GenericJackson2JsonRedisSerializer(mapper);
+        CacheValueSerializer serializer = new CacheValueSerializer(json, CacheValueSerializer.Format.BINARY, 512);
+        Map<String, Object> dashboard = new LinkedHashMap<>();
+        dashboard.put("lastUpdated", LocalDateTime.of(2025, 9, 11, 8, 30));
+        dashboard.put("criticalCount", 3);
+        dashboard.put("bigCount", 5_000_000_000L);
+        dashboard.put("ratio", 0.1);
+        dashboard.put("trends", forecast(3));
+
+        assertEquals(json.deserialize(json.serialize(dashboard)),
+                serializer.deserialize(serializer.serialize(dashboard)));
+    }
+
+    @Test
+    @DisplayName("Should keep reading legacy JSON entries")
+    void shouldReadLegacyJson() {
+        Map<String, Object> forecast = forecast(2);
+
+        assertEquals(forecast, typed.deserialize(typedJson.serialize(forecast)));
+    }
+
+    @Test
+    @DisplayName("Should keep scalars in their JSON form")
+    void shouldKeepScalarsAsJson() {
+        assertArrayEquals(typedJson.serialize("cairo"), typed.serialize("cairo"));
+        assertArrayEquals(typedJson.serialize(42), typed.serialize(42));
+    }
+
+    @Test
+    @DisplayName("Should compress large values and still read them back")
+    void shouldCompressLargeValues() {
+        Map<String, Object> forecast = forecast(40);
+        String largeText = "Partly cloudy with a chance of showers. ".repeat(40);
+
+        byte[] encoded = typed.serialize(forecast);
+        byte[] text = typed.serialize(largeText);
+
+        assertEquals(1, encoded[3]);
+        assertTrue(encoded.length < typedJson.serialize(forecast).length / 2);
+        assertEquals(forecast, typed.deserialize(encoded));
+        assertEquals(largeText, typed.deserialize(text));
+        assertTrue(text.length < largeText.length() / 4);
+    }
+
+    @Test
+    @DisplayName("Should round-trip the cache null marker")
+    void shouldRoundTripNullValue() {
+        assertInstanceOf(NullValue.class, typed.deserialize(typed.serialize(NullValue.INSTANCE)));
+    }
+
+    @Test
+    @DisplayName("Should reject values written by a newer version")
+    void shouldRejectNewerVersion() {
+        byte[] encoded = typed.serialize(forecast(1));
+        encoded[1] = CacheValueSerializer.VERSION + 1;
+
+        assertThrows(SerializationException.class, () -> typed.deserialize(encoded));
+    }
+
+    static Map<String, Object> forecast(int entries) {
+        List<Object> daily = new ArrayList<>();
+        for (int i = 0; i < entries; i++) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("date", "2025-09-" + (10 + i % 20));
+            entry.put("condition", i % 3 == 0 ? "Sunny" : "Partly Cloudy");
+            entry.put("temperature", 18.5 + i * 0.25);
+            entry.put("humidity", 60 + i % 10);
+            entry.put("pressure", 1013.2);
+            daily.add(entry);
+        }
+        Map<String, Object> forecast = new LinkedHashMap<>();
+        forecast.put("location", "Cairo");
+        forecast.put("days", entries);
+        forecast.put("daily", daily);
+        return forecast;
+    }
+}
@@ -0,0 +1,36 @@
+package com.weather_found.weather_app.modules.weather.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Geohash Tests")
+class GeohashTest {
+
+    @Test
+    @DisplayName("Should encode the reference point")
+    void shouldEncodeReferencePoints() {
+        assertEquals("u4pruydqqvj", Geohash.encode(57.64911, 10.40744, 11));
+    }
+
+    @Test
+    @DisplayName("Should snap nearby GPS fixes to the same cell")
+    void shouldSnapNearbyPoints() {
+        String cell = Geohash.encode(30.04441, 31.23571, 5);
+
+        assertEquals(cell, Geohash.encode(30.04502, 31.23498, 5));
+        assertNotEquals(cell, Geohash.encode(30.2, 31.2357, 5));
+    }
+
+    @Test
+    @DisplayName("Should decode the centre back into the same cell")
+    void shouldDecodeCenter() {
+        String cell = Geohash.encode(-33.8688, 151.2093, 6);
+        double[] center = Geohash.decodeCenter(cell);
+
+        assertEquals(cell, Geohash.encode(center[0], center[1], 6));
+        assertEquals(-33.8688, center[0], 0.01);
+        assertEquals(151.2093, center[1], 0.01);
+    }
+}
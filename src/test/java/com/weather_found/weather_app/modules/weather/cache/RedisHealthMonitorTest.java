@@ -0,0 +1,77 @@
+package com.weather_found.weather_app.modules.weather.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("RedisHealthMonitor Tests")
+class RedisHealthMonitorTest {
+
+    private final AtomicBoolean redisUp = new AtomicBoolean(true);
+    private RedisHealthMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        RedisConnection connection = mock(RedisConnection.class);
+        when(connection.ping()).thenAnswer(invocation -> {
+            if (!redisUp.get()) {
+                throw new RedisConnectionFailureException("refused");
+            }
+            return "PONG";
+        });
+        RedisConnectionFactory factory = mock(RedisConnectionFactory.class);
+        when(factory.getConnection()).thenReturn(connection);
+        monitor = new RedisHealthMonitor(factory, 3, 2, 500);
+    }
+
+    @Test
+    @DisplayName("Should degrade on a failure and recover on the next success")
+    void shouldDegradeAndRecover() {
+        monitor.recordFailure(new RuntimeException("timeout"));
+        assertEquals(RedisHealthMonitor.State.DEGRADED, monitor.getState());
+        assertTrue(monitor.isAvailable());
+
+        monitor.recordSuccess();
+        assertEquals(RedisHealthMonitor.State.UP, monitor.getState());
+    }
+
+    @Test
+    @DisplayName("Should go down after consecutive failures and stop sending commands")
+    void shouldGoDownAndSkipCommands() {
+        redisUp.set(false);
+        monitor.ping();
+        monitor.ping();
+        monitor.ping();
+        assertEquals(RedisHealthMonitor.State.DOWN, monitor.getState());
+
+        AtomicInteger calls = new AtomicInteger();
+        assertEquals("fallback", monitor.execute(() -> "x" + calls.incrementAndGet(), "fallback"));
+        assertEquals(0, calls.get());
+    }
+
+    @Test
+    @DisplayName("Should come back up after enough successful pings")
+    void shouldRecoverFromDown() {
+        AtomicInteger recoveries = new AtomicInteger();
+        monitor.addRecoveryListener(recoveries::incrementAndGet);
+        for (int i = 0; i < 3; i++) {
+            monitor.recordFailure(new RuntimeException("refused"));
+        }
+
+        monitor.ping();
+        assertEquals(RedisHealthMonitor.State.DOWN, monitor.getState());
+        monitor.ping();
+
+        assertEquals(RedisHealthMonitor.State.UP, monitor.getState());
+        assertEquals(1, recoveries.get());
+    }
+}
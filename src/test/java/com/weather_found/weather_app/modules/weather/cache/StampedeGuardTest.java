@@ -0,0 +1,88 @@
+package com.weather_found.weather_app.modules.weather.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("StampedeGuard Tests")
+class StampedeGuardTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+    private final AtomicReference<Double> random = new AtomicReference<>(0.5);
+    private final Set<String> locks = new HashSet<>();
+    private StampedeGuard guard;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        ValueOperations<String, Object> ops = mock(ValueOperations.class);
+        when(ops.setIfAbsent(anyString(), any(), any(Duration.class)))
+                .thenAnswer(invocation -> locks.add(invocation.getArgument(0)));
+        RedisTemplate<String, Object> redisTemplate = mock(RedisTemplate.class);
+        when(redisTemplate.opsForValue()).thenReturn(ops);
+
+        RedisHealthMonitor health = new RedisHealthMonitor(null, 3, 2, 500);
+        guard = new StampedeGuard(redisTemplate, null, health, new CacheMetrics(2, 200), true, 1.0, 5000, 200,
+                clock::get, random::get);
+    }
+
+    @Test
+    @DisplayName("Should not recompute while expiry is far away")
+    void shouldKeepFreshValues() {
+        // -200ms * ln(0.5) is about 139ms ahead
+        assertFalse(guard.shouldRecompute("k", 200, clock.get() + 10_000));
+        assertTrue(locks.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should recompute earlier for values that are slow to compute")
+    void shouldScaleWithRecomputeTime() {
+        long expiresAt = clock.get() + 1_000;
+
+        assertFalse(guard.shouldRecompute("fast", 100, expiresAt));
+        assertTrue(guard.shouldRecompute("slow", 2_000, expiresAt));
+    }
+
+    @Test
+    @DisplayName("Should let only the lock holder recompute and serve stale to the rest")
+    void shouldAllowSingleRecompute() {
+        long expiresAt = clock.get() + 50;
+
+        assertTrue(guard.shouldRecompute("currentWeather::cairo", 200, expiresAt));
+        assertFalse(guard.shouldRecompute("currentWeather::cairo", 200, expiresAt));
+        assertEquals(1L, guard.getStats().get("earlyRecomputes"));
+        assertEquals(1L, guard.getStats().get("staleServed"));
+    }
+
+    @Test
+    @DisplayName("Should report an early hit as a miss once, then serve the reloaded value")
+    void shouldReloadEarlyThroughTwoTierCache() {
+        ConcurrentMapCache remote = new ConcurrentMapCache("currentWeather");
+        TwoTierCache cache = new TwoTierCache(remote, new NearCache(10), 60_000,
+                key -> 300_000, key -> remote.get(key) != null ? new TwoTierCache.RemoteEntry(remote.get(key), 100) : null,
+                key -> {
+                }, new RedisHealthMonitor(null, 3, 2, 500));
+        cache.setStampedeGuard(guard);
+        remote.put("cairo", "sunny");
+
+        assertNull(cache.get("cairo"));
+        assertEquals("sunny", cache.get("cairo", String.class));
+
+        cache.put("cairo", "rain");
+        assertEquals("rain", cache.get("cairo", String.class));
+        assertEquals(1L, cache.getStats().get("earlyRecomputes"));
+    }
+}
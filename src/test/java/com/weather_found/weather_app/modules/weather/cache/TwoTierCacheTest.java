@@ -0,0 +1,169 @@
+package com.weather_found.weather_app.modules.weather.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TwoTierCache Tests")
+class TwoTierCacheTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final List<Object> published = new ArrayList<>();
+    private ConcurrentMapCache remote;
+    private long remainingTtlMillis;
+    private RedisHealthMonitor health;
+    private TwoTierCache cache;
+
+    @BeforeEach
+    void setUp() {
+        remote = new ConcurrentMapCache("currentWeather");
+        remainingTtlMillis = 300_000;
+        health = new RedisHealthMonitor(null, 2, 2, 500);
+        cache = new TwoTierCache(remote, new NearCache(2, nanos::get), 60_000,
+                key -> 300_000, this::readRemote, published::add, health);
+    }
+
+    @Test
+    @DisplayName("Should serve repeat reads from the near tier")
+    void shouldServeRepeatReadsNear() {
+        remote.put("cairo", "sunny");
+
+        assertEquals("sunny", cache.get("cairo", String.class));
+        remote.put("cairo", "changed behind our back");
+        assertEquals("sunny", cache.get("cairo", String.class));
+
+        Map<String, Object> stats = cache.getStats();
+        assertEquals(1L, stats.get("nearHits"));
+        assertEquals(1L, stats.get("remoteHits"));
+        assertEquals(0.5, stats.get("nearHitRatio"));
+    }
+
+    @Test
+    @DisplayName("Should not keep a near copy longer than the remote TTL")
+    void shouldCapNearTtlByRemoteTtl() {
+        remote.put("cairo", "sunny");
+        remainingTtlMillis = 1_000;
+        cache.get("cairo");
+
+        nanos.addAndGet(1_500_000_000L);
+        remote.evict("cairo");
+
+        assertNull(cache.get("cairo"));
+        assertEquals(1L, cache.getStats().get("misses"));
+    }
+
+    @Test
+    @DisplayName("Should report hits from either tier but not misses")
+    void shouldReportHits() {
+        List<Object> hits = new ArrayList<>();
+        cache.setHitListener(hits::add);
+        remote.put("cairo", "sunny");
+
+        cache.get("cairo");
+        cache.get("cairo");
+        cache.get("giza");
+
+        assertEquals(List.of("cairo", "cairo"), hits);
+    }
+
+    @Test
+    @DisplayName("Should write through and announce changed keys")
+    void shouldWriteThroughAndPublish() {
+        cache.put("cairo", "sunny");
+        cache.evict("giza");
+        cache.clear();
+
+        assertEquals(List.of("cairo", "giza"), published.subList(0, 2));
+        assertNull(published.get(2));
+    }
+
+    @Test
+    @DisplayName("Should drop near copies on remote invalidation")
+    void shouldDropOnRemoteInvalidation() {
+        cache.put("cairo", "sunny");
+        remote.put("cairo", "rain");
+
+        cache.onRemoteInvalidation("cairo");
+
+        assertEquals("rain", cache.get("cairo", String.class));
+    }
+
+    @Test
+    @DisplayName("Should drop near copies of non-string keys from their string form")
+    void shouldMatchInvalidationOfNonStringKey() {
+        cache.put(42L, "sunny");
+        remote.put(42L, "rain");
+
+        cache.onRemoteInvalidation("42");
+
+        assertEquals("rain", cache.get(42L, String.class));
+    }
+
+    @Test
+    @DisplayName("Should not overflow the near expiry when the remote TTL is unbounded")
+    void shouldSaturateUnboundedTtl() {
+        TwoTierCache unbounded = new TwoTierCache(remote, new NearCache(2, nanos::get), 60_000,
+                key -> Long.MAX_VALUE, this::readRemote, published::add, health);
+
+        unbounded.put("cairo", "sunny");
+
+        assertEquals(Long.MAX_VALUE, unbounded.nearEntries().get(0).expiresAtMillis());
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used near entry")
+    void shouldBoundNearEntries() {
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.get("a");
+        cache.put("c", 3);
+
+        assertEquals(2, cache.getStats().get("nearEntries"));
+        cache.get("b");
+        assertEquals(1L, cache.getStats().get("remoteHits"));
+    }
+
+    @Test
+    @DisplayName("Should keep caching in the near tier while Redis is down")
+    void shouldFallBackWhileRedisDown() {
+        health.recordFailure(new IllegalStateException("connection refused"));
+        health.recordFailure(new IllegalStateException("connection refused"));
+        assertEquals(RedisHealthMonitor.State.DOWN, health.getState());
+
+        cache.put("cairo", "sunny");
+
+        assertNull(remote.get("cairo"));
+        assertEquals("sunny", cache.get("cairo", String.class));
+        assertTrue(published.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should restore exported near entries that have not expired")
+    void shouldRestoreNearEntries() {
+        cache.put("cairo", "sunny");
+        List<TwoTierCache.NearEntry> exported = cache.nearEntries();
+
+        TwoTierCache restarted = new TwoTierCache(new ConcurrentMapCache("currentWeather"), new NearCache(2, nanos::get),
+                60_000, key -> 300_000, this::readRemote, published::add, health);
+        assertTrue(restarted.restoreNear(exported.get(0)));
+        assertFalse(restarted.restoreNear(new TwoTierCache.NearEntry("giza", "rain", System.currentTimeMillis() - 1)));
+
+        assertEquals("sunny", restarted.get("cairo", String.class));
+        assertNull(restarted.get("giza"));
+        assertEquals(1L, restarted.getStats().get("nearHits"));
+    }
+
+    private TwoTierCache.RemoteEntry readRemote(Object key) {
+        Cache.ValueWrapper value = remote.get(key);
+        return value != null ? new TwoTierCache.RemoteEntry(value, remainingTtlMillis) : null;
+    }
+}
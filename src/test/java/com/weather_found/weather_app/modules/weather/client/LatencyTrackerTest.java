@@ -0,0 +1,47 @@
+package com.weather_found.weather_app.modules.weather.client;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LatencyTracker Tests")
+class LatencyTrackerTest {
+
+    @Test
+    @DisplayName("Should report no percentile before any sample")
+    void shouldReportNothingWhenEmpty() {
+        assertEquals(-1, new LatencyTracker(100).percentile(99));
+    }
+
+    @Test
+    @DisplayName("Should use nearest-rank percentiles of the window")
+    void shouldUseNearestRank() {
+        LatencyTracker tracker = new LatencyTracker(100);
+        for (int i = 1; i <= 100; i++) {
+            tracker.record(i);
+        }
+
+        assertEquals(50, tracker.percentile(50));
+        assertEquals(99, tracker.percentile(99));
+        assertEquals(100, tracker.percentile(100));
+    }
+
+    @Test
+    @DisplayName("Should refresh cached percentiles only after a twentieth of the window")
+    void shouldRefreshEveryFewSamples() {
+        LatencyTracker tracker = new LatencyTracker(100);
+        for (int i = 1; i <= 100; i++) {
+            tracker.record(i);
+        }
+        assertEquals(99, tracker.percentile(99));
+
+        for (int i = 0; i < 4; i++) {
+            tracker.record(1000);
+        }
+        assertEquals(99, tracker.percentile(99));
+
+        tracker.record(1000);
+        assertEquals(1000, tracker.percentile(99));
+    }
+}
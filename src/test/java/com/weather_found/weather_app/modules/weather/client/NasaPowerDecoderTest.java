@@ -0,0 +1,40 @@
+package com.weather_found.weather_app.modules.weather.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("NasaPowerDecoder Tests")
+class NasaPowerDecoderTest {
+
+    private final NasaPowerDecoder decoder = new NasaPowerDecoder(new ObjectMapper());
+
+    @Test
+    @DisplayName("Should decode daily parameters into aligned primitive arrays")
+    void shouldDecodeDailyParameters() throws Exception {
+        String json = """
+                {"type":"Feature","geometry":{"type":"Point","coordinates":[31.2,30.0,23.5]},
+                 "properties":{"parameter":{
+                   "T2M":{"20240101":14.2,"20240102":15.0,"20240103":-999.0},
+                   "RH2M":{"20240101":60.1,"20240103":58.4},
+                   "PRECTOTCORR":{"20240101":0.0,"20240102":1.2,"20240103":0.4}}},
+                 "header":{"title":"NASA/POWER"}}
+                """;
+
+        NasaDailySeries series = decoder.decodeDaily(json.getBytes(StandardCharsets.UTF_8));
+
+        assertArrayEquals(new String[] { "20240101", "20240102", "20240103" }, series.dates());
+        assertEquals(14.2, series.temperature()[0]);
+        assertTrue(Double.isNaN(series.temperature()[2]), "fill values decode to NaN");
+        assertEquals(60.1, series.humidity()[0]);
+        assertTrue(Double.isNaN(series.humidity()[1]), "gaps stay NaN");
+        assertEquals(58.4, series.humidity()[2]);
+        assertEquals(1.2, series.precipitation()[1]);
+        assertEquals(3, series.windSpeed().length);
+        assertTrue(Double.isNaN(series.windSpeed()[0]), "absent parameters are all NaN");
+    }
+}
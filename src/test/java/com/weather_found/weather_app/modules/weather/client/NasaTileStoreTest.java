@@ -0,0 +1,109 @@
+package com.weather_found.weather_app.modules.weather.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("NasaTileStore Tests")
+class NasaTileStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private NasaTileStore store;
+    private NasaTileStore.GridCell cell;
+
+    @BeforeEach
+    void setUp() {
+        store = new NasaTileStore(directory.toString());
+        cell = store.cellOf(30.06, 31.25);
+    }
+
+    @Test
+    @DisplayName("Should map nearby points to the cell of the nearest MERRA-2 grid point")
+    void shouldShareGridCell() {
+        assertEquals(cell, store.cellOf(30.2, 31.5));
+        assertNotEquals(cell, store.cellOf(30.3, 31.25));
+        assertEquals(30.0, cell.centerLatitude());
+        assertEquals(31.25, cell.centerLongitude());
+        assertEquals(store.cellOf(10, -180), store.cellOf(10, 180));
+        assertEquals(-180.0, store.cellOf(10, 179.8).centerLongitude());
+    }
+
+    @Test
+    @DisplayName("Should slice a range spanning two stored years")
+    void shouldSliceAcrossYears() throws Exception {
+        store.writeTiles(cell, yearsSeries(2019, 2020));
+
+        assertTrue(store.hasTile(cell, 2019));
+        assertTrue(store.hasTile(cell, 2020));
+        assertFalse(store.hasTile(cell, 2021));
+
+        NasaDailySeries slice = store.read(cell, LocalDate.of(2019, 12, 30), LocalDate.of(2020, 1, 2));
+
+        assertArrayEquals(new String[] { "20191230", "20191231", "20200101", "20200102" }, slice.dates());
+        assertEquals(2019_364, slice.temperature()[0], 0.5);
+        assertEquals(2020_001, slice.temperature()[2], 0.5);
+        assertEquals(1.0, slice.precipitation()[3]);
+        assertTrue(Double.isNaN(slice.humidity()[0]));
+        assertEquals(50.0, slice.humidity()[1]);
+    }
+
+    @Test
+    @DisplayName("Should report a miss when a year of the range is not stored")
+    void shouldMissIncompleteRange() throws Exception {
+        store.writeTiles(cell, yearsSeries(2019, 2019));
+
+        assertNull(store.read(cell, LocalDate.of(2019, 6, 1), LocalDate.of(2020, 6, 1)));
+        assertEquals(1L, store.getStats().get("rangeMisses"));
+    }
+
+    @Test
+    @DisplayName("Should not store a year whose last days are not published yet")
+    void shouldSkipIncompleteYear() throws Exception {
+        NasaDailySeries series = yearsSeries(2019, 2020);
+        int last = series.size() - 1;
+        for (int i = last - 2; i <= last; i++) {
+            series.temperature()[i] = Double.NaN;
+            series.precipitation()[i] = Double.NaN;
+            series.windSpeed()[i] = Double.NaN;
+            series.humidity()[i] = Double.NaN;
+        }
+
+        store.writeTiles(cell, series);
+
+        assertTrue(store.hasTile(cell, 2019));
+        assertFalse(store.hasTile(cell, 2020));
+        assertEquals(1L, store.getStats().get("incompleteTilesSkipped"));
+    }
+
+    /**
+     * Temperature encodes year and day of year; humidity is missing every other day
+     */
+    private static NasaDailySeries yearsSeries(int fromYear, int toYear) {
+        LocalDate start = LocalDate.of(fromYear, 1, 1);
+        int size = (int) (LocalDate.of(toYear, 12, 31).toEpochDay() - start.toEpochDay() + 1);
+        String[] dates = new String[size];
+        double[] temperature = new double[size];
+        double[] precipitation = new double[size];
+        double[] humidity = new double[size];
+        for (int i = 0; i < size; i++) {
+            LocalDate date = start.plusDays(i);
+            dates[i] = date.format(DateTimeFormatter.BASIC_ISO_DATE);
+            temperature[i] = date.getYear() * 1000 + date.getDayOfYear();
+            precipitation[i] = 1.0;
+            humidity[i] = i % 2 == 0 ? 50.0 : Double.NaN;
+        }
+        double[] windSpeed = new double[size];
+        Arrays.fill(windSpeed, 3.5);
+        return new NasaDailySeries(dates, temperature, precipitation, windSpeed, humidity);
+    }
+}
@@ -0,0 +1,94 @@
+package com.weather_found.weather_app.modules.weather.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("OpenWeatherMapDecoder Tests")
+class OpenWeatherMapDecoderTest {
+
+    private final OpenWeatherMapDecoder decoder = new OpenWeatherMapDecoder(new ObjectMapper());
+
+    private static final String CURRENT = """
+            {"coord":{"lon":31.2497,"lat":30.0626},
+             "weather":[{"id":800,"main":"Clear","description":"clear sky","icon":"01d"},
+                        {"id":701,"main":"Mist","description":"mist","icon":"50d"}],
+             "base":"stations",
+             "main":{"temp":28.4,"feels_like":27.9,"pressure":1012,"humidity":39},
+             "visibility":10000,"wind":{"speed":5.14,"deg":330},"clouds":{"all":0},
+             "sys":{"id":2514,"country":"EG"},"id":360630,"name":"Cairo","cod":200}
+            """;
+
+    @Test
+    @DisplayName("Should decode current weather into primitive fields")
+    void shouldDecodeCurrentWeather() throws Exception {
+        CurrentObservation observation = decoder.decodeCurrent(bytes(CURRENT));
+
+        assertEquals(360630L, observation.cityId());
+        assertEquals("Cairo", observation.cityName());
+        assertEquals(30.0626, observation.latitude());
+        assertEquals(31.2497, observation.longitude());
+        assertEquals(28.4, observation.temperature());
+        assertEquals(39.0, observation.humidity());
+        assertEquals(1012.0, observation.pressure());
+        assertEquals(5.14, observation.windSpeed());
+        assertEquals(330, observation.windDirection());
+        assertEquals(0, observation.cloudCover());
+        assertEquals(10.0, observation.visibilityKm());
+        assertEquals("Clear", observation.condition());
+        assertEquals("clear sky", observation.description());
+    }
+
+    @Test
+    @DisplayName("Should mark absent fields as missing")
+    void shouldMarkMissingFields() throws Exception {
+        CurrentObservation observation = decoder.decodeCurrent(bytes("{\"main\":{\"temp\":1.5}}"));
+
+        assertEquals(1.5, observation.temperature());
+        assertTrue(Double.isNaN(observation.humidity()));
+        assertFalse(observation.hasCoordinates());
+        assertEquals(CurrentObservation.MISSING, observation.windDirection());
+        assertNull(observation.condition());
+    }
+
+    @Test
+    @DisplayName("Should decode every city of a group response")
+    void shouldDecodeGroup() throws Exception {
+        List<CurrentObservation> observations = decoder.decodeGroup(
+                bytes("{\"cnt\":2,\"list\":[" + CURRENT + ",{\"id\":1,\"name\":\"Giza\"}]}"));
+
+        assertEquals(2, observations.size());
+        assertEquals("Cairo", observations.get(0).cityName());
+        assertEquals(1L, observations.get(1).cityId());
+    }
+
+    @Test
+    @DisplayName("Should decode forecast entries column-wise")
+    void shouldDecodeForecast() throws Exception {
+        String json = """
+                {"cod":"200","message":0,"cnt":2,"list":[
+                  {"dt":1700000000,"main":{"temp":20.1,"pressure":1010,"humidity":50},
+                   "weather":[{"main":"Rain"}],"dt_txt":"2023-11-14 22:00:00"},
+                  {"dt":1700010800,"main":{"temp":18.7,"pressure":1011,"humidity":55},
+                   "weather":[{"main":"Clouds"}],"dt_txt":"2023-11-15 01:00:00"}],
+                 "city":{"id":360630,"name":"Cairo"}}
+                """;
+
+        ForecastSeries series = decoder.decodeForecast(bytes(json));
+
+        assertEquals(2, series.size());
+        assertArrayEquals(new long[] { 1700000000L, 1700010800L }, series.epochSeconds());
+        assertArrayEquals(new double[] { 20.1, 18.7 }, series.temperature());
+        assertArrayEquals(new String[] { "Rain", "Clouds" }, series.conditions());
+        assertEquals("2023-11-15 01:00:00", series.dateTimes()[1]);
+    }
+
+    private static byte[] bytes(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,65 @@
+package com.weather_found.weather_app.modules.weather.client;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("QuotaBudgeter Tests")
+class QuotaBudgeterTest {
+
+    private static final String PROVIDER = "openweathermap";
+
+    // Day limit only, so the test does not depend on where the minute window starts
+    private final QuotaBudgeter budgeter = new QuotaBudgeter(0, 10, 0, 0, 0.7, 0.5);
+
+    @Test
+    @DisplayName("Should keep the interactive reserve once the background share is used up")
+    void shouldReserveQuotaForInteractiveCalls() {
+        for (int i = 0; i < 7; i++) {
+            assertTrue(budgeter.tryAcquire(PROVIDER, CallPriority.BACKGROUND));
+        }
+
+        assertFalse(budgeter.tryAcquire(PROVIDER, CallPriority.BACKGROUND));
+        assertFalse(budgeter.hasCapacity(PROVIDER, CallPriority.BACKGROUND));
+        assertTrue(budgeter.hasCapacity(PROVIDER, CallPriority.INTERACTIVE));
+        for (int i = 0; i < 3; i++) {
+            assertTrue(budgeter.tryAcquire(PROVIDER, CallPriority.INTERACTIVE));
+        }
+        assertFalse(budgeter.tryAcquire(PROVIDER, CallPriority.INTERACTIVE));
+    }
+
+    @Test
+    @DisplayName("Should report no capacity without blocking when the interactive budget is exhausted")
+    void shouldFailFastWhenExhausted() {
+        for (int i = 0; i < 10; i++) {
+            assertTrue(budgeter.tryAcquire(PROVIDER, CallPriority.INTERACTIVE));
+        }
+
+        assertFalse(budgeter.hasCapacity(PROVIDER, CallPriority.INTERACTIVE));
+        assertFalse(budgeter.tryAcquire(PROVIDER, CallPriority.INTERACTIVE));
+    }
+
+    @Test
+    @DisplayName("Should give up waiting when the window cannot be waited out")
+    void shouldNotWaitPastDeadline() throws InterruptedException {
+        for (int i = 0; i < 7; i++) {
+            budgeter.tryAcquire(PROVIDER, CallPriority.BACKGROUND);
+        }
+
+        long start = System.nanoTime();
+        assertFalse(budgeter.awaitCapacity(PROVIDER, CallPriority.BACKGROUND, 1000));
+        assertTrue(System.nanoTime() - start < 500_000_000L);
+    }
+
+    @Test
+    @DisplayName("Should return refunded calls to the budget")
+    void shouldRefundCalls() {
+        for (int i = 0; i < 10; i++) {
+            budgeter.tryAcquire(PROVIDER, CallPriority.INTERACTIVE);
+        }
+        budgeter.refund(PROVIDER);
+
+        assertTrue(budgeter.tryAcquire(PROVIDER, CallPriority.INTERACTIVE));
+    }
+}
@@ -0,0 +1,103 @@
+package com.weather_found.weather_app.modules.weather.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RequestCoalescer Tests")
+class RequestCoalescerTest {
+
+    private RequestCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        coalescer = new RequestCoalescer();
+    }
+
+    @Test
+    @DisplayName("Should share one in-flight call between identical requests")
+    void shouldShareInFlightCall() {
+        AtomicInteger loads = new AtomicInteger();
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+
+        CompletableFuture<String> first = coalescer.execute("owm", "current:cairo", () -> {
+            loads.incrementAndGet();
+            return upstream;
+        });
+        CompletableFuture<String> second = coalescer.execute("owm", "current:cairo", () -> {
+            loads.incrementAndGet();
+            return CompletableFuture.completedFuture("other");
+        });
+
+        upstream.complete("sunny");
+
+        assertEquals("sunny", first.join());
+        assertEquals("sunny", second.join());
+        assertEquals(1, loads.get());
+        assertEquals(0, coalescer.getInFlightCount());
+    }
+
+    @Test
+    @DisplayName("Should start a new call once the previous one completed")
+    void shouldNotCoalesceCompletedCalls() {
+        AtomicInteger loads = new AtomicInteger();
+
+        coalescer.execute("owm", "current:cairo",
+                () -> CompletableFuture.completedFuture(loads.incrementAndGet())).join();
+        coalescer.execute("owm", "current:cairo",
+                () -> CompletableFuture.completedFuture(loads.incrementAndGet())).join();
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should propagate failures to every waiting caller")
+    void shouldPropagateFailures() {
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+
+        CompletableFuture<String> first = coalescer.execute("owm", "current:x", () -> upstream);
+        CompletableFuture<String> second = coalescer.execute("owm", "current:x", () -> upstream);
+
+        upstream.completeExceptionally(new IllegalStateException("boom"));
+
+        assertTrue(first.isCompletedExceptionally());
+        assertTrue(second.isCompletedExceptionally());
+        assertEquals(0, coalescer.getInFlightCount());
+    }
+
+    @Test
+    @DisplayName("Should isolate callers from each other's cancellation")
+    void shouldIsolateCancellation() {
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+
+        CompletableFuture<String> first = coalescer.execute("owm", "k", () -> upstream);
+        CompletableFuture<String> second = coalescer.execute("owm", "k", () -> upstream);
+        first.cancel(true);
+        upstream.complete("ok");
+
+        assertEquals("ok", second.join());
+    }
+
+    @Test
+    @DisplayName("Should count collapsed calls per provider")
+    @SuppressWarnings("unchecked")
+    void shouldCountCollapsedCalls() {
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+        for (int i = 0; i < 5; i++) {
+            coalescer.execute("owm", "k", () -> upstream);
+        }
+        upstream.complete("ok");
+
+        Map<String, Object> providers = (Map<String, Object>) coalescer.getStats().get("providers");
+        Map<String, Object> owm = (Map<String, Object>) providers.get("owm");
+        assertEquals(5L, owm.get("requests"));
+        assertEquals(1L, owm.get("dispatched"));
+        assertEquals(4L, owm.get("collapsed"));
+    }
+}
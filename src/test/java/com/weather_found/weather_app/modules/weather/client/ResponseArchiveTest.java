@@ -0,0 +1,110 @@
+package com.weather_found.weather_app.modules.weather.client;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ResponseArchive Tests")
+class ResponseArchiveTest {
+
+    @TempDir
+    Path directory;
+
+    private static final URI CAIRO = URI.create(
+            "https://api.openweathermap.org/data/2.5/weather?q=Cairo&appid=secret&units=metric");
+
+    @Test
+    @DisplayName("Should strip credentials from the request key")
+    void shouldStripCredentials() {
+        assertEquals("api.openweathermap.org/data/2.5/weather?q=Cairo&units=metric",
+                ResponseArchive.keyOf(CAIRO));
+    }
+
+    @Test
+    @DisplayName("Should replay recorded responses in order with their latency")
+    void shouldReplayRecordedResponses() {
+        ResponseArchive recorder = new ResponseArchive("record", directory.toString(), 1, Runnable::run);
+        recorder.record(CAIRO, response(200, "{\"temp\":31}"), 40);
+        recorder.record(CAIRO, response(503, "busy"), 5);
+        recorder.close();
+
+        ResponseArchive replayer = new ResponseArchive("replay", directory.toString(), 1, Runnable::run);
+        long started = System.nanoTime();
+        UpstreamResponse first = replayer.replay(CAIRO).join();
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+        UpstreamResponse second = replayer.replay(CAIRO).join();
+
+        assertEquals(200, first.statusCode());
+        assertEquals("{\"temp\":31}", new String(first.body(), StandardCharsets.UTF_8));
+        assertTrue(elapsedMs >= 40, "replay should keep the recorded latency");
+        assertEquals(503, second.statusCode());
+        assertEquals(200, replayer.replay(CAIRO).join().statusCode());
+    }
+
+    @Test
+    @DisplayName("Should fall back to recordings of the same endpoint")
+    void shouldFallBackToEndpoint() {
+        ResponseArchive recorder = new ResponseArchive("record", directory.toString(), 1, Runnable::run);
+        recorder.record(CAIRO, response(200, "{}"), 0);
+        recorder.close();
+
+        ResponseArchive replayer = new ResponseArchive("replay", directory.toString(), 1, Runnable::run);
+        URI other = URI.create("https://api.openweathermap.org/data/2.5/weather?q=Giza&appid=x");
+        URI unknown = URI.create("https://api.openweathermap.org/data/2.5/forecast?q=Giza");
+
+        assertEquals(200, replayer.replay(other).join().statusCode());
+        assertTrue(replayer.replay(unknown).isCompletedExceptionally());
+    }
+
+    @Test
+    @DisplayName("Should scan archived responses across segments")
+    void shouldScanHistory() throws IOException {
+        ResponseArchive recorder = new ResponseArchive("record", directory.toString(), 0, Runnable::run);
+        for (int i = 0; i < 3; i++) {
+            recorder.record(CAIRO, response(200, "{\"i\":" + i + "}"), 1);
+        }
+        recorder.close();
+
+        List<String> bodies = new ArrayList<>();
+        new ResponseArchive("off", directory.toString(), 1, Runnable::run)
+                .scan(Instant.EPOCH, Instant.now().plusSeconds(1),
+                        archived -> bodies.add(new String(archived.body(), StandardCharsets.UTF_8)));
+
+        assertEquals(List.of("{\"i\":0}", "{\"i\":1}", "{\"i\":2}"), bodies);
+    }
+
+    @Test
+    @DisplayName("Should stop scanning a segment at a truncated record")
+    void shouldStopAtTruncatedRecord() throws IOException {
+        ResponseArchive recorder = new ResponseArchive("record", directory.toString(), 1, Runnable::run);
+        recorder.record(CAIRO, response(200, "{}"), 1);
+        recorder.close();
+        try (var segments = Files.list(directory)) {
+            Path segment = segments.findFirst().orElseThrow();
+            // A length prefix promising more bytes than a crash left behind
+            Files.write(segment, new byte[] { 0, 0, 0, 64, 1, 2 }, StandardOpenOption.APPEND);
+        }
+
+        List<Integer> statuses = new ArrayList<>();
+        new ResponseArchive("off", directory.toString(), 1, Runnable::run)
+                .scan(Instant.EPOCH, Instant.now().plusSeconds(1), archived -> statuses.add(archived.statusCode()));
+
+        assertEquals(List.of(200), statuses);
+    }
+
+    private static UpstreamResponse response(int status, String body) {
+        return new UpstreamResponse(status, body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,99 @@
+package com.weather_found.weather_app.modules.weather.provider;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("WeatherFanOut Tests")
+class WeatherFanOutTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2024-06-01T12:00:00Z"), ZoneOffset.UTC);
+
+    @Test
+    @DisplayName("Should give the same answer for the same location and hour")
+    void simulatorShouldBeDeterministic() {
+        SimulatedWeatherProvider simulator = new SimulatedWeatherProvider("Sim", 1.0, 0, 0.0, CLOCK, Runnable::run);
+
+        Map<String, Object> first = simulator.fetchCurrent("Cairo").join();
+        Map<String, Object> second = simulator.fetchCurrent(" cairo ").join();
+
+        assertEquals(first.get("temperature"), second.get("temperature"));
+        assertEquals(first.get("weatherCondition"), second.get("weatherCondition"));
+    }
+
+    @Test
+    @DisplayName("Should merge fields weighted by provider quality")
+    @SuppressWarnings("unchecked")
+    void shouldMergeWeighted() {
+        WeatherProvider heavy = fixed("Heavy", 3.0, Map.of("temperature", 20.0, "windDirection", 350,
+                "weatherCondition", "Rain"));
+        WeatherProvider light = fixed("Light", 1.0, Map.of("temperature", 24.0, "humidity", 60.0,
+                "windDirection", 10, "weatherCondition", "Clear"));
+        WeatherFanOut fanOut = new WeatherFanOut(List.of(heavy, light), 1000);
+
+        Map<String, Object> merged = fanOut.fetchCurrent("Cairo");
+
+        assertEquals(21.0, merged.get("temperature"));
+        assertEquals(60.0, merged.get("humidity"), "fields only one source has are taken as is");
+        assertEquals(355, merged.get("windDirection"), "wind direction is averaged on the circle");
+        assertEquals("Rain", merged.get("weatherCondition"));
+        assertEquals("Aggregated", merged.get("dataSource"));
+        assertEquals(2, ((List<Map<String, Object>>) merged.get("sources")).size());
+    }
+
+    @Test
+    @DisplayName("Should merge what arrived by the deadline and report the rest")
+    @SuppressWarnings("unchecked")
+    void shouldRespectDeadline() {
+        WeatherProvider fast = new SimulatedWeatherProvider("Fast", 1.0, 0, 0.0, CLOCK, Runnable::run);
+        WeatherProvider slow = new SimulatedWeatherProvider("Slow", 1.0, 5_000, 0.0, CLOCK, Runnable::run);
+        WeatherProvider broken = new SimulatedWeatherProvider("Broken", 1.0, 0, 1.0, CLOCK, Runnable::run);
+        WeatherFanOut fanOut = new WeatherFanOut(List.of(fast, slow, broken), 200);
+
+        long start = System.nanoTime();
+        Map<String, Object> merged = fanOut.fetchCurrent("Cairo");
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(elapsedMs < 2_000, "must not wait for the slowest provider");
+        assertEquals("Fast", merged.get("dataSource"));
+        List<Map<String, Object>> missing = (List<Map<String, Object>>) merged.get("missingSources");
+        assertTrue(missing.contains(Map.of("provider", "Slow", "reason", "timeout")));
+        assertTrue(missing.contains(Map.of("provider", "Broken", "reason", "error")));
+    }
+
+    @Test
+    @DisplayName("Should return null when no provider answered")
+    void shouldReturnNullWithoutResults() {
+        WeatherFanOut fanOut = new WeatherFanOut(List.of(fixed("Empty", 1.0, null)), 100);
+
+        assertNull(fanOut.fetchCurrent("Cairo", fanOut.getProviders(), Duration.ofMillis(100)));
+    }
+
+    private static WeatherProvider fixed(String name, double weight, Map<String, Object> weather) {
+        return new WeatherProvider() {
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public double getWeight() {
+                return weight;
+            }
+
+            @Override
+            public CompletableFuture<Map<String, Object>> fetchCurrent(String locationName) {
+                return CompletableFuture.completedFuture(weather);
+            }
+        };
+    }
+}
@@ -0,0 +1,132 @@
+package com.weather_found.weather_app.modules.weather.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("DashboardComposer Tests")
+class DashboardComposerTest {
+
+    private final DashboardComposer composer = new DashboardComposer(200, new String[] { "slow=50", "stuck=20" }, 600, 300);
+
+    @AfterEach
+    void tearDown() {
+        composer.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should run sections concurrently rather than one after another")
+    void shouldRunSectionsConcurrently() {
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        DashboardComposer.Section first = new DashboardComposer.Section("first", () -> awaitOther(bothStarted));
+        DashboardComposer.Section second = new DashboardComposer.Section("second", () -> awaitOther(bothStarted));
+
+        DashboardComposer.Composition composition = composer.compose(List.of(first, second));
+
+        assertTrue(composition.complete());
+        assertEquals("done", composition.values().get("first"));
+        assertEquals("done", composition.values().get("second"));
+    }
+
+    @Test
+    @DisplayName("Should mark a late section unavailable, then serve its late result as stale")
+    @SuppressWarnings("unchecked")
+    void shouldDegradeLateSections() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(1);
+        DashboardComposer.Section fast = new DashboardComposer.Section("fast", () -> "fresh");
+        DashboardComposer.Section slow = new DashboardComposer.Section("slow", () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            finished.countDown();
+            return "late";
+        });
+
+        DashboardComposer.Composition first = composer.compose(List.of(fast, slow));
+        assertFalse(first.complete());
+        assertEquals("fresh", first.values().get("fast"));
+        assertFalse(first.values().containsKey("slow"));
+        assertEquals("UNAVAILABLE", ((Map<String, Object>) first.sections().get("slow")).get("status"));
+
+        release.countDown();
+        assertTrue(finished.await(1, TimeUnit.SECONDS));
+
+        DashboardComposer.Section failing = new DashboardComposer.Section("slow", () -> {
+            throw new IllegalStateException("upstream down");
+        });
+        DashboardComposer.Composition second = composer.compose(List.of(fast, failing));
+        for (int i = 0; i < 50 && !second.values().containsKey("slow"); i++) {
+            Thread.sleep(10); // the late value is recorded just after the section returns
+            second = composer.compose(List.of(fast, failing));
+        }
+        assertEquals("late", second.values().get("slow"));
+        assertEquals("STALE", ((Map<String, Object>) second.sections().get("slow")).get("status"));
+    }
+
+    @Test
+    @DisplayName("Should share one in-flight run of a section between concurrent compositions")
+    void shouldCoalesceConcurrentRuns() throws InterruptedException {
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        DashboardComposer.Section slow = new DashboardComposer.Section("slow", () -> {
+            runs.incrementAndGet();
+            try {
+                release.await(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "late";
+        });
+
+        composer.compose(List.of(slow));
+        composer.compose(List.of(slow));
+        composer.compose(List.of(slow));
+        release.countDown();
+
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    @DisplayName("Should cancel a run that is still going after its maximum run time")
+    @SuppressWarnings("unchecked")
+    void shouldCancelOverlongRuns() throws InterruptedException {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        DashboardComposer.Section stuck = new DashboardComposer.Section("stuck", () -> {
+            try {
+                Thread.sleep(5_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return "never";
+        });
+
+        DashboardComposer.Composition composition = composer.compose(List.of(stuck));
+
+        assertEquals("UNAVAILABLE", ((Map<String, Object>) composition.sections().get("stuck")).get("status"));
+        assertTrue(interrupted.await(1, TimeUnit.SECONDS));
+        Map<String, Object> sectionStats = (Map<String, Object>) ((Map<String, Object>) composer.getStats()
+                .get("sections")).get("stuck");
+        assertEquals(1L, sectionStats.get("cancelled"));
+    }
+
+    private static String awaitOther(CountDownLatch bothStarted) {
+        bothStarted.countDown();
+        try {
+            return bothStarted.await(150, TimeUnit.MILLISECONDS) ? "done" : "sequential";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "interrupted";
+        }
+    }
+}
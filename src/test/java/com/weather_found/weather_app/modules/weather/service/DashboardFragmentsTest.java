@@ -0,0 +1,64 @@
+package com.weather_found.weather_app.modules.weather.service;
+
+import com.weather_found.weather_app.modules.weather.cache.CacheTtlPolicy;
+import com.weather_found.weather_app.modules.weather.cache.RedisValueStore;
+import com.weather_found.weather_app.modules.weather.cache.StampedeGuard;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("DashboardFragments Tests")
+class DashboardFragmentsTest {
+
+    private StampedeGuard stampedeGuard;
+    private RedisValueStore valueStore;
+    private DashboardFragments fragments;
+
+    @BeforeEach
+    void setUp() {
+        stampedeGuard = mock(StampedeGuard.class);
+        valueStore = mock(RedisValueStore.class);
+        CacheTtlPolicy ttlPolicy = new CacheTtlPolicy(900, 300, 1800, 7200, 60, 3600, 300, 300, 120, 120, 1800, 300,
+                900, 1800);
+        fragments = new DashboardFragments(stampedeGuard, valueStore, ttlPolicy);
+    }
+
+    @Test
+    @DisplayName("Should share one cached fragment under a user-independent key with its own TTL")
+    void shouldCacheSharedFragment() {
+        StampedeGuard.Lookup miss = new StampedeGuard.Lookup("dashboard:fragment:weatherTrends", null, true, 0);
+        when(stampedeGuard.read("dashboard:fragment:weatherTrends")).thenReturn(miss);
+
+        assertEquals("trends", fragments.get(DashboardFragments.Fragment.TRENDS, () -> "trends"));
+        verify(stampedeGuard).write(miss, "trends", Duration.ofMinutes(30));
+    }
+
+    @Test
+    @DisplayName("Should keep serving the previous fragment when a rebuild fails")
+    void shouldServePreviousOnFailure() {
+        when(stampedeGuard.read(anyString()))
+                .thenReturn(new StampedeGuard.Lookup("dashboard:fragment:activeAlerts", "old", true, 0));
+
+        Object value = fragments.get(DashboardFragments.Fragment.ALERTS, () -> {
+            throw new IllegalStateException("database down");
+        });
+
+        assertEquals("old", value);
+        verify(stampedeGuard, never()).write(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should drop invalidated fragments")
+    void shouldInvalidate() {
+        fragments.invalidate(DashboardFragments.Fragment.ALERTS, DashboardFragments.Fragment.ANALYTICS);
+
+        verify(valueStore).delete("dashboard:fragment:activeAlerts");
+        verify(valueStore).delete("dashboard:fragment:analytics");
+    }
+}
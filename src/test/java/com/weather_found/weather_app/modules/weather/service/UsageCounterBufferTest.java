@@ -0,0 +1,95 @@
+package com.weather_found.weather_app.modules.weather.service;
+
+import com.weather_found.weather_app.modules.weather.cache.RedisHealthMonitor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.ExpirationOptions;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.types.Expiration;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("UsageCounterBuffer Tests")
+class UsageCounterBufferTest {
+
+    private static final Duration TTL = Duration.ofDays(30);
+
+    private RedisOperations<String, Object> operations;
+    private ValueOperations<String, Object> valueOps;
+    private ZSetOperations<String, Object> zSetOps;
+    private UsageCounterBuffer buffer;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        operations = mock(RedisOperations.class);
+        valueOps = mock(ValueOperations.class);
+        zSetOps = mock(ZSetOperations.class);
+        when(operations.opsForValue()).thenReturn(valueOps);
+        when(operations.opsForZSet()).thenReturn(zSetOps);
+
+        RedisTemplate<String, Object> redisTemplate = mock(RedisTemplate.class);
+        when(redisTemplate.executePipelined(any(SessionCallback.class))).thenAnswer(invocation -> {
+            invocation.getArgument(0, SessionCallback.class).execute(operations);
+            return List.of();
+        });
+
+        buffer = new UsageCounterBuffer(redisTemplate, new RedisHealthMonitor(null, 3, 2, 500), 4);
+    }
+
+    @Test
+    @DisplayName("Should sum increments from many threads into one delta per counter")
+    void shouldAggregateAcrossStripes() throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 1000; i++) {
+            pool.execute(() -> {
+                buffer.increment("analytics:daily:requests:2026-10-16", TTL);
+                buffer.incrementScore("analytics:endpoints:usage", "weather/current", null);
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(5, TimeUnit.SECONDS));
+
+        buffer.flush();
+
+        verify(valueOps).increment("analytics:daily:requests:2026-10-16", 1000L);
+        verify(zSetOps).incrementScore("analytics:endpoints:usage", "weather/current", 1000.0);
+        assertTrue(buffer.drain().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should send EXPIRE NX with every batch that touches a key, so a recreated key expires again")
+    void shouldExpireWithEveryBatch() {
+        buffer.increment("analytics:daily:requests:2026-10-16", TTL);
+        buffer.increment("analytics:daily:requests:2026-10-16", TTL);
+        buffer.flush();
+        buffer.incrementScore("analytics:user:activity:7", "weather/current", TTL);
+        buffer.flush();
+        buffer.incrementScore("analytics:user:activity:7", "weather/current", TTL);
+        buffer.flush();
+
+        verify(valueOps).increment("analytics:daily:requests:2026-10-16", 2L);
+        verify(operations, times(1)).expire(eq("analytics:daily:requests:2026-10-16"), eq(Expiration.from(TTL)),
+                argThat(options -> options.getCondition() == ExpirationOptions.Condition.NX));
+        verify(operations, times(2)).expire(eq("analytics:user:activity:7"), eq(Expiration.from(TTL)),
+                argThat(options -> options.getCondition() == ExpirationOptions.Condition.NX));
+        verify(operations, never()).expire(anyString(), any(Duration.class));
+        Map<String, Object> stats = buffer.getStats();
+        assertEquals(3L, stats.get("flushes"));
+        assertEquals(6L, stats.get("commandsSent"));
+    }
+}
@@ -0,0 +1,114 @@
+package com.weather_found.weather_app.modules.weather.service;
+
+import com.weather_found.weather_app.modules.weather.model.Location;
+import com.weather_found.weather_app.modules.weather.model.WeatherDailyAggregate;
+import com.weather_found.weather_app.modules.weather.model.WeatherDataEntity;
+import com.weather_found.weather_app.modules.weather.repository.WeatherConditionDailyCountRepository;
+import com.weather_found.weather_app.modules.weather.repository.WeatherDailyAggregateRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("WeatherAggregateService Tests")
+class WeatherAggregateServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 1);
+
+    private WeatherDailyAggregateRepository aggregateRepository;
+    private WeatherConditionDailyCountRepository conditionRepository;
+    private WeatherAggregateService service;
+
+    @BeforeEach
+    void setUp() {
+        aggregateRepository = mock(WeatherDailyAggregateRepository.class);
+        conditionRepository = mock(WeatherConditionDailyCountRepository.class);
+        service = new WeatherAggregateService(aggregateRepository, conditionRepository, true);
+    }
+
+    @Test
+    @DisplayName("Should upsert one delta per location and day with sums, counts, min and max")
+    void shouldRecordDailyDeltas() {
+        service.record(List.of(
+                observation(1L, DAY.atTime(9, 0), "10.5", "60", "Clear"),
+                observation(1L, DAY.atTime(15, 0), "14.5", null, "Clear"),
+                observation(1L, DAY.atTime(18, 0), null, "80", "Rain"),
+                observation(2L, DAY.plusDays(1).atTime(1, 0), "3.0", "90", null)));
+
+        ArgumentCaptor<WeatherDailyAggregate> days = ArgumentCaptor.forClass(WeatherDailyAggregate.class);
+        verify(aggregateRepository, times(2)).accumulate(days.capture());
+        WeatherDailyAggregate first = days.getAllValues().get(0);
+        assertEquals(1L, first.getLocationId());
+        assertEquals(DAY, first.getObservedOn());
+        assertEquals(3, first.getObservationCount());
+        assertEquals(25.0, first.getTemperatureSum());
+        assertEquals(2, first.getTemperatureCount());
+        assertEquals(10.5, first.getTemperatureMin());
+        assertEquals(14.5, first.getTemperatureMax());
+        assertEquals(140.0, first.getHumiditySum());
+        assertEquals(2, first.getHumidityCount());
+        assertEquals(60.0, first.getHumidityMin());
+        assertEquals(0, first.getPressureCount());
+        assertNull(first.getPressureMin());
+        WeatherDailyAggregate second = days.getAllValues().get(1);
+        assertEquals(2L, second.getLocationId());
+        assertEquals(DAY.plusDays(1), second.getObservedOn());
+        assertEquals(1, second.getObservationCount());
+        assertEquals(3.0, second.getTemperatureMax());
+        assertEquals(90.0, second.getHumiditySum());
+        verify(conditionRepository).accumulate(1L, DAY, "Clear", 2);
+        verify(conditionRepository).accumulate(1L, DAY, "Rain", 1);
+        verifyNoMoreInteractions(conditionRepository);
+    }
+
+    @Test
+    @DisplayName("Should turn daily sums into averages and skip days without readings")
+    void shouldAverageDailyTotals() {
+        when(aggregateRepository.sumTotalsByDay(DAY)).thenReturn(List.of(
+                new Object[] { DAY.plusDays(1), 30.0, 3L, 0.0, 0L },
+                new Object[] { DAY, 10.0, 4L, 150.0, 2L }));
+
+        List<Object[]> temperatures = service.temperatureTrends(DAY);
+        List<Object[]> humidity = service.humidityTrends(DAY);
+
+        assertEquals(2, temperatures.size());
+        assertEquals(10.0, temperatures.get(0)[1]);
+        assertEquals(1, humidity.size());
+        assertEquals(DAY, humidity.get(0)[0]);
+        assertEquals(75.0, humidity.get(0)[1]);
+    }
+
+    @Test
+    @DisplayName("Should report no averages over an empty window")
+    void shouldHandleEmptyTotals() {
+        when(aggregateRepository.sumTotals(any())).thenReturn(List.<Object[]>of(new Object[] { null, null, null, null, null }));
+
+        WeatherAggregateService.Totals totals = service.totals(DAY);
+
+        assertNull(totals.averageTemperature());
+        assertNull(totals.maxTemperature());
+        assertEquals(0, totals.observations());
+    }
+
+    private static WeatherDataEntity observation(Long locationId, LocalDateTime recordedAt, String temperature,
+            String humidity, String condition) {
+        Location location = new Location();
+        location.setId(locationId);
+        WeatherDataEntity entity = new WeatherDataEntity();
+        entity.setLocation(location);
+        entity.setRecordedAt(recordedAt);
+        entity.setTemperature(temperature != null ? new BigDecimal(temperature) : null);
+        entity.setHumidity(humidity != null ? new BigDecimal(humidity) : null);
+        entity.setWeatherCondition(condition);
+        return entity;
+    }
+}
@@ -0,0 +1,100 @@
+package com.weather_found.weather_app.modules.weather.service;
+
+import com.weather_found.weather_app.modules.weather.model.Location;
+import com.weather_found.weather_app.modules.weather.model.WeatherDataEntity;
+import com.weather_found.weather_app.modules.weather.model.WeatherHourlyRollup;
+import com.weather_found.weather_app.modules.weather.repository.WeatherDailyAggregateRepository;
+import com.weather_found.weather_app.modules.weather.repository.WeatherDataRepository;
+import com.weather_found.weather_app.modules.weather.repository.WeatherHourlyRollupRepository;
+import com.weather_found.weather_app.modules.weather.service.WeatherHistoryService.Resolution;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("WeatherHistoryService Tests")
+class WeatherHistoryServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 3, 10, 12, 0);
+
+    private final WeatherHistoryService service = new WeatherHistoryService(mock(WeatherDataRepository.class),
+            mock(WeatherHourlyRollupRepository.class), mock(WeatherDailyAggregateRepository.class),
+            mock(WeatherRollupService.class), 48, 31, 90, 400);
+
+    @Test
+    @DisplayName("Should read raw observations for short recent ranges")
+    void shouldRouteShortRangesToRawRows() {
+        assertEquals(Resolution.RAW, service.resolutionFor(NOW.minusHours(24), NOW, NOW));
+    }
+
+    @Test
+    @DisplayName("Should read hourly rollups for ranges of days and daily aggregates for long ranges")
+    void shouldRouteLongRangesToRollups() {
+        assertEquals(Resolution.HOURLY, service.resolutionFor(NOW.minusDays(7), NOW, NOW));
+        assertEquals(Resolution.DAILY, service.resolutionFor(NOW.minusDays(365), NOW, NOW));
+    }
+
+    @Test
+    @DisplayName("Should skip tables whose retention no longer covers the range")
+    void shouldRespectRetention() {
+        LocalDateTime longAgo = NOW.minusDays(120);
+        assertEquals(Resolution.HOURLY, service.resolutionFor(longAgo, longAgo.plusHours(6), NOW));
+
+        LocalDateTime beyondHourly = NOW.minusDays(500);
+        assertEquals(Resolution.DAILY, service.resolutionFor(beyondHourly, beyondHourly.plusHours(6), NOW));
+    }
+
+    @Test
+    @DisplayName("Should summarize the range after the compaction watermark from raw rows")
+    @SuppressWarnings("unchecked")
+    void shouldServeUncompactedTailFromRawRows() {
+        WeatherDataRepository dataRepository = mock(WeatherDataRepository.class);
+        WeatherHourlyRollupRepository hourlyRepository = mock(WeatherHourlyRollupRepository.class);
+        WeatherRollupService rollupService = mock(WeatherRollupService.class);
+        WeatherHistoryService history = new WeatherHistoryService(dataRepository, hourlyRepository,
+                mock(WeatherDailyAggregateRepository.class), rollupService, 48, 31, 90, 400);
+
+        LocalDateTime from = LocalDateTime.now().minusDays(3).withMinute(0).withSecond(0).withNano(0);
+        LocalDateTime to = from.plusDays(3);
+        LocalDateTime compacted = to.minusHours(2);
+        when(rollupService.compactedUntil()).thenReturn(compacted);
+
+        WeatherHourlyRollup rollup = new WeatherHourlyRollup();
+        rollup.setBucketStart(compacted.minusHours(1));
+        rollup.setObservationCount(4);
+        when(hourlyRepository.findByLocationIdAndBucketStartBetweenOrderByBucketStart(7L, from,
+                compacted.minusNanos(1))).thenReturn(List.of(rollup));
+        when(dataRepository.findByLocationAndRecordedAtBetweenOrderByRecordedAtDesc(any(Location.class),
+                eq(compacted), eq(to))).thenReturn(List.of(
+                        observation(compacted.plusMinutes(70), "20.0"),
+                        observation(compacted.plusMinutes(10), "18.0"),
+                        observation(compacted.plusMinutes(40), "22.0")));
+
+        Map<String, Object> result = history.getObservations(7L, from, to);
+
+        assertEquals("HOURLY", result.get("resolution"));
+        List<Map<String, Object>> points = (List<Map<String, Object>>) result.get("points");
+        assertEquals(3, points.size());
+        assertEquals(compacted.minusHours(1), points.get(0).get("time"));
+        assertEquals(compacted, points.get(1).get("time"));
+        assertEquals(2L, points.get(1).get("count"));
+        Map<String, Object> temperature = (Map<String, Object>) points.get(1).get("temperature");
+        assertEquals(18.0, temperature.get("min"));
+        assertEquals(20.0, temperature.get("avg"));
+        assertEquals(compacted.plusHours(1), points.get(2).get("time"));
+    }
+
+    private static WeatherDataEntity observation(LocalDateTime recordedAt, String temperature) {
+        WeatherDataEntity entity = new WeatherDataEntity();
+        entity.setRecordedAt(recordedAt);
+        entity.setTemperature(new BigDecimal(temperature));
+        return entity;
+    }
+}
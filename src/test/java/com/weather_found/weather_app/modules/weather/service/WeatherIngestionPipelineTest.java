@@ -0,0 +1,129 @@
+package com.weather_found.weather_app.modules.weather.service;
+
+import com.weather_found.weather_app.modules.weather.model.Location;
+import com.weather_found.weather_app.modules.weather.model.WeatherDataEntity;
+import com.weather_found.weather_app.modules.weather.repository.WeatherDataBatchWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DeadlockLoserDataAccessException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("WeatherIngestionPipeline Tests")
+class WeatherIngestionPipelineTest {
+
+    private static final LocalDateTime TIME = LocalDateTime.of(2026, 3, 1, 12, 0);
+
+    private WeatherDataBatchWriter batchWriter;
+    private WeatherAggregateService aggregateService;
+    private WeatherIngestionPipeline pipeline;
+
+    @BeforeEach
+    void setUp() {
+        batchWriter = mock(WeatherDataBatchWriter.class);
+        aggregateService = mock(WeatherAggregateService.class);
+        pipeline = new WeatherIngestionPipeline(batchWriter, aggregateService, mock(DashboardFragments.class),
+                mock(PlatformTransactionManager.class), 3, 0, 2, 200);
+    }
+
+    @Test
+    @DisplayName("Should reject observations once the queue is full")
+    void shouldApplyBackpressure() {
+        assertTrue(pipeline.submit(observation(1L, TIME)));
+        assertTrue(pipeline.submit(observation(2L, TIME)));
+        assertTrue(pipeline.submit(observation(3L, TIME)));
+
+        assertFalse(pipeline.submit(observation(4L, TIME)));
+        assertEquals(1L, pipeline.getStats().get("rejected"));
+    }
+
+    @Test
+    @DisplayName("Should insert and aggregate only observations not already stored or queued")
+    @SuppressWarnings("unchecked")
+    void shouldDropDuplicates() {
+        WeatherDataEntity stored = observation(1L, TIME);
+        WeatherDataEntity fresh = observation(2L, TIME);
+        when(batchWriter.findExisting(anyList())).thenReturn(Set.of(WeatherDataBatchWriter.ObservationKey.of(stored)),
+                Set.of(WeatherDataBatchWriter.ObservationKey.of(stored), WeatherDataBatchWriter.ObservationKey.of(fresh)));
+
+        pipeline.write(List.of(stored, fresh, observation(2L, TIME)));
+
+        ArgumentCaptor<List<WeatherDataEntity>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(batchWriter).insertAll(inserted.capture());
+        assertEquals(List.of(fresh), inserted.getValue());
+        verify(aggregateService).record(List.of(fresh));
+
+        Map<String, Object> stats = pipeline.getStats();
+        assertEquals(1L, stats.get("inserted"));
+        assertEquals(2L, stats.get("duplicates"));
+    }
+
+    @Test
+    @DisplayName("Should retry a batch that lost a deadlock to another writer, counting its rows once")
+    void shouldRetryAfterDeadlock() {
+        WeatherDataEntity fresh = observation(1L, TIME);
+        when(batchWriter.findExisting(anyList()))
+                .thenThrow(new DeadlockLoserDataAccessException("Deadlock found", null))
+                .thenReturn(Set.of(), Set.of(WeatherDataBatchWriter.ObservationKey.of(fresh)));
+
+        pipeline.write(List.of(fresh));
+
+        verify(batchWriter, times(3)).findExisting(anyList());
+        verify(aggregateService, times(1)).record(List.of(fresh));
+        Map<String, Object> stats = pipeline.getStats();
+        assertEquals(1L, stats.get("inserted"));
+        assertEquals(1L, stats.get("retries"));
+        assertEquals(0L, stats.get("failed"));
+    }
+
+    @Test
+    @DisplayName("Should not aggregate an observation a concurrent writer committed first")
+    void shouldNotCountRowsStoredConcurrently() {
+        WeatherDataEntity raced = observation(1L, TIME);
+        WeatherDataEntity fresh = observation(2L, TIME);
+        // Neither is stored before the INSERT; afterwards the snapshot shows only this batch's own row
+        when(batchWriter.findExisting(anyList())).thenReturn(Set.of(),
+                Set.of(WeatherDataBatchWriter.ObservationKey.of(fresh)));
+
+        pipeline.write(List.of(raced, fresh));
+
+        verify(batchWriter).insertAll(List.of(raced, fresh));
+        verify(aggregateService).record(List.of(fresh));
+        Map<String, Object> stats = pipeline.getStats();
+        assertEquals(1L, stats.get("inserted"));
+        assertEquals(1L, stats.get("duplicates"));
+    }
+
+    @Test
+    @DisplayName("Should write the queue in batches of at most batch-size")
+    void shouldFlushInBatches() {
+        pipeline.submit(observation(1L, TIME));
+        pipeline.submit(observation(2L, TIME));
+        pipeline.submit(observation(3L, TIME));
+
+        pipeline.flush();
+
+        verify(batchWriter, times(2)).insertAll(anyList());
+        assertEquals(0, pipeline.getStats().get("queued"));
+    }
+
+    private static WeatherDataEntity observation(Long locationId, LocalDateTime recordedAt) {
+        Location location = new Location();
+        location.setId(locationId);
+        WeatherDataEntity entity = new WeatherDataEntity();
+        entity.setLocation(location);
+        entity.setRecordedAt(recordedAt);
+        entity.setDataSource("OpenWeatherMap");
+        return entity;
+    }
+}
@@ -0,0 +1,94 @@
+package com.weather_found.weather_app.modules.weather.service;
+
+import com.weather_found.weather_app.modules.weather.repository.WeatherDataPartitions;
+import com.weather_found.weather_app.modules.weather.repository.WeatherDataPartitions.Partition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("WeatherPartitionManager Tests")
+class WeatherPartitionManagerTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 10);
+
+    private WeatherDataPartitions partitions;
+    private WeatherRollupService rollupService;
+    private WeatherPartitionManager manager;
+
+    @BeforeEach
+    void setUp() {
+        partitions = mock(WeatherDataPartitions.class);
+        rollupService = mock(WeatherRollupService.class);
+        manager = new WeatherPartitionManager(partitions, rollupService, false, 2, 3, 1000);
+    }
+
+    @Test
+    @DisplayName("Should create partitions from the last bound through the future window")
+    void shouldAddFutureDays() {
+        List<Partition> existing = List.of(
+                new Partition("pold", LocalDate.of(2026, 3, 9)),
+                new Partition("p20260309", TODAY),
+                new Partition("pmax", null));
+
+        assertEquals(List.of(TODAY, TODAY.plusDays(1), TODAY.plusDays(2)),
+                WeatherPartitionManager.missingDays(existing, TODAY, 2));
+    }
+
+    @Test
+    @DisplayName("Should drop expired partitions only once the rollups cover them")
+    void shouldDropCompactedExpiredPartitions() {
+        when(partitions.list()).thenReturn(List.of(
+                new Partition("p20260305", LocalDate.of(2026, 3, 6)),
+                new Partition("p20260306", LocalDate.of(2026, 3, 7)),
+                new Partition("p20260307", LocalDate.of(2026, 3, 8)),
+                new Partition("p20260312", LocalDate.of(2026, 3, 13)),
+                new Partition("pmax", null)));
+        when(rollupService.compactedUntil()).thenReturn(LocalDateTime.of(2026, 3, 6, 12, 0));
+
+        manager.maintain(TODAY);
+
+        verify(partitions).drop(List.of("p20260305"));
+        verify(partitions, never()).addDays(any());
+    }
+
+    @Test
+    @DisplayName("Should fall back to batched deletes while the table is not partitioned")
+    void shouldDeleteInBatchesWhenUnpartitioned() {
+        when(partitions.list()).thenReturn(List.of());
+        when(rollupService.compactedUntil()).thenReturn(TODAY.atStartOfDay());
+
+        manager.maintain(TODAY);
+
+        verify(partitions).deleteBefore(TODAY.minusDays(3).atStartOfDay(), 1000);
+        verify(partitions, never()).convert(any());
+    }
+
+    @Test
+    @DisplayName("Should not remove anything before the first compaction")
+    void shouldKeepRowsBeforeCompaction() {
+        when(partitions.list()).thenReturn(List.of());
+
+        manager.maintain(TODAY);
+
+        verify(partitions, never()).deleteBefore(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should skip maintenance while another node holds the lock")
+    void shouldSkipWhenLocked() {
+        when(partitions.withMaintenanceLock(any())).thenReturn(false);
+
+        manager.maintain();
+
+        verify(partitions, never()).list();
+        assertEquals(1L, manager.getStats().get("skippedLocked"));
+    }
+}
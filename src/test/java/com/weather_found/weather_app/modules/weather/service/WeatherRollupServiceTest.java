@@ -0,0 +1,61 @@
+package com.weather_found.weather_app.modules.weather.service;
+
+import com.weather_found.weather_app.modules.weather.repository.WeatherRollupWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("WeatherRollupService Tests")
+class WeatherRollupServiceTest {
+
+    private static final LocalDateTime LATEST_BUCKET = LocalDateTime.of(2026, 3, 10, 8, 0);
+
+    private WeatherRollupWriter rollupWriter;
+    private WeatherRollupService service;
+
+    @BeforeEach
+    void setUp() {
+        rollupWriter = mock(WeatherRollupWriter.class);
+        service = new WeatherRollupService(rollupWriter, 2, 168, 400, 1000);
+    }
+
+    @Test
+    @DisplayName("Should know the watermark from the database before compacting anything")
+    void shouldSeedWatermarkFromDatabase() {
+        when(rollupWriter.latestHourlyBucket()).thenReturn(LATEST_BUCKET);
+
+        assertEquals(LATEST_BUCKET.plusHours(1), service.compactedUntil());
+        verify(rollupWriter, never()).compactHours(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should resume compaction after the newest hourly bucket")
+    void shouldResumeAfterLatestBucket() {
+        when(rollupWriter.latestHourlyBucket()).thenReturn(LATEST_BUCKET);
+
+        service.compact(LATEST_BUCKET.plusHours(5).plusMinutes(30));
+
+        verify(rollupWriter).compactHours(LATEST_BUCKET.plusHours(1), LATEST_BUCKET.plusHours(5));
+        assertEquals(LATEST_BUCKET.plusHours(5), service.compactedUntil());
+    }
+
+    @Test
+    @DisplayName("Should follow another node's progress while it holds the compaction lock")
+    void shouldFollowWhileLocked() {
+        when(rollupWriter.latestHourlyBucket()).thenReturn(LATEST_BUCKET, LATEST_BUCKET.plusHours(3));
+        when(rollupWriter.withCompactionLock(any())).thenReturn(false);
+        assertEquals(LATEST_BUCKET.plusHours(1), service.compactedUntil());
+
+        service.compact();
+
+        assertEquals(LATEST_BUCKET.plusHours(4), service.compactedUntil());
+        assertEquals(1L, service.getStats().get("skippedLocked"));
+        verify(rollupWriter, never()).compactHours(any(), any());
+    }
+}